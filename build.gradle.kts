@@ -3,6 +3,7 @@ import com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar
 plugins {
     id("java")
     id("com.gradleup.shadow") version "9.4.0"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "ovh.neziw.obfuscator"
@@ -13,7 +14,8 @@ tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
-tasks.withType<ShadowJar> {
+// Only the application JAR, the JMH plugin builds jmhJar with the same task type
+tasks.named<ShadowJar>("shadowJar") {
     archiveFileName.set("${project.name} ${project.version}.jar")
     exclude(
         "org/intellij/lang/annotations/**",
@@ -45,6 +47,7 @@ dependencies {
     implementation("org.apache.commons:commons-lang3:3.20.0")
     implementation("org.ow2.asm:asm:9.9.1")
     implementation("org.ow2.asm:asm-tree:9.9.1")
+    implementation("org.ow2.asm:asm-analysis:9.9.1")
     implementation("org.ow2.asm:asm-commons:9.9.1")
     implementation("org.ow2.asm:asm-util:9.9.1")
     implementation("com.formdev:flatlaf:3.7.1")
@@ -52,8 +55,96 @@ dependencies {
     annotationProcessor("org.projectlombok:lombok:1.18.44")
     testCompileOnly("org.projectlombok:lombok:1.18.44")
     testAnnotationProcessor("org.projectlombok:lombok:1.18.44")
+    testImplementation(platform("org.junit:junit-bom:5.13.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 tasks.build {
     dependsOn(tasks.shadowJar)
 }
+
+// Benchmarks live in src/jmh/java, run them with ./gradlew jmh
+// A subset: ./gradlew jmh -PjmhIncludes=PatternMatcherBenchmark
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
+
+// jmh-generator-asm brings ASM 9.0, which would come first on the benchmark class path and cannot read Java 17 classes
+configurations.named("jmh") {
+    resolutionStrategy.force("org.ow2.asm:asm:9.9.1")
+}
+
+// Synthetic input JAR for scale tests, e.g.
+// ./gradlew syntheticJar -PsyntheticArgs="--classes 100000 --lambdas 0.5 --output build/fixtures/big.jar"
+tasks.register<JavaExec>("syntheticJar") {
+    group = "benchmark"
+    description = "Generates a synthetic JAR with SyntheticJarGenerator"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("ovh.neziw.obfuscator.benchmark.SyntheticJarGenerator")
+    val defaultOutput = layout.buildDirectory.file("fixtures/synthetic.jar").get().asFile.path
+    args = (providers.gradleProperty("syntheticArgs").orNull ?: "--output $defaultOutput").split(" ").filter { it.isNotBlank() }
+}
+
+// Runtime cost of the transforms:
+// ./gradlew jmh -PjmhIncludes=RuntimeOverheadBenchmark runtimeOverheadReport
+tasks.register<JavaExec>("runtimeOverheadReport") {
+    group = "benchmark"
+    description = "Writes the throughput and latency deltas of RuntimeOverheadBenchmark to build/reports/jmh/runtime-overhead.md"
+    mustRunAfter("jmh")
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("ovh.neziw.obfuscator.benchmark.runtime.RuntimeOverheadReport")
+    args = listOf(
+        layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path,
+        layout.buildDirectory.file("reports/jmh/runtime-overhead.md").get().asFile.path
+    )
+}
+
+// Performance gate, runs locally and compares with perf/baseline.json
+// ./gradlew perfGate                         fails on regressions beyond the tolerances of the baseline
+// ./gradlew perfGate -PperfUpdateBaseline    stores the current numbers as the new baseline
+val perfReports = layout.buildDirectory.dir("reports/perf")
+val perfBenchmarks = tasks.register<JavaExec>("perfBenchmarks") {
+    group = "benchmark"
+    description = "Runs the engine and scale benchmarks checked by perfGate"
+    dependsOn("jmhJar")
+    // The benchmark list and generated classes come from jmhJar, which nests its dependencies instead of unpacking them
+    classpath = files(tasks.named("jmhJar")) + sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val results = perfReports.get().file("results.json").asFile
+    val forkMetrics = perfReports.get().file("fork-metrics.log").asFile
+    args = listOf(
+        "ObfuscateClassBenchmark|ProcessJarBenchmark|ScaleBenchmark",
+        "-p", "passes=NONE,ALL", "-p", "fixture=asm,gson", "-p", "classes=1000",
+        "-f", "1", "-wi", "2", "-i", "3", "-w", "2s", "-r", "2s",
+        "-prof", "gc", "-rf", "json", "-rff", results.path,
+        "-jvmArgsAppend", "-Dnoobfuscator.forkMetricsFile=${forkMetrics.path}"
+    )
+    doFirst {
+        results.parentFile.mkdirs()
+        forkMetrics.delete()
+    }
+}
+
+tasks.register<JavaExec>("perfGate") {
+    group = "verification"
+    description = "Fails if the benchmarks regressed against perf/baseline.json"
+    dependsOn(perfBenchmarks)
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("ovh.neziw.obfuscator.benchmark.gate.PerfGate")
+    args = listOf(
+        "--baseline", file("perf/baseline.json").path,
+        "--results", perfReports.get().file("results.json").asFile.path,
+        "--fork-metrics", perfReports.get().file("fork-metrics.log").asFile.path
+    ) + if (providers.gradleProperty("perfUpdateBaseline").isPresent) listOf("--update") else emptyList()
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.objectweb.asm.ClassReader;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.jar.JarReader;
+
+/**
+ * Fixture JARs and configurations shared by the benchmarks
+ * The named fixtures are real libraries on the benchmark classpath, any other value is a path to a JAR
+ * Single Responsibility: Provide benchmark inputs
+ */
+public final class BenchmarkFixtures {
+
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+
+    /**
+     * Keeps per-run info and warnings (e.g. frame fallbacks) of the obfuscator out of the benchmark output
+     */
+    public static void quietLogging() {
+        Logger.getLogger("ovh.neziw.obfuscator").setLevel(Level.SEVERE);
+    }
+
+    /**
+     * Resolves a fixture name to a JAR: "asm" (ASM core), "gson" (Gson), "synthetic-N" (a generated JAR of N classes)
+     * or a path, e.g. {@code -p fixture=/path/app.jar}
+     */
+    public static Path resolveJar(final String fixture) {
+        if (fixture.startsWith(SYNTHETIC_PREFIX)) {
+            return syntheticJar(Integer.parseInt(fixture.substring(SYNTHETIC_PREFIX.length())));
+        }
+        final Class<?> anchor = switch (fixture) {
+            case "asm" -> ClassReader.class;
+            case "gson" -> Gson.class;
+            default -> null;
+        };
+        if (anchor == null) {
+            final Path path = Paths.get(fixture);
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalArgumentException("Fixture is neither asm, gson, synthetic-N nor an existing JAR: " + fixture);
+            }
+            return path;
+        }
+        try {
+            return Paths.get(anchor.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (final URISyntaxException exception) {
+            throw new IllegalStateException("Cannot locate fixture " + fixture, exception);
+        }
+    }
+
+    private static Path syntheticJar(final int classes) {
+        try {
+            final Path jar = Files.createTempFile("noobfuscator-synthetic-" + classes + "-", ".jar");
+            jar.toFile().deleteOnExit();
+            SyntheticJarGenerator.generate(SyntheticJarGenerator.Spec.ofClasses(classes), jar);
+            return jar;
+        } catch (final IOException exception) {
+            throw new IllegalStateException("Cannot generate fixture " + SYNTHETIC_PREFIX + classes, exception);
+        }
+    }
+
+    /**
+     * Reads all classes of a JAR, keyed by internal name, in JAR order
+     * Module descriptors and multi-release variants are skipped, as they are not obfuscated
+     */
+    public static Map<String, byte[]> readClasses(final Path jarPath) throws IOException {
+        final Map<String, byte[]> classes = new LinkedHashMap<>();
+        try (final JarFile jarFile = new JarFile(jarPath.toFile())) {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                final String name = entry.getName();
+                if (name.endsWith(".class") && !name.endsWith("module-info.class") && !name.startsWith("META-INF/")) {
+                    classes.put(name.substring(0, name.length() - 6), JarReader.readEntry(jarFile, entry));
+                }
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Creates a configuration that obfuscates every class with the given passes
+     *
+     * @param passes CLASS_NAMES, VARIABLES, STRINGS, METHOD_NAMES, METHOD_ORDER, FLOW_EASY, FLOW_HEAVY, FLOW_OPAQUE,
+     *               ALL (every pass with OPAQUE flow) or NONE (read and write only)
+     */
+    public static JsonConfig config(final String passes) {
+        final JsonConfig config = new JsonConfig();
+        config.setInclude(List.of(".*"));
+        final boolean all = "ALL".equals(passes);
+        config.setObfuscateClassNames(all || "CLASS_NAMES".equals(passes));
+        config.setObfuscatePackages(all || "CLASS_NAMES".equals(passes));
+        config.setObfuscateVariables(all || "VARIABLES".equals(passes));
+        config.setObfuscateStrings(all || "STRINGS".equals(passes));
+        config.setObfuscateMethodNames(all || "METHOD_NAMES".equals(passes));
+        config.setChangeMethodsOrders(all || "METHOD_ORDER".equals(passes));
+        if (all) {
+            config.setFlowObfuscation("OPAQUE");
+        } else if (passes.startsWith("FLOW_")) {
+            config.setFlowObfuscation(passes.substring("FLOW_".length()));
+        }
+        return config;
+    }
+}
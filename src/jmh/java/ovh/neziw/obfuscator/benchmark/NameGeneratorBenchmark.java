@@ -0,0 +1,83 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import ovh.neziw.obfuscator.obfuscator.NameGenerator;
+
+/**
+ * Time of {@link NameGenerator#getObfuscatedName} for keys seen before and for new keys
+ * Keys look like the member keys of the passes, e.g. "com/example/c12.member600"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class NameGeneratorBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private final String[] keys = new String[KEYS];
+    private NameGenerator warmGenerator;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < KEYS; i++) {
+            this.keys[i] = "com/example/c" + i / 50 + ".member" + i;
+        }
+        this.warmGenerator = new NameGenerator("");
+        for (final String key : this.keys) {
+            this.warmGenerator.getObfuscatedName(key);
+        }
+    }
+
+    @Benchmark
+    public String existingName() {
+        final int index = this.next;
+        this.next = index + 1 == KEYS ? 0 : index + 1;
+        return this.warmGenerator.getObfuscatedName(this.keys[index]);
+    }
+
+    /**
+     * Names all keys with a fresh generator, the score is per key
+     */
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public void newNames(final Blackhole blackhole) {
+        final NameGenerator generator = new NameGenerator("");
+        for (final String key : this.keys) {
+            blackhole.consume(generator.getObfuscatedName(key));
+        }
+    }
+}
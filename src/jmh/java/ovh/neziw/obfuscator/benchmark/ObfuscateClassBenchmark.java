@@ -0,0 +1,82 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.JarProcessor;
+import ovh.neziw.obfuscator.obfuscator.ObfuscatorEngine;
+
+/**
+ * Time of {@link ObfuscatorEngine#obfuscateClass} per class, for every pass on its own and all passes together
+ * Every invocation transforms the next class of the fixture, so the score is the mean over all its classes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ObfuscateClassBenchmark {
+
+    @Param({"CLASS_NAMES", "VARIABLES", "STRINGS", "METHOD_NAMES", "METHOD_ORDER", "FLOW_EASY", "FLOW_HEAVY", "FLOW_OPAQUE", "ALL"})
+    public String passes;
+
+    @Param({"gson"})
+    public String fixture;
+
+    private ObfuscatorEngine engine;
+    private String[] classNames;
+    private byte[][] classBytes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkFixtures.quietLogging();
+        final Path jarPath = BenchmarkFixtures.resolveJar(this.fixture);
+        final JsonConfig config = BenchmarkFixtures.config(this.passes);
+        this.engine = new ObfuscatorEngine(config);
+        // The passes look up the names and hierarchy collected by the scan
+        new JarProcessor(config, this.engine).scanJar(jarPath);
+        final Map<String, byte[]> classes = BenchmarkFixtures.readClasses(jarPath);
+        this.classNames = classes.keySet().toArray(new String[0]);
+        this.classBytes = classes.values().toArray(new byte[0][]);
+    }
+
+    @Benchmark
+    public byte[] obfuscateClass() throws IOException {
+        final int index = this.next;
+        this.next = index + 1 == this.classNames.length ? 0 : index + 1;
+        return this.engine.obfuscateClass(this.classBytes[index], this.classNames[index]);
+    }
+}
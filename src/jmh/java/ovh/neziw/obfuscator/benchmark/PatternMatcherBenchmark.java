@@ -0,0 +1,82 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ovh.neziw.obfuscator.obfuscator.PatternMatcher;
+
+/**
+ * Time of {@link PatternMatcher#matches} over the class names of a fixture
+ * The include list holds {@code patterns - 1} patterns that miss, of every kind, followed by one package wildcard that matches
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PatternMatcherBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int patterns;
+
+    @Param({"gson"})
+    public String fixture;
+
+    private PatternMatcher patternMatcher;
+    private String[] classNames;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.classNames = BenchmarkFixtures.readClasses(BenchmarkFixtures.resolveJar(this.fixture)).keySet().toArray(new String[0]);
+        final List<String> includePatterns = new ArrayList<>();
+        for (int i = 0; i < this.patterns - 1; i++) {
+            switch (i % 3) {
+                case 0 -> includePatterns.add("org.example.module" + i + ".*");
+                case 1 -> includePatterns.add("org.example.module" + i);
+                default -> includePatterns.add("Example" + i);
+            }
+        }
+        final String firstClass = this.classNames[0].replace('/', '.');
+        includePatterns.add(firstClass.substring(0, firstClass.indexOf('.')) + ".*");
+        this.patternMatcher = new PatternMatcher(includePatterns);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        final int index = this.next;
+        this.next = index + 1 == this.classNames.length ? 0 : index + 1;
+        return this.patternMatcher.matches(this.classNames[index]);
+    }
+}
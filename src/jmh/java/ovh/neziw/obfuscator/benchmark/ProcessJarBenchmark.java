@@ -0,0 +1,108 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.EngineResources;
+import ovh.neziw.obfuscator.obfuscator.JarProcessor;
+
+/**
+ * End-to-end time of {@link JarProcessor#processJar}: scan, transform and write a fixture JAR
+ * Every invocation uses a new processor, caches that the daemon keeps warm are shared through one {@link EngineResources}
+ * The allocation of the transform threads is handed to the performance gate through {@link TransformThreadAllocation}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Thread)
+public class ProcessJarBenchmark {
+
+    @Param({"NONE", "ALL"})
+    public String passes;
+
+    @Param({"asm", "gson"})
+    public String fixture;
+
+    private JsonConfig config;
+    private EngineResources resources;
+    private Path inputJar;
+    private Path outputDir;
+    private Path outputJar;
+    private final TransformThreadAllocation threadAllocation = new TransformThreadAllocation();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkFixtures.quietLogging();
+        this.config = BenchmarkFixtures.config(this.passes);
+        this.resources = new EngineResources();
+        this.inputJar = BenchmarkFixtures.resolveJar(this.fixture);
+        this.outputDir = Files.createTempDirectory("noobfuscator-jmh");
+        this.outputJar = this.outputDir.resolve("out.jar");
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration(final IterationParams iteration) {
+        this.threadAllocation.startIteration(iteration);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.threadAllocation.report(ProcessJarBenchmark.class.getName() + ".processJar",
+            Map.of("fixture", this.fixture, "passes", this.passes));
+        try (final Stream<Path> files = Files.list(this.outputDir)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(this.outputDir);
+    }
+
+    @Benchmark
+    public JarProcessor processJar() throws IOException {
+        final JarProcessor processor = new JarProcessor(this.config, this.resources);
+        processor.processJar(this.inputJar.toString(), this.outputJar.toString());
+        this.threadAllocation.add(processor);
+        return processor;
+    }
+}
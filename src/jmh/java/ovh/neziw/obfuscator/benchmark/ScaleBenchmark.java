@@ -0,0 +1,135 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import ovh.neziw.obfuscator.benchmark.gate.ForkMetricsLog;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.JarProcessor;
+
+/**
+ * Time and peak heap of {@link JarProcessor#processJar} on synthetic JARs of 1k, 10k and 100k classes
+ * Each run is one cold invocation, as a build would do it. The peak heap of every iteration is printed and the
+ * largest one is handed to the performance gate through {@link ForkMetricsLog}, add {@code -prof gc} for allocations,
+ * the allocation of the transform threads is handed over through {@link TransformThreadAllocation}
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ScaleBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int classes;
+
+    @Param({"NONE", "ALL"})
+    public String passes;
+
+    private JsonConfig config;
+    private Path workDir;
+    private Path inputJar;
+    private Path outputJar;
+    private long maxPeakHeap;
+    private final TransformThreadAllocation threadAllocation = new TransformThreadAllocation();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkFixtures.quietLogging();
+        this.config = BenchmarkFixtures.config(this.passes);
+        this.config.setInclude(List.of("synthetic.*"));
+        this.workDir = Files.createTempDirectory("noobfuscator-scale");
+        this.inputJar = this.workDir.resolve("synthetic-" + this.classes + ".jar");
+        this.outputJar = this.workDir.resolve("out.jar");
+        SyntheticJarGenerator.generate(SyntheticJarGenerator.Spec.ofClasses(this.classes), this.inputJar);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap(final IterationParams iteration) {
+        this.threadAllocation.startIteration(iteration);
+        System.gc();
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPeakHeap() {
+        long peak = 0;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        this.maxPeakHeap = Math.max(this.maxPeakHeap, peak);
+        System.out.println("peak heap: " + peak / (1024 * 1024) + " MB");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        final Map<String, String> params = Map.of("classes", String.valueOf(this.classes), "passes", this.passes);
+        ForkMetricsLog.append(ForkMetricsLog.PEAK_HEAP, ScaleBenchmark.class.getName() + ".processJar", params, this.maxPeakHeap);
+        this.threadAllocation.report(ScaleBenchmark.class.getName() + ".processJar", params);
+        try (final Stream<Path> files = Files.list(this.workDir)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(this.workDir);
+    }
+
+    @Benchmark
+    public JarProcessor processJar() throws IOException {
+        final JarProcessor processor = new JarProcessor(this.config);
+        processor.processJar(this.inputJar.toString(), this.outputJar.toString());
+        this.threadAllocation.add(processor);
+        return processor;
+    }
+}
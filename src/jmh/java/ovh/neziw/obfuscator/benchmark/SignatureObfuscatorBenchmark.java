@@ -0,0 +1,141 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.JarProcessor;
+import ovh.neziw.obfuscator.obfuscator.ObfuscatorEngine;
+import ovh.neziw.obfuscator.obfuscator.classname.ClassNameMapper;
+import ovh.neziw.obfuscator.obfuscator.classname.SignatureObfuscator;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.DiagnosticsCollector;
+
+/**
+ * Time of remapping the field descriptors, method descriptors and generic signatures of a fixture
+ * with the class name mapping produced by scanning it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SignatureObfuscatorBenchmark {
+
+    @Param({"gson"})
+    public String fixture;
+
+    private SignatureObfuscator signatureObfuscator;
+    private String[] fieldDescriptors;
+    private String[] methodDescriptors;
+    private String[] signatures;
+    private int nextField;
+    private int nextMethod;
+    private int nextSignature;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final Path jarPath = BenchmarkFixtures.resolveJar(this.fixture);
+        final JsonConfig config = BenchmarkFixtures.config("CLASS_NAMES");
+        final ObfuscatorEngine engine = new ObfuscatorEngine(config);
+        new JarProcessor(config, engine).scanJar(jarPath);
+        final ClassNameMapper classNameMapper = new ClassNameMapper(engine.getNameGenerator(), engine.getPatternMatcher(),
+            engine.getMappings().getClassNameMap(), true, true);
+        this.signatureObfuscator = new SignatureObfuscator(classNameMapper, new DiagnosticsCollector().forClass("benchmark"));
+
+        final List<String> fields = new ArrayList<>();
+        final List<String> methods = new ArrayList<>();
+        final List<String> genericSignatures = new ArrayList<>();
+        for (final byte[] classBytes : BenchmarkFixtures.readClasses(jarPath).values()) {
+            new ClassReader(classBytes).accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public void visit(final int version, final int access, final String name, final String signature,
+                                  final String superName, final String[] interfaces) {
+                    if (signature != null) {
+                        genericSignatures.add(signature);
+                    }
+                }
+
+                @Override
+                public FieldVisitor visitField(final int access, final String name, final String descriptor, final String signature,
+                                               final Object value) {
+                    fields.add(descriptor);
+                    if (signature != null) {
+                        genericSignatures.add(signature);
+                    }
+                    return null;
+                }
+
+                @Override
+                public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature,
+                                                 final String[] exceptions) {
+                    methods.add(descriptor);
+                    if (signature != null) {
+                        genericSignatures.add(signature);
+                    }
+                    return null;
+                }
+            }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+        this.fieldDescriptors = fields.toArray(new String[0]);
+        this.methodDescriptors = methods.toArray(new String[0]);
+        this.signatures = genericSignatures.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public String typeDescriptor() {
+        final int index = this.nextField;
+        this.nextField = index + 1 == this.fieldDescriptors.length ? 0 : index + 1;
+        return this.signatureObfuscator.obfuscateTypeDescriptor(this.fieldDescriptors[index]);
+    }
+
+    @Benchmark
+    public String methodDescriptor() {
+        final int index = this.nextMethod;
+        this.nextMethod = index + 1 == this.methodDescriptors.length ? 0 : index + 1;
+        return this.signatureObfuscator.obfuscateMethodDescriptor(this.methodDescriptors[index]);
+    }
+
+    @Benchmark
+    public String signature() {
+        final int index = this.nextSignature;
+        this.nextSignature = index + 1 == this.signatures.length ? 0 : index + 1;
+        return this.signatureObfuscator.obfuscateSignature(this.signatures[index]);
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import ovh.neziw.obfuscator.cli.CommandLineArguments;
+import ovh.neziw.obfuscator.obfuscator.jar.JarWriter;
+
+/**
+ * Writes synthetic JARs of any size for scale tests
+ * Classes form inheritance chains with overriding methods, methods hold string literals, a loop, calls to
+ * the previous method and to a static method of another class, and some of them a lambda. The same
+ * {@link Spec} always produces the same bytes, so runs on different machines and commits are comparable
+ * Single Responsibility: Generate reproducible input JARs
+ */
+public final class SyntheticJarGenerator {
+
+    private static final long ENTRY_TIME = 315_532_800_000L; // 1980-01-01, the smallest ZIP timestamp
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 ";
+    private static final String OPERATOR = "java/util/function/IntUnaryOperator";
+    private static final Handle LAMBDA_METAFACTORY = new Handle(Opcodes.H_INVOKESTATIC,
+        Type.getInternalName(LambdaMetafactory.class), "metafactory",
+        MethodType.methodType(CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class,
+            MethodType.class, MethodHandle.class, MethodType.class).toMethodDescriptorString(), false);
+
+    /**
+     * Shape of a synthetic JAR
+     *
+     * @param packages         Number of packages the classes are spread over
+     * @param classes          Number of classes
+     * @param methodsPerClass  Instance methods per class, besides the constructor and one static method
+     * @param stringsPerMethod String literals per method
+     * @param inheritanceDepth Length of the inheritance chains below Object, 0 for no inheritance
+     * @param lambdaDensity    Fraction of methods that create and call a lambda, between 0 and 1
+     * @param seed             Seed of the random strings and call targets
+     */
+    public record Spec(int packages, int classes, int methodsPerClass, int stringsPerMethod, int inheritanceDepth,
+                       double lambdaDensity, long seed) {
+
+        /**
+         * A JAR of the given number of classes, about 100 classes per package, 8 methods, 2 strings per method,
+         * chains of 3 classes and a lambda in every fifth method
+         */
+        public static Spec ofClasses(final int classes) {
+            return new Spec(Math.max(1, classes / 100), classes, 8, 2, 3, 0.2, 42L);
+        }
+    }
+
+    /**
+     * Writes a JAR of the given shape
+     */
+    public static void generate(final Spec spec, final Path output) throws IOException {
+        final Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Random random = new Random(spec.seed());
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        try (final OutputStream out = Files.newOutputStream(output);
+             final JarOutputStream jos = new JarOutputStream(out)) {
+            JarWriter.writeEntry(jos, JarWriter.createEntry("META-INF/MANIFEST.MF", ENTRY_TIME), manifestBytes(manifest));
+            for (int index = 0; index < spec.classes(); index++) {
+                JarWriter.writeEntry(jos, JarWriter.createEntry(className(spec, index) + ".class", ENTRY_TIME),
+                    generateClass(spec, index, random));
+            }
+        }
+    }
+
+    private static byte[] manifestBytes(final Manifest manifest) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        manifest.write(bytes);
+        return bytes.toByteArray();
+    }
+
+    static String className(final Spec spec, final int index) {
+        return "synthetic/p" + (index % spec.packages()) + "/C" + index;
+    }
+
+    private static String superName(final Spec spec, final int index) {
+        if (spec.inheritanceDepth() <= 0 || index % (spec.inheritanceDepth() + 1) == 0) {
+            return "java/lang/Object";
+        }
+        return className(spec, index - 1);
+    }
+
+    private static byte[] generateClass(final Spec spec, final int index, final Random random) {
+        // Locals only ever merge ints, so frames never need the common super class of generated types
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(final String type1, final String type2) {
+                return "java/lang/Object";
+            }
+        };
+        final String name = className(spec, index);
+        final String superName = superName(spec, index);
+        cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, superName, null);
+        cw.visitSource("C" + index + ".java", null);
+        cw.visitField(Opcodes.ACC_PRIVATE, "label", "Ljava/lang/String;", null, null).visitEnd();
+        cw.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "counter", "I", null, null).visitEnd();
+
+        final MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", "()V", false);
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitLdcInsn(randomString(random));
+        init.visitFieldInsn(Opcodes.PUTFIELD, name, "label", "Ljava/lang/String;");
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        final MethodVisitor helper = cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "helper", "(I)I", null, null);
+        helper.visitCode();
+        helper.visitFieldInsn(Opcodes.GETSTATIC, name, "counter", "I");
+        helper.visitVarInsn(Opcodes.ILOAD, 0);
+        helper.visitInsn(Opcodes.IADD);
+        helper.visitInsn(Opcodes.IRETURN);
+        helper.visitMaxs(0, 0);
+        helper.visitEnd();
+
+        for (int method = 0; method < spec.methodsPerClass(); method++) {
+            generateMethod(cw, spec, index, method, random);
+        }
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * {@code public int m<n>(int x)}: sums string lengths, the previous method, a static call, an optional lambda and a loop
+     */
+    private static void generateMethod(final ClassWriter cw, final Spec spec, final int index, final int method, final Random random) {
+        final String name = className(spec, index);
+        final MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "m" + method, "(I)I", null, null);
+        mv.visitCode();
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitVarInsn(Opcodes.ISTORE, 2);
+        for (int i = 0; i < spec.stringsPerMethod(); i++) {
+            mv.visitLdcInsn(randomString(random));
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "length", "()I", false);
+            addToSum(mv);
+        }
+        if (method > 0) {
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ILOAD, 1);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, name, "m" + (method - 1), "(I)I", false);
+            addToSum(mv);
+        }
+        mv.visitVarInsn(Opcodes.ILOAD, 1);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, className(spec, random.nextInt(index + 1)), "helper", "(I)I", false);
+        addToSum(mv);
+        if (random.nextDouble() < spec.lambdaDensity()) {
+            final String lambdaName = "lambda$m" + method + "$0";
+            mv.visitInvokeDynamicInsn("applyAsInt", "()L" + OPERATOR + ";", LAMBDA_METAFACTORY,
+                Type.getType("(I)I"), new Handle(Opcodes.H_INVOKESTATIC, name, lambdaName, "(I)I", false), Type.getType("(I)I"));
+            mv.visitVarInsn(Opcodes.ILOAD, 1);
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, OPERATOR, "applyAsInt", "(I)I", true);
+            addToSum(mv);
+            final MethodVisitor lambda = cw.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                lambdaName, "(I)I", null, null);
+            lambda.visitCode();
+            lambda.visitVarInsn(Opcodes.ILOAD, 0);
+            lambda.visitInsn(Opcodes.ICONST_2);
+            lambda.visitInsn(Opcodes.IMUL);
+            lambda.visitInsn(Opcodes.IRETURN);
+            lambda.visitMaxs(0, 0);
+            lambda.visitEnd();
+        }
+        // for (int i = 0; i < x; i++) sum += i;
+        final Label condition = new Label();
+        final Label end = new Label();
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitVarInsn(Opcodes.ISTORE, 3);
+        mv.visitLabel(condition);
+        mv.visitVarInsn(Opcodes.ILOAD, 3);
+        mv.visitVarInsn(Opcodes.ILOAD, 1);
+        mv.visitJumpInsn(Opcodes.IF_ICMPGE, end);
+        mv.visitVarInsn(Opcodes.ILOAD, 3);
+        addToSum(mv);
+        mv.visitIincInsn(3, 1);
+        mv.visitJumpInsn(Opcodes.GOTO, condition);
+        mv.visitLabel(end);
+        mv.visitVarInsn(Opcodes.ILOAD, 2);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void addToSum(final MethodVisitor mv) {
+        mv.visitVarInsn(Opcodes.ILOAD, 2);
+        mv.visitInsn(Opcodes.IADD);
+        mv.visitVarInsn(Opcodes.ISTORE, 2);
+    }
+
+    private static String randomString(final Random random) {
+        final int length = 8 + random.nextInt(17);
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * {@code --output <jar> [--classes <n>] [--packages <n>] [--methods <n>] [--strings <n>] [--depth <n>] [--lambdas <0..1>] [--seed <n>]}
+     * Unset options keep the values of {@link Spec#ofClasses}
+     */
+    public static void main(final String[] args) throws IOException {
+        final String[] commandLine = new String[args.length + 1];
+        commandLine[0] = "synthetic-jar";
+        System.arraycopy(args, 0, commandLine, 1, args.length);
+        final CommandLineArguments arguments = CommandLineArguments.parse(commandLine, Set.of(),
+            Set.of("output", "classes", "packages", "methods", "strings", "depth", "lambdas", "seed"));
+        if (arguments.getOption("output") == null) {
+            throw new IllegalArgumentException("Missing required option --output");
+        }
+        final Spec defaults = Spec.ofClasses(intOption(arguments, "classes", 1000));
+        final Spec spec = new Spec(intOption(arguments, "packages", defaults.packages()), defaults.classes(),
+            intOption(arguments, "methods", defaults.methodsPerClass()), intOption(arguments, "strings", defaults.stringsPerMethod()),
+            intOption(arguments, "depth", defaults.inheritanceDepth()),
+            arguments.getOption("lambdas") != null ? Double.parseDouble(arguments.getOption("lambdas")) : defaults.lambdaDensity(),
+            arguments.getOption("seed") != null ? Long.parseLong(arguments.getOption("seed")) : defaults.seed());
+        final Path output = Paths.get(arguments.getOption("output"));
+        final long start = System.nanoTime();
+        generate(spec, output);
+        System.err.println("Wrote " + spec + " to " + output + " (" + Files.size(output) / 1024 + " KB) in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private static int intOption(final CommandLineArguments arguments, final String name, final int defaultValue) {
+        final String value = arguments.getOption(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import ovh.neziw.obfuscator.benchmark.gate.ForkMetricsLog;
+import ovh.neziw.obfuscator.obfuscator.JarProcessor;
+
+/**
+ * Allocation per operation of the transform reader and workers, which end with every operation
+ * {@code -prof gc} only sums threads alive at its samples on JDKs before 21, so the gate adds this number to it
+ * Single Responsibility: Measure the allocation of JAR benchmarks that the GC profiler misses
+ */
+final class TransformThreadAllocation {
+
+    private boolean measuring;
+    private long allocatedBytes;
+    private long operations;
+
+    /**
+     * Only operations of measurement iterations are counted, like JMH does
+     */
+    void startIteration(final IterationParams iteration) {
+        this.measuring = iteration.getType() == IterationType.MEASUREMENT;
+    }
+
+    void add(final JarProcessor processor) {
+        if (this.measuring) {
+            this.allocatedBytes += processor.getTransformThreadAllocatedBytes();
+            this.operations++;
+        }
+    }
+
+    /**
+     * Hands the bytes per operation to the gate, unless the GC profiler already counts the ended threads
+     */
+    void report(final String benchmark, final Map<String, String> params) throws IOException {
+        if (this.operations > 0 && ForkMetricsLog.gcProfilerMissesEndedThreads()) {
+            ForkMetricsLog.append(ForkMetricsLog.THREAD_ALLOCATION, benchmark, params, (double) this.allocatedBytes / this.operations);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.gate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Numbers JMH does not measure itself, e.g. the peak heap of a benchmark
+ * Forked benchmark JVMs append one "metric\tkey\tvalue" line per trial to the file named by the
+ * {@value #FILE_PROPERTY} system property, the gate reads the largest value per metric and key
+ * Single Responsibility: Hand extra benchmark numbers from benchmark forks to the gate
+ */
+public final class ForkMetricsLog {
+
+    public static final String FILE_PROPERTY = "noobfuscator.forkMetricsFile";
+
+    /**
+     * Peak heap of a run in bytes
+     */
+    public static final String PEAK_HEAP = "peakHeapBytes";
+
+    /**
+     * Bytes per operation allocated by threads that ended during the operation, e.g. the transform workers,
+     * which {@code -prof gc} misses on JVMs without a total allocation counter
+     */
+    public static final String THREAD_ALLOCATION = "threadAllocationBytesPerOp";
+
+    /**
+     * Records a metric of a benchmark, does nothing unless {@value #FILE_PROPERTY} is set
+     */
+    public static void append(final String metric, final String benchmark, final Map<String, String> params, final double value)
+        throws IOException {
+        final String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isEmpty()) {
+            return;
+        }
+        final Path path = Paths.get(file);
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(path, metric + "\t" + PerfBaseline.key(benchmark, params) + "\t" + value + "\n", StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Whether {@code -prof gc} misses the allocation of threads that ended between its samples
+     * JMH only sums all threads when the JVM has a total allocation counter (JDK 21+), before that it sums the live ones
+     */
+    public static boolean gcProfilerMissesEndedThreads() {
+        try {
+            com.sun.management.ThreadMXBean.class.getMethod("getTotalThreadAllocatedBytes");
+            return false;
+        } catch (final NoSuchMethodException exception) {
+            return true;
+        }
+    }
+
+    /**
+     * Reads the largest value of a metric per benchmark key, empty if the file does not exist
+     */
+    public static Map<String, Double> read(final Path file, final String metric) throws IOException {
+        final Map<String, Double> values = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return values;
+        }
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (final String line : lines) {
+            final int first = line.indexOf('\t');
+            final int last = line.lastIndexOf('\t');
+            if (first > 0 && last > first && line.substring(0, first).equals(metric)) {
+                values.merge(line.substring(first + 1, last), Double.parseDouble(line.substring(last + 1).trim()), Math::max);
+            }
+        }
+        return values;
+    }
+}
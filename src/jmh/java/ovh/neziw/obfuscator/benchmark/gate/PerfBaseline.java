@@ -0,0 +1,110 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.gate;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Reference numbers the performance gate compares against, stored as JSON in the repository
+ *
+ * @param tolerances Allowed regression per metric
+ * @param benchmarks Metrics per benchmark key, see {@link #key}
+ */
+public record PerfBaseline(Tolerances tolerances, Map<String, Metrics> benchmarks) {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    /**
+     * Allowed regression as a fraction, e.g. 0.1 fails when throughput drops by more than 10 %
+     *
+     * @param throughput Drop of operations per time unit
+     * @param allocation Growth of bytes allocated per operation
+     * @param peakHeap   Growth of the peak heap of a run
+     */
+    public record Tolerances(double throughput, double allocation, double peakHeap) {
+    }
+
+    /**
+     * Measured numbers of one benchmark
+     *
+     * @param mode                 JMH mode: thrpt, avgt, sample or ss
+     * @param score                Primary score in {@code unit}, null if only memory was recorded
+     * @param unit                 Unit of the score, e.g. us/op
+     * @param allocationBytesPerOp Bytes allocated per operation ({@code -prof gc}), null if not measured
+     * @param peakHeapBytes        Peak heap of a run, null if not measured
+     */
+    public record Metrics(String mode, Double score, String unit, Double allocationBytesPerOp, Double peakHeapBytes) {
+
+        /**
+         * Whether a higher score is better, true for throughput and false for time per operation
+         */
+        public boolean higherIsBetter() {
+            return "thrpt".equals(this.mode);
+        }
+    }
+
+    /**
+     * Builds the key of a benchmark: simple class name, method and the parameters sorted by name,
+     * e.g. {@code ScaleBenchmark.processJar classes=1000 passes=ALL}
+     */
+    public static String key(final String benchmark, final Map<String, String> params) {
+        final int method = benchmark.lastIndexOf('.');
+        final int type = benchmark.lastIndexOf('.', method - 1);
+        final StringJoiner key = new StringJoiner(" ");
+        key.add(benchmark.substring(type + 1));
+        new TreeMap<>(params).forEach((name, value) -> key.add(name + "=" + value));
+        return key.toString();
+    }
+
+    public static PerfBaseline read(final Path file) throws IOException {
+        final PerfBaseline baseline;
+        try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            baseline = GSON.fromJson(reader, PerfBaseline.class);
+        } catch (final JsonParseException exception) {
+            throw new IOException("Invalid baseline " + file + ": " + exception.getMessage(), exception);
+        }
+        if (baseline == null || baseline.tolerances() == null) {
+            throw new IOException("Baseline " + file + " has no tolerances");
+        }
+        return new PerfBaseline(baseline.tolerances(), baseline.benchmarks() != null ? baseline.benchmarks() : Map.of());
+    }
+
+    /**
+     * Writes the baseline with benchmarks sorted by key, so updates produce small diffs
+     */
+    public void write(final Path file) throws IOException {
+        final PerfBaseline sorted = new PerfBaseline(this.tolerances, new TreeMap<>(this.benchmarks));
+        Files.writeString(file, GSON.toJson(sorted) + "\n", StandardCharsets.UTF_8);
+    }
+}
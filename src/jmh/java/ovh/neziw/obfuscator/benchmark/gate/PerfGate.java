@@ -0,0 +1,207 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.gate;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import ovh.neziw.obfuscator.cli.CommandLineArguments;
+
+/**
+ * Compares JMH results with the stored baseline and fails on regressions beyond the tolerances,
+ * on results without a baseline entry, on baseline entries that were not run and on baseline metrics the run did not measure
+ * Usage: {@code PerfGate --baseline <json> --results <jmh json> [--fork-metrics <log>] [--update]},
+ * with {@code --update} the current numbers replace the baseline instead
+ * Single Responsibility: Decide whether a benchmark run regressed
+ */
+public final class PerfGate {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private final PerfBaseline.Tolerances tolerances;
+    private final StringBuilder report = new StringBuilder();
+    private int regressions;
+
+    private PerfGate(final PerfBaseline.Tolerances tolerances) {
+        this.tolerances = tolerances;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final String[] commandLine = new String[args.length + 1];
+        commandLine[0] = "perf-gate";
+        System.arraycopy(args, 0, commandLine, 1, args.length);
+        final CommandLineArguments arguments = CommandLineArguments.parse(commandLine, Set.of("update"),
+            Set.of("baseline", "results", "fork-metrics"));
+        if (arguments.getOption("baseline") == null || arguments.getOption("results") == null) {
+            throw new IllegalArgumentException("Usage: PerfGate --baseline <json> --results <jmh json> [--fork-metrics <log>] [--update]");
+        }
+        final Path baselineFile = Paths.get(arguments.getOption("baseline"));
+        final PerfBaseline baseline = PerfBaseline.read(baselineFile);
+        final Map<String, PerfBaseline.Metrics> current = readResults(Paths.get(arguments.getOption("results")),
+            arguments.getOption("fork-metrics") != null ? Paths.get(arguments.getOption("fork-metrics")) : null);
+        if (current.isEmpty()) {
+            throw new IllegalStateException("No benchmark results in " + arguments.getOption("results"));
+        }
+        if (arguments.hasFlag("update")) {
+            new PerfBaseline(baseline.tolerances(), current).write(baselineFile);
+            System.out.println("Updated " + baselineFile + " with " + current.size() + " benchmarks");
+            return;
+        }
+        final PerfGate gate = new PerfGate(baseline.tolerances());
+        final int regressions = gate.compare(baseline.benchmarks(), current);
+        System.out.println("Changes: throughput + is faster, allocation and peak heap + is more memory");
+        System.out.print(gate.report);
+        if (regressions > 0) {
+            System.out.println(regressions + " regression(s) or missing baseline numbers against " + baselineFile);
+            System.exit(1);
+        }
+        System.out.println("No regressions against " + baselineFile);
+    }
+
+    /**
+     * Reads the metrics of a JMH JSON result file, with the peak heap of each benchmark from the fork metrics log if given
+     * The allocation of threads that ended during an operation, which the GC profiler missed, is added to its allocation
+     */
+    static Map<String, PerfBaseline.Metrics> readResults(final Path resultsFile, final Path forkMetricsFile) throws IOException {
+        final Map<String, Double> peaks = forkMetricsFile != null
+            ? ForkMetricsLog.read(forkMetricsFile, ForkMetricsLog.PEAK_HEAP) : Map.of();
+        final Map<String, Double> threadAllocations = forkMetricsFile != null
+            ? ForkMetricsLog.read(forkMetricsFile, ForkMetricsLog.THREAD_ALLOCATION) : Map.of();
+        final Map<String, PerfBaseline.Metrics> metrics = new LinkedHashMap<>();
+        final JsonElement root;
+        try (final Reader reader = Files.newBufferedReader(resultsFile, StandardCharsets.UTF_8)) {
+            root = JsonParser.parseReader(reader);
+        }
+        for (final JsonElement element : root.getAsJsonArray()) {
+            final JsonObject result = element.getAsJsonObject();
+            final Map<String, String> params = new TreeMap<>();
+            if (result.has("params")) {
+                result.getAsJsonObject("params").entrySet().forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+            }
+            final String key = PerfBaseline.key(result.get("benchmark").getAsString(), params);
+            final JsonObject primary = result.getAsJsonObject("primaryMetric");
+            Double allocation = null;
+            if (result.has("secondaryMetrics")) {
+                for (final Map.Entry<String, JsonElement> secondary : result.getAsJsonObject("secondaryMetrics").entrySet()) {
+                    // Older JMH versions prefix profiler metrics with a middle dot
+                    if (secondary.getKey().endsWith(ALLOCATION_METRIC)) {
+                        allocation = secondary.getValue().getAsJsonObject().get("score").getAsDouble();
+                    }
+                }
+            }
+            if (allocation != null && threadAllocations.containsKey(key)) {
+                allocation += threadAllocations.get(key);
+            }
+            metrics.put(key, new PerfBaseline.Metrics(result.get("mode").getAsString(), primary.get("score").getAsDouble(),
+                primary.get("scoreUnit").getAsString(), allocation, peaks.get(key)));
+        }
+        return metrics;
+    }
+
+    /**
+     * Compares every benchmark that was run with the baseline, returns the number of regressions
+     * A benchmark without a baseline entry or without a baseline score, a metric of the baseline the run did not
+     * measure and a baseline entry that was not run count as regressions
+     */
+    private int compare(final Map<String, PerfBaseline.Metrics> baseline, final Map<String, PerfBaseline.Metrics> current) {
+        for (final Map.Entry<String, PerfBaseline.Metrics> entry : current.entrySet()) {
+            final PerfBaseline.Metrics now = entry.getValue();
+            final PerfBaseline.Metrics before = baseline.get(entry.getKey());
+            this.report.append(entry.getKey()).append('\n');
+            if (before == null) {
+                this.report.append("  not in the baseline, record it with --update\n");
+                this.regressions++;
+                continue;
+            }
+            if (!before.mode().equals(now.mode()) || !before.unit().equals(now.unit())) {
+                this.report.append("  mode or unit changed (").append(before.mode()).append(' ').append(before.unit())
+                    .append(" -> ").append(now.mode()).append(' ').append(now.unit()).append("), update the baseline\n");
+                this.regressions++;
+                continue;
+            }
+            if (before.score() != null) {
+                // Throughput change: positive is faster, whichever way the mode reports it
+                final double throughputChange = now.higherIsBetter() ? now.score() / before.score() - 1 : before.score() / now.score() - 1;
+                this.line("throughput", before.score(), now.score(), now.unit(), throughputChange, -throughputChange > this.tolerances.throughput());
+            } else {
+                this.report.append("  throughput not in the baseline, record it with --update  REGRESSED\n");
+                this.regressions++;
+            }
+            if (before.allocationBytesPerOp() != null) {
+                if (now.allocationBytesPerOp() == null) {
+                    this.missing("allocation", "-prof gc");
+                } else {
+                    final double change = growth(before.allocationBytesPerOp(), now.allocationBytesPerOp());
+                    this.line("allocation", before.allocationBytesPerOp(), now.allocationBytesPerOp(), "B/op", change,
+                        change > this.tolerances.allocation());
+                }
+            }
+            if (before.peakHeapBytes() != null) {
+                if (now.peakHeapBytes() == null) {
+                    this.missing("peak heap", "--fork-metrics");
+                } else {
+                    final double change = growth(before.peakHeapBytes(), now.peakHeapBytes());
+                    this.line("peak heap", before.peakHeapBytes() / (1024 * 1024), now.peakHeapBytes() / (1024 * 1024), "MB", change,
+                        change > this.tolerances.peakHeap());
+                }
+            }
+        }
+        for (final String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                this.report.append(key).append("\n  in the baseline but not run, run it or drop it with --update  REGRESSED\n");
+                this.regressions++;
+            }
+        }
+        return this.regressions;
+    }
+
+    private static double growth(final double before, final double now) {
+        return before == 0 ? (now == 0 ? 0 : Double.POSITIVE_INFINITY) : now / before - 1;
+    }
+
+    private void missing(final String metric, final String option) {
+        this.regressions++;
+        this.report.append(String.format(Locale.ROOT, "  %-10s in the baseline but not measured, run with %s  REGRESSED%n", metric, option));
+    }
+
+    private void line(final String metric, final double before, final double now, final String unit, final double change,
+                      final boolean regressed) {
+        if (regressed) {
+            this.regressions++;
+        }
+        this.report.append(String.format(Locale.ROOT, "  %-10s %12.3f -> %12.3f %-6s %+7.1f%%  %s%n", metric, before, now, unit,
+            change * 100, regressed ? "REGRESSED" : "ok"));
+    }
+}
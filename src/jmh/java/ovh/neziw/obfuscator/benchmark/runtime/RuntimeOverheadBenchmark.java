@@ -0,0 +1,101 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.runtime;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ovh.neziw.obfuscator.benchmark.BenchmarkFixtures;
+
+/**
+ * Throughput and latency of the workloads as compiled and after each transform, side by side
+ * {@link RuntimeOverheadReport} turns the results into deltas against {@link WorkloadLoader#ORIGINAL}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class RuntimeOverheadBenchmark {
+
+    private static final int CHECKED_INPUTS = 256;
+
+    /**
+     * Workload and transform, only pairs where the transform rewrites the workload, see {@link WorkloadLoader#load}
+     * Strings are only obfuscated in the workload that has literals, method order is left out as it changes no code
+     */
+    @Param({
+        "StringWorkload:" + WorkloadLoader.ORIGINAL, "StringWorkload:STRINGS", "StringWorkload:FLOW_EASY",
+        "StringWorkload:FLOW_HEAVY", "StringWorkload:FLOW_OPAQUE",
+        "BranchWorkload:" + WorkloadLoader.ORIGINAL, "BranchWorkload:FLOW_EASY", "BranchWorkload:FLOW_HEAVY",
+        "BranchWorkload:FLOW_OPAQUE",
+        "CallWorkload:" + WorkloadLoader.ORIGINAL, "CallWorkload:FLOW_EASY", "CallWorkload:FLOW_HEAVY",
+        "CallWorkload:FLOW_OPAQUE"
+    })
+    public String variant;
+
+    private Workload instance;
+    private int input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkFixtures.quietLogging();
+        final String workload = workload(this.variant);
+        final String transform = transform(this.variant);
+        this.instance = WorkloadLoader.load(workload, transform);
+        // Numbers of a variant that computes something else would be meaningless
+        final Workload original = WorkloadLoader.load(workload, WorkloadLoader.ORIGINAL);
+        for (int value = 0; value < CHECKED_INPUTS; value++) {
+            if (this.instance.run(value) != original.run(value)) {
+                throw new IllegalStateException(workload + " returns a different result after " + transform
+                    + " for input " + value);
+            }
+        }
+    }
+
+    static String workload(final String variant) {
+        return variant.substring(0, variant.indexOf(':'));
+    }
+
+    static String transform(final String variant) {
+        return variant.substring(variant.indexOf(':') + 1);
+    }
+
+    @Benchmark
+    public int run() {
+        final int value = this.input;
+        this.input = (value + 1) & (CHECKED_INPUTS - 1);
+        return this.instance.run(value);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.runtime;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns JMH results of {@link RuntimeOverheadBenchmark} into a Markdown table of deltas against the original bytecode
+ * Usage: {@code RuntimeOverheadReport <results.json> [report.md]}, the table is also printed to stdout
+ * Single Responsibility: Report the runtime cost of each transform
+ */
+public final class RuntimeOverheadReport {
+
+    private static final String BENCHMARK = RuntimeOverheadBenchmark.class.getName() + ".";
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: RuntimeOverheadReport <results.json> [report.md]");
+        }
+        final String report = format(read(Paths.get(args[0])));
+        System.out.print(report);
+        if (args.length > 1) {
+            final Path output = Paths.get(args[1]);
+            final Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(output, report, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reads the scores of the overhead benchmark, keyed by workload and then transform, in result order
+     */
+    static Map<String, Map<String, Scores>> read(final Path resultsFile) throws IOException {
+        final JsonArray results;
+        try (final Reader reader = Files.newBufferedReader(resultsFile, StandardCharsets.UTF_8)) {
+            results = JsonParser.parseReader(reader).getAsJsonArray();
+        }
+        final Map<String, Map<String, Scores>> scores = new LinkedHashMap<>();
+        for (final JsonElement element : results) {
+            final JsonObject result = element.getAsJsonObject();
+            if (!result.get("benchmark").getAsString().startsWith(BENCHMARK)) {
+                continue;
+            }
+            final String variant = result.getAsJsonObject("params").get("variant").getAsString();
+            final JsonObject metric = result.getAsJsonObject("primaryMetric");
+            final Scores entry = scores.computeIfAbsent(RuntimeOverheadBenchmark.workload(variant), k -> new LinkedHashMap<>())
+                .computeIfAbsent(RuntimeOverheadBenchmark.transform(variant), k -> new Scores());
+            switch (result.get("mode").getAsString()) {
+                case "thrpt" -> entry.throughput = metric.get("score").getAsDouble();
+                case "sample" -> {
+                    final JsonObject percentiles = metric.getAsJsonObject("scorePercentiles");
+                    entry.p50 = percentiles.get("50.0").getAsDouble();
+                    entry.p99 = percentiles.get("99.0").getAsDouble();
+                }
+                default -> {
+                    // Other modes are not part of the report
+                }
+            }
+        }
+        return scores;
+    }
+
+    static String format(final Map<String, Map<String, Scores>> scores) {
+        final StringBuilder report = new StringBuilder();
+        report.append("| Workload | Transform | Throughput (ops/us) | Delta | p50 (us) | Delta | p99 (us) | Delta |\n");
+        report.append("|---|---|---:|---:|---:|---:|---:|---:|\n");
+        for (final Map.Entry<String, Map<String, Scores>> workload : scores.entrySet()) {
+            final Scores original = workload.getValue().get(WorkloadLoader.ORIGINAL);
+            for (final Map.Entry<String, Scores> transform : workload.getValue().entrySet()) {
+                final Scores score = transform.getValue();
+                report.append("| ").append(workload.getKey())
+                    .append(" | ").append(transform.getKey())
+                    .append(" | ").append(number(score.throughput))
+                    .append(" | ").append(delta(score.throughput, original != null ? original.throughput : Double.NaN))
+                    .append(" | ").append(number(score.p50))
+                    .append(" | ").append(delta(score.p50, original != null ? original.p50 : Double.NaN))
+                    .append(" | ").append(number(score.p99))
+                    .append(" | ").append(delta(score.p99, original != null ? original.p99 : Double.NaN))
+                    .append(" |\n");
+            }
+        }
+        report.append("\nThroughput: higher is better. Latency percentiles: lower is better.\n");
+        return report.toString();
+    }
+
+    private static String number(final double value) {
+        return Double.isNaN(value) ? "-" : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String delta(final double value, final double original) {
+        if (Double.isNaN(value) || Double.isNaN(original) || original == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (value / original - 1) * 100);
+    }
+
+    /**
+     * Scores of one workload and transform, NaN until the mode was found in the results
+     */
+    static final class Scores {
+
+        private double throughput = Double.NaN;
+        private double p50 = Double.NaN;
+        private double p99 = Double.NaN;
+    }
+}
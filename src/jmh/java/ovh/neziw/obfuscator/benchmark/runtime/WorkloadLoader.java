@@ -0,0 +1,190 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceClassVisitor;
+import ovh.neziw.obfuscator.benchmark.BenchmarkFixtures;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.JarProcessor;
+import ovh.neziw.obfuscator.obfuscator.ObfuscatorEngine;
+import ovh.neziw.obfuscator.obfuscator.jar.JarWriter;
+
+/**
+ * Obfuscates the workload classes with one transform and loads them in their own class loader
+ * Original and obfuscated variants are loaded the same way, so they only differ in their bytecode
+ * Single Responsibility: Provide workloads as built by a given configuration
+ */
+public final class WorkloadLoader {
+
+    /**
+     * The untouched workload classes
+     */
+    public static final String ORIGINAL = "ORIGINAL";
+
+    private static final String WORKLOAD_PACKAGE = "ovh/neziw/obfuscator/benchmark/runtime/workload/";
+
+    /**
+     * Creates a workload, e.g. {@code StringWorkload}, with its classes built by the given transform
+     *
+     * @param transform {@link #ORIGINAL} or a pass accepted by {@link BenchmarkFixtures#config}, class and method
+     *                  renaming are not supported as the workload is created by name
+     * @throws IllegalStateException If the transform reports problems or leaves the code of the workload unchanged,
+     *                               the variant would benchmark the original code
+     */
+    public static Workload load(final String workload, final String transform) throws IOException {
+        final Map<String, byte[]> classes = readWorkloadClasses();
+        final Map<String, byte[]> transformed = ORIGINAL.equals(transform) ? classes : obfuscate(classes, transform);
+        final String className = WORKLOAD_PACKAGE + workload;
+        if (transformed != classes && classes.containsKey(className)
+            && code(classes.get(className)).equals(code(transformed.get(className)))) {
+            throw new IllegalStateException(transform + " leaves the code of " + workload + " unchanged");
+        }
+        final ClassLoader loader = new BytesClassLoader(transformed, Workload.class.getClassLoader());
+        try {
+            return (Workload) loader.loadClass(WORKLOAD_PACKAGE.replace('/', '.') + workload).getConstructor().newInstance();
+        } catch (final ReflectiveOperationException exception) {
+            throw new IllegalArgumentException("Cannot create workload " + workload + " (" + transform + ")", exception);
+        }
+    }
+
+    private static Map<String, byte[]> obfuscate(final Map<String, byte[]> classes, final String transform) throws IOException {
+        final JsonConfig config = BenchmarkFixtures.config(transform);
+        if (config.isObfuscateClassNames() || config.isObfuscateMethodNames()) {
+            throw new IllegalArgumentException("Workloads are created by name, cannot benchmark " + transform);
+        }
+        config.setInclude(List.of(WORKLOAD_PACKAGE.replace('/', '.') + "*"));
+        final Path workDir = Files.createTempDirectory("noobfuscator-runtime");
+        final Path input = workDir.resolve("workload.jar");
+        final Path output = workDir.resolve("workload-" + transform + ".jar");
+        try {
+            try (final OutputStream out = Files.newOutputStream(input);
+                 final JarOutputStream jos = new JarOutputStream(out)) {
+                for (final Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                    JarWriter.writeEntry(jos, JarWriter.createEntry(entry.getKey() + ".class", 0L), entry.getValue());
+                }
+            }
+            final ObfuscatorEngine engine = new ObfuscatorEngine(config);
+            new JarProcessor(config, engine).processJar(input.toString(), output.toString());
+            // E.g. flow obfuscation restores the original code of methods it fails on
+            final String problems = engine.getDiagnostics().format();
+            if (problems != null) {
+                throw new IllegalStateException(transform + " did not apply cleanly to the workloads. " + problems);
+            }
+            return BenchmarkFixtures.readClasses(output);
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            Files.deleteIfExists(workDir);
+        }
+    }
+
+    /**
+     * Prints the instructions of a class, without frames and debug information that change whenever a class is rewritten
+     */
+    private static String code(final byte[] classBytes) {
+        final StringWriter code = new StringWriter();
+        new ClassReader(classBytes).accept(new TraceClassVisitor(null, new Textifier(), new PrintWriter(code)),
+            ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+        return code.toString();
+    }
+
+    /**
+     * Reads the workload classes from the directory or JAR the benchmarks were loaded from
+     */
+    private static Map<String, byte[]> readWorkloadClasses() throws IOException {
+        final Path location;
+        try {
+            location = Paths.get(Workload.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (final URISyntaxException exception) {
+            throw new IllegalStateException("Cannot locate the workload classes", exception);
+        }
+        final Map<String, byte[]> classes = new LinkedHashMap<>();
+        if (Files.isDirectory(location)) {
+            try (final Stream<Path> files = Files.walk(location.resolve(WORKLOAD_PACKAGE))) {
+                for (final Path file : (Iterable<Path>) files::iterator) {
+                    final String name = location.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                    if (name.endsWith(".class")) {
+                        classes.put(name.substring(0, name.length() - 6), Files.readAllBytes(file));
+                    }
+                }
+            }
+        } else {
+            BenchmarkFixtures.readClasses(location).forEach((name, bytes) -> {
+                if (name.startsWith(WORKLOAD_PACKAGE)) {
+                    classes.put(name, bytes);
+                }
+            });
+        }
+        if (classes.isEmpty()) {
+            throw new IllegalStateException("No workload classes found in " + location);
+        }
+        return classes;
+    }
+
+    /**
+     * Defines the given classes itself and delegates every other class to its parent
+     */
+    private static final class BytesClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        private BytesClassLoader(final Map<String, byte[]> classes, final ClassLoader parent) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            synchronized (this.getClassLoadingLock(name)) {
+                Class<?> loaded = this.findLoadedClass(name);
+                if (loaded == null) {
+                    final byte[] bytes = this.classes.get(name.replace('.', '/'));
+                    if (bytes == null) {
+                        return super.loadClass(name, resolve);
+                    }
+                    loaded = this.defineClass(name, bytes, 0, bytes.length);
+                }
+                if (resolve) {
+                    this.resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+}
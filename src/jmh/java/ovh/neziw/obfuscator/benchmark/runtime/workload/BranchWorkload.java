@@ -0,0 +1,64 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.runtime.workload;
+
+import ovh.neziw.obfuscator.benchmark.runtime.Workload;
+
+/**
+ * Tight loops with data dependent branches, the code flow obfuscation rewrites
+ */
+public class BranchWorkload implements Workload {
+
+    private final int[] data = new int[64];
+
+    public BranchWorkload() {
+        int seed = 17;
+        for (int i = 0; i < this.data.length; i++) {
+            seed = seed * 1103515245 + 12345;
+            this.data[i] = (seed >>> 16) & 255;
+        }
+    }
+
+    @Override
+    public int run(final int input) {
+        // Collatz steps of the input
+        int value = input | 1;
+        int steps = 0;
+        while (value != 1 && steps < 100) {
+            value = (value & 1) == 0 ? value >> 1 : 3 * value + 1;
+            steps++;
+        }
+        int checksum = 0;
+        for (int i = 0; i < this.data.length; i++) {
+            if (this.data[i] > input) {
+                checksum += this.data[i];
+            } else if ((i & 3) == 0) {
+                checksum ^= i;
+            } else {
+                checksum -= input;
+            }
+        }
+        return steps + checksum;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.runtime.workload;
+
+import ovh.neziw.obfuscator.benchmark.runtime.Workload;
+
+/**
+ * Small methods and calls through an interface, which depend on the JIT inlining them
+ */
+public class CallWorkload implements Workload {
+
+    private final Shape[] shapes = {new Square(2), new Rectangle(2, 5), new Triangle(3, 4), new Square(7), new Rectangle(1, 9)};
+
+    @Override
+    public int run(final int input) {
+        int sum = 0;
+        for (int round = 0; round < 4; round++) {
+            for (final Shape shape : this.shapes) {
+                sum += this.scale(shape.area(), input + round) + shape.corners();
+            }
+        }
+        return sum;
+    }
+
+    private int scale(final int area, final int factor) {
+        return this.clamp(area * (factor & 15), 1000);
+    }
+
+    private int clamp(final int value, final int max) {
+        return Math.min(value, max);
+    }
+
+    interface Shape {
+
+        int area();
+
+        int corners();
+    }
+
+    record Square(int side) implements Shape {
+
+        @Override
+        public int area() {
+            return this.side * this.side;
+        }
+
+        @Override
+        public int corners() {
+            return 4;
+        }
+    }
+
+    record Rectangle(int width, int height) implements Shape {
+
+        @Override
+        public int area() {
+            return this.width * this.height;
+        }
+
+        @Override
+        public int corners() {
+            return 4;
+        }
+    }
+
+    record Triangle(int base, int height) implements Shape {
+
+        @Override
+        public int area() {
+            return this.base * this.height / 2;
+        }
+
+        @Override
+        public int corners() {
+            return 3;
+        }
+    }
+}
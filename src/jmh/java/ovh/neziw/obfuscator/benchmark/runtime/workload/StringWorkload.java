@@ -0,0 +1,68 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.benchmark.runtime.workload;
+
+import ovh.neziw.obfuscator.benchmark.runtime.Workload;
+
+/**
+ * Looks up and combines string literals, as message and key handling code does
+ * Every literal load is what string obfuscation turns into a decoder call
+ */
+public class StringWorkload implements Workload {
+
+    @Override
+    public int run(final int input) {
+        int hash = 0;
+        for (int i = 0; i < 8; i++) {
+            final String status = this.status((input + i) & 7);
+            hash = 31 * hash + status.hashCode();
+            if (status.startsWith("fail")) {
+                hash += "retry".length();
+            }
+        }
+        final StringBuilder key = new StringBuilder("order-").append(input).append(':').append(this.status(input & 7));
+        return hash + key.toString().hashCode();
+    }
+
+    private String status(final int code) {
+        switch (code) {
+            case 0:
+                return "pending";
+            case 1:
+                return "processing";
+            case 2:
+                return "shipped";
+            case 3:
+                return "delivered";
+            case 4:
+                return "failed-payment";
+            case 5:
+                return "failed-address";
+            case 6:
+                return "returned";
+            default:
+                return "unknown";
+        }
+    }
+}
@@ -23,24 +23,16 @@
  */
 package ovh.neziw.obfuscator;
 
-import com.formdev.flatlaf.FlatLightLaf;
-import java.util.logging.Logger;
-import javax.swing.SwingUtilities;
-import ovh.neziw.obfuscator.gui.ObfuscatorGui;
+import ovh.neziw.obfuscator.cli.CommandLineInterface;
+import ovh.neziw.obfuscator.gui.GuiLauncher;
 
 public final class ObfuscatorMain {
 
-    private static final Logger LOGGER = Logger.getLogger(ObfuscatorMain.class.getName());
-
     public static void main(final String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                FlatLightLaf.setup();
-            } catch (final Exception exception) {
-                LOGGER.severe("Failed to setup FlatLightLaf: " + exception.getMessage());
-                LOGGER.throwing(ObfuscatorMain.class.getName(), "main", exception);
-            }
-            new ObfuscatorGui().setVisible(true);
-        });
+        if (args.length == 0) {
+            GuiLauncher.launch();
+            return;
+        }
+        System.exit(CommandLineInterface.run(args));
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import ovh.neziw.obfuscator.config.ConfigLoader;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.BatchProcessor;
+import ovh.neziw.obfuscator.obfuscator.EngineResources;
+import ovh.neziw.obfuscator.obfuscator.progress.CancellationToken;
+import ovh.neziw.obfuscator.obfuscator.progress.ObfuscationCancelledException;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressListener;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressTracker;
+import ovh.neziw.obfuscator.obfuscator.stats.MetricRegistry;
+
+/**
+ * {@code batch --config <settings.json> [--list <jars.txt>] [--threads <n>] [--mappings <file>] [--quiet] [<in.jar>=<out.jar> ...]}
+ * The list file holds one {@code <in.jar>=<out.jar>} pair per line, lines starting with # are ignored
+ * Single Responsibility: Run a batch obfuscation from the command line
+ */
+public class BatchCommand {
+
+    static final Set<String> FLAGS = Set.of("quiet");
+    static final Set<String> OPTIONS = Set.of("config", "list", "threads", "mappings");
+
+    private final PrintStream err;
+
+    public BatchCommand(final PrintStream err) {
+        this.err = err;
+    }
+
+    public int run(final CommandLineArguments arguments) {
+        final String configPath = arguments.getOption("config");
+        if (configPath == null) {
+            this.err.println("Missing required option --config");
+            return ExitCodes.USAGE;
+        }
+        final JsonConfig config;
+        final List<BatchProcessor.JarPair> jars = new ArrayList<>();
+        try {
+            config = ConfigLoader.load(Paths.get(configPath));
+            if (arguments.getOption("list") != null) {
+                for (final String line : Files.readAllLines(Paths.get(arguments.getOption("list")), StandardCharsets.UTF_8)) {
+                    if (!line.isBlank() && !line.trim().startsWith("#")) {
+                        jars.add(parsePair(line.trim()));
+                    }
+                }
+            }
+        } catch (final NoSuchFileException exception) {
+            this.err.println("File not found: " + exception.getFile());
+            return ExitCodes.INVALID_INPUT;
+        } catch (final IOException exception) {
+            this.err.println("Cannot read batch input: " + exception.getMessage());
+            return ExitCodes.INVALID_INPUT;
+        }
+        for (final String positional : arguments.getPositionals()) {
+            jars.add(parsePair(positional));
+        }
+        if (jars.isEmpty()) {
+            this.err.println("No JARs given, pass <in.jar>=<out.jar> pairs or --list");
+            return ExitCodes.USAGE;
+        }
+        for (final BatchProcessor.JarPair jar : jars) {
+            if (!Files.isRegularFile(Paths.get(jar.input()))) {
+                this.err.println("Input JAR does not exist: " + jar.input());
+                return ExitCodes.INVALID_INPUT;
+            }
+        }
+        if (config.getApplyMappings() != null && !config.getApplyMappings().isEmpty()
+            && !Files.isRegularFile(Paths.get(config.getApplyMappings()))) {
+            this.err.println("Mappings to apply do not exist: " + config.getApplyMappings());
+            return ExitCodes.INVALID_INPUT;
+        }
+
+        final int threads = parseThreads(arguments.getOption("threads"));
+        final String mappingsPath = arguments.getOption("mappings") != null
+            ? arguments.getOption("mappings") : defaultMappingsPath(jars.get(0), config);
+        final boolean quiet = arguments.hasFlag("quiet");
+        if (!quiet) {
+            this.err.println("Obfuscating " + jars.size() + " JARs on " + threads + " threads");
+        }
+        final long start = System.nanoTime();
+        final CancellationToken cancellation = new CancellationToken();
+        final ProgressListener listener = quiet ? ProgressListener.NONE : new ConsoleProgressRenderer(this.err);
+        final List<BatchProcessor.JarResult> results;
+        try (final CancelOnShutdown ignored = CancelOnShutdown.install(cancellation)) {
+            results = new BatchProcessor(config, new EngineResources(), threads, new ProgressTracker(listener, cancellation))
+                .process(jars, mappingsPath);
+        } catch (final ObfuscationCancelledException exception) {
+            this.err.println("Batch obfuscation cancelled");
+            return ExitCodes.CANCELLED;
+        } catch (final IOException exception) {
+            this.err.println("Batch obfuscation failed: " + exception.getMessage());
+            return ExitCodes.FAILURE;
+        }
+        int failed = 0;
+        final MetricRegistry totals = new MetricRegistry();
+        for (final BatchProcessor.JarResult result : results) {
+            if (result.isSuccessful()) {
+                totals.addAll(result.stats().getMetrics());
+                if (!quiet) {
+                    this.err.println(result.jar().input() + " -> " + result.jar().output() + ": " + result.stats());
+                }
+            } else {
+                failed++;
+                this.err.println(result.jar().input() + " failed: " + result.error());
+            }
+        }
+        if (!quiet) {
+            this.err.println("Total: " + totals.snapshot());
+            this.err.println("Done in " + (System.nanoTime() - start) / 1_000_000 + " ms, " + failed + " failed");
+        }
+        return failed == 0 ? ExitCodes.SUCCESS : ExitCodes.FAILURE;
+    }
+
+    private static BatchProcessor.JarPair parsePair(final String pair) {
+        final int separator = pair.indexOf('=');
+        if (separator <= 0 || separator == pair.length() - 1) {
+            throw new IllegalArgumentException("Invalid JAR pair, expected <in.jar>=<out.jar>: " + pair);
+        }
+        return new BatchProcessor.JarPair(pair.substring(0, separator), pair.substring(separator + 1));
+    }
+
+    private static int parseThreads(final String threads) {
+        if (threads == null) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Integer.parseInt(threads);
+        } catch (final NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid thread count: " + threads);
+        }
+    }
+
+    private static String defaultMappingsPath(final BatchProcessor.JarPair firstJar, final JsonConfig config) {
+        final Path outputDir = Paths.get(firstJar.output()).toAbsolutePath().getParent();
+        final String fileName = "GZIP".equals(config.getMappingsFormat()) ? "batch_mappings.json.gz" : "batch_mappings.json";
+        return outputDir.resolve(fileName).toString();
+    }
+}
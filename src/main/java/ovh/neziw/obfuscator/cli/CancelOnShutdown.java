@@ -0,0 +1,71 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import ovh.neziw.obfuscator.obfuscator.progress.CancellationToken;
+
+/**
+ * Cancels a running obfuscation when the JVM is asked to stop (Ctrl+C, SIGTERM) and gives it a few seconds
+ * to stop cooperatively, so no incomplete output JAR is left behind
+ * Single Responsibility: Bridge process shutdown to a cancellation token
+ */
+public final class CancelOnShutdown implements AutoCloseable {
+
+    private static final long GRACE_SECONDS = 10;
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final Thread hook;
+
+    private CancelOnShutdown(final CancellationToken cancellation) {
+        this.hook = new Thread(() -> {
+            cancellation.cancel();
+            try {
+                this.finished.await(GRACE_SECONDS, TimeUnit.SECONDS);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }, "obfuscation-shutdown");
+    }
+
+    /**
+     * Installs the hook until the returned instance is closed
+     */
+    public static CancelOnShutdown install(final CancellationToken cancellation) {
+        final CancelOnShutdown cancelOnShutdown = new CancelOnShutdown(cancellation);
+        Runtime.getRuntime().addShutdownHook(cancelOnShutdown.hook);
+        return cancelOnShutdown;
+    }
+
+    @Override
+    public void close() {
+        this.finished.countDown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(this.hook);
+        } catch (final IllegalStateException exception) {
+            // The JVM is already shutting down and runs the hook, which returns now
+        }
+    }
+}
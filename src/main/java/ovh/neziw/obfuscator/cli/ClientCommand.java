@@ -0,0 +1,82 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Set;
+import ovh.neziw.obfuscator.daemon.DaemonClient;
+import ovh.neziw.obfuscator.daemon.DaemonRequest;
+import ovh.neziw.obfuscator.daemon.DaemonResponse;
+
+/**
+ * {@code client [--port <port>] (--config <settings.json> [--input <in.jar>] [--output <out.jar>] | --ping | --shutdown)}
+ * Paths are sent as absolute paths, since the daemon may run in another working directory
+ * Single Responsibility: Forward a job to a running daemon and report its outcome
+ */
+public class ClientCommand {
+
+    static final Set<String> FLAGS = Set.of("ping", "shutdown", "quiet");
+    static final Set<String> OPTIONS = Set.of("port", "config", "input", "output");
+
+    private final PrintStream err;
+
+    public ClientCommand(final PrintStream err) {
+        this.err = err;
+    }
+
+    public int run(final CommandLineArguments arguments) {
+        final int port = DaemonCommand.parsePort(arguments.getOption("port"));
+        final DaemonRequest request = new DaemonRequest();
+        if (arguments.hasFlag("ping")) {
+            request.setType("ping");
+        } else if (arguments.hasFlag("shutdown")) {
+            request.setType("shutdown");
+        } else {
+            if (arguments.getOption("config") == null) {
+                this.err.println("Missing required option --config");
+                return ExitCodes.USAGE;
+            }
+            request.setConfig(absolute(arguments.getOption("config")));
+            request.setInput(absolute(arguments.getOption("input")));
+            request.setOutput(absolute(arguments.getOption("output")));
+        }
+        final DaemonResponse response;
+        try {
+            response = DaemonClient.send(port, request);
+        } catch (final IOException exception) {
+            this.err.println("Cannot reach daemon on port " + port + ": " + exception.getMessage());
+            return ExitCodes.FAILURE;
+        }
+        if (!arguments.hasFlag("quiet") || response.getExitCode() != ExitCodes.SUCCESS) {
+            this.err.println(response.getMessage());
+        }
+        return response.getExitCode();
+    }
+
+    private static String absolute(final String path) {
+        return path != null ? Paths.get(path).toAbsolutePath().toString() : null;
+    }
+}
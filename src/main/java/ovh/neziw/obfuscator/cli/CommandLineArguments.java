@@ -0,0 +1,98 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Parsed command line: a command followed by {@code --option value} pairs, {@code --flag} switches and positionals
+ * Single Responsibility: Parse command line arguments
+ */
+public class CommandLineArguments {
+
+    @Getter
+    private final String command;
+    private final Map<String, String> options = new HashMap<>();
+    private final Set<String> flags = new HashSet<>();
+    @Getter
+    private final List<String> positionals = new ArrayList<>();
+
+    private CommandLineArguments(final String command) {
+        this.command = command;
+    }
+
+    /**
+     * Parses the arguments of a command
+     *
+     * @param args         All process arguments, the first one is the command
+     * @param flagNames    Options that do not take a value
+     * @param optionNames  Options that take a value
+     * @throws IllegalArgumentException If an option is unknown or lacks its value
+     */
+    public static CommandLineArguments parse(final String[] args, final Set<String> flagNames, final Set<String> optionNames) {
+        final CommandLineArguments arguments = new CommandLineArguments(args.length > 0 ? args[0] : null);
+        for (int i = 1; i < args.length; i++) {
+            final String arg = args[i];
+            if (!arg.startsWith("--")) {
+                arguments.positionals.add(arg);
+                continue;
+            }
+            String name = arg.substring(2);
+            String value = null;
+            final int equalsIndex = name.indexOf('=');
+            if (equalsIndex >= 0) {
+                value = name.substring(equalsIndex + 1);
+                name = name.substring(0, equalsIndex);
+            }
+            if (flagNames.contains(name) && value == null) {
+                arguments.flags.add(name);
+            } else if (optionNames.contains(name)) {
+                if (value == null) {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("Missing value for option --" + name);
+                    }
+                    value = args[++i];
+                }
+                arguments.options.put(name, value);
+            } else {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return arguments;
+    }
+
+    public String getOption(final String name) {
+        return this.options.get(name);
+    }
+
+    public boolean hasFlag(final String name) {
+        return this.flags.contains(name);
+    }
+}
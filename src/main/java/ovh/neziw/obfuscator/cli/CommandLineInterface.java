@@ -0,0 +1,95 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.PrintStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless entry point, never loads AWT or Swing
+ * Single Responsibility: Dispatch command line invocations to their command
+ */
+public final class CommandLineInterface {
+
+    private static final String USAGE = """
+        Usage: java -jar noobfuscator.jar <command> [options]
+
+        Commands:
+          obfuscate --config <settings.json> [--input <in.jar>] [--output <out.jar>] [--quiet]
+          batch --config <settings.json> [--list <jars.txt>] [--threads <n>] [--mappings <file>] [--quiet] [<in.jar>=<out.jar> ...]
+          retrace --mappings <mappings.json|.json.gz|.bin> [<log file> ...]
+          profile --mappings <file> [--output <file>] [--events <type,...>] [<recording.jfr|stacks.txt>]
+          diff-mappings [--fail-on <added,removed,renamed>] [--watch <pattern,...>] [--summary] <old mappings> <new mappings>
+          daemon [--port <port>]
+          client [--port <port>] (--config <settings.json> [--input <in.jar>] [--output <out.jar>] | --ping | --shutdown) [--quiet]
+          help
+
+        Exit codes: 0 success, 1 failure, 2 invalid command line, 3 invalid configuration or input, 130 cancelled
+        Without arguments the GUI is started.""";
+
+    /**
+     * Runs a command and returns its exit code
+     */
+    public static int run(final String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        final PrintStream err = System.err;
+        if (args.length == 0 || "help".equals(args[0]) || "--help".equals(args[0]) || "-h".equals(args[0])) {
+            err.println(USAGE);
+            return args.length == 0 ? ExitCodes.USAGE : ExitCodes.SUCCESS;
+        }
+        try {
+            return switch (args[0]) {
+                case "obfuscate" -> {
+                    final CommandLineArguments arguments = CommandLineArguments.parse(args, ObfuscateCommand.FLAGS, ObfuscateCommand.OPTIONS);
+                    if (arguments.hasFlag("quiet")) {
+                        Logger.getLogger("").setLevel(Level.WARNING);
+                    }
+                    yield new ObfuscateCommand(err).run(arguments);
+                }
+                case "batch" -> new BatchCommand(err).run(
+                    CommandLineArguments.parse(args, BatchCommand.FLAGS, BatchCommand.OPTIONS));
+                case "retrace" -> new RetraceCommand(System.out, err).run(
+                    CommandLineArguments.parse(args, RetraceCommand.FLAGS, RetraceCommand.OPTIONS));
+                case "profile" -> new ProfileCommand(System.out, err).run(
+                    CommandLineArguments.parse(args, ProfileCommand.FLAGS, ProfileCommand.OPTIONS));
+                case "diff-mappings" -> new DiffMappingsCommand(System.out, err).run(
+                    CommandLineArguments.parse(args, DiffMappingsCommand.FLAGS, DiffMappingsCommand.OPTIONS));
+                case "daemon" -> new DaemonCommand(err).run(
+                    CommandLineArguments.parse(args, DaemonCommand.FLAGS, DaemonCommand.OPTIONS));
+                case "client" -> new ClientCommand(err).run(
+                    CommandLineArguments.parse(args, ClientCommand.FLAGS, ClientCommand.OPTIONS));
+                default -> {
+                    err.println("Unknown command: " + args[0]);
+                    err.println(USAGE);
+                    yield ExitCodes.USAGE;
+                }
+            };
+        } catch (final IllegalArgumentException exception) {
+            err.println(exception.getMessage());
+            err.println(USAGE);
+            return ExitCodes.USAGE;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import ovh.neziw.obfuscator.obfuscator.progress.Progress;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressListener;
+
+/**
+ * Renders progress on the console
+ * On a terminal one status line is redrawn in place, otherwise (CI logs, redirected output) a line is printed
+ * on every phase change and at most every few seconds in between
+ * Single Responsibility: Render progress updates as text
+ */
+public class ConsoleProgressRenderer implements ProgressListener {
+
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final PrintStream out;
+    private final boolean interactive;
+    private String lastPhase;
+    private long nextLineNanos;
+    private int lastLength;
+
+    public ConsoleProgressRenderer(final PrintStream out) {
+        this(out, System.console() != null);
+    }
+
+    public ConsoleProgressRenderer(final PrintStream out, final boolean interactive) {
+        this.out = out;
+        this.interactive = interactive;
+    }
+
+    @Override
+    public synchronized void onProgress(final Progress progress) {
+        final String line = progress.toString();
+        final boolean phaseChanged = !progress.phase().equals(this.lastPhase);
+        this.lastPhase = progress.phase();
+        if (this.interactive) {
+            // Pad with spaces to clear the rest of a longer previous line
+            final StringBuilder builder = new StringBuilder("\r").append(line);
+            for (int i = line.length(); i < this.lastLength; i++) {
+                builder.append(' ');
+            }
+            this.lastLength = line.length();
+            this.out.print(builder);
+            if ("done".equals(progress.phase())) {
+                this.out.println();
+                this.lastLength = 0;
+            }
+            this.out.flush();
+            return;
+        }
+        final long now = System.nanoTime();
+        if (phaseChanged || now - this.nextLineNanos >= 0) {
+            this.nextLineNanos = now + LOG_INTERVAL_NANOS;
+            this.out.println(line);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Set;
+import ovh.neziw.obfuscator.daemon.ObfuscationDaemon;
+
+/**
+ * {@code daemon [--port <port>]}
+ * Single Responsibility: Start the obfuscation daemon from the command line
+ */
+public class DaemonCommand {
+
+    static final Set<String> FLAGS = Set.of();
+    static final Set<String> OPTIONS = Set.of("port");
+
+    private final PrintStream err;
+
+    public DaemonCommand(final PrintStream err) {
+        this.err = err;
+    }
+
+    public int run(final CommandLineArguments arguments) {
+        final int port = parsePort(arguments.getOption("port"));
+        try {
+            new ObfuscationDaemon(port).run();
+            return ExitCodes.SUCCESS;
+        } catch (final IOException exception) {
+            this.err.println("Cannot start daemon on port " + port + ": " + exception.getMessage());
+            return ExitCodes.FAILURE;
+        }
+    }
+
+    /**
+     * Parses a --port option, falling back to the default daemon port
+     *
+     * @throws IllegalArgumentException If the port is not a number
+     */
+    static int parsePort(final String port) {
+        if (port == null) {
+            return ObfuscationDaemon.DEFAULT_PORT;
+        }
+        try {
+            return Integer.parseInt(port);
+        } catch (final NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import ovh.neziw.obfuscator.obfuscator.PatternMatcher;
+import ovh.neziw.obfuscator.obfuscator.mappings.MappingEntrySource;
+import ovh.neziw.obfuscator.obfuscator.mappings.MappingsDiff;
+
+/**
+ * {@code diff-mappings [--fail-on <added,removed,renamed>] [--watch <pattern,...>] [--summary] <old mappings> <new mappings>}
+ * Writes one line per changed class, method or field to stdout and the counts to stderr
+ * Exits with 1 if a change of a --fail-on type touches a class matching --watch (all classes without it)
+ * Single Responsibility: Run the mappings diff from the command line
+ */
+public class DiffMappingsCommand {
+
+    static final Set<String> FLAGS = Set.of("summary");
+    static final Set<String> OPTIONS = Set.of("fail-on", "watch");
+
+    private final OutputStream out;
+    private final PrintStream err;
+
+    public DiffMappingsCommand(final OutputStream out, final PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    public int run(final CommandLineArguments arguments) {
+        if (arguments.getPositionals().size() != 2) {
+            this.err.println("Expected exactly two mappings files: <old> <new>");
+            return ExitCodes.USAGE;
+        }
+        final Set<MappingsDiff.ChangeType> failOn = EnumSet.noneOf(MappingsDiff.ChangeType.class);
+        final String failOnOption = arguments.getOption("fail-on");
+        if (failOnOption != null) {
+            for (final String type : failOnOption.split(",")) {
+                try {
+                    failOn.add(MappingsDiff.ChangeType.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+                } catch (final IllegalArgumentException exception) {
+                    this.err.println("Unknown change type for --fail-on: " + type.trim());
+                    return ExitCodes.USAGE;
+                }
+            }
+        }
+        final String watchOption = arguments.getOption("watch");
+        final PatternMatcher watch = watchOption != null ? new PatternMatcher(List.of(watchOption.split(","))) : null;
+
+        final String beforePath = arguments.getPositionals().get(0);
+        final String afterPath = arguments.getPositionals().get(1);
+        final MappingEntrySource before;
+        final MappingEntrySource after;
+        try {
+            before = MappingEntrySource.open(Paths.get(beforePath));
+            after = MappingEntrySource.open(Paths.get(afterPath));
+        } catch (final NoSuchFileException exception) {
+            this.err.println("Mappings file not found: " + exception.getFile());
+            return ExitCodes.INVALID_INPUT;
+        } catch (final IOException exception) {
+            this.err.println("Cannot read mappings: " + exception.getMessage());
+            return ExitCodes.INVALID_INPUT;
+        }
+
+        final boolean summaryOnly = arguments.hasFlag("summary");
+        final int[] failures = new int[1];
+        final MappingsDiff.Change[] firstFailure = new MappingsDiff.Change[1];
+        final MappingsDiff.Summary summary;
+        // Flushed but not closed, the stream is usually System.out
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(this.out, StandardCharsets.UTF_8));
+        try {
+            summary = MappingsDiff.compare(before, after, change -> {
+                if (failOn.contains(change.type()) && (watch == null || watch.matches(change.originalClassName()))) {
+                    if (failures[0]++ == 0) {
+                        firstFailure[0] = change;
+                    }
+                }
+                if (!summaryOnly) {
+                    try {
+                        writer.write(change.toString());
+                        writer.write('\n');
+                    } catch (final IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }
+            });
+            writer.flush();
+        } catch (final IOException | UncheckedIOException exception) {
+            this.err.println("Cannot write diff: " + exception.getMessage());
+            return ExitCodes.FAILURE;
+        }
+
+        this.err.println(summary);
+        if (failures[0] > 0) {
+            this.err.println(failures[0] + " change(s) not allowed by --fail-on " + failOnOption +
+                (watchOption != null ? " in --watch " + watchOption : "") + ", first: " + firstFailure[0]);
+            return ExitCodes.FAILURE;
+        }
+        return ExitCodes.SUCCESS;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+/**
+ * Process exit codes of the command line interface
+ */
+public final class ExitCodes {
+
+    /**
+     * The command completed successfully
+     */
+    public static final int SUCCESS = 0;
+
+    /**
+     * The command failed while running (e.g. an I/O error while writing the output JAR)
+     */
+    public static final int FAILURE = 1;
+
+    /**
+     * The command line is invalid (unknown command, missing or unknown option)
+     */
+    public static final int USAGE = 2;
+
+    /**
+     * The configuration or input files are missing or invalid
+     */
+    public static final int INVALID_INPUT = 3;
+
+    /**
+     * The command was cancelled before it completed (e.g. by Ctrl+C), no incomplete output is left behind
+     */
+    public static final int CANCELLED = 130;
+}
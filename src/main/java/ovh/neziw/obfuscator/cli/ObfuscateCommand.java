@@ -0,0 +1,67 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.PrintStream;
+import java.util.Set;
+import ovh.neziw.obfuscator.obfuscator.EngineResources;
+import ovh.neziw.obfuscator.obfuscator.progress.CancellationToken;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressListener;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressTracker;
+
+/**
+ * {@code obfuscate --config <settings.json> [--input <in.jar>] [--output <out.jar>] [--quiet]}
+ * Input and output default to the ones stored in the configuration, progress is rendered unless quiet
+ * and Ctrl+C stops the run without leaving an incomplete output JAR
+ * Single Responsibility: Run a single obfuscation from the command line
+ */
+public class ObfuscateCommand {
+
+    static final Set<String> FLAGS = Set.of("quiet");
+    static final Set<String> OPTIONS = Set.of("config", "input", "output");
+
+    private final PrintStream err;
+
+    public ObfuscateCommand(final PrintStream err) {
+        this.err = err;
+    }
+
+    public int run(final CommandLineArguments arguments) {
+        final boolean quiet = arguments.hasFlag("quiet");
+        if (!quiet) {
+            this.err.println("Obfuscating with configuration " + arguments.getOption("config"));
+        }
+        final CancellationToken cancellation = new CancellationToken();
+        final ProgressListener listener = quiet ? ProgressListener.NONE : new ConsoleProgressRenderer(this.err);
+        final ObfuscationJob.Result result;
+        try (final CancelOnShutdown ignored = CancelOnShutdown.install(cancellation)) {
+            result = new ObfuscationJob(arguments.getOption("config"), arguments.getOption("input"), arguments.getOption("output"))
+                .run(new EngineResources(), new ProgressTracker(listener, cancellation));
+        }
+        if (!quiet || result.exitCode() != ExitCodes.SUCCESS) {
+            this.err.println(result.message());
+        }
+        return result.exitCode();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import ovh.neziw.obfuscator.config.ConfigLoader;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.EngineResources;
+import ovh.neziw.obfuscator.obfuscator.JarProcessor;
+import ovh.neziw.obfuscator.obfuscator.progress.ObfuscationCancelledException;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressTracker;
+
+/**
+ * A single obfuscation request: configuration file plus optional input/output overrides
+ * Shared by the obfuscate command and the daemon
+ * Single Responsibility: Validate and run one obfuscation, mapping the outcome to an exit code
+ */
+public class ObfuscationJob {
+
+    private final String configPath;
+    private final String input;
+    private final String output;
+
+    public ObfuscationJob(final String configPath, final String input, final String output) {
+        this.configPath = configPath;
+        this.input = input;
+        this.output = output;
+    }
+
+    /**
+     * Runs the job
+     *
+     * @param resources Caches to reuse, a fresh instance for one-shot runs
+     */
+    public Result run(final EngineResources resources) {
+        return this.run(resources, ProgressTracker.none());
+    }
+
+    /**
+     * Runs the job, reporting its progress to the tracker and stopping when it is cancelled
+     *
+     * @param resources Caches to reuse, a fresh instance for one-shot runs
+     * @param progress  Receives the progress and carries the cancellation
+     */
+    public Result run(final EngineResources resources, final ProgressTracker progress) {
+        if (this.configPath == null) {
+            return new Result(ExitCodes.USAGE, "Missing required option --config");
+        }
+        final JsonConfig config;
+        try {
+            config = ConfigLoader.load(Paths.get(this.configPath));
+        } catch (final NoSuchFileException exception) {
+            return new Result(ExitCodes.INVALID_INPUT, "Configuration file not found: " + this.configPath);
+        } catch (final IOException exception) {
+            return new Result(ExitCodes.INVALID_INPUT, "Cannot read configuration " + this.configPath + ": " + exception.getMessage());
+        }
+        if (this.input != null) {
+            config.setInputJarName(this.input);
+        }
+        if (this.output != null) {
+            config.setOutputJarName(this.output);
+        }
+        if (config.getInputJarName() == null || config.getInputJarName().isEmpty()) {
+            return new Result(ExitCodes.INVALID_INPUT, "No input JAR, pass --input or set inputJarName in the configuration");
+        }
+        if (config.getOutputJarName() == null || config.getOutputJarName().isEmpty()) {
+            return new Result(ExitCodes.INVALID_INPUT, "No output JAR, pass --output or set outputJarName in the configuration");
+        }
+        final Path inputPath = Paths.get(config.getInputJarName());
+        if (!Files.isRegularFile(inputPath)) {
+            return new Result(ExitCodes.INVALID_INPUT, "Input JAR does not exist: " + inputPath);
+        }
+        if (config.getApplyMappings() != null && !config.getApplyMappings().isEmpty()
+            && !Files.isRegularFile(Paths.get(config.getApplyMappings()))) {
+            return new Result(ExitCodes.INVALID_INPUT, "Mappings to apply do not exist: " + config.getApplyMappings());
+        }
+
+        final long start = System.nanoTime();
+        final JarProcessor processor = new JarProcessor(config, resources, progress);
+        try {
+            processor.processJar(config.getInputJarName(), config.getOutputJarName());
+        } catch (final ObfuscationCancelledException exception) {
+            return new Result(ExitCodes.CANCELLED, "Obfuscation cancelled, no output written");
+        } catch (final Exception exception) {
+            return new Result(ExitCodes.FAILURE, "Obfuscation failed: " + exception.getMessage());
+        }
+        return new Result(ExitCodes.SUCCESS, "Obfuscated " + config.getInputJarName() + " -> " + config.getOutputJarName() +
+            " in " + (System.nanoTime() - start) / 1_000_000 + " ms\n" + processor.getStats());
+    }
+
+    /**
+     * Outcome of a job: process exit code and a human readable message
+     */
+    public record Result(int exitCode, String message) {
+    }
+}
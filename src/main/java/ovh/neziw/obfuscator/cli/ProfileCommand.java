@@ -0,0 +1,141 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Set;
+import ovh.neziw.obfuscator.retrace.CollapsedStackDeobfuscator;
+import ovh.neziw.obfuscator.retrace.JfrStackExporter;
+import ovh.neziw.obfuscator.retrace.RetraceIndex;
+
+/**
+ * {@code profile --mappings <file> [--output <file>] [--events <type,...>] [<recording.jfr|stacks.txt>]}
+ * JFR recordings are exported as deobfuscated collapsed stacks, collapsed stack files are deobfuscated line by line
+ * Reads collapsed stacks from stdin without an input and writes to stdout without --output
+ * Single Responsibility: Deobfuscate profiler output from the command line
+ */
+public class ProfileCommand {
+
+    static final Set<String> FLAGS = Set.of();
+    static final Set<String> OPTIONS = Set.of("mappings", "output", "events");
+
+    private static final byte[] JFR_MAGIC = {'F', 'L', 'R', 0};
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final PrintStream err;
+
+    public ProfileCommand(final OutputStream out, final PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    public int run(final CommandLineArguments arguments) {
+        final String mappingsPath = arguments.getOption("mappings");
+        if (mappingsPath == null) {
+            this.err.println("Missing required option --mappings");
+            return ExitCodes.USAGE;
+        }
+        if (arguments.getPositionals().size() > 1) {
+            this.err.println("Expected at most one input file");
+            return ExitCodes.USAGE;
+        }
+        final RetraceIndex index;
+        try {
+            index = RetraceIndex.load(Paths.get(mappingsPath));
+        } catch (final NoSuchFileException exception) {
+            this.err.println("Mappings file not found: " + mappingsPath);
+            return ExitCodes.INVALID_INPUT;
+        } catch (final IOException exception) {
+            this.err.println("Cannot read mappings: " + exception.getMessage());
+            return ExitCodes.INVALID_INPUT;
+        }
+        final String input = arguments.getPositionals().isEmpty() ? null : arguments.getPositionals().get(0);
+        if (input != null && !Files.isRegularFile(Paths.get(input))) {
+            this.err.println("Input file does not exist: " + input);
+            return ExitCodes.INVALID_INPUT;
+        }
+        final String output = arguments.getOption("output");
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(
+            output != null ? Files.newOutputStream(Paths.get(output)) : new UncloseableOutputStream(this.out),
+            StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            if (input != null && isJfrRecording(Paths.get(input))) {
+                final Set<String> eventTypes = arguments.getOption("events") != null
+                    ? Set.copyOf(Arrays.asList(arguments.getOption("events").split(","))) : JfrStackExporter.DEFAULT_EVENT_TYPES;
+                final long events = new JfrStackExporter(index).export(Paths.get(input), eventTypes, writer);
+                this.err.println("Exported " + events + " stack traces from " + input);
+            } else {
+                final InputStream in = input != null ? Files.newInputStream(Paths.get(input)) : System.in;
+                try (final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                    new CollapsedStackDeobfuscator(index).deobfuscate(reader, writer);
+                }
+            }
+            return ExitCodes.SUCCESS;
+        } catch (final IOException exception) {
+            this.err.println("Profile deobfuscation failed: " + exception.getMessage());
+            return ExitCodes.FAILURE;
+        }
+    }
+
+    private static boolean isJfrRecording(final Path path) throws IOException {
+        try (final InputStream in = Files.newInputStream(path)) {
+            return Arrays.equals(in.readNBytes(JFR_MAGIC.length), JFR_MAGIC);
+        }
+    }
+
+    /**
+     * Keeps stdout open when the writer around it is closed
+     */
+    private static final class UncloseableOutputStream extends FilterOutputStream {
+
+        UncloseableOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            this.out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.flush();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.Set;
+import ovh.neziw.obfuscator.retrace.RetraceIndex;
+import ovh.neziw.obfuscator.retrace.Retracer;
+
+/**
+ * {@code retrace --mappings <mappings.json|.json.gz|.bin> [<log file> ...]}
+ * Reads the log files, or stdin without any, and writes the retraced lines to stdout
+ * Single Responsibility: Run the retrace filter from the command line
+ */
+public class RetraceCommand {
+
+    static final Set<String> FLAGS = Set.of();
+    static final Set<String> OPTIONS = Set.of("mappings");
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final PrintStream err;
+
+    public RetraceCommand(final OutputStream out, final PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    public int run(final CommandLineArguments arguments) {
+        final String mappingsPath = arguments.getOption("mappings");
+        if (mappingsPath == null) {
+            this.err.println("Missing required option --mappings");
+            return ExitCodes.USAGE;
+        }
+        final Retracer retracer;
+        try {
+            retracer = new Retracer(RetraceIndex.load(Paths.get(mappingsPath)));
+        } catch (final NoSuchFileException exception) {
+            this.err.println("Mappings file not found: " + mappingsPath);
+            return ExitCodes.INVALID_INPUT;
+        } catch (final IOException exception) {
+            this.err.println("Cannot read mappings: " + exception.getMessage());
+            return ExitCodes.INVALID_INPUT;
+        }
+        final OutputStream output = new BufferedOutputStream(this.out, BUFFER_SIZE);
+        try {
+            if (arguments.getPositionals().isEmpty()) {
+                retracer.retrace(System.in, output);
+                return ExitCodes.SUCCESS;
+            }
+            for (final String logFile : arguments.getPositionals()) {
+                try (final InputStream in = Files.newInputStream(Paths.get(logFile))) {
+                    retracer.retrace(in, output);
+                } catch (final NoSuchFileException exception) {
+                    this.err.println("Log file not found: " + logFile);
+                    return ExitCodes.INVALID_INPUT;
+                }
+            }
+            return ExitCodes.SUCCESS;
+        } catch (final IOException exception) {
+            this.err.println("Retrace failed: " + exception.getMessage());
+            return ExitCodes.FAILURE;
+        }
+    }
+}
@@ -41,9 +41,15 @@ public class JsonConfig {
     private boolean obfuscateMethodNames = false;
     private boolean changeMethodsOrders = false;
     private boolean crashClass = false;
-    private String flowObfuscation = "NONE"; // NONE, EASY, HEAVY
+    private String flowObfuscation = "NONE"; // NONE, EASY, HEAVY, OPAQUE
     private String watermark = "";
     private boolean generateMappings = false;
+    private String mappingsFormat = "PRETTY"; // PRETTY, COMPACT, GZIP
+    private boolean binaryMappings = false;
+    private String applyMappings = ""; // mappings file of a previous release, empty for fresh names
+    private boolean timingReport = false;
+    private boolean traceTimeline = false;
+    private int transformThreads = 0; // classes transformed in parallel, 0 for one per processor
     private String inputJarName = "";
     private String outputJarName = "";
     private List<String> include = new ArrayList<>();
@@ -0,0 +1,121 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.daemon;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Shared secret of a daemon, written to a file that only the daemon's user can read
+ * Every request has to carry it, so other local users and processes cannot send jobs or shut the daemon down
+ * The file lives in {@code ~/.noobfuscator}, created as 0700 with a 0600 token file where POSIX permissions are
+ * supported (elsewhere the user's home directory is expected to be private)
+ * Single Responsibility: Create, read and check daemon tokens
+ */
+public final class DaemonToken {
+
+    private static final Set<PosixFilePermission> DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+    private static final int TOKEN_BYTES = 32;
+
+    private DaemonToken() {
+    }
+
+    /**
+     * Gets the token file of the daemon listening on a port
+     */
+    public static Path pathFor(final int port) {
+        return Paths.get(System.getProperty("user.home"), ".noobfuscator", "daemon-" + port + ".token");
+    }
+
+    /**
+     * Generates a new random token and writes it to the token file of the port, replacing an old one
+     *
+     * @throws IOException If the directory or file cannot be created with user-only permissions
+     */
+    public static String create(final int port) throws IOException {
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        final String token = HexFormat.of().formatHex(bytes);
+        final Path path = pathFor(port);
+        final Path directory = path.getParent();
+        final boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+        if (posix) {
+            if (!Files.isDirectory(directory)) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(DIRECTORY_PERMISSIONS));
+            }
+            Files.setPosixFilePermissions(directory, DIRECTORY_PERMISSIONS);
+            Files.deleteIfExists(path);
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(FILE_PERMISSIONS));
+        } else {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(path);
+            Files.createFile(path);
+        }
+        Files.writeString(path, token, StandardCharsets.US_ASCII);
+        return token;
+    }
+
+    /**
+     * Reads the token of the daemon listening on a port
+     *
+     * @throws IOException If no daemon has written a token for the port or it cannot be read
+     */
+    public static String read(final int port) throws IOException {
+        final Path path = pathFor(port);
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("No daemon token in " + path + ", is the daemon running as this user?");
+        }
+        return Files.readString(path, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Deletes the token file of a port, errors are ignored since the daemon is stopping anyway
+     */
+    public static void delete(final int port) {
+        try {
+            Files.deleteIfExists(pathFor(port));
+        } catch (final IOException ignored) {
+            // A stale token only lets the daemon's own user reach a port nothing listens on
+        }
+    }
+
+    /**
+     * Compares a received token with the expected one in constant time
+     */
+    public static boolean matches(final String expected, final String received) {
+        return received != null && MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+            received.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.daemon;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+import ovh.neziw.obfuscator.cli.ExitCodes;
+import ovh.neziw.obfuscator.cli.ObfuscationJob;
+import ovh.neziw.obfuscator.obfuscator.EngineResources;
+
+/**
+ * Long-running obfuscation server listening on a loopback socket
+ * Requests and responses are JSON lines, jobs run one after another in the same warm JVM and share
+ * one {@link EngineResources} (class path hierarchy cache)
+ * Requests without the {@link DaemonToken} written at startup are rejected and their connection is closed,
+ * as is a connection that sends nothing for {@link #READ_TIMEOUT_MILLIS}, so an idle client cannot block the others
+ * Single Responsibility: Accept obfuscation jobs from local clients
+ */
+public class ObfuscationDaemon {
+
+    public static final int DEFAULT_PORT = 47281;
+    // Clients send their request right after connecting, connections are served one at a time
+    static final int READ_TIMEOUT_MILLIS = 10_000;
+
+    private static final Logger LOGGER = Logger.getLogger(ObfuscationDaemon.class.getName());
+
+    private final int port;
+    private final EngineResources resources = new EngineResources();
+    private final Gson gson = new Gson();
+    private String token;
+    private volatile boolean running;
+    private int jobsCompleted;
+
+    public ObfuscationDaemon(final int port) {
+        this.port = port;
+    }
+
+    /**
+     * Serves requests until a shutdown request is received
+     *
+     * @throws IOException If the server socket cannot be opened
+     */
+    public void run() throws IOException {
+        try (final ServerSocket serverSocket = new ServerSocket(this.port, 50, InetAddress.getLoopbackAddress())) {
+            this.token = DaemonToken.create(this.port);
+            LOGGER.info("Obfuscation daemon listening on " + serverSocket.getLocalSocketAddress() + ", token in " + DaemonToken.pathFor(this.port));
+            this.running = true;
+            while (this.running) {
+                try (final Socket socket = serverSocket.accept()) {
+                    this.handleConnection(socket);
+                } catch (final IOException exception) {
+                    LOGGER.warning("Daemon connection failed: " + exception.getMessage());
+                }
+            }
+            LOGGER.info("Obfuscation daemon stopped after " + this.jobsCompleted + " jobs");
+        } finally {
+            if (this.token != null) {
+                DaemonToken.delete(this.port);
+            }
+        }
+    }
+
+    private void handleConnection(final Socket socket) throws IOException {
+        socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        while (this.running) {
+            final String line;
+            try {
+                line = reader.readLine();
+            } catch (final SocketTimeoutException exception) {
+                LOGGER.warning("Closed a daemon connection that sent no request for " + READ_TIMEOUT_MILLIS + " ms");
+                return;
+            }
+            if (line == null) {
+                return;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            final DaemonRequest request;
+            try {
+                request = this.gson.fromJson(line, DaemonRequest.class);
+            } catch (final JsonParseException exception) {
+                this.respond(writer, new DaemonResponse(ExitCodes.USAGE, "Invalid request: " + exception.getMessage()));
+                continue;
+            }
+            if (request == null || !DaemonToken.matches(this.token, request.getToken())) {
+                LOGGER.warning("Rejected a daemon request with a missing or wrong token");
+                this.respond(writer, new DaemonResponse(ExitCodes.USAGE, "Invalid or missing daemon token"));
+                return;
+            }
+            this.respond(writer, this.handleRequest(request));
+        }
+    }
+
+    private void respond(final BufferedWriter writer, final DaemonResponse response) throws IOException {
+        writer.write(this.gson.toJson(response));
+        writer.newLine();
+        writer.flush();
+    }
+
+    private DaemonResponse handleRequest(final DaemonRequest request) {
+        if (request.getType() == null) {
+            return new DaemonResponse(ExitCodes.USAGE, "Invalid request: missing type");
+        }
+        return switch (request.getType()) {
+            case "ping" -> new DaemonResponse(ExitCodes.SUCCESS, "pong, " + this.jobsCompleted + " jobs completed, " +
+                this.resources.getCachedLibraryClassCount() + " class path classes cached");
+            case "shutdown" -> {
+                this.running = false;
+                yield new DaemonResponse(ExitCodes.SUCCESS, "Daemon shutting down");
+            }
+            case "obfuscate" -> {
+                final ObfuscationJob.Result result = new ObfuscationJob(request.getConfig(), request.getInput(),
+                    request.getOutput()).run(this.resources);
+                this.jobsCompleted++;
+                yield new DaemonResponse(result.exitCode(), result.message());
+            }
+            default -> new DaemonResponse(ExitCodes.USAGE, "Unknown request type: " + request.getType());
+        };
+    }
+}
@@ -23,11 +23,15 @@
  */
 package ovh.neziw.obfuscator.gui;
 
+import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import javax.swing.JButton;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import lombok.Getter;
+import ovh.neziw.obfuscator.obfuscator.progress.Progress;
 
 @Getter
 public class ButtonPanel extends JPanel {
@@ -35,20 +39,37 @@ public class ButtonPanel extends JPanel {
     private JButton loadButton;
     private JButton saveButton;
     private JButton startObfuscationButton;
+    private JButton cancelButton;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
 
     public ButtonPanel() {
         this.initializePanel();
     }
 
     private void initializePanel() {
-        this.setLayout(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        this.setLayout(new BorderLayout(5, 5));
+        final JPanel progressPanel = new JPanel(new BorderLayout(5, 5));
+        this.progressBar = new JProgressBar(0, 1000);
+        this.progressBar.setStringPainted(true);
+        this.progressBar.setString("");
+        progressPanel.add(this.progressBar, BorderLayout.NORTH);
+        this.statusLabel = new JLabel(" ");
+        progressPanel.add(this.statusLabel, BorderLayout.SOUTH);
+        this.add(progressPanel, BorderLayout.NORTH);
+
+        final JPanel buttons = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
         this.loadButton = new JButton("Load Config");
-        this.add(this.loadButton);
+        buttons.add(this.loadButton);
         this.saveButton = new JButton("Save Config");
-        this.add(this.saveButton);
+        buttons.add(this.saveButton);
         this.startObfuscationButton = new JButton("Start Obfuscation");
         this.startObfuscationButton.setFont(this.startObfuscationButton.getFont().deriveFont(Font.BOLD));
-        this.add(this.startObfuscationButton);
+        buttons.add(this.startObfuscationButton);
+        this.cancelButton = new JButton("Cancel");
+        this.cancelButton.setEnabled(false);
+        buttons.add(this.cancelButton);
+        this.add(buttons, BorderLayout.CENTER);
     }
 
     public void setStartButtonEnabled(final boolean enabled) {
@@ -58,4 +79,31 @@ public class ButtonPanel extends JPanel {
     public void setStartButtonText(final String text) {
         this.startObfuscationButton.setText(text);
     }
+
+    public void setCancelButtonEnabled(final boolean enabled) {
+        this.cancelButton.setEnabled(enabled);
+    }
+
+    /**
+     * Shows a progress update, must be called on the event dispatch thread
+     */
+    public void showProgress(final Progress progress) {
+        final double fraction = progress.fraction();
+        this.progressBar.setIndeterminate(fraction < 0);
+        if (fraction >= 0) {
+            this.progressBar.setValue((int) (fraction * this.progressBar.getMaximum()));
+        }
+        this.progressBar.setString(progress.phase());
+        this.statusLabel.setText(progress.toString());
+    }
+
+    /**
+     * Clears the progress bar and shows a final status
+     */
+    public void resetProgress(final String status) {
+        this.progressBar.setIndeterminate(false);
+        this.progressBar.setValue(0);
+        this.progressBar.setString("");
+        this.statusLabel.setText(status);
+    }
 }
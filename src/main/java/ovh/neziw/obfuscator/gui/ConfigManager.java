@@ -23,16 +23,13 @@
  */
 package ovh.neziw.obfuscator.gui;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.logging.Logger;
 import javax.swing.JOptionPane;
 import lombok.Getter;
 import lombok.Setter;
+import ovh.neziw.obfuscator.config.ConfigLoader;
 import ovh.neziw.obfuscator.config.JsonConfig;
 
 public class ConfigManager {
@@ -40,7 +37,6 @@ public class ConfigManager {
     private static final Logger LOGGER = Logger.getLogger(ConfigManager.class.getName());
 
     private static final String CONFIG_FILE = "settings.json";
-    private final Gson gson;
     @Setter
     @Getter
     private JsonConfig config;
@@ -48,18 +44,14 @@ public class ConfigManager {
     private java.awt.Component parentComponent;
 
     public ConfigManager() {
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
         this.config = new JsonConfig();
     }
 
     public void loadConfig(final boolean showMessage) {
         final File configFile = new File(CONFIG_FILE);
         if (configFile.exists()) {
-            try (final FileReader reader = new FileReader(configFile)) {
-                this.config = this.gson.fromJson(reader, JsonConfig.class);
-                if (this.config == null) {
-                    this.config = new JsonConfig();
-                }
+            try {
+                this.config = ConfigLoader.load(configFile.toPath());
                 if (showMessage) {
                     JOptionPane.showMessageDialog(this.parentComponent, "Configuration loaded successfully!",
                         "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -81,8 +73,8 @@ public class ConfigManager {
 
     public void saveConfig(final boolean showMessage) {
         final File configFile = new File(CONFIG_FILE);
-        try (final FileWriter writer = new FileWriter(configFile)) {
-            this.gson.toJson(this.config, writer);
+        try {
+            ConfigLoader.save(this.config, configFile.toPath());
             if (showMessage) {
                 JOptionPane.showMessageDialog(this.parentComponent, "Configuration saved successfully!",
                     "Success", JOptionPane.INFORMATION_MESSAGE);
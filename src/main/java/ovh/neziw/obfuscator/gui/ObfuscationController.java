@@ -29,6 +29,11 @@ import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import lombok.Setter;
 import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.EngineResources;
+import ovh.neziw.obfuscator.obfuscator.progress.CancellationToken;
+import ovh.neziw.obfuscator.obfuscator.progress.ObfuscationCancelledException;
+import ovh.neziw.obfuscator.obfuscator.progress.Progress;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressTracker;
 
 public class ObfuscationController {
 
@@ -38,6 +43,7 @@ public class ObfuscationController {
     private final ButtonPanel buttonPanel;
     @Setter
     private java.awt.Component parentComponent;
+    private volatile CancellationToken cancellation;
 
     public ObfuscationController(final ConfigManager configManager, final ButtonPanel buttonPanel) {
         this.configManager = configManager;
@@ -65,21 +71,26 @@ public class ObfuscationController {
             return;
         }
         this.configManager.saveConfig(false);
+        final CancellationToken cancellation = new CancellationToken();
+        this.cancellation = cancellation;
+        // Updates are throttled by the tracker, so the event queue is not flooded
+        final ProgressTracker progress = new ProgressTracker(
+            update -> SwingUtilities.invokeLater(() -> this.buttonPanel.showProgress(update)), cancellation);
         new Thread(() -> {
             try {
                 SwingUtilities.invokeLater(() -> {
                     this.buttonPanel.setStartButtonEnabled(false);
                     this.buttonPanel.setStartButtonText("Obfuscating...");
+                    this.buttonPanel.setCancelButtonEnabled(true);
                 });
                 final ovh.neziw.obfuscator.obfuscator.JarProcessor processor =
-                    new ovh.neziw.obfuscator.obfuscator.JarProcessor(config);
+                    new ovh.neziw.obfuscator.obfuscator.JarProcessor(config, new EngineResources(), progress);
                 processor.processJar(config.getInputJarName(), config.getOutputJarName());
 
                 final ovh.neziw.obfuscator.obfuscator.stats.ObfuscationStatsCollector stats = processor.getStats();
 
                 SwingUtilities.invokeLater(() -> {
-                    this.buttonPanel.setStartButtonEnabled(true);
-                    this.buttonPanel.setStartButtonText("Start Obfuscation");
+                    this.finishRun("Completed in " + Progress.formatDuration(progress.snapshot().elapsedNanos() / 1_000_000));
                     final StringBuilder statsMsg = new StringBuilder();
                     statsMsg.append("Obfuscation completed successfully!\n\n");
                     statsMsg.append("Input: ").append(config.getInputJarName()).append("\n");
@@ -110,12 +121,14 @@ public class ObfuscationController {
                     JOptionPane.showMessageDialog(this.parentComponent, statsMsg.toString(),
                         "Obfuscation Complete", JOptionPane.INFORMATION_MESSAGE);
                 });
+            } catch (final ObfuscationCancelledException exception) {
+                LOGGER.info("Obfuscation cancelled");
+                SwingUtilities.invokeLater(() -> this.finishRun("Cancelled, no output written"));
             } catch (final Exception exception) {
                 LOGGER.severe("Error during obfuscation: " + exception.getMessage());
                 LOGGER.throwing(ObfuscationController.class.getName(), "startObfuscation", exception);
                 SwingUtilities.invokeLater(() -> {
-                    this.buttonPanel.setStartButtonEnabled(true);
-                    this.buttonPanel.setStartButtonText("Start Obfuscation");
+                    this.finishRun("Failed: " + exception.getMessage());
 
                     JOptionPane.showMessageDialog(this.parentComponent,
                         "Error during obfuscation:\n" + exception.getMessage() + "\n\n" +
@@ -123,7 +136,27 @@ public class ObfuscationController {
                         "Obfuscation Error", JOptionPane.ERROR_MESSAGE);
                 });
             }
-        }).start();
+        }, "obfuscation").start();
+    }
+
+    /**
+     * Asks the running obfuscation to stop, it stops at the next class it processes
+     */
+    public void cancelObfuscation() {
+        final CancellationToken running = this.cancellation;
+        if (running != null) {
+            running.cancel();
+            this.buttonPanel.setCancelButtonEnabled(false);
+            this.buttonPanel.setStartButtonText("Cancelling...");
+        }
+    }
+
+    private void finishRun(final String status) {
+        this.cancellation = null;
+        this.buttonPanel.setStartButtonEnabled(true);
+        this.buttonPanel.setStartButtonText("Start Obfuscation");
+        this.buttonPanel.setCancelButtonEnabled(false);
+        this.buttonPanel.resetProgress(status);
     }
 
     private String getStackTrace(final Exception exception) {
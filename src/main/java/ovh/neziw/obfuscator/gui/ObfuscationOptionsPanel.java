@@ -43,8 +43,13 @@ public class ObfuscationOptionsPanel extends JPanel {
     private JCheckBox changeMethodsOrdersCheck;
     private JCheckBox crashClassCheck;
     private JCheckBox generateMappingsCheck;
+    private JCheckBox binaryMappingsCheck;
+    private JCheckBox timingReportCheck;
+    private JCheckBox traceTimelineCheck;
     private JComboBox<String> flowObfuscationCombo;
+    private JComboBox<String> mappingsFormatCombo;
     private JTextField watermarkField;
+    private JTextField applyMappingsField;
 
     public ObfuscationOptionsPanel() {
         this.initializePanel();
@@ -96,15 +101,27 @@ public class ObfuscationOptionsPanel extends JPanel {
         this.add(this.generateMappingsCheck, gbc);
 
         gbc.gridy = 9;
+        this.binaryMappingsCheck = new JCheckBox("Binary Mappings");
+        this.binaryMappingsCheck.setToolTipText("Also write an indexed .bin mappings file for fast lookups");
+        this.add(this.binaryMappingsCheck, gbc);
+
+        gbc.gridy = 10;
         gbc.gridwidth = 1;
         this.add(new JLabel("Flow Obfuscation:"), gbc);
         gbc.gridx = 1;
-        this.flowObfuscationCombo = new JComboBox<>(new String[] {"NONE", "EASY", "HEAVY"});
+        this.flowObfuscationCombo = new JComboBox<>(new String[] {"NONE", "EASY", "HEAVY", "OPAQUE"});
         this.add(this.flowObfuscationCombo, gbc);
         gbc.gridx = 0;
         gbc.gridwidth = 1;
 
-        gbc.gridy = 10;
+        gbc.gridy = 11;
+        this.add(new JLabel("Mappings Format:"), gbc);
+        gbc.gridx = 1;
+        this.mappingsFormatCombo = new JComboBox<>(new String[] {"PRETTY", "COMPACT", "GZIP"});
+        this.add(this.mappingsFormatCombo, gbc);
+        gbc.gridx = 0;
+
+        gbc.gridy = 12;
         this.add(new JLabel("Watermark:"), gbc);
         gbc.gridx = 1;
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -116,6 +133,30 @@ public class ObfuscationOptionsPanel extends JPanel {
         gbc.fill = GridBagConstraints.NONE;
         gbc.weightx = 0;
         gbc.gridwidth = 1;
+
+        gbc.gridy = 13;
+        this.add(new JLabel("Apply Mappings:"), gbc);
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.weightx = 1.0;
+        this.applyMappingsField = new JTextField(20);
+        this.applyMappingsField.setToolTipText("Mappings file of a previous release, unchanged symbols keep their names");
+        this.add(this.applyMappingsField, gbc);
+        gbc.gridx = 0;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.weightx = 0;
+        gbc.gridwidth = 1;
+
+        gbc.gridy = 14;
+        this.timingReportCheck = new JCheckBox("Timing Report");
+        this.timingReportCheck.setToolTipText("Time every phase and obfuscation pass and write a _timings.json report");
+        this.add(this.timingReportCheck, gbc);
+
+        gbc.gridx = 1;
+        this.traceTimelineCheck = new JCheckBox("Trace Timeline");
+        this.traceTimelineCheck.setToolTipText("Record a per-thread timeline and write it as _trace.json for chrome://tracing or Perfetto");
+        this.add(this.traceTimelineCheck, gbc);
+        gbc.gridx = 0;
     }
 
     public void updateFromConfig(final JsonConfig config) {
@@ -127,13 +168,20 @@ public class ObfuscationOptionsPanel extends JPanel {
         this.changeMethodsOrdersCheck.setSelected(config.isChangeMethodsOrders());
         this.crashClassCheck.setSelected(config.isCrashClass());
         this.generateMappingsCheck.setSelected(config.isGenerateMappings());
+        this.binaryMappingsCheck.setSelected(config.isBinaryMappings());
+        this.timingReportCheck.setSelected(config.isTimingReport());
+        this.traceTimelineCheck.setSelected(config.isTraceTimeline());
         String flowObf = config.getFlowObfuscation();
         if (flowObf == null || flowObf.isEmpty()) {
             flowObf = "NONE";
         }
         this.flowObfuscationCombo.setSelectedItem(flowObf);
+        final String mappingsFormat = config.getMappingsFormat();
+        this.mappingsFormatCombo.setSelectedItem(mappingsFormat != null && !mappingsFormat.isEmpty() ? mappingsFormat : "PRETTY");
         final String watermark = config.getWatermark();
         this.watermarkField.setText(watermark != null ? watermark : "");
+        final String applyMappings = config.getApplyMappings();
+        this.applyMappingsField.setText(applyMappings != null ? applyMappings : "");
     }
 
     public void updateConfig(final JsonConfig config) {
@@ -145,7 +193,12 @@ public class ObfuscationOptionsPanel extends JPanel {
         config.setChangeMethodsOrders(this.changeMethodsOrdersCheck.isSelected());
         config.setCrashClass(this.crashClassCheck.isSelected());
         config.setGenerateMappings(this.generateMappingsCheck.isSelected());
+        config.setBinaryMappings(this.binaryMappingsCheck.isSelected());
+        config.setTimingReport(this.timingReportCheck.isSelected());
+        config.setTraceTimeline(this.traceTimelineCheck.isSelected());
         config.setFlowObfuscation((String) this.flowObfuscationCombo.getSelectedItem());
+        config.setMappingsFormat((String) this.mappingsFormatCombo.getSelectedItem());
         config.setWatermark(this.watermarkField.getText());
+        config.setApplyMappings(this.applyMappingsField.getText().trim());
     }
 }
@@ -91,6 +91,7 @@ public class ObfuscatorGui extends JFrame {
         this.buttonPanel.getLoadButton().addActionListener(e -> this.loadConfig(true));
         this.buttonPanel.getSaveButton().addActionListener(e -> this.saveConfig());
         this.buttonPanel.getStartObfuscationButton().addActionListener(e -> this.startObfuscation());
+        this.buttonPanel.getCancelButton().addActionListener(e -> this.obfuscationController.cancelObfuscation());
     }
 
     private void loadConfig() {
@@ -0,0 +1,162 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import ovh.neziw.obfuscator.config.JsonConfig;
+import ovh.neziw.obfuscator.obfuscator.progress.ObfuscationCancelledException;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressTracker;
+import ovh.neziw.obfuscator.obfuscator.stats.ObfuscationStatsCollector;
+import ovh.neziw.obfuscator.obfuscator.timing.TimingRecorder;
+
+/**
+ * Obfuscates several JARs that reference each other under one global mapping
+ * All JARs are scanned into one engine first, then transformed concurrently on a shared pool
+ * by engines that share its mappings, names and class hierarchy
+ * Single Responsibility: Coordinate a multi-JAR obfuscation run
+ */
+public class BatchProcessor {
+
+    private static final Logger LOGGER = Logger.getLogger(BatchProcessor.class.getName());
+
+    private final JsonConfig config;
+    private final EngineResources resources;
+    private final int parallelism;
+    private final ProgressTracker progress;
+
+    public BatchProcessor(final JsonConfig config, final EngineResources resources, final int parallelism) {
+        this(config, resources, parallelism, ProgressTracker.none());
+    }
+
+    /**
+     * Creates a batch whose JARs all report to one tracker, cancelling it stops every JAR
+     */
+    public BatchProcessor(final JsonConfig config, final EngineResources resources, final int parallelism, final ProgressTracker progress) {
+        this.config = config;
+        this.resources = resources;
+        this.parallelism = Math.max(1, parallelism);
+        this.progress = progress;
+    }
+
+    /**
+     * Scans all JARs into one global mapping and transforms them concurrently
+     * A JAR that fails does not stop the others, its error is reported in its result
+     *
+     * @param jars             Input and output JAR pairs
+     * @param mappingsFilePath Where to write the global mappings file when mappings are enabled
+     * @return One result per JAR, in the order of {@code jars}
+     * @throws IOException If a JAR cannot be scanned or the mappings cannot be written
+     * @throws ObfuscationCancelledException If the progress tracker was cancelled
+     */
+    public List<JarResult> process(final List<JarPair> jars, final String mappingsFilePath) throws IOException {
+        final ObfuscatorEngine globalEngine = new ObfuscatorEngine(this.config, this.resources);
+        final JarProcessor scanner = new JarProcessor(this.config, globalEngine, this.progress);
+        if (this.config.getApplyMappings() != null && !this.config.getApplyMappings().isEmpty()) {
+            scanner.applyMappings(Paths.get(this.config.getApplyMappings()));
+        }
+        for (final JarPair jar : jars) {
+            scanner.scanJar(Paths.get(jar.input()));
+        }
+
+        final List<JarResult> results = new ArrayList<>();
+        final int concurrentJars = Math.min(this.parallelism, Math.max(1, jars.size()));
+        // The transform workers are split between the JARs running at once
+        final int workersPerJar = Math.max(1, JarProcessor.transformThreads(this.config) / concurrentJars);
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrentJars);
+        try {
+            final List<Future<ObfuscationStatsCollector>> futures = new ArrayList<>();
+            for (final JarPair jar : jars) {
+                futures.add(executor.submit(() -> {
+                    final ObfuscatorEngine engine = new ObfuscatorEngine(this.config, globalEngine);
+                    new JarProcessor(this.config, engine, this.progress).transformJar(Paths.get(jar.input()), Paths.get(jar.output()),
+                        workersPerJar);
+                    return engine.getStats();
+                }));
+            }
+            for (int i = 0; i < jars.size(); i++) {
+                final JarPair jar = jars.get(i);
+                try {
+                    results.add(new JarResult(jar, futures.get(i).get(), null));
+                } catch (final ExecutionException exception) {
+                    final Throwable cause = exception.getCause() != null ? exception.getCause() : exception;
+                    if (cause instanceof ObfuscationCancelledException) {
+                        continue;
+                    }
+                    LOGGER.warning("Failed to obfuscate " + jar.input() + ": " + cause.getMessage());
+                    LOGGER.throwing(BatchProcessor.class.getName(), "process", cause);
+                    results.add(new JarResult(jar, null, cause.getMessage()));
+                }
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch obfuscation interrupted", exception);
+        } finally {
+            executor.shutdownNow();
+        }
+        this.progress.checkCancelled();
+        globalEngine.getDiagnostics().logSummary();
+
+        if (this.config.isGenerateMappings() && mappingsFilePath != null) {
+            this.progress.startPhase("mappings");
+            try (final TimingRecorder.PhaseTimer ignored = globalEngine.getTimings().startPhase("mappings")) {
+                new MappingsGenerator(this.config.getMappingsFormat(), this.config.isBinaryMappings()).generateMappingsFile(globalEngine.getMappings(), mappingsFilePath);
+            }
+            LOGGER.info("Mappings file generated: " + mappingsFilePath);
+        }
+        final Path outputDir = jars.isEmpty() ? null : Paths.get(jars.get(0).output()).toAbsolutePath().getParent();
+        if (globalEngine.getTimings().isEnabled() && outputDir != null) {
+            scanner.writeTimingReport(outputDir.resolve("batch_timings.json").toString());
+        }
+        if (globalEngine.getTimings().getTrace() != null && outputDir != null) {
+            scanner.writeTrace(outputDir.resolve("batch_trace.json").toString());
+        }
+        this.progress.finish();
+        return results;
+    }
+
+    /**
+     * An input JAR and the path its obfuscated copy is written to
+     */
+    public record JarPair(String input, String output) {
+    }
+
+    /**
+     * Outcome for one JAR: its statistics, or the error that stopped it
+     */
+    public record JarResult(JarPair jar, ObfuscationStatsCollector stats, String error) {
+
+        public boolean isSuccessful() {
+            return this.error == null;
+        }
+    }
+}
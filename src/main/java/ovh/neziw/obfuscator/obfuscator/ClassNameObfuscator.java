@@ -24,8 +24,7 @@
 package ovh.neziw.obfuscator.obfuscator;
 
 import java.util.Map;
-import java.util.logging.Logger;
-import lombok.Getter;
+import java.util.concurrent.atomic.LongAdder;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.FieldVisitor;
@@ -38,6 +37,9 @@ import org.objectweb.asm.TypePath;
 import ovh.neziw.obfuscator.obfuscator.classname.ClassNameMapper;
 import ovh.neziw.obfuscator.obfuscator.classname.SignatureObfuscator;
 import ovh.neziw.obfuscator.obfuscator.classname.TypeRemapper;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.Category;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.ClassDiagnostics;
+import ovh.neziw.obfuscator.obfuscator.stats.MetricRegistry;
 
 /**
  * Obfuscates class names and package names in class files using ASM
@@ -45,25 +47,26 @@ import ovh.neziw.obfuscator.obfuscator.classname.TypeRemapper;
  */
 public class ClassNameObfuscator extends ClassVisitor {
 
-    private static final Logger LOGGER = Logger.getLogger(ClassNameObfuscator.class.getName());
-
     private final PatternMatcher patternMatcher;
     private final ObfuscationStats stats;
     private final ClassNameMapper classNameMapper;
     private final SignatureObfuscator signatureObfuscator;
     private final TypeRemapper typeRemapper;
+    private final ClassDiagnostics diagnostics;
     private boolean shouldObfuscate;
 
     public ClassNameObfuscator(final ClassVisitor cv, final NameGenerator nameGenerator, final PatternMatcher patternMatcher,
                                final ObfuscationStats stats, final Map<String, String> classNameMap,
-                               final boolean obfuscatePackages, final boolean obfuscateClassNames) {
+                               final boolean obfuscatePackages, final boolean obfuscateClassNames,
+                               final ClassDiagnostics diagnostics) {
         super(Opcodes.ASM9, cv);
         this.patternMatcher = patternMatcher;
         this.stats = stats;
+        this.diagnostics = diagnostics;
         this.classNameMapper = new ClassNameMapper(nameGenerator, patternMatcher, classNameMap,
             obfuscatePackages, obfuscateClassNames);
-        this.signatureObfuscator = new SignatureObfuscator(this.classNameMapper);
-        this.typeRemapper = new TypeRemapper(this.classNameMapper, this.signatureObfuscator);
+        this.signatureObfuscator = new SignatureObfuscator(this.classNameMapper, diagnostics);
+        this.typeRemapper = new TypeRemapper(this.classNameMapper, this.signatureObfuscator, diagnostics);
     }
 
     @Override
@@ -138,16 +141,28 @@ public class ClassNameObfuscator extends ClassVisitor {
     }
 
     /**
-     * Statistics for class name obfuscation
+     * Statistics for class name obfuscation, backed by counters of the engine metric registry
      */
-    @Getter
     public static class ObfuscationStats {
 
-        private int classesObfuscated = 0;
-        private final int packagesObfuscated = 0; // TODO
+        private final LongAdder classesObfuscated;
+        private final LongAdder packagesObfuscated; // TODO
+
+        public ObfuscationStats(final MetricRegistry metrics) {
+            this.classesObfuscated = metrics.counter("classNames.obfuscated");
+            this.packagesObfuscated = metrics.counter("classNames.packagesObfuscated");
+        }
 
         public void incrementClassesObfuscated() {
-            this.classesObfuscated++;
+            this.classesObfuscated.increment();
+        }
+
+        public int getClassesObfuscated() {
+            return this.classesObfuscated.intValue();
+        }
+
+        public int getPackagesObfuscated() {
+            return this.packagesObfuscated.intValue();
         }
     }
 
@@ -172,7 +187,7 @@ public class ClassNameObfuscator extends ClassVisitor {
                 final String obfuscatedDescriptor = ClassNameObfuscator.this.signatureObfuscator.obfuscateTypeDescriptor(descriptor);
                 super.visitFieldInsn(opcode, obfuscatedOwner, name, obfuscatedDescriptor);
             } catch (final Exception exception) {
-                LOGGER.warning("Failed to remap field instruction: " + owner + "." + name + " " + descriptor + ", error: " + exception.getMessage());
+                ClassNameObfuscator.this.diagnostics.report(Category.FIELD_INSTRUCTION, () -> owner + "." + name + " " + descriptor, exception);
                 super.visitFieldInsn(opcode, owner, name, descriptor);
             }
         }
@@ -184,7 +199,7 @@ public class ClassNameObfuscator extends ClassVisitor {
                 final String obfuscatedDescriptor = ClassNameObfuscator.this.signatureObfuscator.obfuscateMethodDescriptor(descriptor);
                 super.visitMethodInsn(opcode, obfuscatedOwner, name, obfuscatedDescriptor, isInterface);
             } catch (final Exception exception) {
-                LOGGER.warning("Failed to remap method instruction: " + owner + "." + name + descriptor + ", error: " + exception.getMessage());
+                ClassNameObfuscator.this.diagnostics.report(Category.METHOD_INSTRUCTION, () -> owner + "." + name + descriptor, exception);
                 super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
             }
         }
@@ -199,13 +214,14 @@ public class ClassNameObfuscator extends ClassVisitor {
                     try {
                         obfuscatedArgs[i] = ClassNameObfuscator.this.typeRemapper.remapBootstrapArgument(bootstrapMethodArguments[i]);
                     } catch (final Exception exception) {
-                        LOGGER.warning("Failed to remap bootstrap argument " + i + ": " + exception.getMessage());
+                        final int index = i;
+                        ClassNameObfuscator.this.diagnostics.report(Category.BOOTSTRAP_ARGUMENT, () -> name + descriptor + " argument " + index, exception);
                         obfuscatedArgs[i] = bootstrapMethodArguments[i];
                     }
                 }
                 super.visitInvokeDynamicInsn(name, obfuscatedDescriptor, obfuscatedHandle, obfuscatedArgs);
             } catch (final Exception exception) {
-                LOGGER.warning("Failed to remap InvokeDynamic instruction: " + exception.getMessage());
+                ClassNameObfuscator.this.diagnostics.report(Category.INVOKE_DYNAMIC, () -> name + descriptor, exception);
                 super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
             }
         }
@@ -227,7 +243,7 @@ public class ClassNameObfuscator extends ClassVisitor {
                     super.visitLdcInsn(value);
                 }
             } catch (final Exception exception) {
-                LOGGER.warning("Failed to remap LDC instruction: " + exception.getMessage());
+                ClassNameObfuscator.this.diagnostics.report(Category.LDC, value::toString, exception);
                 super.visitLdcInsn(value);
             }
         }
@@ -238,7 +254,7 @@ public class ClassNameObfuscator extends ClassVisitor {
                 final String obfuscatedDescriptor = ClassNameObfuscator.this.signatureObfuscator.obfuscateTypeDescriptor(descriptor);
                 super.visitMultiANewArrayInsn(obfuscatedDescriptor, numDimensions);
             } catch (final Exception exception) {
-                LOGGER.warning("Failed to remap MultiANewArray instruction: " + exception.getMessage());
+                ClassNameObfuscator.this.diagnostics.report(Category.MULTI_ANEW_ARRAY, () -> descriptor, exception);
                 super.visitMultiANewArrayInsn(descriptor, numDimensions);
             }
         }
@@ -270,7 +286,7 @@ public class ClassNameObfuscator extends ClassVisitor {
                 final String obfuscatedType = type != null ? ClassNameObfuscator.this.classNameMapper.obfuscateClassName(type) : null;
                 super.visitTryCatchBlock(start, end, handler, obfuscatedType);
             } catch (final Exception exception) {
-                LOGGER.warning("Failed to remap try-catch block type: " + exception.getMessage());
+                ClassNameObfuscator.this.diagnostics.report(Category.TRY_CATCH_TYPE, () -> type, exception);
                 super.visitTryCatchBlock(start, end, handler, type);
             }
         }
@@ -282,7 +298,7 @@ public class ClassNameObfuscator extends ClassVisitor {
                 final String obfuscatedSignature = ClassNameObfuscator.this.signatureObfuscator.obfuscateSignature(signature);
                 super.visitLocalVariable(name, obfuscatedDescriptor, obfuscatedSignature, start, end, index);
             } catch (final Exception exception) {
-                LOGGER.warning("Failed to remap local variable: " + exception.getMessage());
+                ClassNameObfuscator.this.diagnostics.report(Category.LOCAL_VARIABLE, () -> name + " " + descriptor, exception);
                 super.visitLocalVariable(name, descriptor, signature, start, end, index);
             }
         }
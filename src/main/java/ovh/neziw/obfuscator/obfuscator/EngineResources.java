@@ -0,0 +1,53 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import ovh.neziw.obfuscator.obfuscator.frame.ClassHierarchy;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
+
+/**
+ * Infrastructure that does not depend on the processed JAR and can be reused by many engines,
+ * e.g. across the jobs of a daemon: class path hierarchy lookups
+ * Single Responsibility: Keep run-independent caches warm
+ */
+public class EngineResources {
+
+    private final Map<String, ClassHierarchy.ClassInfo> libraryClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a class hierarchy for one run, backed by the shared class path cache
+     */
+    public ClassHierarchy createClassHierarchy(final ObfuscationMappings mappings) {
+        return new ClassHierarchy(mappings, this.libraryClasses);
+    }
+
+    /**
+     * Gets the number of class path classes resolved so far
+     */
+    public int getCachedLibraryClassCount() {
+        return this.libraryClasses.size();
+    }
+}
@@ -23,9 +23,11 @@
  */
 package ovh.neziw.obfuscator.obfuscator;
 
+import java.util.ListIterator;
 import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import lombok.Getter;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Attribute;
 import org.objectweb.asm.ClassVisitor;
@@ -35,15 +37,21 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.TypePath;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.Category;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.ClassDiagnostics;
 import ovh.neziw.obfuscator.obfuscator.flow.EasyFlowStrategy;
 import ovh.neziw.obfuscator.obfuscator.flow.FlowObfuscationStrategy;
 import ovh.neziw.obfuscator.obfuscator.flow.HeavyFlowStrategy;
-import ovh.neziw.obfuscator.obfuscator.flow.MaxLocalsCalculator;
+import ovh.neziw.obfuscator.obfuscator.flow.MethodMaxsAnalyzer;
+import ovh.neziw.obfuscator.obfuscator.flow.OpaquePredicateFlowStrategy;
+import ovh.neziw.obfuscator.obfuscator.frame.FrameComputer;
+import ovh.neziw.obfuscator.obfuscator.stats.MetricRegistry;
 
 /**
  * Obfuscates control flow in class files to make code less readable
  * EASY: Adds simple dead code, unnecessary jumps, and fake conditions
  * HEAVY: Adds complex control flow structures, fake try-catch blocks, and overlapping ranges
+ * OPAQUE: Adds cheap opaque predicates the JIT cannot fold, outside of hot loops and within a cost budget
  * Single Responsibility: Coordinate flow obfuscation for a class
  */
 public class FlowObfuscator extends ClassVisitor {
@@ -52,21 +60,28 @@ public class FlowObfuscator extends ClassVisitor {
 
     private final PatternMatcher patternMatcher;
     private final ObfuscationStats stats;
-    private final String mode; // "EASY" or "HEAVY"
+    private final String mode; // "EASY", "HEAVY" or "OPAQUE"
     private final FlowObfuscationStrategy strategy;
+    private final ClassDiagnostics diagnostics;
+    private final FrameComputer frameVerifier;
     private boolean shouldObfuscate;
     private ClassNode classNode;
 
-    public FlowObfuscator(final ClassVisitor cv, final PatternMatcher patternMatcher, final ObfuscationStats stats, final String mode) {
+    public FlowObfuscator(final ClassVisitor cv, final PatternMatcher patternMatcher, final ObfuscationStats stats, final String mode,
+                          final ClassDiagnostics diagnostics, final FrameComputer frameVerifier) {
         super(Opcodes.ASM9, cv);
         this.patternMatcher = patternMatcher;
         this.stats = stats;
         this.mode = mode;
+        this.diagnostics = diagnostics;
+        this.frameVerifier = frameVerifier;
         final Random random = new Random();
         if ("EASY".equals(mode)) {
             this.strategy = new EasyFlowStrategy(random);
         } else if ("HEAVY".equals(mode)) {
             this.strategy = new HeavyFlowStrategy(random);
+        } else if ("OPAQUE".equals(mode)) {
+            this.strategy = new OpaquePredicateFlowStrategy(random);
         } else {
             this.strategy = null;
         }
@@ -150,20 +165,7 @@ public class FlowObfuscator extends ClassVisitor {
     @Override
     public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions) {
         if (this.shouldObfuscate && this.classNode != null) {
-            final MethodVisitor mv = this.classNode.visitMethod(access, name, descriptor, signature, exceptions);
-            return new MethodVisitor(Opcodes.ASM9, mv) {
-                @Override
-                public void visitMaxs(final int maxStack, final int maxLocals) {
-                    if (maxLocals < 0) {
-                        final int safeMaxLocals = MaxLocalsCalculator.calculateSafeMaxLocals(access, descriptor);
-                        super.visitMaxs(maxStack, safeMaxLocals);
-                    } else if (maxLocals == 0 && (access & Opcodes.ACC_STATIC) == 0) {
-                        super.visitMaxs(maxStack, 1);
-                    } else {
-                        super.visitMaxs(maxStack, maxLocals);
-                    }
-                }
-            };
+            return this.classNode.visitMethod(access, name, descriptor, signature, exceptions);
         } else {
             return super.visitMethod(access, name, descriptor, signature, exceptions);
         }
@@ -172,139 +174,46 @@ public class FlowObfuscator extends ClassVisitor {
     @Override
     public void visitEnd() {
         if (this.shouldObfuscate && this.classNode != null && !"NONE".equals(this.mode)) {
-            try {
-                // FIRST: Validate and fix maxLocals for ALL methods in the class
-                // This must be done before any modifications to prevent frame calculation errors
-                MaxLocalsCalculator.validateAndFixMaxLocals(this.classNode);
-                // Verify all methods have valid maxLocals before proceeding
-                if (MaxLocalsCalculator.allMethodsNotHaveValidMaxLocals(this.classNode)) {
-                    LOGGER.warning("Class " + this.classNode.name +
-                        " has methods with invalid maxLocals, skipping flow obfuscation");
-                    // Skip flow obfuscation but still pass through the class with maxLocals fixing
-                    this.classNode.accept(new MaxLocalsFixingClassVisitor(this.cv));
-                    return;
-                }
-                // Process methods and obfuscate control flow
-                this.obfuscateMethods();
-                // SECOND: Validate again after modifications (in case something went wrong)
-                MaxLocalsCalculator.validateAndFixMaxLocals(this.classNode);
-                // Verify again before accepting
-                if (MaxLocalsCalculator.allMethodsNotHaveValidMaxLocals(this.classNode)) {
-                    LOGGER.warning("Class " + this.classNode.name +
-                        " has methods with invalid maxLocals after obfuscation, skipping flow obfuscation");
-                    // Skip flow obfuscation but still pass through the class with maxLocals fixing
-                    this.classNode.accept(new MaxLocalsFixingClassVisitor(this.cv));
-                    return;
-                }
-                // Visit the class node with obfuscated control flow
-                // ClassWriter with COMPUTE_FRAMES will recalculate frames automatically
-                // FINAL CHECK: Force fix ALL methods one more time and verify
-                MaxLocalsCalculator.validateAndFixMaxLocals(this.classNode);
-                // Additional safety: check each method individually and force fix if needed
-                if (this.classNode.methods != null) {
-                    for (final org.objectweb.asm.tree.MethodNode method : this.classNode.methods) {
-                        if ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0 &&
-                            method.instructions != null && method.instructions.size() > 0) {
-                            // Force fix maxLocals one more time
-                            if (method.maxLocals < 1) {
-                                MaxLocalsCalculator.fixMaxLocals(method);
-                            }
-                            // Final safety check
-                            if (method.maxLocals < 1) {
-                                method.maxLocals = (method.access & Opcodes.ACC_STATIC) == 0 ? 20 : 10;
-                            }
-                        }
-                    }
-                }
-                if (MaxLocalsCalculator.allMethodsNotHaveValidMaxLocals(this.classNode)) {
-                    LOGGER.warning("Class " + this.classNode.name +
-                        " still has invalid maxLocals after all fixes, skipping flow obfuscation");
-                    // Use MaxLocalsFixingClassVisitor to fix maxLocals during acceptance
-                    this.classNode.accept(new MaxLocalsFixingClassVisitor(this.cv));
-                    return;
-                }
-                // CRITICAL: Before accepting, FORCE fix ALL methods with VERY safe maxLocals values
-                // MethodNode.accept() reads method.maxLocals directly, so we MUST fix it in the MethodNode
-                // This is the ONLY way to prevent NegativeArraySizeException
-                if (this.classNode.methods != null) {
-                    for (final org.objectweb.asm.tree.MethodNode method : this.classNode.methods) {
-                        // Fix ALL methods with code, regardless of current maxLocals value
-                        if ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0) {
-                            if (method.instructions != null && method.instructions.size() > 0) {
-                                // Calculate safe maxLocals based on method signature and usage
-                                method.maxLocals = MaxLocalsCalculator.calculateSafeMaxLocalsForMethod(method);
-                            } else {
-                                method.maxLocals = (method.access & Opcodes.ACC_STATIC) == 0 ? 1 : 0;
-                            }
-                        }
-                    }
-                }
-                this.classNode.accept(new MaxLocalsFixingClassVisitor(this.cv));
-            } catch (final Exception exception) {
-                final boolean isFrameError = exception.getCause() instanceof NegativeArraySizeException ||
-                    (exception.getMessage() != null && (exception.getMessage().contains("-1") ||
-                        exception.getMessage().contains("NegativeArraySize") || exception.getMessage().contains("Frame")));
-                if (isFrameError) {
-                    LOGGER.warning("Flow obfuscation failed for class " +
-                        (this.classNode.name != null ? this.classNode.name : "unknown") +
-                        " due to frame calculation error. Flow obfuscation will be skipped for this class.");
-                    try {
-                        if (this.classNode.methods != null) {
-                            for (final org.objectweb.asm.tree.MethodNode method : this.classNode.methods) {
-                                if ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0) {
-                                    // Set very high maxLocals to avoid any issues
-                                    method.maxLocals = 100;
-                                }
-                            }
-                        }
-                        this.classNode.accept(new MaxLocalsFixingClassVisitor(this.cv));
-                    } catch (final Exception exception2) {
-                        // If even that fails, we give up - let JarProcessor use original class
-                        LOGGER.severe("Unable to fix frame calculation issues for class " +
-                            (this.classNode.name != null ? this.classNode.name : "unknown") +
-                            ". Original class will be used without flow obfuscation.");
-                        throw new RuntimeException("Flow obfuscation skipped: " + exception.getMessage(), exception);
-                    }
-                } else {
-                    // For other errors, rethrow
-                    throw new RuntimeException("Failed to write obfuscated class: " + exception.getMessage(), exception);
-                }
-            }
+            // Failing methods are rolled back individually, so the class is always emitted in a single pass
+            this.obfuscateMethods();
+            this.classNode.accept(this.cv);
         } else {
             super.visitEnd();
         }
     }
 
     /**
-     * Obfuscates control flow in all methods
+     * Obfuscates control flow in all methods and computes the exact maxLocals and maxStack of every method
+     * A method whose obfuscated code fails the same analysis as frame computation (stack, locals and types) is restored
+     * from its pre-pass snapshot, so one broken method does not push the whole class to the COMPUTE_FRAMES fallback
      */
     private void obfuscateMethods() {
         if (this.classNode.methods == null) {
             return;
         }
-        for (final MethodNode method : this.classNode.methods) {
-            if (method.name.equals("<init>") || method.name.equals("<clinit>")) {
-                continue;
-            }
+        final ListIterator<MethodNode> iterator = this.classNode.methods.listIterator();
+        while (iterator.hasNext()) {
+            final MethodNode method = iterator.next();
             if ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
                 continue;
             }
             if (method.instructions == null || method.instructions.size() == 0) {
                 continue;
             }
-
-            // Validate and fix maxLocals BEFORE any modifications
-            // This prevents NegativeArraySizeException during frame calculation
-            if (method.maxLocals < 0 || (method.maxLocals == 0 && (method.access & Opcodes.ACC_STATIC) == 0)) {
-                MaxLocalsCalculator.fixMaxLocals(method);
+            if (method.name.equals("<init>") || method.name.equals("<clinit>")) {
+                this.computeMaxsOrKeep(method);
+                continue;
             }
+            final MethodNode snapshot = copyMethod(method);
             try {
+                int addedCount = 0;
                 if (this.strategy != null) {
-                    final int addedCount = this.strategy.obfuscate(method);
-                    this.stats.incrementInstructionsAdded(addedCount);
+                    addedCount = this.strategy.obfuscate(method);
+                }
+                MethodMaxsAnalyzer.computeMaxs(method);
+                if (this.frameVerifier != null) {
+                    this.frameVerifier.verifyMethod(this.classNode, method);
                 }
-                method.maxStack = 0;
-                MaxLocalsCalculator.fixMaxLocals(method);
                 if (method.localVariables != null) {
                     method.localVariables.clear();
                 }
@@ -315,75 +224,80 @@ public class FlowObfuscator extends ClassVisitor {
                     method.invisibleLocalVariableAnnotations.clear();
                 }
 
+                this.stats.incrementInstructionsAdded(addedCount);
                 this.stats.incrementMethodsObfuscated();
             } catch (final Exception exception) {
-                // If obfuscation fails for this method, skip it
-                LOGGER.warning("Failed to obfuscate flow in method " + method.name + ": " + exception.getMessage());
-                LOGGER.throwing(FlowObfuscator.class.getName(), "obfuscateMethods", exception);
+                // Only this method is restored, the rest of the class keeps its obfuscated control flow
+                this.diagnostics.report(Category.FLOW_ROLLBACK, () -> method.name + method.desc, exception);
+                iterator.set(snapshot);
+                this.computeMaxsOrKeep(snapshot);
+                this.stats.incrementMethodsRolledBack();
+            }
+        }
+    }
+
+    /**
+     * Computes maxLocals and maxStack of an untouched method, keeping the values read from the class file on failure
+     */
+    private void computeMaxsOrKeep(final MethodNode method) {
+        try {
+            MethodMaxsAnalyzer.computeMaxs(method);
+        } catch (final IllegalStateException exception) {
+            // The ClassWriter recomputes them anyway
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Could not analyze method " + method.name + method.desc + ": " + exception.getMessage());
             }
         }
     }
 
     /**
-     * Statistics for flow obfuscation
+     * Creates a deep copy of a method, labels and instructions are not shared with the original
+     */
+    private static MethodNode copyMethod(final MethodNode method) {
+        final String[] exceptions = method.exceptions != null ? method.exceptions.toArray(new String[0]) : null;
+        final MethodNode copy = new MethodNode(Opcodes.ASM9, method.access, method.name, method.desc, method.signature, exceptions);
+        method.accept(copy);
+        return copy;
+    }
+
+    /**
+     * Statistics for flow obfuscation, backed by counters of the engine metric registry
      */
-    @Getter
     public static class ObfuscationStats {
 
-        private int methodsObfuscated = 0;
-        private int instructionsAdded = 0;
+        private final LongAdder methodsObfuscated;
+        private final LongAdder instructionsAdded;
+        private final LongAdder methodsRolledBack;
+
+        public ObfuscationStats(final MetricRegistry metrics) {
+            this.methodsObfuscated = metrics.counter("flow.methodsObfuscated");
+            this.instructionsAdded = metrics.counter("flow.instructionsAdded");
+            this.methodsRolledBack = metrics.counter("flow.methodsRolledBack");
+        }
 
         public void incrementMethodsObfuscated() {
-            this.methodsObfuscated++;
+            this.methodsObfuscated.increment();
         }
 
         public void incrementInstructionsAdded(final int count) {
-            this.instructionsAdded += count;
+            this.instructionsAdded.add(count);
         }
 
-    }
+        public void incrementMethodsRolledBack() {
+            this.methodsRolledBack.increment();
+        }
 
-    /**
-     * ClassVisitor that fixes maxLocals in MethodNode before accepting
-     * The problem is that MethodNode.accept() uses method.maxLocals directly,
-     * so we need to fix it in the MethodNode itself, not in visitMaxs.
-     * However, we can't easily modify MethodNode after it's been created.
-     * Instead, we intercept the visitMaxs call and fix it there.
-     * But the real issue is that MethodNode.accept() may call visitMaxs with -1
-     * before our visitor can intercept it.
-     * <p>
-     * Solution: We need to manually iterate through methods and fix maxLocals
-     * BEFORE calling classNode.accept(). This is already done in validateAndFixMaxLocals().
-     * But we also need to intercept visitMaxs as a safety net.
-     */
-    private static class MaxLocalsFixingClassVisitor extends ClassVisitor {
+        public int getMethodsObfuscated() {
+            return this.methodsObfuscated.intValue();
+        }
 
-        public MaxLocalsFixingClassVisitor(final ClassVisitor cv) {
-            super(Opcodes.ASM9, cv);
+        public int getInstructionsAdded() {
+            return this.instructionsAdded.intValue();
         }
 
-        @Override
-        public MethodVisitor visitMethod(final int access, final String name, final String descriptor,
-                                         final String signature, final String[] exceptions) {
-            final MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
-            return new MethodVisitor(Opcodes.ASM9, mv) {
-                @Override
-                public void visitMaxs(final int maxStack, final int maxLocals) {
-                    // Fix maxLocals if it's invalid (shouldn't happen if we fixed it in MethodNode)
-                    int fixedMaxLocals = maxLocals;
-                    if (maxLocals < 0) {
-                        fixedMaxLocals = MaxLocalsCalculator.calculateSafeMaxLocals(access, descriptor);
-                        LOGGER.warning("Fixed negative maxLocals in visitMaxs for method " + name);
-                    } else if (maxLocals == 0 && (access & Opcodes.ACC_STATIC) == 0) {
-                        fixedMaxLocals = 1;
-                    } else if (maxLocals < 10) {
-                        // Ensure minimum safe value
-                        final int safeMin = MaxLocalsCalculator.calculateSafeMaxLocals(access, descriptor);
-                        fixedMaxLocals = Math.max(maxLocals, safeMin);
-                    }
-                    super.visitMaxs(maxStack, fixedMaxLocals);
-                }
-            };
+        public int getMethodsRolledBack() {
+            return this.methodsRolledBack.intValue();
         }
     }
+
 }
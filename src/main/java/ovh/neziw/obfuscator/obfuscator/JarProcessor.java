@@ -28,17 +28,23 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Enumeration;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.logging.Logger;
 import ovh.neziw.obfuscator.config.JsonConfig;
 import ovh.neziw.obfuscator.obfuscator.jar.ClassScanner;
-import ovh.neziw.obfuscator.obfuscator.jar.JarReader;
+import ovh.neziw.obfuscator.obfuscator.jar.JarTransformPipeline;
 import ovh.neziw.obfuscator.obfuscator.jar.JarWriter;
 import ovh.neziw.obfuscator.obfuscator.jar.ManifestHandler;
+import ovh.neziw.obfuscator.obfuscator.mappings.MappingsReader;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
+import ovh.neziw.obfuscator.obfuscator.progress.ObfuscationCancelledException;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressTracker;
 import ovh.neziw.obfuscator.obfuscator.stats.ObfuscationStatsCollector;
+import ovh.neziw.obfuscator.obfuscator.timing.TimingRecorder;
+import ovh.neziw.obfuscator.obfuscator.timing.TimingReport;
+import ovh.neziw.obfuscator.obfuscator.timing.TraceRecorder;
 
 /**
  * Processes JAR files for obfuscation
@@ -50,11 +56,36 @@ public class JarProcessor {
     private final ObfuscatorEngine obfuscatorEngine;
     private final JsonConfig config;
     private final ClassScanner classScanner;
+    private final ProgressTracker progress;
+    private long transformThreadAllocatedBytes;
 
     public JarProcessor(final JsonConfig config) {
+        this(config, new EngineResources());
+    }
+
+    public JarProcessor(final JsonConfig config, final EngineResources resources) {
+        this(config, resources, ProgressTracker.none());
+    }
+
+    /**
+     * Creates a processor that reports its progress to the tracker and stops when it is cancelled
+     */
+    public JarProcessor(final JsonConfig config, final EngineResources resources, final ProgressTracker progress) {
+        this(config, new ObfuscatorEngine(config, resources), progress);
+    }
+
+    /**
+     * Creates a processor around an existing engine, e.g. one sharing its mappings with other engines
+     */
+    public JarProcessor(final JsonConfig config, final ObfuscatorEngine obfuscatorEngine) {
+        this(config, obfuscatorEngine, ProgressTracker.none());
+    }
+
+    public JarProcessor(final JsonConfig config, final ObfuscatorEngine obfuscatorEngine, final ProgressTracker progress) {
         this.config = config;
-        this.obfuscatorEngine = new ObfuscatorEngine(config);
-        this.classScanner = new ClassScanner(this.obfuscatorEngine, config);
+        this.obfuscatorEngine = obfuscatorEngine;
+        this.progress = progress;
+        this.classScanner = new ClassScanner(this.obfuscatorEngine, config, progress);
     }
 
     /**
@@ -63,102 +94,199 @@ public class JarProcessor {
      * @param inputJarPath  Path to input JAR file
      * @param outputJarPath Path to output JAR file
      * @throws IOException If an I/O error occurs
+     * @throws ObfuscationCancelledException If the progress tracker was cancelled, no output JAR is left behind
      */
     public void processJar(final String inputJarPath, final String outputJarPath) throws IOException {
         this.obfuscatorEngine.getNameGenerator().clear();
+        this.obfuscatorEngine.getClassHierarchy().clear();
+        if (this.config.getApplyMappings() != null && !this.config.getApplyMappings().isEmpty()) {
+            this.applyMappings(Paths.get(this.config.getApplyMappings()));
+        }
         final Path inputPath = Paths.get(inputJarPath);
-        final Path outputPath = Paths.get(outputJarPath);
-        final Path outputDir = outputPath.getParent();
-        if (outputDir != null && !Files.exists(outputDir)) {
-            Files.createDirectories(outputDir);
+        this.scanJar(inputPath);
+        this.transformJar(inputPath, Paths.get(outputJarPath));
+        this.obfuscatorEngine.getDiagnostics().logSummary();
+        if (this.config.isGenerateMappings()) {
+            this.progress.startPhase("mappings");
+            try (final TimingRecorder.PhaseTimer ignored = this.timings().startPhase("mappings", inputJarPath)) {
+                final MappingsGenerator mappingsGenerator = new MappingsGenerator(this.config.getMappingsFormat(), this.config.isBinaryMappings());
+                final String mappingsFilePath = mappingsGenerator.generateMappings(this.obfuscatorEngine.getMappings(), outputJarPath);
+                LOGGER.info("Mappings file generated: " + mappingsFilePath);
+            } catch (final IOException exception) {
+                LOGGER.warning("Failed to generate mappings file: " + exception.getMessage());
+                LOGGER.throwing(JarProcessor.class.getName(), "processJar", exception);
+            }
+        }
+        if (this.timings().isEnabled()) {
+            this.writeTimingReport(TimingReport.reportPath(outputJarPath));
+        }
+        if (this.timings().getTrace() != null) {
+            this.writeTrace(TraceRecorder.tracePath(outputJarPath));
+        }
+        this.progress.finish();
+    }
+
+    /**
+     * Logs the recorded timings and writes them as a JSON report, a failure to write only logs a warning
+     */
+    public void writeTimingReport(final String reportPath) {
+        LOGGER.info(TimingReport.format(this.timings()));
+        try {
+            TimingReport.writeJson(this.timings(), Paths.get(reportPath));
+            LOGGER.info("Timing report generated: " + reportPath);
+        } catch (final IOException exception) {
+            LOGGER.warning("Failed to write timing report: " + exception.getMessage());
+            LOGGER.throwing(JarProcessor.class.getName(), "writeTimingReport", exception);
+        }
+    }
+
+    /**
+     * Writes the recorded timeline in the Chrome trace-event format, a failure to write only logs a warning
+     */
+    public void writeTrace(final String tracePath) {
+        try {
+            this.timings().getTrace().writeJson(Paths.get(tracePath));
+            LOGGER.info("Trace timeline generated: " + tracePath);
+        } catch (final IOException exception) {
+            LOGGER.warning("Failed to write trace timeline: " + exception.getMessage());
+            LOGGER.throwing(JarProcessor.class.getName(), "writeTrace", exception);
+        }
+    }
+
+    /**
+     * Seeds the engine with the mappings of a previous release, so symbols that still exist keep their names
+     * Must run before scanJar
+     */
+    public void applyMappings(final Path mappingsPath) throws IOException {
+        this.progress.startPhase("applyMappings");
+        try (final TimingRecorder.PhaseTimer ignored = this.timings().startPhase("applyMappings")) {
+            final ObfuscationMappings previous = MappingsReader.read(mappingsPath, MappingsReader.ALL_SECTIONS);
+            final int seeded = MappingsApplier.apply(previous, this.obfuscatorEngine.getNameGenerator());
+            LOGGER.info("Applied " + seeded + " names from previous mappings " + mappingsPath);
+        }
+    }
+
+    /**
+     * Phase 1: Scans a JAR for the class hierarchy and the class, method and field name mappings
+     * Every name drawn from the shared sequence is assigned here, in entry order, so the output does not depend on
+     * how the transform workers are scheduled
+     * Several JARs can be scanned into the same engine to build one global mapping
+     */
+    public void scanJar(final Path inputPath) throws IOException {
+        this.progress.startPhase("scan.hierarchy");
+        try (final TimingRecorder.PhaseTimer ignored = this.timings().startPhase("scan.hierarchy", inputPath.toString())) {
+            this.classScanner.scanClassHierarchy(inputPath);
         }
         if (this.config.isObfuscateClassNames() || this.config.isObfuscatePackages()) {
-            this.classScanner.scanClassesForNameMapping(inputPath);
+            this.progress.startPhase("scan.classNames");
+            try (final TimingRecorder.PhaseTimer ignored = this.timings().startPhase("scan.classNames", inputPath.toString())) {
+                this.classScanner.scanClassesForNameMapping(inputPath);
+            }
         }
         if (this.config.isObfuscateMethodNames()) {
-            this.classScanner.scanClassesForMethodNameMapping(inputPath);
+            this.progress.startPhase("scan.methodNames");
+            try (final TimingRecorder.PhaseTimer ignored = this.timings().startPhase("scan.methodNames", inputPath.toString())) {
+                this.classScanner.scanClassesForMethodNameMapping(inputPath);
+            }
+        }
+        if (this.config.isObfuscateVariables()) {
+            this.progress.startPhase("scan.fieldNames");
+            try (final TimingRecorder.PhaseTimer ignored = this.timings().startPhase("scan.fieldNames", inputPath.toString())) {
+                this.classScanner.scanClassesForFieldNameMapping(inputPath);
+            }
         }
+    }
+
+    /**
+     * Phase 2: Obfuscates the classes of a scanned JAR and writes the output JAR
+     * Classes are transformed by {@code transformThreads} workers of the configuration, one per processor if it is 0
+     * A cancelled or failed transform deletes its incomplete output JAR
+     */
+    public void transformJar(final Path inputPath, final Path outputPath) throws IOException {
+        this.transformJar(inputPath, outputPath, transformThreads(this.config));
+    }
+
+    /**
+     * Phase 2 with a given number of workers, e.g. when several JARs are transformed at once
+     */
+    public void transformJar(final Path inputPath, final Path outputPath, final int workers) throws IOException {
+        final Path outputDir = outputPath.getParent();
+        if (outputDir != null && !Files.exists(outputDir)) {
+            Files.createDirectories(outputDir);
+        }
+        this.progress.startPhase("transform");
+        try {
+            this.writeTransformedJar(inputPath, outputPath, workers);
+        } catch (final IOException exception) {
+            Files.deleteIfExists(outputPath);
+            throw exception;
+        }
+    }
+
+    /**
+     * Number of transform workers of a configuration, one per processor unless set
+     */
+    public static int transformThreads(final JsonConfig config) {
+        return config.getTransformThreads() > 0 ? config.getTransformThreads() : Runtime.getRuntime().availableProcessors();
+    }
 
-        try (final JarFile inputJar = new JarFile(inputPath.toFile());
+    private void writeTransformedJar(final Path inputPath, final Path outputPath, final int workers) throws IOException {
+        final TimingRecorder timings = this.timings();
+        try (final TimingRecorder.PhaseTimer ignored = timings.startPhase("transform", inputPath.toString());
+             final JarFile inputJar = new JarFile(inputPath.toFile());
              final FileOutputStream fos = new FileOutputStream(outputPath.toFile());
              final JarOutputStream jos = new JarOutputStream(fos)) {
             ManifestHandler.copyManifest(inputJar, jos);
-            final Enumeration<JarEntry> entries = inputJar.entries();
-            while (entries.hasMoreElements()) {
-                final JarEntry entry = entries.nextElement();
-                String entryName = entry.getName();
-                if (entryName.equals("META-INF/MANIFEST.MF")) {
-                    continue;
-                }
-                byte[] entryData = JarReader.readEntry(inputJar, entry);
-                if (entryName.endsWith(".class")) {
-                    final String internalClassName = entryName.substring(0, entryName.length() - 6);
-                    final ovh.neziw.obfuscator.obfuscator.stats.ObfuscationStatsCollector engineStats = this.obfuscatorEngine.getStats();
-                    engineStats.incrementClassesProcessed();
-                    try {
-                        if (this.obfuscatorEngine.shouldObfuscate(internalClassName)) {
-                            entryData = this.obfuscatorEngine.obfuscateClass(entryData, internalClassName);
-                            engineStats.incrementClassesObfuscated();
-                            if (this.config.isObfuscateClassNames() || this.config.isObfuscatePackages()) {
-                                final String obfuscatedClassName = this.obfuscatorEngine.getObfuscatedClassName(internalClassName);
-                                if (!obfuscatedClassName.equals(internalClassName)) {
-                                    entryName = obfuscatedClassName + ".class";
-                                }
-                            }
-                        }
-                    } catch (final Exception exception) {
-                        final String errorMsg = exception.getMessage();
-                        if (errorMsg != null && errorMsg.contains("Flow obfuscation skipped")) {
-                            LOGGER.warning(errorMsg + " for class " + entryName +
-                                ". Attempting obfuscation without flow obfuscation.");
-                            try {
-                                final String originalFlow = this.config.getFlowObfuscation();
-                                this.config.setFlowObfuscation("NONE");
-                                final byte[] obfuscatedData = this.obfuscatorEngine.obfuscateClass(entryData, internalClassName);
-                                this.config.setFlowObfuscation(originalFlow);
-                                entryData = obfuscatedData;
-                                engineStats.incrementClassesObfuscated();
-                                if (this.config.isObfuscateClassNames() || this.config.isObfuscatePackages()) {
-                                    final String obfuscatedClassName = this.obfuscatorEngine.getObfuscatedClassName(internalClassName);
-                                    if (!obfuscatedClassName.equals(internalClassName)) {
-                                        entryName = obfuscatedClassName + ".class";
-                                    }
-                                }
-                            } catch (final Exception exception2) {
-                                LOGGER.warning("Failed to obfuscate class " + entryName +
-                                    " even without flow obfuscation: " + exception2.getMessage());
-                            }
-                        } else {
-                            LOGGER.warning("Failed to obfuscate class " + entryName + ": " + exception.getMessage());
-                            LOGGER.throwing(JarProcessor.class.getName(), "processJar", exception);
-                        }
-                    }
-                }
-                final JarEntry outputEntry = JarWriter.createEntry(entryName, entry.getTime());
-                JarWriter.writeEntry(jos, outputEntry, entryData);
-            }
+            final JarTransformPipeline pipeline = new JarTransformPipeline(workers, this.progress, timings);
+            pipeline.run(inputJar, jos, this::transformClass);
+            this.transformThreadAllocatedBytes += pipeline.getThreadAllocatedBytes();
             if (this.config.isCrashClass()) {
                 final byte[] crashClassBytes = CrashClassGenerator.generateCrashClass();
                 final JarEntry crashClassEntry = JarWriter.createEntry(CrashClassGenerator.getCrashClassName(), System.currentTimeMillis());
                 JarWriter.writeEntry(jos, crashClassEntry, crashClassBytes);
             }
         }
-        if (this.config.isGenerateMappings()) {
-            try {
-                final MappingsGenerator mappingsGenerator = new MappingsGenerator();
-                mappingsGenerator.generateMappings(
-                    this.obfuscatorEngine.getClassNameMap(),
-                    this.obfuscatorEngine.getMethodNameMap(),
-                    this.obfuscatorEngine.getFieldMappings(),
-                    this.obfuscatorEngine.getLocalVariableMappings(),
-                    outputJarPath
-                );
-                LOGGER.info("Mappings file generated: " + outputJarPath.replace(".jar", "_mappings.json"));
-            } catch (final IOException exception) {
-                LOGGER.warning("Failed to generate mappings file: " + exception.getMessage());
-                LOGGER.throwing(JarProcessor.class.getName(), "processJar", exception);
+    }
+
+    /**
+     * Obfuscates one class entry, called concurrently by the transform workers
+     */
+    private JarTransformPipeline.TransformedClass transformClass(final String entryName, final byte[] classBytes) {
+        final String internalClassName = entryName.substring(0, entryName.length() - 6);
+        final ObfuscationStatsCollector engineStats = this.obfuscatorEngine.getStats();
+        engineStats.incrementClassesProcessed();
+        String outputName = entryName;
+        byte[] outputBytes = classBytes;
+        try (final TimingRecorder.PhaseTimer obfuscateTimer = this.timings().startStep("transform.obfuscate")) {
+            if (this.obfuscatorEngine.shouldObfuscate(internalClassName)) {
+                outputBytes = this.obfuscatorEngine.obfuscateClass(classBytes, internalClassName);
+                engineStats.incrementClassesObfuscated();
+                if (this.config.isObfuscateClassNames() || this.config.isObfuscatePackages()) {
+                    final String obfuscatedClassName = this.obfuscatorEngine.getObfuscatedClassName(internalClassName);
+                    if (!obfuscatedClassName.equals(internalClassName)) {
+                        outputName = obfuscatedClassName + ".class";
+                    }
+                }
             }
+        } catch (final Exception exception) {
+            // The original class bytes are kept, flow failures are already contained per method
+            LOGGER.warning("Failed to obfuscate class " + entryName + ": " + exception.getMessage());
+            LOGGER.throwing(JarProcessor.class.getName(), "transformJar", exception);
         }
+        this.progress.classDone();
+        return new JarTransformPipeline.TransformedClass(outputName, outputBytes);
+    }
+
+    private TimingRecorder timings() {
+        return this.obfuscatorEngine.getTimings();
+    }
+
+    /**
+     * Gets the bytes allocated by the reader and worker threads of all transforms so far, see
+     * {@link JarTransformPipeline#getThreadAllocatedBytes()}
+     */
+    public long getTransformThreadAllocatedBytes() {
+        return this.transformThreadAllocatedBytes;
     }
 
     /**
@@ -0,0 +1,90 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator;
+
+import java.util.Map;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
+
+/**
+ * Seeds a NameGenerator from the mappings of a previous release (apply-mapping)
+ * Symbols that still exist get their previous names through the usual generator keys, new symbols get fresh names
+ * that do not collide with the reused ones
+ * Single Responsibility: Translate previous mappings into name generator seeds
+ */
+public final class MappingsApplier {
+
+    /**
+     * @return Number of seeded names
+     */
+    public static int apply(final ObfuscationMappings previous, final NameGenerator nameGenerator) {
+        int seeded = 0;
+        // Class names are generated per package part ("pkg.") and simple name ("cls."), so they are seeded the same way
+        for (final Map.Entry<String, String> entry : previous.getClassNameMap().entrySet()) {
+            final String[] originalParts = entry.getKey().split("/");
+            final String[] obfuscatedParts = entry.getValue().split("/");
+            if (originalParts.length != obfuscatedParts.length) {
+                continue;
+            }
+            final int last = originalParts.length - 1;
+            for (int i = 0; i < last; i++) {
+                if (!originalParts[i].equals(obfuscatedParts[i])) {
+                    nameGenerator.seed("pkg." + originalParts[i], obfuscatedParts[i]);
+                    seeded++;
+                }
+            }
+            if (!originalParts[last].equals(obfuscatedParts[last])) {
+                nameGenerator.seed("cls." + originalParts[last], obfuscatedParts[last]);
+                seeded++;
+            }
+        }
+        for (final Map.Entry<String, Map<String, String>> classEntry : previous.getMethodNameMap().entrySet()) {
+            for (final Map.Entry<String, String> methodEntry : classEntry.getValue().entrySet()) {
+                nameGenerator.seed(classEntry.getKey() + "." + methodEntry.getKey(), methodEntry.getValue());
+                seeded++;
+            }
+        }
+        for (final Map.Entry<String, Map<String, String>> classEntry : previous.getFieldMappings().entrySet()) {
+            for (final Map.Entry<String, String> fieldEntry : classEntry.getValue().entrySet()) {
+                nameGenerator.seed(classEntry.getKey() + "." + fieldEntry.getKey(), fieldEntry.getValue());
+                seeded++;
+            }
+        }
+        for (final Map.Entry<String, Map<String, Map<String, String>>> classEntry : previous.getLocalVariableMappings().entrySet()) {
+            for (final Map.Entry<String, Map<String, String>> methodEntry : classEntry.getValue().entrySet()) {
+                for (final Map.Entry<String, String> varEntry : methodEntry.getValue().entrySet()) {
+                    nameGenerator.seed(localVariableKey(classEntry.getKey(), methodEntry.getKey(), varEntry.getKey()), varEntry.getValue());
+                    seeded++;
+                }
+            }
+        }
+        return seeded;
+    }
+
+    /**
+     * Generator key of a local variable, locals are otherwise named without a key
+     */
+    public static String localVariableKey(final String className, final String methodKey, final String variableName) {
+        return className + "." + methodKey + "." + variableName;
+    }
+}
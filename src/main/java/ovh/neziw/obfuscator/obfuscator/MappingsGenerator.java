@@ -23,121 +23,160 @@
  */
 package ovh.neziw.obfuscator.obfuscator;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-import java.io.FileWriter;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+import ovh.neziw.obfuscator.obfuscator.mappings.BinaryMappingsWriter;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
+import ovh.neziw.obfuscator.obfuscator.mappings.SymbolMemberMap;
+import ovh.neziw.obfuscator.obfuscator.mappings.SymbolOwnerMap;
 
 /**
  * Generates mappings.json file with all obfuscation mappings
+ * Entries are streamed straight from the mappings maps, no intermediate JSON tree is built
+ * Names are written sorted, by sorting the symbol ids of one owner at a time and decoding each name once while writing
+ * Formats: PRETTY (indented), COMPACT (single line) and GZIP (compact, gzip-compressed .json.gz)
+ * Optionally also writes the memory-mappable binary mappings (see BinaryMappings) for fast lookups
  */
 public class MappingsGenerator {
 
-    private final Gson gson; // TODO: why not static lol?
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String format;
+    private final boolean binary;
 
     public MappingsGenerator() {
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this("PRETTY", false);
     }
 
     /**
-     * Generates mappings.json file from obfuscation mappings
+     * @param format JSON format, PRETTY, COMPACT or GZIP
+     * @param binary Whether to also write the indexed binary mappings next to the JSON file
      */
-    public void generateMappings(
-        final Map<String, String> classNameMap,
-        final Map<String, Map<String, String>> methodNameMap,
-        final Map<String, Map<String, String>> fieldMappings,
-        final Map<String, Map<String, Map<String, String>>> localVariableMappings,
-        final String outputPath) throws IOException {
+    public MappingsGenerator(final String format, final boolean binary) {
+        this.format = format != null && !format.isEmpty() ? format : "PRETTY";
+        this.binary = binary;
+    }
 
-        final JsonObject mappings = new JsonObject();
+    /**
+     * Generates mappings.json file from obfuscation mappings, next to the output JAR
+     *
+     * @return Path of the written mappings file
+     */
+    public String generateMappings(final ObfuscationMappings mappings, final String outputPath) throws IOException {
+        String mappingsFilePath = outputPath.replace(".jar", "_mappings.json");
+        if (!mappingsFilePath.endsWith(".json")) {
+            mappingsFilePath = outputPath + "_mappings.json"; // TODO: add date and time?
+        }
+        if ("GZIP".equals(this.format)) {
+            mappingsFilePath += ".gz";
+        }
+        this.generateMappingsFile(mappings, mappingsFilePath);
+        return mappingsFilePath;
+    }
 
-        // Classes
-        if (classNameMap != null && !classNameMap.isEmpty()) {
-            final JsonObject classes = new JsonObject();
-            for (final Map.Entry<String, String> entry : classNameMap.entrySet()) {
-                classes.addProperty(entry.getKey(), entry.getValue());
-            }
-            mappings.add("classes", classes);
-        } else {
-            mappings.add("classes", new JsonObject());
+    /**
+     * Generates a mappings file at the given path from obfuscation mappings
+     * The binary mappings, if enabled, are written next to it with the .bin extension
+     */
+    public void generateMappingsFile(final ObfuscationMappings mappings, final String mappingsFilePath) throws IOException {
+        this.writeJson(mappings, mappingsFilePath);
+        if (this.binary) {
+            BinaryMappingsWriter.write(mappings, Paths.get(binaryMappingsPath(mappingsFilePath)));
         }
+    }
 
-        // Methods
-        if (methodNameMap != null && !methodNameMap.isEmpty()) {
-            final JsonObject methods = new JsonObject();
-            for (final Map.Entry<String, Map<String, String>> classEntry : methodNameMap.entrySet()) {
-                final String className = classEntry.getKey();
-                final Map<String, String> methodMap = classEntry.getValue();
-                if (methodMap != null && !methodMap.isEmpty()) {
-                    final JsonObject classMethods = new JsonObject();
-                    for (final Map.Entry<String, String> methodEntry : methodMap.entrySet()) {
-                        // methodEntry.getKey() is "methodName(descriptor)"
-                        classMethods.addProperty(methodEntry.getKey(), methodEntry.getValue());
-                    }
-                    methods.add(className, classMethods);
-                }
-            }
-            mappings.add("methods", methods);
-        } else {
-            mappings.add("methods", new JsonObject());
+    /**
+     * Returns the binary mappings path for a JSON mappings path, e.g. app_mappings.json -> app_mappings.bin
+     */
+    public static String binaryMappingsPath(final String mappingsFilePath) {
+        String basePath = mappingsFilePath;
+        if (basePath.endsWith(".gz")) {
+            basePath = basePath.substring(0, basePath.length() - 3);
+        }
+        if (basePath.endsWith(".json")) {
+            basePath = basePath.substring(0, basePath.length() - 5);
         }
+        return basePath + ".bin";
+    }
 
-        // Fields (variables)
-        if (fieldMappings != null && !fieldMappings.isEmpty()) {
-            final JsonObject fields = new JsonObject();
-            for (final Map.Entry<String, Map<String, String>> classEntry : fieldMappings.entrySet()) {
-                final String className = classEntry.getKey();
-                final Map<String, String> fieldMap = classEntry.getValue();
-                if (fieldMap != null && !fieldMap.isEmpty()) {
-                    final JsonObject classFields = new JsonObject();
-                    for (final Map.Entry<String, String> fieldEntry : fieldMap.entrySet()) {
-                        classFields.addProperty(fieldEntry.getKey(), fieldEntry.getValue());
-                    }
-                    fields.add(className, classFields);
+    private void writeJson(final ObfuscationMappings mappings, final String mappingsFilePath) throws IOException {
+        OutputStream out = Files.newOutputStream(Paths.get(mappingsFilePath));
+        if ("GZIP".equals(this.format)) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        try (final JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            if ("PRETTY".equals(this.format)) {
+                writer.setIndent("  ");
+            }
+            writer.beginObject();
+            writer.name("classes");
+            writeNames(writer, mappings.getClassNameMap());
+            writer.name("methods");
+            writeMembers(writer, mappings.getMethodNameMap());
+            writer.name("fields");
+            writeMembers(writer, mappings.getFieldMappings());
+            writer.name("localVariables");
+            writer.beginObject();
+            for (final Map.Entry<String, Map<String, Map<String, String>>> classEntry : sorted(mappings.getLocalVariableMappings())) {
+                final Map<String, Map<String, String>> methodVarsMap = classEntry.getValue();
+                if (methodVarsMap == null || methodVarsMap.isEmpty()) {
+                    continue;
                 }
+                writer.name(classEntry.getKey());
+                writeMembers(writer, methodVarsMap);
             }
-            mappings.add("fields", fields);
-        } else {
-            mappings.add("fields", new JsonObject());
+            writer.endObject();
+            writer.endObject();
         }
+    }
 
-        // Local variables
-        if (localVariableMappings != null && !localVariableMappings.isEmpty()) {
-            final JsonObject localVars = new JsonObject();
-            for (final Map.Entry<String, Map<String, Map<String, String>>> classEntry : localVariableMappings.entrySet()) {
-                final String className = classEntry.getKey();
-                final Map<String, Map<String, String>> methodVarsMap = classEntry.getValue();
-                if (methodVarsMap != null && !methodVarsMap.isEmpty()) {
-                    final JsonObject classLocalVars = new JsonObject();
-                    for (final Map.Entry<String, Map<String, String>> methodEntry : methodVarsMap.entrySet()) {
-                        final String methodKey = methodEntry.getKey();
-                        final Map<String, String> varMap = methodEntry.getValue();
-                        if (varMap != null && !varMap.isEmpty()) {
-                            final JsonObject methodVars = new JsonObject();
-                            for (final Map.Entry<String, String> varEntry : varMap.entrySet()) {
-                                methodVars.addProperty(varEntry.getKey(), varEntry.getValue());
-                            }
-                            classLocalVars.add(methodKey, methodVars);
-                        }
-                    }
-                    localVars.add(className, classLocalVars);
-                }
+    /**
+     * Writes an object of original name -> obfuscated name
+     * Keys are sorted, since the maps keep the order in which the parallel transform added the names
+     */
+    private static void writeNames(final JsonWriter writer, final Map<String, String> names) throws IOException {
+        writer.beginObject();
+        for (final Map.Entry<String, String> entry : sorted(names)) {
+            writer.name(entry.getKey()).value(entry.getValue());
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Writes an object of owner -> (original name -> obfuscated name), skipping owners without mappings
+     */
+    private static void writeMembers(final JsonWriter writer, final Map<String, Map<String, String>> members) throws IOException {
+        writer.beginObject();
+        for (final Map.Entry<String, Map<String, String>> ownerEntry : sorted(members)) {
+            final Map<String, String> names = ownerEntry.getValue();
+            if (names == null || names.isEmpty()) {
+                continue;
             }
-            mappings.add("localVariables", localVars);
-        } else {
-            mappings.add("localVariables", new JsonObject());
+            writer.name(ownerEntry.getKey());
+            writeNames(writer, names);
         }
-        // Write to file
-        String mappingsFilePath = outputPath.replace(".jar", "_mappings.json");
-        if (!mappingsFilePath.endsWith(".json")) {
-            mappingsFilePath = outputPath + "_mappings.json"; // TODO: add date and time?
+        writer.endObject();
+    }
+
+    /**
+     * Gets the entries of a map sorted by key, the symbol views of the mappings are sorted without copying the map
+     */
+    private static <V> Iterable<Map.Entry<String, V>> sorted(final Map<String, V> map) {
+        if (map instanceof SymbolMemberMap<V> members) {
+            return members.sortedEntries();
         }
-        try (final FileWriter writer = new FileWriter(mappingsFilePath)) {
-            this.gson.toJson(mappings, writer);
+        if (map instanceof SymbolOwnerMap<V> owners) {
+            return owners.sortedEntries();
         }
+        return new TreeMap<>(map).entrySet();
     }
 }
-
-
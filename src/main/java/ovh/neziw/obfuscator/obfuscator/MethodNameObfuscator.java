@@ -23,8 +23,7 @@
  */
 package ovh.neziw.obfuscator.obfuscator;
 
-import java.util.Map;
-import lombok.Getter;
+import java.util.concurrent.atomic.LongAdder;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Attribute;
 import org.objectweb.asm.ClassVisitor;
@@ -34,9 +33,11 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.TypePath;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
 import ovh.neziw.obfuscator.obfuscator.method.MethodCallRemapper;
 import ovh.neziw.obfuscator.obfuscator.method.MethodNameMapper;
 import ovh.neziw.obfuscator.obfuscator.method.MethodObfuscationChecker;
+import ovh.neziw.obfuscator.obfuscator.stats.MetricRegistry;
 
 /**
  * Obfuscates method names in class files, skipping methods that implement/override interface methods
@@ -48,8 +49,7 @@ public class MethodNameObfuscator extends ClassVisitor {
     private final NameGenerator nameGenerator;
     private final PatternMatcher patternMatcher;
     private final ObfuscationStats stats;
-    private final Map<String, Map<String, String>> globalMethodNameMap;
-    private final Map<String, String> classNameMap;
+    private final ObfuscationMappings mappings;
     private boolean shouldObfuscate;
     private ClassNode classNode;
     private MethodNameMapper methodNameMapper;
@@ -57,27 +57,20 @@ public class MethodNameObfuscator extends ClassVisitor {
     private MethodObfuscationChecker methodChecker;
 
     public MethodNameObfuscator(final ClassVisitor cv, final NameGenerator nameGenerator, final PatternMatcher patternMatcher,
-                                final ObfuscationStats stats, final Map<String, Map<String, String>> globalMethodNameMap,
-                                final Map<String, String> classNameMap) {
+                                final ObfuscationStats stats, final ObfuscationMappings mappings) {
         super(Opcodes.ASM9, cv);
         this.nameGenerator = nameGenerator;
         this.patternMatcher = patternMatcher;
         this.stats = stats;
-        this.globalMethodNameMap = globalMethodNameMap;
-        this.classNameMap = classNameMap;
+        this.mappings = mappings;
     }
 
     @Override
     public void visit(final int version, final int access, final String name, final String signature, final String superName, final String[] interfaces) {
-        String originalClassName;
-        if (this.classNameMap != null) {
-            // Try to find original class name by reverse lookup
-            originalClassName = this.findOriginalClassName(name);
-            if (originalClassName == null) {
-                // Not found in map, so name is original (not obfuscated yet)
-                originalClassName = name;
-            }
-        } else {
+        // Try to find original class name by reverse lookup
+        String originalClassName = this.mappings.findOriginalClassName(name);
+        if (originalClassName == null) {
+            // Not found in map, so name is original (not obfuscated yet)
             originalClassName = name;
         }
         // Check if class should be obfuscated using original name (pattern matching uses original names)
@@ -85,8 +78,8 @@ public class MethodNameObfuscator extends ClassVisitor {
         final boolean isInterface = (access & Opcodes.ACC_INTERFACE) != 0;
         if (this.shouldObfuscate) {
             // Initialize helper classes
-            this.methodNameMapper = new MethodNameMapper(this.nameGenerator, originalClassName, this.globalMethodNameMap);
-            this.methodCallRemapper = new MethodCallRemapper(this.globalMethodNameMap, this.classNameMap);
+            this.methodNameMapper = new MethodNameMapper(this.nameGenerator, originalClassName, this.mappings);
+            this.methodCallRemapper = new MethodCallRemapper(this.mappings);
             this.methodChecker = new MethodObfuscationChecker(this.nameGenerator, isInterface);
             // Use ClassNode to collect all methods and check annotations
             this.classNode = new ClassNode();
@@ -203,34 +196,23 @@ public class MethodNameObfuscator extends ClassVisitor {
     }
 
     /**
-     * Finds the original class name from an obfuscated class name
-     * Returns null if not found or if classNameMap is null
+     * Statistics for method name obfuscation, backed by counters of the engine metric registry
      */
-    private String findOriginalClassName(final String obfuscatedClassName) {
-        if (this.classNameMap == null) {
-            return null;
-        }
-        // Reverse lookup: find original class name that maps to obfuscatedClassName
-        for (final Map.Entry<String, String> entry : this.classNameMap.entrySet()) {
-            if (entry.getValue().equals(obfuscatedClassName)) {
-                return entry.getKey();
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Statistics for method name obfuscation
-     */
-    @Getter
     public static class ObfuscationStats {
 
-        private int methodsObfuscated = 0;
+        private final LongAdder methodsObfuscated;
+
+        public ObfuscationStats(final MetricRegistry metrics) {
+            this.methodsObfuscated = metrics.counter("methodNames.obfuscated");
+        }
 
         public void incrementMethodsObfuscated() {
-            this.methodsObfuscated++;
+            this.methodsObfuscated.increment();
         }
 
+        public int getMethodsObfuscated() {
+            return this.methodsObfuscated.intValue();
+        }
     }
 
     /**
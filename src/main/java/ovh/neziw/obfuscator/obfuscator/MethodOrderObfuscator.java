@@ -27,7 +27,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import lombok.Getter;
+import java.util.concurrent.atomic.LongAdder;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Attribute;
 import org.objectweb.asm.ClassVisitor;
@@ -37,6 +37,7 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.TypePath;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
+import ovh.neziw.obfuscator.obfuscator.stats.MetricRegistry;
 
 /**
  * Obfuscates method order in class files by randomizing their sequence
@@ -175,16 +176,22 @@ public class MethodOrderObfuscator extends ClassVisitor {
     }
 
     /**
-     * Statistics for method order obfuscation
+     * Statistics for method order obfuscation, backed by counters of the engine metric registry
      */
-    @Getter
     public static class ObfuscationStats {
 
-        private int methodsReordered = 0;
+        private final LongAdder methodsReordered;
+
+        public ObfuscationStats(final MetricRegistry metrics) {
+            this.methodsReordered = metrics.counter("methodOrder.reordered");
+        }
 
         public void incrementMethodsReordered() {
-            this.methodsReordered++;
+            this.methodsReordered.increment();
         }
 
+        public int getMethodsReordered() {
+            return this.methodsReordered.intValue();
+        }
     }
 }
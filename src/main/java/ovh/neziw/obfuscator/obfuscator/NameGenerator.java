@@ -23,12 +23,17 @@
  */
 package ovh.neziw.obfuscator.obfuscator;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.Set;
+import ovh.neziw.obfuscator.obfuscator.mappings.SymbolPairMap;
+import ovh.neziw.obfuscator.obfuscator.mappings.SymbolTable;
 
 /**
  * Generates obfuscated names (a0, a1, b0, b1, z2, etc.)
  * Optionally supports a watermark prefix (e.g., "LPX_a0", "LPX_b1")
+ * Thread-safe, one generator is shared by all engines of a batch
+ * Keys such as "com/acme/Foo.bar(Ljava/lang/String;)V" are stored as the symbol ids of the parts before and after the first dot,
+ * in the symbol table of the mappings, so class names and member keys are not copied into every key
  */
 // TODO: enhance to support more complex naming schemes if needed
 public class NameGenerator {
@@ -36,50 +41,121 @@ public class NameGenerator {
     // Characters to use for obfuscated names (lowercase letters + digits)
     private static final String CHARS = "abcdefghijklmnopqrstuvwxyz";
     private static final String DIGITS = "0123456789";
-    private final Map<String, String> nameMap;
+    private final SymbolTable symbols;
+    private final SymbolPairMap nameMap;
+    // Names seeded from previous mappings, never handed out to new symbols
+    private final Set<String> reservedNames;
     private final String watermark;
-    private int letterIndex;
-    private int digitIndex;
+    private long nameIndex;
 
     public NameGenerator(final String watermark) {
-        this.nameMap = new HashMap<>();
-        this.letterIndex = 0;
-        this.digitIndex = 0;
+        this(watermark, new SymbolTable());
+    }
+
+    public NameGenerator(final String watermark, final SymbolTable symbols) {
+        this.symbols = symbols;
+        this.nameMap = new SymbolPairMap();
+        this.reservedNames = new HashSet<>();
+        this.nameIndex = 0;
         this.watermark = watermark != null ? watermark : "";
     }
 
     /**
      * Generates a new obfuscated name
-     * Format: watermark + letter + digit (e.g., LPX_a0, LPX_a1, LPX_b0, LPX_b5, LPX_z2)
-     * Uses sequential generation: a0, a1, ..., a9, b0, b1, ...
-     * If watermark is empty, returns just letter + digit (e.g., a0, a1)
+     * Format: watermark + letter + digits (e.g., LPX_a0, LPX_a1, LPX_b0, LPX_b5, LPX_z2)
+     * Uses sequential generation: a0, a1, ..., a9, b0, b1, ..., z9, then a00, a01, ..., z99, a000, ...
+     * so names never repeat, however many symbols a JAR has
+     * If watermark is empty, returns just letter + digits (e.g., a0, a1)
+     */
+    public synchronized String generateName() {
+        String name = this.nextName();
+        while (this.reservedNames.contains(name)) {
+            name = this.nextName();
+        }
+        return name;
+    }
+
+    private String nextName() {
+        return this.nameAt(this.nameIndex++);
+    }
+
+    /**
+     * Gets the name at a position of the sequence used by {@link #generateName}, without advancing it
+     * Used for names that only have to be unique within one scope, e.g. the local variables of a method
      */
-    public String generateName() {
-        final char letter = CHARS.charAt(this.letterIndex % CHARS.length());
-        final char digit = DIGITS.charAt(this.digitIndex % DIGITS.length());
-        final String name = String.valueOf(letter) + digit;
-        this.digitIndex++;
-        if (this.digitIndex >= DIGITS.length()) {
-            this.digitIndex = 0;
-            this.letterIndex++;
+    public String nameAt(final long position) {
+        // Find the width of the name: 260 names with one digit, 2600 with two, ...
+        long index = position;
+        long namesPerLetter = DIGITS.length();
+        int width = 1;
+        while (index >= CHARS.length() * namesPerLetter) {
+            index -= CHARS.length() * namesPerLetter;
+            namesPerLetter *= DIGITS.length();
+            width++;
         }
-        return this.watermark + name;
+        final StringBuilder name = new StringBuilder(this.watermark.length() + 1 + width).append(this.watermark)
+            .append(CHARS.charAt((int) (index / namesPerLetter)));
+        final String number = Long.toString(index % namesPerLetter);
+        for (int i = number.length(); i < width; i++) {
+            name.append('0');
+        }
+        return name.append(number).toString();
     }
 
     /**
      * Gets or generates an obfuscated name for a given original name
      */
-    public String getObfuscatedName(final String originalName) {
-        return this.nameMap.computeIfAbsent(originalName, k -> this.generateName());
+    public synchronized String getObfuscatedName(final String originalName) {
+        final int owner = this.internOwner(originalName);
+        final int member = this.symbols.intern(memberOf(originalName));
+        final int mapped = this.nameMap.get(owner, member);
+        if (mapped >= 0) {
+            return this.symbols.get(mapped);
+        }
+        final String name = this.generateName();
+        this.nameMap.put(owner, member, this.symbols.intern(name));
+        return name;
+    }
+
+    /**
+     * Maps a key to a name from previous mappings and reserves the name
+     */
+    public synchronized void seed(final String key, final String name) {
+        this.nameMap.putIfAbsent(this.internOwner(key), this.symbols.intern(memberOf(key)), this.symbols.intern(name));
+        this.reservedNames.add(name);
+    }
+
+    /**
+     * Gets the name mapped to a key, or null if the key has no name yet
+     */
+    public synchronized String getMappedName(final String key) {
+        // Looks the parts up without interning them, a key that was never mapped leaves no trace
+        final int dot = key.indexOf('.');
+        final int owner = dot < 0 ? SymbolPairMap.NO_OWNER : this.symbols.find(key.substring(0, dot));
+        final int member = this.symbols.find(memberOf(key));
+        if ((dot >= 0 && owner < 0) || member < 0) {
+            return null;
+        }
+        final int mapped = this.nameMap.get(owner, member);
+        return mapped >= 0 ? this.symbols.get(mapped) : null;
     }
 
     /**
      * Clears the name map and resets counters
      */
-    public void clear() {
+    public synchronized void clear() {
         this.nameMap.clear();
-        this.letterIndex = 0;
-        this.digitIndex = 0;
+        this.reservedNames.clear();
+        this.nameIndex = 0;
+    }
+
+    private int internOwner(final String key) {
+        final int dot = key.indexOf('.');
+        return dot < 0 ? SymbolPairMap.NO_OWNER : this.symbols.intern(key.substring(0, dot));
+    }
+
+    private static String memberOf(final String key) {
+        return key.substring(key.indexOf('.') + 1);
     }
 
     /**
@@ -95,11 +171,14 @@ public class NameGenerator {
             }
             name = name.substring(this.watermark.length());
         }
-        if (name.length() != 2) {
+        if (name.length() < 2 || CHARS.indexOf(name.charAt(0)) < 0) {
             return false;
         }
-        final char first = name.charAt(0);
-        final char second = name.charAt(1);
-        return CHARS.indexOf(first) >= 0 && DIGITS.indexOf(second) >= 0;
+        for (int i = 1; i < name.length(); i++) {
+            if (DIGITS.indexOf(name.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 }
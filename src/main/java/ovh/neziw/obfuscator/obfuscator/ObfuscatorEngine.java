@@ -25,14 +25,26 @@ package ovh.neziw.obfuscator.obfuscator;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.logging.Logger;
 import lombok.Getter;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
 import ovh.neziw.obfuscator.config.JsonConfig;
 import ovh.neziw.obfuscator.obfuscator.chain.ObfuscatorChainBuilder;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.DiagnosticsCollector;
+import ovh.neziw.obfuscator.obfuscator.frame.ClassHierarchy;
+import ovh.neziw.obfuscator.obfuscator.frame.FrameComputationException;
+import ovh.neziw.obfuscator.obfuscator.frame.FrameComputer;
+import ovh.neziw.obfuscator.obfuscator.jfr.ClassTransformEvent;
+import ovh.neziw.obfuscator.obfuscator.jfr.FrameFallbackEvent;
 import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
 import ovh.neziw.obfuscator.obfuscator.stats.ObfuscationStatsCollector;
+import ovh.neziw.obfuscator.obfuscator.timing.PassClock;
+import ovh.neziw.obfuscator.obfuscator.timing.PassTimingClassVisitor;
+import ovh.neziw.obfuscator.obfuscator.timing.TimingRecorder;
+import ovh.neziw.obfuscator.obfuscator.timing.TraceRecorder;
 
 /**
  * Main obfuscator engine that orchestrates the obfuscation process
@@ -40,21 +52,64 @@ import ovh.neziw.obfuscator.obfuscator.stats.ObfuscationStatsCollector;
  */
 public class ObfuscatorEngine {
 
+    private static final Logger LOGGER = Logger.getLogger(ObfuscatorEngine.class.getName());
+
+    @Getter
     private final PatternMatcher patternMatcher;
     @Getter
     private final NameGenerator nameGenerator;
     @Getter
     private final ObfuscationStatsCollector stats;
+    @Getter
     private final ObfuscationMappings mappings;
     private final ObfuscatorChainBuilder chainBuilder;
+    @Getter
+    private final ClassHierarchy classHierarchy;
+    private final FrameComputer frameComputer;
+    @Getter
+    private final TimingRecorder timings;
+    @Getter
+    private final DiagnosticsCollector diagnostics;
+    private final String passNames;
 
     public ObfuscatorEngine(final JsonConfig config) {
+        this(config, new EngineResources());
+    }
+
+    /**
+     * Creates an engine that reuses run-independent caches, e.g. those kept warm by the daemon
+     */
+    public ObfuscatorEngine(final JsonConfig config, final EngineResources resources) {
         this.patternMatcher = new PatternMatcher(config.getInclude());
         final String watermark = config.getWatermark();
-        this.nameGenerator = new NameGenerator(watermark != null ? watermark : "");
-        this.stats = new ObfuscationStatsCollector();
         this.mappings = new ObfuscationMappings();
-        this.chainBuilder = new ObfuscatorChainBuilder(config, this.patternMatcher, this.nameGenerator, this.stats, this.mappings);
+        this.nameGenerator = new NameGenerator(watermark != null ? watermark : "", this.mappings.getSymbols());
+        this.stats = new ObfuscationStatsCollector();
+        this.diagnostics = new DiagnosticsCollector();
+        this.classHierarchy = resources.createClassHierarchy(this.mappings);
+        this.frameComputer = new FrameComputer(this.classHierarchy);
+        this.chainBuilder = new ObfuscatorChainBuilder(config, this.patternMatcher, this.nameGenerator, this.stats, this.mappings,
+            this.diagnostics, new FrameComputer(this.classHierarchy.originalNames()));
+        this.timings = new TimingRecorder(config.isTimingReport(), config.isTraceTimeline() ? new TraceRecorder() : null);
+        this.passNames = String.join(",", this.chainBuilder.getPassNames());
+    }
+
+    /**
+     * Creates an engine with its own statistics that shares mappings, generated names, the class hierarchy, timings and diagnostics
+     * with another engine, so several JARs can be transformed concurrently under one global mapping
+     */
+    public ObfuscatorEngine(final JsonConfig config, final ObfuscatorEngine shared) {
+        this.patternMatcher = shared.patternMatcher;
+        this.nameGenerator = shared.nameGenerator;
+        this.stats = new ObfuscationStatsCollector();
+        this.mappings = shared.mappings;
+        this.diagnostics = shared.diagnostics;
+        this.classHierarchy = shared.classHierarchy;
+        this.frameComputer = new FrameComputer(this.classHierarchy);
+        this.chainBuilder = new ObfuscatorChainBuilder(config, this.patternMatcher, this.nameGenerator, this.stats, this.mappings,
+            this.diagnostics, new FrameComputer(this.classHierarchy.originalNames()));
+        this.timings = shared.timings;
+        this.passNames = String.join(",", this.chainBuilder.getPassNames());
     }
 
     /**
@@ -65,13 +120,122 @@ public class ObfuscatorEngine {
      * @return Obfuscated class file bytes
      */
     public byte[] obfuscateClass(final byte[] classBytes, final String className) throws IOException {
-        final ClassReader classReader = new ClassReader(classBytes);
-        final ClassWriter classWriter = new SafeClassWriter(classReader,
-            ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS, this.mappings.getClassNameMap());
-        final ClassVisitor cv = this.chainBuilder.buildChain(classWriter, className);
+        // Both are no-ops unless timings are enabled or a JFR recording is running
+        final PassClock clock = this.timings.startClass(className);
+        final ClassTransformEvent event = new ClassTransformEvent();
+        event.begin();
+        try {
+            final ClassReader classReader = new ClassReader(classBytes);
+            final byte[] result;
+            if (this.chainBuilder.hasTreePasses()) {
+                result = this.obfuscateClassTree(classReader, className, clock, event);
+            } else {
+                final ClassWriter classWriter = new SafeClassWriter(classReader,
+                    ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS, this.mappings);
+                final ClassVisitor cv = this.chainBuilder.buildChain(classWriter, className, clock);
+                classReader.accept(cv, ClassReader.EXPAND_FRAMES);
+                result = toByteArray(classWriter, clock);
+            }
+            if (event.shouldCommit()) {
+                event.className = className;
+                event.obfuscatedClassName = this.getObfuscatedClassName(className);
+                event.inputSize = classBytes.length;
+                event.outputSize = result.length;
+                event.passes = this.passNames;
+                event.commit();
+            }
+            return result;
+        } finally {
+            if (clock != null) {
+                clock.stop();
+            }
+        }
+    }
+
+    /**
+     * Runs the chain into a ClassNode and computes frames on the tree, so the ClassWriter only has to write them
+     * Falls back to COMPUTE_FRAMES if a method cannot be analyzed
+     */
+    private byte[] obfuscateClassTree(final ClassReader classReader, final String className, final PassClock clock,
+                                      final ClassTransformEvent event) {
+        final ClassNode classNode = new ClassNode();
+        final ClassVisitor cv = this.chainBuilder.buildChain(classNode, className, clock);
         classReader.accept(cv, ClassReader.EXPAND_FRAMES);
+        try {
+            this.computeFrames(classNode, clock);
+            final ClassWriter classWriter = new SafeClassWriter(classReader, 0, this.mappings);
+            accept(classNode, classWriter, clock);
+            return toByteArray(classWriter, clock);
+        } catch (final FrameComputationException exception) {
+            LOGGER.warning(exception.getMessage() + ", falling back to COMPUTE_FRAMES for class " + className);
+            event.frameFallback = true;
+            // The event duration is the cost of the fallback
+            final FrameFallbackEvent fallbackEvent = new FrameFallbackEvent();
+            fallbackEvent.begin();
+            final ClassWriter classWriter = new SafeClassWriter(classReader,
+                ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS, this.mappings);
+            accept(classNode, classWriter, clock);
+            final byte[] result = toByteArray(classWriter, clock);
+            if (fallbackEvent.shouldCommit()) {
+                fallbackEvent.className = className;
+                fallbackEvent.reason = exception.getMessage();
+                fallbackEvent.commit();
+            }
+            return result;
+        }
+    }
 
-        return classWriter.toByteArray();
+    private void computeFrames(final ClassNode classNode, final PassClock clock) throws FrameComputationException {
+        if (clock == null) {
+            this.frameComputer.computeFrames(classNode);
+            return;
+        }
+        final int pass = clock.register("FrameComputer");
+        final int previous = clock.enter(pass);
+        final long start = clock.lastSwitch();
+        try {
+            this.frameComputer.computeFrames(classNode);
+        } finally {
+            clock.exit(previous);
+            clock.span(pass, start);
+        }
+    }
+
+    /**
+     * Replays the tree into the writer, the replay is charged to the ClassNode and the writing to the writer
+     */
+    private static void accept(final ClassNode classNode, final ClassWriter classWriter, final PassClock clock) {
+        if (clock == null) {
+            classNode.accept(classWriter);
+            return;
+        }
+        final int pass = clock.register(ClassNode.class.getSimpleName());
+        final int previous = clock.enter(pass);
+        final long start = clock.lastSwitch();
+        try {
+            classNode.accept(new PassTimingClassVisitor(classWriter, clock, classWriter.getClass().getSimpleName()));
+        } finally {
+            clock.exit(previous);
+            clock.span(pass, start);
+        }
+    }
+
+    /**
+     * Serializes the class, with COMPUTE_FRAMES this is where the ClassWriter computes the frames
+     */
+    private static byte[] toByteArray(final ClassWriter classWriter, final PassClock clock) {
+        if (clock == null) {
+            return classWriter.toByteArray();
+        }
+        final int pass = clock.register("SafeClassWriter.toByteArray");
+        final int previous = clock.enter(pass);
+        final long start = clock.lastSwitch();
+        try {
+            return classWriter.toByteArray();
+        } finally {
+            clock.exit(previous);
+            clock.span(pass, start);
+        }
     }
 
     /**
@@ -23,9 +23,9 @@
  */
 package ovh.neziw.obfuscator.obfuscator;
 
-import java.util.Map;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
 
 /**
  * A ClassWriter that safely handles obfuscated class names and external classes
@@ -35,19 +35,13 @@ import org.objectweb.asm.ClassWriter;
  */
 public class SafeClassWriter extends ClassWriter {
 
-    private final Map<String, String> classNameMap; // original -> obfuscated
-    private final Map<String, String> reverseClassNameMap; // obfuscated -> original
+    // Looked up only when frames need a common super class, a writer is created for every class
+    private final ObfuscationMappings mappings;
 
     public SafeClassWriter(final ClassReader classReader, final int flags,
-                           final Map<String, String> classNameMap) {
+                           final ObfuscationMappings mappings) {
         super(classReader, flags);
-        this.classNameMap = classNameMap != null ? classNameMap : new java.util.HashMap<>();
-        this.reverseClassNameMap = new java.util.HashMap<>();
-        if (classNameMap != null) {
-            for (final Map.Entry<String, String> entry : classNameMap.entrySet()) {
-                this.reverseClassNameMap.put(entry.getValue(), entry.getKey());
-            }
-        }
+        this.mappings = mappings;
     }
 
     @Override
@@ -57,18 +51,18 @@ public class SafeClassWriter extends ClassWriter {
         if (this.isExternalClass(class1) || this.isExternalClass(class2)) {
             return "java/lang/Object";
         }
-        final boolean isType1Obfuscated = this.reverseClassNameMap.containsKey(type1);
-        final boolean isType2Obfuscated = this.reverseClassNameMap.containsKey(type2);
-        final String originalClass1 = this.getOriginalClassName(type1);
-        final String originalClass2 = this.getOriginalClassName(type2);
         final boolean isJavaStdlib1 = class1.startsWith("java.") || class1.startsWith("javax.");
         final boolean isJavaStdlib2 = class2.startsWith("java.") || class2.startsWith("javax.");
-        if (isType1Obfuscated || isType2Obfuscated || !isJavaStdlib1 || !isJavaStdlib2) {
+        if (!isJavaStdlib1 || !isJavaStdlib2) {
+            return "java/lang/Object";
+        }
+        // One reverse lookup per type, an obfuscated class cannot be loaded from the class path
+        if (this.findOriginalClassName(type1) != null || this.findOriginalClassName(type2) != null) {
             return "java/lang/Object";
         }
         try {
-            Class<?> c1 = this.getClass(originalClass1);
-            final Class<?> c2 = this.getClass(originalClass2);
+            Class<?> c1 = this.getClass(class1);
+            final Class<?> c2 = this.getClass(class2);
             if (c1.isAssignableFrom(c2)) {
                 return type1;
             } else if (c2.isAssignableFrom(c1)) {
@@ -89,19 +83,8 @@ public class SafeClassWriter extends ClassWriter {
         }
     }
 
-    /**
-     * Gets the original class name if the given name is obfuscated
-     * className is in internal format (with /)
-     * Returns binary format (with .)
-     */
-    private String getOriginalClassName(final String className) {
-        // Check if this is an obfuscated name (look in reverse map)
-        if (this.reverseClassNameMap != null && this.reverseClassNameMap.containsKey(className)) {
-            final String original = this.reverseClassNameMap.get(className);
-            return original.replace('/', '.');
-        }
-        // Not obfuscated, just convert internal to binary format
-        return className.replace('/', '.');
+    private String findOriginalClassName(final String className) {
+        return this.mappings != null ? this.mappings.findOriginalClassName(className) : null;
     }
 
     /**
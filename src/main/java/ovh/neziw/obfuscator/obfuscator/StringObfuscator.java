@@ -25,11 +25,12 @@ package ovh.neziw.obfuscator.obfuscator;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Random;
-import lombok.Getter;
+import java.util.concurrent.atomic.LongAdder;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
+import ovh.neziw.obfuscator.obfuscator.stats.MetricRegistry;
 
 /**
  * Obfuscates string literals in class files by encoding them and adding a decoder method
@@ -145,22 +146,33 @@ public class StringObfuscator extends ClassVisitor {
     }
 
     /**
-     * Statistics for string obfuscation
+     * Statistics for string obfuscation, backed by counters of the engine metric registry
      */
-    @Getter
     public static class ObfuscationStats {
 
-        private int stringsObfuscated = 0;
-        private int classesWithObfuscatedStrings = 0;
+        private final LongAdder stringsObfuscated;
+        private final LongAdder classesWithObfuscatedStrings;
+
+        public ObfuscationStats(final MetricRegistry metrics) {
+            this.stringsObfuscated = metrics.counter("strings.obfuscated");
+            this.classesWithObfuscatedStrings = metrics.counter("strings.classes");
+        }
 
         public void incrementStringsObfuscated() {
-            this.stringsObfuscated++;
+            this.stringsObfuscated.increment();
         }
 
         public void incrementClassesWithObfuscatedStrings() {
-            this.classesWithObfuscatedStrings++;
+            this.classesWithObfuscatedStrings.increment();
         }
 
+        public int getStringsObfuscated() {
+            return this.stringsObfuscated.intValue();
+        }
+
+        public int getClassesWithObfuscatedStrings() {
+            return this.classesWithObfuscatedStrings.intValue();
+        }
     }
 
     /**
@@ -27,12 +27,14 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import lombok.Getter;
+import java.util.concurrent.atomic.LongAdder;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
+import ovh.neziw.obfuscator.obfuscator.stats.MetricRegistry;
 
 /**
  * Obfuscates variable names in class files using ASM
@@ -43,23 +45,19 @@ public class VariableObfuscator extends ClassVisitor {
     private final PatternMatcher patternMatcher;
     private final ObfuscationStats stats;
     private final Map<String, String> fieldNameMap = new HashMap<>();
-    private final Map<String, Map<String, String>> globalFieldMappings;
-    private final Map<String, Map<String, Map<String, String>>> globalLocalVariableMappings;
+    private final ObfuscationMappings mappings;
     private String className;
     private boolean shouldObfuscate;
     private String currentClassName;
 
     public VariableObfuscator(final ClassVisitor cv, final NameGenerator nameGenerator, final PatternMatcher patternMatcher,
                               final ObfuscationStats stats,
-                              final Map<String, Map<String, String>> globalFieldMappings,
-                              final Map<String, Map<String, Map<String, String>>> globalLocalVariableMappings,
-                              final String className) {
+                              final ObfuscationMappings mappings, final String className) {
         super(Opcodes.ASM9, cv);
         this.nameGenerator = nameGenerator;
         this.patternMatcher = patternMatcher;
         this.stats = stats;
-        this.globalFieldMappings = globalFieldMappings;
-        this.globalLocalVariableMappings = globalLocalVariableMappings;
+        this.mappings = mappings;
         this.currentClassName = className;
     }
 
@@ -74,22 +72,14 @@ public class VariableObfuscator extends ClassVisitor {
 
     @Override
     public FieldVisitor visitField(final int access, final String name, final String descriptor, final String signature, final Object value) {
-        if (!this.shouldObfuscate) {
-            return this.cv.visitField(access, name, descriptor, signature, value);
-        }
-        if ((access & Opcodes.ACC_SYNTHETIC) != 0 || (access & Opcodes.ACC_ENUM) != 0) {
-            return this.cv.visitField(access, name, descriptor, signature, value);
-        }
-        if (this.nameGenerator.isObfuscated(name)) {
-            return this.cv.visitField(access, name, descriptor, signature, value);
-        }
-        if (name.equals("serialVersionUID")) {
+        if (!this.shouldObfuscate || !shouldObfuscateField(this.nameGenerator, access, name)) {
             return this.cv.visitField(access, name, descriptor, signature, value);
         }
+        // Named by the field scan before the transform, so this only looks the name up
         final String obfuscatedName = this.nameGenerator.getObfuscatedName(this.className + "." + name);
         this.fieldNameMap.put(name, obfuscatedName);
-        if (this.globalFieldMappings != null && this.currentClassName != null) {
-            this.globalFieldMappings.computeIfAbsent(this.currentClassName, k -> new HashMap<>()).put(name, obfuscatedName);
+        if (this.mappings != null && this.currentClassName != null) {
+            this.mappings.fieldsOf(this.currentClassName).put(name, obfuscatedName);
         }
         this.stats.incrementVariablesObfuscated();
         return this.cv.visitField(access, obfuscatedName, descriptor, signature, value);
@@ -102,25 +92,44 @@ public class VariableObfuscator extends ClassVisitor {
             return mv;
         }
         return new MethodVariableObfuscator(mv, this.nameGenerator, this.fieldNameMap, this.className, access, name, descriptor, this.stats,
-            this.globalLocalVariableMappings, this.currentClassName);
+            this.mappings, this.currentClassName);
+    }
+
+    /**
+     * Checks if a field of an obfuscated class gets a new name, synthetic and enum fields,
+     * already obfuscated names and serialVersionUID keep theirs
+     */
+    public static boolean shouldObfuscateField(final NameGenerator nameGenerator, final int access, final String name) {
+        if ((access & Opcodes.ACC_SYNTHETIC) != 0 || (access & Opcodes.ACC_ENUM) != 0) {
+            return false;
+        }
+        return !nameGenerator.isObfuscated(name) && !name.equals("serialVersionUID");
     }
 
     /**
-     * Statistics for variable obfuscation
+     * Statistics for variable obfuscation, backed by counters of the engine metric registry
      */
-    @Getter
     public static class ObfuscationStats {
 
-        private int variablesObfuscated = 0;
+        private final LongAdder variablesObfuscated;
+
+        public ObfuscationStats(final MetricRegistry metrics) {
+            this.variablesObfuscated = metrics.counter("variables.obfuscated");
+        }
 
         public void incrementVariablesObfuscated() {
-            this.variablesObfuscated++;
+            this.variablesObfuscated.increment();
         }
 
+        public int getVariablesObfuscated() {
+            return this.variablesObfuscated.intValue();
+        }
     }
 
     /**
      * Method visitor that obfuscates local variables and updates field references
+     * Local names only have to be unique within the method, so they are numbered per method instead of drawn from the
+     * shared sequence, which keeps them independent of the order in which the transform workers visit methods
      */
     private static class MethodVariableObfuscator extends MethodVisitor {
 
@@ -131,14 +140,15 @@ public class VariableObfuscator extends ClassVisitor {
         private final Set<String> usedNames;
         private final ObfuscationStats stats;
         private final boolean obfuscateLocals;
-        private final Map<String, Map<String, Map<String, String>>> globalLocalVariableMappings;
+        private final ObfuscationMappings mappings;
         private final String currentClassName;
         private final String methodName;
         private final String methodDescriptor;
+        private long nextLocalName;
 
         public MethodVariableObfuscator(final MethodVisitor mv, final NameGenerator nameGenerator, final Map<String, String> fieldNameMap,
                                         final String className, final int access, final String name, final String descriptor, final ObfuscationStats stats,
-                                        final Map<String, Map<String, Map<String, String>>> globalLocalVariableMappings,
+                                        final ObfuscationMappings mappings,
                                         final String currentClassName) {
             super(Opcodes.ASM9, mv);
             this.nameGenerator = nameGenerator;
@@ -147,7 +157,7 @@ public class VariableObfuscator extends ClassVisitor {
             this.className = className;
             this.usedNames = new HashSet<>();
             this.stats = stats;
-            this.globalLocalVariableMappings = globalLocalVariableMappings;
+            this.mappings = mappings;
             this.currentClassName = currentClassName;
             this.methodName = name;
             this.methodDescriptor = descriptor;
@@ -187,17 +197,17 @@ public class VariableObfuscator extends ClassVisitor {
             }
             String obfuscatedName = this.nameMapping.get(name);
             if (obfuscatedName == null) {
-                do {
-                    obfuscatedName = this.nameGenerator.generateName();
-                } while (this.usedNames.contains(obfuscatedName));
+                // Reuse the name from previous mappings, if any
+                obfuscatedName = this.nameGenerator.getMappedName(
+                    MappingsApplier.localVariableKey(this.currentClassName, this.methodName + this.methodDescriptor, name));
+                while (obfuscatedName == null || this.usedNames.contains(obfuscatedName)) {
+                    obfuscatedName = this.nameGenerator.nameAt(this.nextLocalName++);
+                }
 
                 this.usedNames.add(obfuscatedName);
                 this.nameMapping.put(name, obfuscatedName);
-                if (this.globalLocalVariableMappings != null && this.currentClassName != null && this.methodName != null) {
-                    final String methodKey = this.methodName + this.methodDescriptor;
-                    this.globalLocalVariableMappings
-                        .computeIfAbsent(this.currentClassName, k -> new HashMap<>())
-                        .computeIfAbsent(methodKey, k -> new HashMap<>())
+                if (this.mappings != null && this.currentClassName != null && this.methodName != null) {
+                    this.mappings.localVariablesOf(this.currentClassName, this.methodName + this.methodDescriptor)
                         .put(name, obfuscatedName);
                 }
                 this.stats.incrementVariablesObfuscated();
@@ -23,6 +23,8 @@
  */
 package ovh.neziw.obfuscator.obfuscator.chain;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.objectweb.asm.ClassVisitor;
 import ovh.neziw.obfuscator.config.JsonConfig;
 import ovh.neziw.obfuscator.obfuscator.ClassNameObfuscator;
@@ -33,8 +35,13 @@ import ovh.neziw.obfuscator.obfuscator.NameGenerator;
 import ovh.neziw.obfuscator.obfuscator.PatternMatcher;
 import ovh.neziw.obfuscator.obfuscator.StringObfuscator;
 import ovh.neziw.obfuscator.obfuscator.VariableObfuscator;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.ClassDiagnostics;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.DiagnosticsCollector;
+import ovh.neziw.obfuscator.obfuscator.frame.FrameComputer;
 import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
 import ovh.neziw.obfuscator.obfuscator.stats.ObfuscationStatsCollector;
+import ovh.neziw.obfuscator.obfuscator.timing.PassClock;
+import ovh.neziw.obfuscator.obfuscator.timing.PassTimingClassVisitor;
 
 /**
  * Builds the chain of obfuscators based on configuration
@@ -47,16 +54,23 @@ public class ObfuscatorChainBuilder {
     private final NameGenerator nameGenerator;
     private final ObfuscationStatsCollector stats;
     private final ObfuscationMappings mappings;
+    private final DiagnosticsCollector diagnostics;
+    // Validates flow obfuscated methods, on the hierarchy in original names as flow runs before class renaming
+    private final FrameComputer frameVerifier;
 
     public ObfuscatorChainBuilder(final JsonConfig config, final PatternMatcher patternMatcher,
                                   final NameGenerator nameGenerator,
                                   final ObfuscationStatsCollector stats,
-                                  final ObfuscationMappings mappings) {
+                                  final ObfuscationMappings mappings,
+                                  final DiagnosticsCollector diagnostics,
+                                  final FrameComputer frameVerifier) {
         this.config = config;
         this.patternMatcher = patternMatcher;
         this.nameGenerator = nameGenerator;
         this.stats = stats;
         this.mappings = mappings;
+        this.diagnostics = diagnostics;
+        this.frameVerifier = frameVerifier;
     }
 
     /**
@@ -64,38 +78,94 @@ public class ObfuscatorChainBuilder {
      * Order matters: class name obfuscation should be first (outermost)
      */
     public ClassVisitor buildChain(final ClassVisitor baseVisitor, final String className) {
-        ClassVisitor cv = baseVisitor;
+        return this.buildChain(baseVisitor, className, null);
+    }
+
+    /**
+     * Builds the obfuscator chain, with every pass and the base visitor timed by the given clock if it is not null
+     */
+    public ClassVisitor buildChain(final ClassVisitor baseVisitor, final String className, final PassClock clock) {
+        ClassVisitor cv = timed(baseVisitor, clock);
+        final ClassDiagnostics classDiagnostics = this.diagnostics.forClass(className);
         // Class name and package obfuscation (must be first to handle all class references)
         if (this.config.isObfuscateClassNames() || this.config.isObfuscatePackages()) {
             cv = new ClassNameObfuscator(cv, this.nameGenerator, this.patternMatcher,
                 this.stats.getClassNameStats(), this.mappings.getClassNameMap(),
-                this.config.isObfuscatePackages(), this.config.isObfuscateClassNames());
+                this.config.isObfuscatePackages(), this.config.isObfuscateClassNames(), classDiagnostics);
+            cv = timed(cv, clock);
         }
         // Variable obfuscation
         if (this.config.isObfuscateVariables()) {
             cv = new VariableObfuscator(cv, this.nameGenerator, this.patternMatcher, this.stats.getVariableStats(),
-                this.mappings.getFieldMappings(), this.mappings.getLocalVariableMappings(), className);
+                this.mappings, className);
+            cv = timed(cv, clock);
         }
         // String obfuscation (before method order, as it adds methods)
         if (this.config.isObfuscateStrings()) {
             cv = new StringObfuscator(cv, this.patternMatcher, this.stats.getStringStats());
+            cv = timed(cv, clock);
         }
         // Method name obfuscation (before method order, as it changes method names)
         if (this.config.isObfuscateMethodNames()) {
             cv = new MethodNameObfuscator(cv, this.nameGenerator, this.patternMatcher, this.stats.getMethodNameStats(),
-                this.mappings.getMethodNameMap(), this.mappings.getClassNameMap());
+                this.mappings);
+            cv = timed(cv, clock);
         }
         // Flow obfuscation (before method order, as it modifies method code)
         final String flowObfuscation = this.config.getFlowObfuscation();
         if (flowObfuscation != null && !flowObfuscation.equals("NONE")) {
-            cv = new FlowObfuscator(cv, this.patternMatcher, this.stats.getFlowStats(), flowObfuscation);
+            cv = new FlowObfuscator(cv, this.patternMatcher, this.stats.getFlowStats(), flowObfuscation, classDiagnostics,
+                this.frameVerifier);
+            cv = timed(cv, clock);
         }
         // Method order obfuscation (should be last as it reorders methods)
         if (this.config.isChangeMethodsOrders()) {
             cv = new MethodOrderObfuscator(cv, this.patternMatcher, this.stats.getMethodOrderStats());
+            cv = timed(cv, clock);
         }
         return cv;
     }
+
+    private static ClassVisitor timed(final ClassVisitor cv, final PassClock clock) {
+        return clock != null ? new PassTimingClassVisitor(cv, clock, cv.getClass().getSimpleName()) : cv;
+    }
+
+    /**
+     * Names of the passes of the chain, in the order they see a class (the reverse of the construction order)
+     */
+    public List<String> getPassNames() {
+        final List<String> names = new ArrayList<>();
+        if (this.config.isChangeMethodsOrders()) {
+            names.add(MethodOrderObfuscator.class.getSimpleName());
+        }
+        final String flowObfuscation = this.config.getFlowObfuscation();
+        if (flowObfuscation != null && !flowObfuscation.equals("NONE")) {
+            names.add(FlowObfuscator.class.getSimpleName());
+        }
+        if (this.config.isObfuscateMethodNames()) {
+            names.add(MethodNameObfuscator.class.getSimpleName());
+        }
+        if (this.config.isObfuscateStrings()) {
+            names.add(StringObfuscator.class.getSimpleName());
+        }
+        if (this.config.isObfuscateVariables()) {
+            names.add(VariableObfuscator.class.getSimpleName());
+        }
+        if (this.config.isObfuscateClassNames() || this.config.isObfuscatePackages()) {
+            names.add(ClassNameObfuscator.class.getSimpleName());
+        }
+        return names;
+    }
+
+    /**
+     * Checks if the chain contains passes that materialize classes as a ClassNode
+     * (flow obfuscation, method name obfuscation and method order obfuscation)
+     */
+    public boolean hasTreePasses() {
+        final String flowObfuscation = this.config.getFlowObfuscation();
+        return (flowObfuscation != null && !flowObfuscation.equals("NONE")) ||
+            this.config.isObfuscateMethodNames() || this.config.isChangeMethodsOrders();
+    }
 }
 
 
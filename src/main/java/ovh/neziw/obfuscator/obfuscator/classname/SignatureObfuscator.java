@@ -23,10 +23,11 @@
  */
 package ovh.neziw.obfuscator.obfuscator.classname;
 
-import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.objectweb.asm.Type;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.Category;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.ClassDiagnostics;
 
 /**
  * Obfuscates type signatures (class names in signatures)
@@ -34,12 +35,12 @@ import org.objectweb.asm.Type;
  */
 public class SignatureObfuscator {
 
-    private static final Logger LOGGER = Logger.getLogger(SignatureObfuscator.class.getName());
-
     private final ClassNameMapper classNameMapper;
+    private final ClassDiagnostics diagnostics;
 
-    public SignatureObfuscator(final ClassNameMapper classNameMapper) {
+    public SignatureObfuscator(final ClassNameMapper classNameMapper, final ClassDiagnostics diagnostics) {
         this.classNameMapper = classNameMapper;
+        this.diagnostics = diagnostics;
     }
 
     /**
@@ -81,7 +82,7 @@ public class SignatureObfuscator {
             return this.remapType(type).getDescriptor();
         } catch (final Exception exception) {
             // If parsing fails, return original descriptor
-            LOGGER.warning("Failed to parse type descriptor: " + descriptor + ", error: " + exception.getMessage());
+            this.diagnostics.report(Category.TYPE_DESCRIPTOR, () -> descriptor, exception);
             return descriptor;
         }
     }
@@ -111,7 +112,7 @@ public class SignatureObfuscator {
             }
             return Type.getMethodType(returnType, obfuscatedArgs).getDescriptor();
         } catch (final Exception exception) {
-            LOGGER.warning("Failed to parse method descriptor: " + descriptor + ", error: " + exception.getMessage());
+            this.diagnostics.report(Category.METHOD_DESCRIPTOR, () -> descriptor, exception);
             return descriptor;
         }
     }
@@ -138,7 +139,7 @@ public class SignatureObfuscator {
                     return type; // Primitive types, etc.
             }
         } catch (final Exception exception) {
-            LOGGER.warning("Failed to remap type: " + type + ", error: " + exception.getMessage());
+            this.diagnostics.report(Category.TYPE, type::toString, exception);
             return type;
         }
     }
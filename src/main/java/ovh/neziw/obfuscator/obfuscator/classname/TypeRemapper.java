@@ -23,10 +23,11 @@
  */
 package ovh.neziw.obfuscator.obfuscator.classname;
 
-import java.util.logging.Logger;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Handle;
 import org.objectweb.asm.Type;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.Category;
+import ovh.neziw.obfuscator.obfuscator.diagnostics.ClassDiagnostics;
 
 /**
  * Remaps types, handles, and annotations in bytecode instructions
@@ -34,14 +35,15 @@ import org.objectweb.asm.Type;
  */
 public class TypeRemapper {
 
-    private static final Logger LOGGER = Logger.getLogger(TypeRemapper.class.getName());
-
     private final ClassNameMapper classNameMapper;
     private final SignatureObfuscator signatureObfuscator;
+    private final ClassDiagnostics diagnostics;
 
-    public TypeRemapper(final ClassNameMapper classNameMapper, final SignatureObfuscator signatureObfuscator) {
+    public TypeRemapper(final ClassNameMapper classNameMapper, final SignatureObfuscator signatureObfuscator,
+                        final ClassDiagnostics diagnostics) {
         this.classNameMapper = classNameMapper;
         this.signatureObfuscator = signatureObfuscator;
+        this.diagnostics = diagnostics;
     }
 
     /**
@@ -71,7 +73,7 @@ public class TypeRemapper {
             }
             return new Handle(handle.getTag(), obfuscatedOwner, handle.getName(), obfuscatedDescriptor, handle.isInterface());
         } catch (final Exception exception) {
-            LOGGER.warning("Failed to remap Handle: " + handle + ", error: " + exception.getMessage());
+            this.diagnostics.report(Category.HANDLE, handle::toString, exception);
             return handle;
         }
     }
@@ -91,7 +93,7 @@ public class TypeRemapper {
             }
             return arg;
         } catch (final Exception exception) {
-            LOGGER.warning("Failed to remap bootstrap argument: " + arg + ", error: " + exception.getMessage());
+            this.diagnostics.report(Category.BOOTSTRAP_ARGUMENT, () -> String.valueOf(arg), exception);
             return arg;
         }
     }
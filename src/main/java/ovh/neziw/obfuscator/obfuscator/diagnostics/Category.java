@@ -0,0 +1,53 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.diagnostics;
+
+import lombok.Getter;
+
+/**
+ * Kinds of recoverable problems reported while transforming classes
+ */
+@Getter
+public enum Category {
+
+    TYPE_DESCRIPTOR("Failed to parse type descriptor"),
+    METHOD_DESCRIPTOR("Failed to parse method descriptor"),
+    TYPE("Failed to remap type"),
+    HANDLE("Failed to remap handle"),
+    BOOTSTRAP_ARGUMENT("Failed to remap bootstrap argument"),
+    FIELD_INSTRUCTION("Failed to remap field instruction"),
+    METHOD_INSTRUCTION("Failed to remap method instruction"),
+    INVOKE_DYNAMIC("Failed to remap InvokeDynamic instruction"),
+    LDC("Failed to remap LDC instruction"),
+    MULTI_ANEW_ARRAY("Failed to remap MultiANewArray instruction"),
+    TRY_CATCH_TYPE("Failed to remap try-catch block type"),
+    LOCAL_VARIABLE("Failed to remap local variable"),
+    FLOW_ROLLBACK("Failed to obfuscate flow, original code restored");
+
+    private final String description;
+
+    Category(final String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.diagnostics;
+
+import java.util.function.Supplier;
+
+/**
+ * View of a {@link DiagnosticsCollector} bound to the class being transformed
+ * Single Responsibility: Report diagnostics of one class
+ */
+public class ClassDiagnostics {
+
+    private final DiagnosticsCollector collector;
+    private final String className;
+
+    ClassDiagnostics(final DiagnosticsCollector collector, final String className) {
+        this.collector = collector;
+        this.className = className;
+    }
+
+    /**
+     * Reports a problem of this class, see {@link DiagnosticsCollector#report}
+     */
+    public void report(final Category category, final Supplier<String> detail, final Throwable cause) {
+        this.collector.report(category, this.className, detail, cause);
+    }
+}
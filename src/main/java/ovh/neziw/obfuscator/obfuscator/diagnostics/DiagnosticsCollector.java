@@ -0,0 +1,177 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Counts recoverable problems by category and class instead of logging each of them
+ * Only the first occurrence per category and class keeps its detail, every occurrence is logged at FINE,
+ * and messages are only built when they are kept or FINE is enabled. Reports are thread-safe
+ * Single Responsibility: Aggregate diagnostics of a run into a compact summary
+ */
+public class DiagnosticsCollector {
+
+    private static final Logger LOGGER = Logger.getLogger(DiagnosticsCollector.class.getName());
+    private static final String UNKNOWN_CLASS = "<unknown>";
+    private static final int SUMMARY_CLASSES = 3;
+
+    private final Map<Category, Map<String, Entry>> entries = new EnumMap<>(Category.class);
+
+    public DiagnosticsCollector() {
+        for (final Category category : Category.values()) {
+            this.entries.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns a view that reports problems of the given class
+     */
+    public ClassDiagnostics forClass(final String className) {
+        return new ClassDiagnostics(this, className);
+    }
+
+    /**
+     * Reports a problem
+     *
+     * @param category  Kind of the problem
+     * @param className Internal name of the class being transformed, may be null
+     * @param detail    Builds the detail of the message, e.g. the instruction, only called when the message is needed
+     * @param cause     Exception that caused the problem, may be null
+     */
+    public void report(final Category category, final String className, final Supplier<String> detail, final Throwable cause) {
+        final Map<String, Entry> classes = this.entries.get(category);
+        final String key = className != null ? className : UNKNOWN_CLASS;
+        final boolean fine = LOGGER.isLoggable(Level.FINE);
+        Entry entry = classes.get(key);
+        if (entry == null) {
+            final String example = example(detail.get(), cause);
+            final Entry created = new Entry(example);
+            final Entry previous = classes.putIfAbsent(key, created);
+            entry = previous != null ? previous : created;
+            if (fine) {
+                LOGGER.log(Level.FINE, category.getDescription() + " in " + key + ": " + example, cause);
+            }
+        } else if (fine) {
+            LOGGER.log(Level.FINE, category.getDescription() + " in " + key + ": " + example(detail.get(), cause), cause);
+        }
+        entry.count.increment();
+    }
+
+    private static String example(final String detail, final Throwable cause) {
+        if (cause == null) {
+            return String.valueOf(detail);
+        }
+        return detail + ", error: " + cause.getMessage();
+    }
+
+    /**
+     * Total number of reported problems
+     */
+    public long getTotal() {
+        long total = 0;
+        for (final Map<String, Entry> classes : this.entries.values()) {
+            for (final Entry entry : classes.values()) {
+                total += entry.count.sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Number of reported problems of a category
+     */
+    public long getCount(final Category category) {
+        long count = 0;
+        for (final Entry entry : this.entries.get(category).values()) {
+            count += entry.count.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Formats one line per category with its count, the number of classes, the classes with most problems
+     * and the first problem of the class with most problems, or null if nothing was reported
+     */
+    public String format() {
+        final long total = this.getTotal();
+        if (total == 0) {
+            return null;
+        }
+        final StringBuilder builder = new StringBuilder("Diagnostics: ").append(total)
+            .append(" problems, enable FINE logging to see each of them");
+        for (final Map.Entry<Category, Map<String, Entry>> categoryEntry : this.entries.entrySet()) {
+            final Map<String, Entry> classes = categoryEntry.getValue();
+            if (classes.isEmpty()) {
+                continue;
+            }
+            final List<Map.Entry<String, Entry>> sorted = new ArrayList<>(classes.entrySet());
+            sorted.sort(Comparator.comparingLong((Map.Entry<String, Entry> classEntry) -> classEntry.getValue().count.sum()).reversed()
+                .thenComparing(Map.Entry::getKey));
+            builder.append(System.lineSeparator()).append("  ").append(categoryEntry.getKey().getDescription()).append(": ")
+                .append(this.getCount(categoryEntry.getKey())).append(" in ").append(classes.size())
+                .append(classes.size() == 1 ? " class (" : " classes (");
+            for (int i = 0; i < Math.min(SUMMARY_CLASSES, sorted.size()); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(sorted.get(i).getKey()).append(' ').append(sorted.get(i).getValue().count.sum());
+            }
+            if (sorted.size() > SUMMARY_CLASSES) {
+                builder.append(", ...");
+            }
+            builder.append("), e.g. ").append(sorted.get(0).getValue().example);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Logs the summary as a warning if anything was reported
+     */
+    public void logSummary() {
+        final String summary = this.format();
+        if (summary != null) {
+            LOGGER.warning(summary);
+        }
+    }
+
+    private static final class Entry {
+
+        private final LongAdder count = new LongAdder();
+        private final String example;
+
+        private Entry(final String example) {
+            this.example = example;
+        }
+    }
+}
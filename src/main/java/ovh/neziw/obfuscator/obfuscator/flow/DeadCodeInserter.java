@@ -165,8 +165,8 @@ public class DeadCodeInserter {
     }
 
     /**
-     * Creates a stack-neutral dead code pattern: push constant -> if false -> dead code -> label -> pop
-     * This is guaranteed stack-neutral: net stack change is 0
+     * Creates a stack-neutral dead code pattern: push constant -> if false -> dead code -> label
+     * The jump consumes the constant, so the net stack change is 0
      */
     private InsnList createStackNeutralPattern() {
         final LabelNode skipLabel = new LabelNode();
@@ -175,8 +175,7 @@ public class DeadCodeInserter {
         obfuscation.add(new JumpInsnNode(Opcodes.IFEQ, skipLabel)); // If 0 (never true, consumes 1, stack: 0)
         // Dead code (unreachable, stack doesn't matter)
         obfuscation.add(new InsnNode(Opcodes.NOP)); // No-op
-        obfuscation.add(skipLabel); // Label (stack: 0)
-        obfuscation.add(new InsnNode(Opcodes.POP)); // Pop 1 (stack: -1, net: 0)
+        obfuscation.add(skipLabel); // Label (stack: 0, net: 0)
         return obfuscation;
     }
 
@@ -192,8 +191,7 @@ public class DeadCodeInserter {
         obfuscation.add(new InsnNode(Opcodes.NOP)); // No-op
         obfuscation.add(new InsnNode(Opcodes.NOP)); // More no-ops
         obfuscation.add(new InsnNode(Opcodes.NOP));
-        obfuscation.add(skipLabel); // Label (stack: 0)
-        obfuscation.add(new InsnNode(Opcodes.POP)); // Pop 1 (stack: -1, net: 0)
+        obfuscation.add(skipLabel); // Label (stack: 0, net: 0)
         return obfuscation;
     }
 }
@@ -0,0 +1,324 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.flow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+
+/**
+ * Finds natural loops in a method and computes the loop nesting depth of every instruction
+ * Builds basic blocks, computes dominators and collects the bodies of all back-edges
+ * Single Responsibility: Analyze loop structure of a MethodNode
+ */
+public final class LoopNestingAnalyzer {
+
+    /**
+     * Analyzes the loops of a method
+     *
+     * @param method The method to analyze
+     * @return Loop nesting information for every instruction of the method
+     */
+    public static LoopNesting analyze(final MethodNode method) {
+        final InsnList instructions = method.instructions;
+        final int size = instructions.size();
+        if (size == 0) {
+            return new LoopNesting(instructions, new int[0], new int[0], new BitSet(), new BitSet());
+        }
+        final AbstractInsnNode[] insns = instructions.toArray();
+
+        // Split the method into basic blocks
+        final BitSet leaders = new BitSet(size);
+        leaders.set(0);
+        for (int i = 0; i < size; i++) {
+            final AbstractInsnNode insn = insns[i];
+            if (insn instanceof final JumpInsnNode jump) {
+                leaders.set(instructions.indexOf(jump.label));
+                leaders.set(i + 1);
+            } else if (insn instanceof final TableSwitchInsnNode tableSwitch) {
+                leaders.set(instructions.indexOf(tableSwitch.dflt));
+                for (final LabelNode label : tableSwitch.labels) {
+                    leaders.set(instructions.indexOf(label));
+                }
+                leaders.set(i + 1);
+            } else if (insn instanceof final LookupSwitchInsnNode lookupSwitch) {
+                leaders.set(instructions.indexOf(lookupSwitch.dflt));
+                for (final LabelNode label : lookupSwitch.labels) {
+                    leaders.set(instructions.indexOf(label));
+                }
+                leaders.set(i + 1);
+            } else if (isExit(insn.getOpcode())) {
+                leaders.set(i + 1);
+            }
+        }
+        if (method.tryCatchBlocks != null) {
+            for (final TryCatchBlockNode tryCatch : method.tryCatchBlocks) {
+                leaders.set(instructions.indexOf(tryCatch.start));
+                leaders.set(instructions.indexOf(tryCatch.end));
+                leaders.set(instructions.indexOf(tryCatch.handler));
+            }
+        }
+        leaders.clear(size, leaders.length());
+
+        final int blockCount = leaders.cardinality();
+        final int[] blockStart = new int[blockCount];
+        final int[] blockOfInsn = new int[size];
+        int block = -1;
+        for (int i = 0; i < size; i++) {
+            if (leaders.get(i)) {
+                block++;
+                blockStart[block] = i;
+            }
+            blockOfInsn[i] = block;
+        }
+
+        // Build the control flow edges between blocks
+        final List<List<Integer>> successors = new ArrayList<>(blockCount);
+        final List<List<Integer>> predecessors = new ArrayList<>(blockCount);
+        for (int b = 0; b < blockCount; b++) {
+            successors.add(new ArrayList<>(2));
+            predecessors.add(new ArrayList<>(2));
+        }
+        for (int b = 0; b < blockCount; b++) {
+            final int end = b + 1 < blockCount ? blockStart[b + 1] : size;
+            final AbstractInsnNode last = lastRealInsn(insns, blockStart[b], end);
+            final int opcode = last != null ? last.getOpcode() : -1;
+            if (last instanceof final JumpInsnNode jump) {
+                addEdge(successors, predecessors, b, blockOfInsn[instructions.indexOf(jump.label)]);
+                if (opcode != Opcodes.GOTO && end < size) {
+                    addEdge(successors, predecessors, b, blockOfInsn[end]);
+                }
+            } else if (last instanceof final TableSwitchInsnNode tableSwitch) {
+                addEdge(successors, predecessors, b, blockOfInsn[instructions.indexOf(tableSwitch.dflt)]);
+                for (final LabelNode label : tableSwitch.labels) {
+                    addEdge(successors, predecessors, b, blockOfInsn[instructions.indexOf(label)]);
+                }
+            } else if (last instanceof final LookupSwitchInsnNode lookupSwitch) {
+                addEdge(successors, predecessors, b, blockOfInsn[instructions.indexOf(lookupSwitch.dflt)]);
+                for (final LabelNode label : lookupSwitch.labels) {
+                    addEdge(successors, predecessors, b, blockOfInsn[instructions.indexOf(label)]);
+                }
+            } else if (!isExit(opcode) && end < size) {
+                addEdge(successors, predecessors, b, blockOfInsn[end]);
+            }
+        }
+        if (method.tryCatchBlocks != null) {
+            for (final TryCatchBlockNode tryCatch : method.tryCatchBlocks) {
+                final int handler = blockOfInsn[instructions.indexOf(tryCatch.handler)];
+                final int start = instructions.indexOf(tryCatch.start);
+                final int end = instructions.indexOf(tryCatch.end);
+                for (int b = blockOfInsn[start]; b < blockCount && blockStart[b] < end; b++) {
+                    addEdge(successors, predecessors, b, handler);
+                }
+            }
+        }
+
+        final BitSet[] dominators = computeDominators(blockCount, successors, predecessors);
+
+        // Collect natural loops, merging loops that share a header
+        final Map<Integer, BitSet> loopsByHeader = new HashMap<>();
+        final BitSet backEdgeSources = new BitSet(blockCount);
+        for (int b = 0; b < blockCount; b++) {
+            if (dominators[b] == null) {
+                continue; // Unreachable block
+            }
+            for (final int successor : successors.get(b)) {
+                if (dominators[b].get(successor)) {
+                    backEdgeSources.set(b);
+                    final BitSet body = loopsByHeader.computeIfAbsent(successor, k -> new BitSet(blockCount));
+                    collectLoopBody(successor, b, predecessors, body);
+                }
+            }
+        }
+
+        final int[] blockDepth = new int[blockCount];
+        final BitSet innermostBlocks = new BitSet(blockCount);
+        for (final Map.Entry<Integer, BitSet> loop : loopsByHeader.entrySet()) {
+            final BitSet body = loop.getValue();
+            boolean innermost = true;
+            for (final Integer otherHeader : loopsByHeader.keySet()) {
+                if (!otherHeader.equals(loop.getKey()) && body.get(otherHeader)) {
+                    innermost = false;
+                    break;
+                }
+            }
+            for (int b = body.nextSetBit(0); b >= 0; b = body.nextSetBit(b + 1)) {
+                blockDepth[b]++;
+            }
+            if (innermost) {
+                innermostBlocks.or(body);
+            }
+        }
+        return new LoopNesting(instructions, blockOfInsn, blockDepth, innermostBlocks, backEdgeSources);
+    }
+
+    /**
+     * Computes the dominator set of every block reachable from the entry block
+     * Unreachable blocks get a null entry
+     */
+    private static BitSet[] computeDominators(final int blockCount, final List<List<Integer>> successors,
+                                              final List<List<Integer>> predecessors) {
+        final BitSet reachable = new BitSet(blockCount);
+        final Deque<Integer> worklist = new ArrayDeque<>();
+        worklist.push(0);
+        reachable.set(0);
+        while (!worklist.isEmpty()) {
+            for (final int successor : successors.get(worklist.pop())) {
+                if (!reachable.get(successor)) {
+                    reachable.set(successor);
+                    worklist.push(successor);
+                }
+            }
+        }
+        final BitSet[] dominators = new BitSet[blockCount];
+        for (int b = reachable.nextSetBit(0); b >= 0; b = reachable.nextSetBit(b + 1)) {
+            dominators[b] = (BitSet) reachable.clone();
+        }
+        dominators[0] = new BitSet(blockCount);
+        dominators[0].set(0);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int b = reachable.nextSetBit(1); b >= 0; b = reachable.nextSetBit(b + 1)) {
+                final BitSet updated = (BitSet) reachable.clone();
+                for (final int predecessor : predecessors.get(b)) {
+                    if (dominators[predecessor] != null) {
+                        updated.and(dominators[predecessor]);
+                    }
+                }
+                updated.set(b);
+                if (!updated.equals(dominators[b])) {
+                    dominators[b] = updated;
+                    changed = true;
+                }
+            }
+        }
+        return dominators;
+    }
+
+    /**
+     * Adds all blocks of the natural loop of the back-edge tail -> header to the body
+     */
+    private static void collectLoopBody(final int header, final int tail, final List<List<Integer>> predecessors,
+                                        final BitSet body) {
+        body.set(header);
+        final Deque<Integer> worklist = new ArrayDeque<>();
+        if (!body.get(tail)) {
+            body.set(tail);
+            worklist.push(tail);
+        }
+        while (!worklist.isEmpty()) {
+            for (final int predecessor : predecessors.get(worklist.pop())) {
+                if (!body.get(predecessor)) {
+                    body.set(predecessor);
+                    worklist.push(predecessor);
+                }
+            }
+        }
+    }
+
+    private static void addEdge(final List<List<Integer>> successors, final List<List<Integer>> predecessors,
+                                final int from, final int to) {
+        if (!successors.get(from).contains(to)) {
+            successors.get(from).add(to);
+            predecessors.get(to).add(from);
+        }
+    }
+
+    private static AbstractInsnNode lastRealInsn(final AbstractInsnNode[] insns, final int start, final int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (insns[i].getOpcode() >= 0) {
+                return insns[i];
+            }
+        }
+        return null;
+    }
+
+    private static boolean isExit(final int opcode) {
+        return (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN) || opcode == Opcodes.ATHROW || opcode == Opcodes.RET;
+    }
+
+    /**
+     * Result of the loop nesting analysis
+     */
+    public static final class LoopNesting {
+
+        private final InsnList instructions;
+        private final int[] blockOfInsn;
+        private final int[] blockDepth;
+        private final BitSet innermostBlocks;
+        private final BitSet backEdgeSources;
+
+        private LoopNesting(final InsnList instructions, final int[] blockOfInsn, final int[] blockDepth,
+                            final BitSet innermostBlocks, final BitSet backEdgeSources) {
+            this.instructions = instructions;
+            this.blockOfInsn = blockOfInsn;
+            this.blockDepth = blockDepth;
+            this.innermostBlocks = innermostBlocks;
+            this.backEdgeSources = backEdgeSources;
+        }
+
+        /**
+         * Gets the number of loops that contain the instruction (0 = not in a loop)
+         */
+        public int getLoopDepth(final AbstractInsnNode insn) {
+            final int block = this.blockOf(insn);
+            return block >= 0 ? this.blockDepth[block] : 0;
+        }
+
+        /**
+         * Checks if the instruction belongs to the body of a loop that contains no other loop
+         */
+        public boolean isInInnermostLoop(final AbstractInsnNode insn) {
+            final int block = this.blockOf(insn);
+            return block >= 0 && this.innermostBlocks.get(block);
+        }
+
+        /**
+         * Checks if the instruction belongs to a block that ends with a loop back-edge
+         */
+        public boolean isOnBackEdge(final AbstractInsnNode insn) {
+            final int block = this.blockOf(insn);
+            return block >= 0 && this.backEdgeSources.get(block);
+        }
+
+        private int blockOf(final AbstractInsnNode insn) {
+            final int index = this.instructions.indexOf(insn);
+            return index >= 0 && index < this.blockOfInsn.length ? this.blockOfInsn[index] : -1;
+        }
+    }
+}
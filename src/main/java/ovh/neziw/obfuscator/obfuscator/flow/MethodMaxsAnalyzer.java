@@ -0,0 +1,266 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.flow;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LocalVariableNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.MultiANewArrayInsnNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+/**
+ * Computes the exact maxLocals and maxStack of a method in a single pass over its instructions
+ * Stack heights are propagated along the control flow, so inconsistent or underflowing code is
+ * reported with the offending instruction instead of surfacing later as a frame computation error
+ * Single Responsibility: Calculate and store maxLocals and maxStack
+ */
+public final class MethodMaxsAnalyzer {
+
+    /**
+     * Computes maxLocals and maxStack and stores them in the method node
+     *
+     * @param method The method to analyze
+     * @throws IllegalStateException If the method has an inconsistent or negative stack height
+     */
+    public static void computeMaxs(final MethodNode method) {
+        if ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0
+            || method.instructions == null || method.instructions.size() == 0) {
+            method.maxLocals = 0;
+            method.maxStack = 0;
+            return;
+        }
+        final InsnList instructions = method.instructions;
+        final AbstractInsnNode[] insns = instructions.toArray();
+        final int[] heights = new int[insns.length];
+        Arrays.fill(heights, -1);
+        final Deque<Integer> worklist = new ArrayDeque<>();
+
+        int maxLocals = Type.getArgumentsAndReturnSizes(method.desc) >> 2;
+        if ((method.access & Opcodes.ACC_STATIC) != 0) {
+            maxLocals--;
+        }
+        int maxStack = 0;
+        for (int i = 0; i < insns.length; i++) {
+            final AbstractInsnNode insn = insns[i];
+            if (insn instanceof final VarInsnNode varInsn) {
+                final int opcode = varInsn.getOpcode();
+                final boolean wide = opcode == Opcodes.LLOAD || opcode == Opcodes.DLOAD
+                    || opcode == Opcodes.LSTORE || opcode == Opcodes.DSTORE;
+                maxLocals = Math.max(maxLocals, varInsn.var + (wide ? 2 : 1));
+            } else if (insn instanceof final IincInsnNode iincInsn) {
+                maxLocals = Math.max(maxLocals, iincInsn.var + 1);
+            }
+        }
+        if (method.localVariables != null) {
+            for (final LocalVariableNode localVariable : method.localVariables) {
+                maxLocals = Math.max(maxLocals, localVariable.index + Type.getType(localVariable.desc).getSize());
+            }
+        }
+
+        merge(method, insns, heights, worklist, 0, 0, null);
+        if (method.tryCatchBlocks != null) {
+            for (final TryCatchBlockNode tryCatch : method.tryCatchBlocks) {
+                merge(method, insns, heights, worklist, instructions.indexOf(tryCatch.handler), 1, null);
+                maxStack = Math.max(maxStack, 1);
+            }
+        }
+        while (!worklist.isEmpty()) {
+            final int index = worklist.pop();
+            final AbstractInsnNode insn = insns[index];
+            final int height = heights[index];
+            final int opcode = insn.getOpcode();
+            if (opcode < 0) {
+                // Label, line number or frame
+                if (index + 1 < insns.length) {
+                    merge(method, insns, heights, worklist, index + 1, height, insn);
+                }
+                continue;
+            }
+            final int pops = pops(insn);
+            if (height < pops) {
+                throw new IllegalStateException("Stack underflow at instruction " + index + " (opcode " + opcode
+                    + ") in method " + method.name + method.desc);
+            }
+            final int next = height - pops + pushes(insn);
+            maxStack = Math.max(maxStack, next);
+
+            if (insn instanceof final JumpInsnNode jump) {
+                merge(method, insns, heights, worklist, instructions.indexOf(jump.label), next, insn);
+                if (opcode == Opcodes.GOTO) {
+                    continue;
+                }
+            } else if (insn instanceof final TableSwitchInsnNode tableSwitch) {
+                merge(method, insns, heights, worklist, instructions.indexOf(tableSwitch.dflt), next, insn);
+                for (final LabelNode label : tableSwitch.labels) {
+                    merge(method, insns, heights, worklist, instructions.indexOf(label), next, insn);
+                }
+                continue;
+            } else if (insn instanceof final LookupSwitchInsnNode lookupSwitch) {
+                merge(method, insns, heights, worklist, instructions.indexOf(lookupSwitch.dflt), next, insn);
+                for (final LabelNode label : lookupSwitch.labels) {
+                    merge(method, insns, heights, worklist, instructions.indexOf(label), next, insn);
+                }
+                continue;
+            } else if ((opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN) || opcode == Opcodes.ATHROW
+                || opcode == Opcodes.RET) {
+                continue;
+            }
+            if (index + 1 < insns.length) {
+                merge(method, insns, heights, worklist, index + 1, next, insn);
+            }
+        }
+        method.maxLocals = maxLocals;
+        method.maxStack = maxStack;
+    }
+
+    private static void merge(final MethodNode method, final AbstractInsnNode[] insns, final int[] heights,
+                              final Deque<Integer> worklist, final int index, final int height,
+                              final AbstractInsnNode source) {
+        final int current = heights[index];
+        if (current == -1) {
+            heights[index] = height;
+            worklist.push(index);
+        } else if (current != height) {
+            throw new IllegalStateException("Inconsistent stack height " + current + " != " + height
+                + " at instruction " + index + " in method " + method.name + method.desc
+                + (source != null ? " (reached from opcode " + source.getOpcode() + ")" : ""));
+        }
+    }
+
+    /**
+     * Gets the number of stack slots consumed by an instruction
+     */
+    private static int pops(final AbstractInsnNode insn) {
+        final int opcode = insn.getOpcode();
+        if (insn instanceof final FieldInsnNode fieldInsn) {
+            final int size = Type.getType(fieldInsn.desc).getSize();
+            return switch (opcode) {
+                case Opcodes.GETSTATIC -> 0;
+                case Opcodes.PUTSTATIC -> size;
+                case Opcodes.GETFIELD -> 1;
+                default -> 1 + size; // PUTFIELD
+            };
+        }
+        if (insn instanceof final MethodInsnNode methodInsn) {
+            final int argumentsSize = Type.getArgumentsAndReturnSizes(methodInsn.desc) >> 2;
+            return opcode == Opcodes.INVOKESTATIC ? argumentsSize - 1 : argumentsSize;
+        }
+        if (insn instanceof final InvokeDynamicInsnNode invokeDynamic) {
+            return (Type.getArgumentsAndReturnSizes(invokeDynamic.desc) >> 2) - 1;
+        }
+        if (insn instanceof final MultiANewArrayInsnNode multiANewArray) {
+            return multiANewArray.dims;
+        }
+        return switch (opcode) {
+            case Opcodes.ISTORE, Opcodes.FSTORE, Opcodes.ASTORE, Opcodes.POP, Opcodes.INEG, Opcodes.FNEG,
+                 Opcodes.I2L, Opcodes.I2F, Opcodes.I2D, Opcodes.F2I, Opcodes.F2L, Opcodes.F2D, Opcodes.I2B,
+                 Opcodes.I2C, Opcodes.I2S, Opcodes.IFEQ, Opcodes.IFNE, Opcodes.IFLT, Opcodes.IFGE, Opcodes.IFGT,
+                 Opcodes.IFLE, Opcodes.TABLESWITCH, Opcodes.LOOKUPSWITCH, Opcodes.IRETURN, Opcodes.FRETURN,
+                 Opcodes.ARETURN, Opcodes.NEWARRAY, Opcodes.ANEWARRAY, Opcodes.ARRAYLENGTH, Opcodes.ATHROW,
+                 Opcodes.CHECKCAST, Opcodes.INSTANCEOF, Opcodes.MONITORENTER, Opcodes.MONITOREXIT,
+                 Opcodes.IFNULL, Opcodes.IFNONNULL, Opcodes.DUP -> 1;
+            case Opcodes.LSTORE, Opcodes.DSTORE, Opcodes.POP2, Opcodes.IALOAD, Opcodes.LALOAD, Opcodes.FALOAD,
+                 Opcodes.DALOAD, Opcodes.AALOAD, Opcodes.BALOAD, Opcodes.CALOAD, Opcodes.SALOAD, Opcodes.IADD,
+                 Opcodes.FADD, Opcodes.ISUB, Opcodes.FSUB, Opcodes.IMUL, Opcodes.FMUL, Opcodes.IDIV, Opcodes.FDIV,
+                 Opcodes.IREM, Opcodes.FREM, Opcodes.LNEG, Opcodes.DNEG, Opcodes.ISHL, Opcodes.ISHR, Opcodes.IUSHR,
+                 Opcodes.IAND, Opcodes.IOR, Opcodes.IXOR, Opcodes.L2I, Opcodes.L2F, Opcodes.L2D, Opcodes.D2I,
+                 Opcodes.D2L, Opcodes.D2F, Opcodes.FCMPL, Opcodes.FCMPG, Opcodes.IF_ICMPEQ, Opcodes.IF_ICMPNE,
+                 Opcodes.IF_ICMPLT, Opcodes.IF_ICMPGE, Opcodes.IF_ICMPGT, Opcodes.IF_ICMPLE, Opcodes.IF_ACMPEQ,
+                 Opcodes.IF_ACMPNE, Opcodes.LRETURN, Opcodes.DRETURN, Opcodes.DUP_X1, Opcodes.DUP2, Opcodes.SWAP -> 2;
+            case Opcodes.IASTORE, Opcodes.FASTORE, Opcodes.AASTORE, Opcodes.BASTORE, Opcodes.CASTORE,
+                 Opcodes.SASTORE, Opcodes.LSHL, Opcodes.LSHR, Opcodes.LUSHR, Opcodes.DUP_X2, Opcodes.DUP2_X1 -> 3;
+            case Opcodes.LASTORE, Opcodes.DASTORE, Opcodes.LADD, Opcodes.DADD, Opcodes.LSUB, Opcodes.DSUB,
+                 Opcodes.LMUL, Opcodes.DMUL, Opcodes.LDIV, Opcodes.DDIV, Opcodes.LREM, Opcodes.DREM, Opcodes.LAND,
+                 Opcodes.LOR, Opcodes.LXOR, Opcodes.LCMP, Opcodes.DCMPL, Opcodes.DCMPG, Opcodes.DUP2_X2 -> 4;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Gets the number of stack slots produced by an instruction
+     */
+    private static int pushes(final AbstractInsnNode insn) {
+        final int opcode = insn.getOpcode();
+        if (insn instanceof final FieldInsnNode fieldInsn) {
+            return opcode == Opcodes.GETSTATIC || opcode == Opcodes.GETFIELD ? Type.getType(fieldInsn.desc).getSize() : 0;
+        }
+        if (insn instanceof final MethodInsnNode methodInsn) {
+            return Type.getArgumentsAndReturnSizes(methodInsn.desc) & 0x03;
+        }
+        if (insn instanceof final InvokeDynamicInsnNode invokeDynamic) {
+            return Type.getArgumentsAndReturnSizes(invokeDynamic.desc) & 0x03;
+        }
+        if (insn instanceof final LdcInsnNode ldcInsn) {
+            final Object value = ldcInsn.cst;
+            if (value instanceof Long || value instanceof Double) {
+                return 2;
+            }
+            if (value instanceof final ConstantDynamic constantDynamic) {
+                return Type.getType(constantDynamic.getDescriptor()).getSize();
+            }
+            return 1;
+        }
+        return switch (opcode) {
+            case Opcodes.ACONST_NULL, Opcodes.ICONST_M1, Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.ICONST_2,
+                 Opcodes.ICONST_3, Opcodes.ICONST_4, Opcodes.ICONST_5, Opcodes.FCONST_0, Opcodes.FCONST_1,
+                 Opcodes.FCONST_2, Opcodes.BIPUSH, Opcodes.SIPUSH, Opcodes.ILOAD, Opcodes.FLOAD, Opcodes.ALOAD,
+                 Opcodes.IALOAD, Opcodes.FALOAD, Opcodes.AALOAD, Opcodes.BALOAD, Opcodes.CALOAD, Opcodes.SALOAD,
+                 Opcodes.IADD, Opcodes.FADD, Opcodes.ISUB, Opcodes.FSUB, Opcodes.IMUL, Opcodes.FMUL, Opcodes.IDIV,
+                 Opcodes.FDIV, Opcodes.IREM, Opcodes.FREM, Opcodes.INEG, Opcodes.FNEG, Opcodes.ISHL, Opcodes.ISHR,
+                 Opcodes.IUSHR, Opcodes.IAND, Opcodes.IOR, Opcodes.IXOR, Opcodes.I2F, Opcodes.L2I, Opcodes.L2F,
+                 Opcodes.F2I, Opcodes.D2I, Opcodes.D2F, Opcodes.I2B, Opcodes.I2C, Opcodes.I2S, Opcodes.LCMP,
+                 Opcodes.FCMPL, Opcodes.FCMPG, Opcodes.DCMPL, Opcodes.DCMPG, Opcodes.JSR, Opcodes.NEW,
+                 Opcodes.NEWARRAY, Opcodes.ANEWARRAY, Opcodes.ARRAYLENGTH, Opcodes.CHECKCAST, Opcodes.INSTANCEOF,
+                 Opcodes.MULTIANEWARRAY -> 1;
+            case Opcodes.LCONST_0, Opcodes.LCONST_1, Opcodes.DCONST_0, Opcodes.DCONST_1, Opcodes.LLOAD,
+                 Opcodes.DLOAD, Opcodes.LALOAD, Opcodes.DALOAD, Opcodes.LADD, Opcodes.DADD, Opcodes.LSUB,
+                 Opcodes.DSUB, Opcodes.LMUL, Opcodes.DMUL, Opcodes.LDIV, Opcodes.DDIV, Opcodes.LREM, Opcodes.DREM,
+                 Opcodes.LNEG, Opcodes.DNEG, Opcodes.LSHL, Opcodes.LSHR, Opcodes.LUSHR, Opcodes.LAND, Opcodes.LOR,
+                 Opcodes.LXOR, Opcodes.I2L, Opcodes.I2D, Opcodes.L2D, Opcodes.F2L, Opcodes.F2D, Opcodes.D2L,
+                 Opcodes.DUP, Opcodes.SWAP -> 2;
+            case Opcodes.DUP_X1 -> 3;
+            case Opcodes.DUP_X2, Opcodes.DUP2 -> 4;
+            case Opcodes.DUP2_X1 -> 5;
+            case Opcodes.DUP2_X2 -> 6;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+/**
+ * OPAQUE mode flow obfuscation strategy
+ * Guards the code after integer stores with opaque predicates built from the stored value,
+ * e.g. (x * (x + 1)) & 1 == 0, which the JIT cannot constant-fold but which cost only a few ALU operations.
+ * The never-taken branch leads to a throw, so the fake path is a real edge in the control flow graph.
+ * Insertions are skipped on loop back-edges and in innermost loop bodies, and the estimated cost
+ * of all insertions in a method is kept within a budget
+ * Single Responsibility: Implement OPAQUE mode flow obfuscation
+ */
+public class OpaquePredicateFlowStrategy implements FlowObfuscationStrategy {
+
+    /**
+     * Default per-method overhead budget, in estimated executed instructions
+     */
+    public static final int DEFAULT_COST_BUDGET = 64;
+    // Assumed iteration count per loop level when weighting the cost of an insertion
+    private static final int LOOP_ITERATION_WEIGHT = 8;
+
+    private final Random random;
+    private final int costBudget;
+
+    public OpaquePredicateFlowStrategy(final Random random) {
+        this(random, DEFAULT_COST_BUDGET);
+    }
+
+    public OpaquePredicateFlowStrategy(final Random random, final int costBudget) {
+        this.random = random;
+        this.costBudget = costBudget;
+    }
+
+    /**
+     * Estimates the runtime cost of a predicate executed at the given loop depth
+     *
+     * @param predicate  The predicate to insert
+     * @param loopDepth  Number of loops around the insertion point
+     * @return Estimated number of executed instructions per method invocation
+     */
+    public static int estimateCost(final Predicate predicate, final int loopDepth) {
+        long cost = predicate.getExecutedInstructions();
+        for (int i = 0; i < loopDepth; i++) {
+            cost *= LOOP_ITERATION_WEIGHT;
+        }
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int obfuscate(final MethodNode method) {
+        final InsnList instructions = method.instructions;
+        if (instructions.size() < 3) {
+            return 0;
+        }
+        final LoopNestingAnalyzer.LoopNesting loops = LoopNestingAnalyzer.analyze(method);
+        final List<Candidate> candidates = new ArrayList<>();
+        for (final AbstractInsnNode insn : instructions) {
+            if (insn.getOpcode() != Opcodes.ISTORE || insn.getNext() == null) {
+                continue;
+            }
+            if (loops.isOnBackEdge(insn) || loops.isInInnermostLoop(insn)) {
+                continue;
+            }
+            final Predicate predicate = Predicate.values()[this.random.nextInt(Predicate.values().length)];
+            candidates.add(new Candidate((VarInsnNode) insn, predicate, estimateCost(predicate, loops.getLoopDepth(insn))));
+        }
+        // Spend the budget on the cheapest insertion points first, in random order among equal costs
+        Collections.shuffle(candidates, this.random);
+        candidates.sort(Comparator.comparingInt(Candidate::cost));
+
+        int remainingBudget = this.costBudget;
+        int addedCount = 0;
+        for (final Candidate candidate : candidates) {
+            if (candidate.cost() > remainingBudget) {
+                break;
+            }
+            final InsnList predicate = candidate.predicate().create(candidate.store().var);
+            addedCount += predicate.size();
+            instructions.insert(candidate.store(), predicate);
+            remainingBudget -= candidate.cost();
+        }
+        return addedCount;
+    }
+
+    /**
+     * Opaque predicates over an int local, each one always true for every int value (overflow included)
+     */
+    public enum Predicate {
+
+        /**
+         * The product of two consecutive integers is even: (x * (x + 1)) & 1 == 0
+         */
+        CONSECUTIVE_PRODUCT_EVEN(8) {
+            @Override
+            protected void appendCondition(final InsnList list, final int var, final LabelNode real) {
+                list.add(new VarInsnNode(Opcodes.ILOAD, var));
+                list.add(new VarInsnNode(Opcodes.ILOAD, var));
+                list.add(new InsnNode(Opcodes.ICONST_1));
+                list.add(new InsnNode(Opcodes.IADD));
+                list.add(new InsnNode(Opcodes.IMUL));
+                list.add(new InsnNode(Opcodes.ICONST_1));
+                list.add(new InsnNode(Opcodes.IAND));
+                list.add(new JumpInsnNode(Opcodes.IFEQ, real));
+            }
+        },
+
+        /**
+         * A square is never 2 modulo 4: (x * x) & 3 != 2
+         */
+        SQUARE_MOD_FOUR(7) {
+            @Override
+            protected void appendCondition(final InsnList list, final int var, final LabelNode real) {
+                list.add(new VarInsnNode(Opcodes.ILOAD, var));
+                list.add(new VarInsnNode(Opcodes.ILOAD, var));
+                list.add(new InsnNode(Opcodes.IMUL));
+                list.add(new InsnNode(Opcodes.ICONST_3));
+                list.add(new InsnNode(Opcodes.IAND));
+                list.add(new InsnNode(Opcodes.ICONST_2));
+                list.add(new JumpInsnNode(Opcodes.IF_ICMPNE, real));
+            }
+        };
+
+        private final int executedInstructions;
+
+        Predicate(final int executedInstructions) {
+            this.executedInstructions = executedInstructions;
+        }
+
+        /**
+         * Gets the number of instructions executed on the real path
+         */
+        public int getExecutedInstructions() {
+            return this.executedInstructions;
+        }
+
+        /**
+         * Creates the predicate and its fake branch; stack-neutral, the real path falls through to the end label
+         */
+        public InsnList create(final int var) {
+            final LabelNode real = new LabelNode();
+            final InsnList list = new InsnList();
+            this.appendCondition(list, var, real);
+            // Fake path (never taken)
+            list.add(new InsnNode(Opcodes.ACONST_NULL));
+            list.add(new InsnNode(Opcodes.ATHROW));
+            list.add(real);
+            return list;
+        }
+
+        protected abstract void appendCondition(final InsnList list, final int var, final LabelNode real);
+    }
+
+    private record Candidate(VarInsnNode store, Predicate predicate, int cost) {
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.frame;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.objectweb.asm.Opcodes;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
+
+/**
+ * Index of super classes and interfaces of the classes in the processed JAR, backed by the JDK for everything else
+ * Lookups are made with output (possibly obfuscated) names and answered in output names, so it can be queried
+ * for classes that already went through class name obfuscation
+ * Classes resolved from the class path are kept in a cache that can be shared between runs
+ * Single Responsibility: Answer class hierarchy questions without loading classes of the processed JAR
+ */
+public class ClassHierarchy {
+
+    private static final ClassInfo UNKNOWN = new ClassInfo(null, new String[0], false);
+
+    private final Map<String, ClassInfo> classes;
+    private final Map<String, ClassInfo> libraryClasses;
+    // Null for a view in original names
+    private final ObfuscationMappings mappings;
+
+    public ClassHierarchy(final ObfuscationMappings mappings) {
+        this(mappings, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param libraryClasses Cache of classes resolved from the class path, may be shared between hierarchies
+     */
+    public ClassHierarchy(final ObfuscationMappings mappings, final Map<String, ClassInfo> libraryClasses) {
+        this(new ConcurrentHashMap<>(), libraryClasses, mappings);
+    }
+
+    private ClassHierarchy(final Map<String, ClassInfo> classes, final Map<String, ClassInfo> libraryClasses,
+                           final ObfuscationMappings mappings) {
+        this.classes = classes;
+        this.libraryClasses = libraryClasses;
+        this.mappings = mappings;
+    }
+
+    /**
+     * Gets a view of the same classes that is queried and answers in original names, for passes that run before
+     * class name obfuscation
+     */
+    public ClassHierarchy originalNames() {
+        return new ClassHierarchy(this.classes, this.libraryClasses, null);
+    }
+
+    /**
+     * Registers a class read from the processed JAR, under its original name
+     */
+    public void register(final String name, final String superName, final String[] interfaces, final int access) {
+        this.classes.put(name, new ClassInfo(superName, interfaces != null ? interfaces : new String[0],
+            (access & Opcodes.ACC_INTERFACE) != 0));
+    }
+
+    /**
+     * Clears all registered classes, the class path cache is kept
+     */
+    public void clear() {
+        this.classes.clear();
+    }
+
+    /**
+     * Gets the super class of a class, null for java/lang/Object, interfaces and unknown classes
+     */
+    public String getSuperName(final String name) {
+        final ClassInfo info = this.getClassInfo(name);
+        if (info == UNKNOWN) {
+            return "java/lang/Object".equals(name) ? null : "java/lang/Object";
+        }
+        return info.superName != null ? this.toOutputName(info.superName) : null;
+    }
+
+    /**
+     * Gets the directly implemented interfaces of a class
+     */
+    public String[] getInterfaces(final String name) {
+        final String[] interfaces = this.getClassInfo(name).interfaces;
+        final String[] result = new String[interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+            result[i] = this.toOutputName(interfaces[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if a class is an interface, unknown classes are treated as regular classes
+     */
+    public boolean isInterface(final String name) {
+        return this.getClassInfo(name).isInterface;
+    }
+
+    /**
+     * Checks if a class is present in the JAR or on the class path of the obfuscator
+     */
+    public boolean isKnown(final String name) {
+        return this.getClassInfo(name) != UNKNOWN;
+    }
+
+    /**
+     * Checks if the class {@code type} is {@code superType} or one of its subclasses
+     * Interfaces are only followed for {@code superType} being an interface
+     */
+    public boolean isSubclassOf(final String type, final String superType) {
+        if (type.equals(superType) || "java/lang/Object".equals(superType)) {
+            return true;
+        }
+        final boolean superIsInterface = this.isInterface(superType);
+        String current = type;
+        while (current != null) {
+            if (current.equals(superType)) {
+                return true;
+            }
+            if (superIsInterface && this.implementsInterface(current, superType)) {
+                return true;
+            }
+            current = this.getSuperName(current);
+        }
+        return false;
+    }
+
+    private boolean implementsInterface(final String type, final String interfaceName) {
+        for (final String iface : this.getInterfaces(type)) {
+            if (iface.equals(interfaceName) || this.implementsInterface(iface, interfaceName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ClassInfo getClassInfo(final String outputName) {
+        final String originalName = this.toOriginalName(outputName);
+        final ClassInfo info = this.classes.get(originalName);
+        if (info != null) {
+            return info;
+        }
+        return this.libraryClasses.computeIfAbsent(originalName, ClassHierarchy::loadClassInfo);
+    }
+
+    /**
+     * Reads hierarchy information of a class outside the processed JAR from the class path of the obfuscator
+     */
+    private static ClassInfo loadClassInfo(final String name) {
+        try {
+            final Class<?> clazz = Class.forName(name.replace('/', '.'), false, ClassLoader.getSystemClassLoader());
+            final Class<?>[] interfaces = clazz.getInterfaces();
+            final String[] interfaceNames = new String[interfaces.length];
+            for (int i = 0; i < interfaces.length; i++) {
+                interfaceNames[i] = interfaces[i].getName().replace('.', '/');
+            }
+            final Class<?> superClass = clazz.getSuperclass();
+            return new ClassInfo(superClass != null ? superClass.getName().replace('.', '/') : null,
+                interfaceNames, clazz.isInterface());
+        } catch (final Throwable throwable) {
+            return UNKNOWN;
+        }
+    }
+
+    private String toOutputName(final String originalName) {
+        return this.mappings != null ? this.mappings.getClassNameMap().getOrDefault(originalName, originalName) : originalName;
+    }
+
+    private String toOriginalName(final String outputName) {
+        if (this.mappings == null) {
+            return outputName;
+        }
+        // Reverse indexed by the mappings, so names added while classes are processed are found without a rebuild
+        final String originalName = this.mappings.findOriginalClassName(outputName);
+        return originalName != null ? originalName : outputName;
+    }
+
+    /**
+     * Super class, interfaces and kind of a class, names are original (not obfuscated) names
+     */
+    public record ClassInfo(String superName, String[] interfaces, boolean isInterface) {
+    }
+}
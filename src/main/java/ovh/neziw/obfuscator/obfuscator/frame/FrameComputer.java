@@ -0,0 +1,330 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.frame;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.BasicValue;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.Interpreter;
+import ovh.neziw.obfuscator.obfuscator.flow.MethodMaxsAnalyzer;
+
+/**
+ * Computes stack map frames directly on a ClassNode, so the ClassWriter can write them without COMPUTE_FRAMES
+ * Frames are placed at branch targets, exception handlers and after unconditional jumps, unreachable code is removed
+ * Single Responsibility: Compute maxLocals, maxStack and stack map frames of the methods of a class
+ */
+public class FrameComputer {
+
+    private final ClassHierarchy hierarchy;
+
+    public FrameComputer(final ClassHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+    }
+
+    /**
+     * Computes maxLocals, maxStack and (for class files that use them) stack map frames of all methods
+     * Existing frames are replaced
+     *
+     * @param classNode Class in its final (obfuscated) form
+     * @throws FrameComputationException If a method cannot be analyzed, with the method and instruction in the message
+     */
+    public void computeFrames(final ClassNode classNode) throws FrameComputationException {
+        if (classNode.methods == null) {
+            return;
+        }
+        final boolean usesStackMapFrames = (classNode.version & 0xFFFF) >= Opcodes.V1_6;
+        final HierarchyVerifier verifier = new HierarchyVerifier(this.hierarchy, classNode.name, classNode.superName,
+            classNode.interfaces, (classNode.access & Opcodes.ACC_INTERFACE) != 0);
+        for (final MethodNode method : classNode.methods) {
+            if (method.instructions == null || method.instructions.size() == 0) {
+                continue;
+            }
+            removeFrames(method.instructions);
+            try {
+                MethodMaxsAnalyzer.computeMaxs(method);
+            } catch (final IllegalStateException exception) {
+                throw new FrameComputationException(describe(classNode, method) + ": " + exception.getMessage(), exception);
+            }
+            if (usesStackMapFrames) {
+                verifier.setConstructor("<init>".equals(method.name));
+                this.computeMethodFrames(classNode, method, verifier);
+            }
+        }
+    }
+
+    /**
+     * Analyzes one method the way {@link #computeFrames} does, without changing it, so a pass can reject a method it broke
+     * before the class is finished; maxLocals and maxStack must already be computed
+     *
+     * @throws FrameComputationException If the method has stack, local or type errors
+     */
+    public void verifyMethod(final ClassNode classNode, final MethodNode method) throws FrameComputationException {
+        final HierarchyVerifier verifier = new HierarchyVerifier(this.hierarchy, classNode.name, classNode.superName,
+            classNode.interfaces, (classNode.access & Opcodes.ACC_INTERFACE) != 0);
+        verifier.setConstructor("<init>".equals(method.name));
+        analyze(classNode, method, verifier);
+    }
+
+    private void computeMethodFrames(final ClassNode classNode, final MethodNode method, final HierarchyVerifier verifier)
+        throws FrameComputationException {
+        Frame<BasicValue>[] frames = analyze(classNode, method, verifier);
+        while (removeDeadCode(method, frames)) {
+            // Removing dead code may drop exception handlers, whose code then becomes dead as well
+            frames = analyze(classNode, method, verifier);
+        }
+
+        final Set<LabelNode> branchTargets = collectBranchTargets(method);
+        final AbstractInsnNode[] insns = method.instructions.toArray();
+        final List<AbstractInsnNode> frameTargets = new ArrayList<>();
+        final List<Frame<BasicValue>> targetFrames = new ArrayList<>();
+        boolean needsFrame = false;
+        for (int i = 0; i < insns.length; i++) {
+            final AbstractInsnNode insn = insns[i];
+            if (insn instanceof final LabelNode label) {
+                needsFrame |= branchTargets.contains(label);
+                continue;
+            }
+            if (insn.getOpcode() < 0) {
+                continue;
+            }
+            if (needsFrame) {
+                frameTargets.add(insn);
+                targetFrames.add(frames[i]);
+            }
+            needsFrame = isUnconditional(insn.getOpcode());
+        }
+
+        // Instruction indexes are no longer used, so labels for NEW instructions can be inserted freely
+        for (int i = 0; i < frameTargets.size(); i++) {
+            method.instructions.insertBefore(frameTargets.get(i), toFrameNode(targetFrames.get(i), method.instructions));
+        }
+    }
+
+    private static Frame<BasicValue>[] analyze(final ClassNode classNode, final MethodNode method,
+                                               final HierarchyVerifier verifier) throws FrameComputationException {
+        try {
+            return new FrameAnalyzer(verifier).analyze(classNode.name, method);
+        } catch (final AnalyzerException exception) {
+            final String location = exception.node != null
+                ? " at instruction " + method.instructions.indexOf(exception.node) + " (opcode " + exception.node.getOpcode() + ")"
+                : "";
+            throw new FrameComputationException(describe(classNode, method) + location + ": " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Removes instructions the analyzer never reached and exception handlers that no longer cover any instruction
+     *
+     * @return true if anything was removed
+     */
+    private static boolean removeDeadCode(final MethodNode method, final Frame<BasicValue>[] frames) {
+        final AbstractInsnNode[] insns = method.instructions.toArray();
+        boolean removed = false;
+        for (int i = 0; i < insns.length; i++) {
+            if (frames[i] == null && insns[i].getOpcode() >= 0) {
+                method.instructions.remove(insns[i]);
+                removed = true;
+            }
+        }
+        if (removed && method.tryCatchBlocks != null) {
+            method.tryCatchBlocks.removeIf(block -> isEmptyRange(block.start, block.end));
+        }
+        return removed;
+    }
+
+    private static boolean isEmptyRange(final LabelNode start, final LabelNode end) {
+        for (AbstractInsnNode insn = start; insn != null && insn != end; insn = insn.getNext()) {
+            if (insn.getOpcode() >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void removeFrames(final InsnList instructions) {
+        for (final AbstractInsnNode insn : instructions.toArray()) {
+            if (insn instanceof FrameNode) {
+                instructions.remove(insn);
+            }
+        }
+    }
+
+    private static Set<LabelNode> collectBranchTargets(final MethodNode method) {
+        final Set<LabelNode> targets = new HashSet<>();
+        for (final AbstractInsnNode insn : method.instructions) {
+            if (insn instanceof final JumpInsnNode jumpInsn) {
+                targets.add(jumpInsn.label);
+            } else if (insn instanceof final TableSwitchInsnNode tableSwitch) {
+                targets.add(tableSwitch.dflt);
+                targets.addAll(tableSwitch.labels);
+            } else if (insn instanceof final LookupSwitchInsnNode lookupSwitch) {
+                targets.add(lookupSwitch.dflt);
+                targets.addAll(lookupSwitch.labels);
+            }
+        }
+        if (method.tryCatchBlocks != null) {
+            for (final TryCatchBlockNode block : method.tryCatchBlocks) {
+                targets.add(block.handler);
+            }
+        }
+        return targets;
+    }
+
+    private static boolean isUnconditional(final int opcode) {
+        return opcode == Opcodes.GOTO || opcode == Opcodes.ATHROW || opcode == Opcodes.RET ||
+            opcode == Opcodes.TABLESWITCH || opcode == Opcodes.LOOKUPSWITCH ||
+            (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN);
+    }
+
+    private static FrameNode toFrameNode(final Frame<BasicValue> frame, final InsnList instructions) {
+        final List<Object> locals = new ArrayList<>();
+        for (int i = 0; i < frame.getLocals(); i++) {
+            final BasicValue value = frame.getLocal(i);
+            locals.add(toFrameType(value, instructions));
+            if (value.getSize() == 2) {
+                // Long and double take a single entry in expanded frames
+                i++;
+            }
+        }
+        while (!locals.isEmpty() && locals.get(locals.size() - 1) == Opcodes.TOP) {
+            locals.remove(locals.size() - 1);
+        }
+        final List<Object> stack = new ArrayList<>();
+        for (int i = 0; i < frame.getStackSize(); i++) {
+            stack.add(toFrameType(frame.getStack(i), instructions));
+        }
+        return new FrameNode(Opcodes.F_NEW, locals.size(), locals.toArray(), stack.size(), stack.toArray());
+    }
+
+    private static Object toFrameType(final BasicValue value, final InsnList instructions) {
+        if (value instanceof final HierarchyVerifier.UninitializedValue uninitialized) {
+            final TypeInsnNode newInsn = uninitialized.getNewInsn();
+            return newInsn != null ? labelBefore(newInsn, instructions) : Opcodes.UNINITIALIZED_THIS;
+        }
+        final Type type = value.getType();
+        if (type == null) {
+            return Opcodes.TOP;
+        }
+        return switch (type.getSort()) {
+            case Type.BOOLEAN, Type.CHAR, Type.BYTE, Type.SHORT, Type.INT -> Opcodes.INTEGER;
+            case Type.FLOAT -> Opcodes.FLOAT;
+            case Type.LONG -> Opcodes.LONG;
+            case Type.DOUBLE -> Opcodes.DOUBLE;
+            case Type.ARRAY -> type.getDescriptor();
+            case Type.OBJECT -> "null".equals(type.getInternalName()) ? Opcodes.NULL : type.getInternalName();
+            default -> Opcodes.TOP;
+        };
+    }
+
+    /**
+     * Gets the label directly in front of a NEW instruction, uninitialized values are identified by it in frames
+     */
+    private static LabelNode labelBefore(final TypeInsnNode newInsn, final InsnList instructions) {
+        if (newInsn.getPrevious() instanceof final LabelNode label) {
+            return label;
+        }
+        final LabelNode label = new LabelNode();
+        instructions.insertBefore(newInsn, label);
+        return label;
+    }
+
+    private static String describe(final ClassNode classNode, final MethodNode method) {
+        return "Cannot compute frames for " + classNode.name + "." + method.name + method.desc;
+    }
+
+    /**
+     * Analyzer whose frames mark objects as initialized once their constructor has been called
+     */
+    private static final class FrameAnalyzer extends Analyzer<BasicValue> {
+
+        private FrameAnalyzer(final HierarchyVerifier verifier) {
+            super(verifier);
+        }
+
+        @Override
+        protected Frame<BasicValue> newFrame(final int numLocals, final int numStack) {
+            return new InitializingFrame(numLocals, numStack);
+        }
+
+        @Override
+        protected Frame<BasicValue> newFrame(final Frame<? extends BasicValue> frame) {
+            return new InitializingFrame(frame);
+        }
+    }
+
+    private static final class InitializingFrame extends Frame<BasicValue> {
+
+        private InitializingFrame(final int numLocals, final int numStack) {
+            super(numLocals, numStack);
+        }
+
+        private InitializingFrame(final Frame<? extends BasicValue> frame) {
+            super(frame);
+        }
+
+        @Override
+        public void execute(final AbstractInsnNode insn, final Interpreter<BasicValue> interpreter) throws AnalyzerException {
+            if (insn.getOpcode() != Opcodes.INVOKESPECIAL || !"<init>".equals(((MethodInsnNode) insn).name)) {
+                super.execute(insn, interpreter);
+                return;
+            }
+            final int receiverIndex = this.getStackSize() - Type.getArgumentTypes(((MethodInsnNode) insn).desc).length - 1;
+            final BasicValue receiver = receiverIndex >= 0 ? this.getStack(receiverIndex) : null;
+            super.execute(insn, interpreter);
+            if (receiver instanceof HierarchyVerifier.UninitializedValue) {
+                // Every copy of the object (e.g. the one left by DUP) is initialized by the constructor call
+                final BasicValue initialized = interpreter.newValue(receiver.getType());
+                for (int i = 0; i < this.getLocals(); i++) {
+                    if (receiver.equals(this.getLocal(i))) {
+                        this.setLocal(i, initialized);
+                    }
+                }
+                for (int i = 0; i < this.getStackSize(); i++) {
+                    if (receiver.equals(this.getStack(i))) {
+                        this.setStack(i, initialized);
+                    }
+                }
+            }
+        }
+    }
+}
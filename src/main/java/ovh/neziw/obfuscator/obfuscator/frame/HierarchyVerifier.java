@@ -0,0 +1,202 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.frame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.BasicValue;
+import org.objectweb.asm.tree.analysis.SimpleVerifier;
+
+/**
+ * SimpleVerifier that answers type questions from a {@link ClassHierarchy} instead of loading classes
+ * It also tracks uninitialized objects created by NEW and the uninitialized this of constructors,
+ * which are needed to write valid stack map frames
+ * Single Responsibility: Verify and merge values of a method using the obfuscator's class hierarchy
+ */
+public class HierarchyVerifier extends SimpleVerifier {
+
+    private static final Type OBJECT_TYPE = Type.getObjectType("java/lang/Object");
+    private static final Type NULL_TYPE = Type.getObjectType("null");
+
+    private final ClassHierarchy hierarchy;
+    private final Type currentClass;
+    private boolean constructor;
+
+    public HierarchyVerifier(final ClassHierarchy hierarchy, final String currentClass, final String currentSuperClass,
+                             final List<String> currentInterfaces, final boolean isInterface) {
+        super(Opcodes.ASM9, Type.getObjectType(currentClass),
+            currentSuperClass != null ? Type.getObjectType(currentSuperClass) : null,
+            toTypes(currentInterfaces), isInterface);
+        this.hierarchy = hierarchy;
+        this.currentClass = Type.getObjectType(currentClass);
+    }
+
+    /**
+     * Sets whether the next analyzed method is a constructor, whose receiver starts uninitialized
+     */
+    public void setConstructor(final boolean constructor) {
+        this.constructor = constructor;
+    }
+
+    @Override
+    public BasicValue newParameterValue(final boolean isInstanceMethod, final int local, final Type type) {
+        if (this.constructor && isInstanceMethod && local == 0) {
+            return new UninitializedValue(this.currentClass, null);
+        }
+        return super.newParameterValue(isInstanceMethod, local, type);
+    }
+
+    @Override
+    public BasicValue newOperation(final AbstractInsnNode insn) throws AnalyzerException {
+        if (insn.getOpcode() == Opcodes.NEW) {
+            return new UninitializedValue(Type.getObjectType(((TypeInsnNode) insn).desc), (TypeInsnNode) insn);
+        }
+        return super.newOperation(insn);
+    }
+
+    @Override
+    public BasicValue merge(final BasicValue value1, final BasicValue value2) {
+        if (value1 instanceof UninitializedValue || value2 instanceof UninitializedValue) {
+            return value1 instanceof UninitializedValue && value1.equals(value2) ? value1 : BasicValue.UNINITIALIZED_VALUE;
+        }
+        return super.merge(value1, value2);
+    }
+
+    @Override
+    protected boolean isSubTypeOf(final BasicValue value, final BasicValue expected) {
+        final Type expectedType = expected.getType();
+        final Type type = value.getType();
+        if (type == null) {
+            return false;
+        }
+        return switch (expectedType.getSort()) {
+            case Type.INT, Type.FLOAT, Type.LONG, Type.DOUBLE -> type.equals(expectedType);
+            case Type.ARRAY, Type.OBJECT -> type.equals(NULL_TYPE) ||
+                ((type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY) && this.isAssignableFrom(expectedType, type));
+            default -> false;
+        };
+    }
+
+    @Override
+    protected boolean isInterface(final Type type) {
+        return type.getSort() == Type.OBJECT && this.hierarchy.isInterface(type.getInternalName());
+    }
+
+    @Override
+    protected Type getSuperClass(final Type type) {
+        if (type.getSort() != Type.OBJECT) {
+            return OBJECT_TYPE;
+        }
+        final String superName = this.hierarchy.getSuperName(type.getInternalName());
+        return superName != null ? Type.getObjectType(superName) : null;
+    }
+
+    @Override
+    protected boolean isAssignableFrom(final Type type1, final Type type2) {
+        if (type1.equals(type2) || type1.equals(OBJECT_TYPE)) {
+            return true;
+        }
+        if (type1.getSort() == Type.ARRAY) {
+            if (type2.getSort() != Type.ARRAY || type1.getDimensions() > type2.getDimensions()) {
+                return false;
+            }
+            final Type element1 = type1.getElementType();
+            if (type1.getDimensions() < type2.getDimensions()) {
+                // T[] is assignable from S[][] only for T being Object, Cloneable or Serializable
+                return element1.getSort() == Type.OBJECT && this.isAssignableFrom(element1, Type.getType("[Ljava/lang/Object;"));
+            }
+            final Type element2 = type2.getElementType();
+            if (element1.getSort() != Type.OBJECT || element2.getSort() != Type.OBJECT) {
+                return element1.equals(element2);
+            }
+            return this.isAssignableFrom(element1, element2);
+        }
+        if (type2.getSort() == Type.ARRAY) {
+            final String name = type1.getInternalName();
+            return "java/lang/Cloneable".equals(name) || "java/io/Serializable".equals(name);
+        }
+        // Like the JVM verifier, interfaces are treated as java/lang/Object
+        if (this.isInterface(type1)) {
+            return true;
+        }
+        return this.hierarchy.isSubclassOf(type2.getInternalName(), type1.getInternalName());
+    }
+
+    @Override
+    protected Class<?> getClass(final Type type) {
+        throw new UnsupportedOperationException("Classes are resolved through the class hierarchy: " + type);
+    }
+
+    private static List<Type> toTypes(final List<String> internalNames) {
+        final List<Type> types = new ArrayList<>();
+        if (internalNames != null) {
+            for (final String internalName : internalNames) {
+                types.add(Type.getObjectType(internalName));
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Value of an object between NEW (or the start of a constructor) and the call to its constructor
+     */
+    public static class UninitializedValue extends BasicValue {
+
+        private final TypeInsnNode newInsn; // null for the uninitialized this of a constructor
+
+        public UninitializedValue(final Type type, final TypeInsnNode newInsn) {
+            super(type);
+            this.newInsn = newInsn;
+        }
+
+        /**
+         * Gets the NEW instruction that created the value, null for the uninitialized this of a constructor
+         */
+        public TypeInsnNode getNewInsn() {
+            return this.newInsn;
+        }
+
+        @Override
+        public boolean equals(final Object value) {
+            if (value == this) {
+                return true;
+            }
+            if (!(value instanceof final UninitializedValue other)) {
+                return false;
+            }
+            return this.newInsn == other.newInsn && Objects.equals(this.getType(), other.getType());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.getType(), System.identityHashCode(this.newInsn));
+        }
+    }
+}
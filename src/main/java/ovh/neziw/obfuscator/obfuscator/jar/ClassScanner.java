@@ -26,18 +26,22 @@ package ovh.neziw.obfuscator.obfuscator.jar;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Logger;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import ovh.neziw.obfuscator.config.JsonConfig;
 import ovh.neziw.obfuscator.obfuscator.ObfuscatorEngine;
 import ovh.neziw.obfuscator.obfuscator.PatternMatcher;
+import ovh.neziw.obfuscator.obfuscator.VariableObfuscator;
+import ovh.neziw.obfuscator.obfuscator.frame.ClassHierarchy;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressTracker;
 
 /**
  * Scans classes in JAR files for name mapping generation
@@ -49,10 +53,43 @@ public class ClassScanner {
 
     private final ObfuscatorEngine obfuscatorEngine;
     private final JsonConfig config;
+    private final ProgressTracker progress;
 
-    public ClassScanner(final ObfuscatorEngine obfuscatorEngine, final JsonConfig config) {
+    public ClassScanner(final ObfuscatorEngine obfuscatorEngine, final JsonConfig config, final ProgressTracker progress) {
         this.obfuscatorEngine = obfuscatorEngine;
         this.config = config;
+        this.progress = progress;
+    }
+
+    /**
+     * Phase 1: Scans all classes in the JAR to build the class hierarchy used for frame computation
+     * The number of classes found is added to the total of the progress
+     */
+    public void scanClassHierarchy(final Path inputPath) throws IOException {
+        final ClassHierarchy classHierarchy = this.obfuscatorEngine.getClassHierarchy();
+        try (final JarFile inputJar = new JarFile(inputPath.toFile())) {
+            final Enumeration<JarEntry> entries = inputJar.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                final String entryName = entry.getName();
+                if (entryName.endsWith(".class")) {
+                    this.progress.checkCancelled();
+                    this.progress.addClassesTotal(1);
+                    final byte[] classBytes = JarReader.readEntry(inputJar, entry);
+                    try {
+                        final ClassReader reader = new ClassReader(classBytes);
+                        reader.accept(new ClassVisitor(Opcodes.ASM9) {
+                            @Override
+                            public void visit(final int version, final int access, final String name, final String signature, final String superName, final String[] interfaces) {
+                                classHierarchy.register(name, superName, interfaces, access);
+                            }
+                        }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                    } catch (final Exception exception) {
+                        LOGGER.warning("Failed to scan class " + entryName + " for class hierarchy: " + exception.getMessage());
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -67,6 +104,7 @@ public class ClassScanner {
                 if (entryName.endsWith(".class")) {
                     final String internalClassName = entryName.substring(0, entryName.length() - 6);
                     if (this.obfuscatorEngine.shouldObfuscate(internalClassName)) {
+                        this.progress.checkCancelled();
                         final byte[] classBytes = JarReader.readEntry(inputJar, entry);
                         try {
                             final ClassReader reader = new ClassReader(classBytes);
@@ -95,6 +133,7 @@ public class ClassScanner {
                     final String internalClassName = entryName.substring(0, entryName.length() - 6);
 
                     if (this.obfuscatorEngine.shouldObfuscate(internalClassName)) {
+                        this.progress.checkCancelled();
                         final byte[] classBytes = JarReader.readEntry(inputJar, entry);
                         try {
                             final ClassReader reader = new ClassReader(classBytes);
@@ -109,6 +148,34 @@ public class ClassScanner {
         }
     }
 
+    /**
+     * Phase 1: Scans all classes in the JAR to name their fields
+     * Names are drawn from the shared sequence in entry order here, so the parallel transform only looks them up
+     */
+    public void scanClassesForFieldNameMapping(final Path inputPath) throws IOException {
+        try (final JarFile inputJar = new JarFile(inputPath.toFile())) {
+            final Enumeration<JarEntry> entries = inputJar.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                final String entryName = entry.getName();
+                if (entryName.endsWith(".class")) {
+                    final String internalClassName = entryName.substring(0, entryName.length() - 6);
+                    if (this.obfuscatorEngine.shouldObfuscate(internalClassName)) {
+                        this.progress.checkCancelled();
+                        final byte[] classBytes = JarReader.readEntry(inputJar, entry);
+                        try {
+                            final ClassReader reader = new ClassReader(classBytes);
+                            final FieldNameMappingVisitor visitor = new FieldNameMappingVisitor();
+                            reader.accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                        } catch (final Exception exception) {
+                            LOGGER.warning("Failed to scan class " + entryName + " for field name mapping: " + exception.getMessage());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Visitor that generates class name mappings without modifying the class
      */
@@ -121,7 +188,7 @@ public class ClassScanner {
 
         public NameMappingVisitor() {
             super(Opcodes.ASM9);
-            this.patternMatcher = new PatternMatcher(ClassScanner.this.config.getInclude());
+            this.patternMatcher = ClassScanner.this.obfuscatorEngine.getPatternMatcher();
             this.nameGenerator = ClassScanner.this.obfuscatorEngine.getNameGenerator();
             this.classNameMap = ClassScanner.this.obfuscatorEngine.getClassNameMap();
             this.obfuscatePackages = ClassScanner.this.config.isObfuscatePackages();
@@ -201,20 +268,46 @@ public class ClassScanner {
         }
     }
 
+    /**
+     * Visitor that generates field names without modifying the class, with the keys and rules of {@link VariableObfuscator}
+     */
+    private class FieldNameMappingVisitor extends ClassVisitor {
+        private final ovh.neziw.obfuscator.obfuscator.NameGenerator nameGenerator;
+        private String className;
+
+        public FieldNameMappingVisitor() {
+            super(Opcodes.ASM9);
+            this.nameGenerator = ClassScanner.this.obfuscatorEngine.getNameGenerator();
+        }
+
+        @Override
+        public void visit(final int version, final int access, final String name, final String signature, final String superName, final String[] interfaces) {
+            this.className = name;
+        }
+
+        @Override
+        public FieldVisitor visitField(final int access, final String name, final String descriptor, final String signature, final Object value) {
+            if (VariableObfuscator.shouldObfuscateField(this.nameGenerator, access, name)) {
+                this.nameGenerator.getObfuscatedName(this.className + "." + name);
+            }
+            return null;
+        }
+    }
+
     /**
      * Visitor that generates method name mappings without modifying the class
      */
     private class MethodNameMappingVisitor extends ClassVisitor {
         private final String className;
         private final ovh.neziw.obfuscator.obfuscator.NameGenerator nameGenerator;
-        private final Map<String, Map<String, String>> globalMethodNameMap;
+        private final ObfuscationMappings mappings;
         private boolean isInterface;
 
         public MethodNameMappingVisitor(final String className) {
             super(Opcodes.ASM9);
             this.className = className;
             this.nameGenerator = ClassScanner.this.obfuscatorEngine.getNameGenerator();
-            this.globalMethodNameMap = ClassScanner.this.obfuscatorEngine.getMethodNameMap();
+            this.mappings = ClassScanner.this.obfuscatorEngine.getMappings();
         }
 
         @Override
@@ -255,7 +348,7 @@ public class ClassScanner {
                             final String key = MethodNameMappingVisitor.this.className + "." + name + descriptor;
                             final String obfuscatedName = MethodNameMappingVisitor.this.nameGenerator.getObfuscatedName(key);
 
-                            MethodNameMappingVisitor.this.globalMethodNameMap.computeIfAbsent(MethodNameMappingVisitor.this.className, k -> new HashMap<>()).put(methodKey, obfuscatedName);
+                            MethodNameMappingVisitor.this.mappings.methodsOf(MethodNameMappingVisitor.this.className).put(methodKey, obfuscatedName);
                         }
                     }
                 }
@@ -23,7 +23,6 @@
  */
 package ovh.neziw.obfuscator.obfuscator.jar;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.jar.JarEntry;
@@ -37,16 +36,19 @@ public final class JarReader {
 
     /**
      * Reads all bytes from a JAR entry
+     * The array is allocated once when the entry knows its size, which it does for entries read from the central directory
      */
     public static byte[] readEntry(final JarFile jarFile, final JarEntry entry) throws IOException {
-        try (final InputStream is = jarFile.getInputStream(entry);
-             final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            final byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = is.read(buffer)) != -1) {
-                baos.write(buffer, 0, bytesRead);
+        try (final InputStream is = jarFile.getInputStream(entry)) {
+            final long size = entry.getSize();
+            if (size >= 0 && size <= Integer.MAX_VALUE - 8) {
+                final byte[] data = is.readNBytes((int) size);
+                if (data.length == size && is.read() == -1) {
+                    return data;
+                }
+                throw new IOException("Entry " + entry.getName() + " does not match its size of " + size + " bytes");
             }
-            return baos.toByteArray();
+            return is.readAllBytes();
         }
     }
 }
@@ -0,0 +1,253 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.jar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Enumeration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import ovh.neziw.obfuscator.obfuscator.progress.ProgressTracker;
+import ovh.neziw.obfuscator.obfuscator.timing.TimingRecorder;
+
+/**
+ * Copies the entries of a JAR to an output JAR, transforming classes on worker threads in bounded memory
+ * A reader thread reads class entries and submits them to the workers, the calling thread writes every entry in
+ * input order. The queue between them holds at most two entries per worker and the reader blocks while it is full,
+ * so memory depends on the number of workers and not on the size of the JAR. Other entries are never buffered,
+ * they are streamed from the input JAR when their turn to be written comes
+ * The reader and the workers end with the run, so the bytes they allocate are counted here, a profiler that samples
+ * live threads would miss them
+ * Single Responsibility: Move JAR entries through the read, transform and write stages
+ */
+public final class JarTransformPipeline {
+
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final Future<Item> END = CompletableFuture.completedFuture(null);
+    // How often the writer checks that the reader is still running while it waits for an entry
+    private static final long READER_CHECK_MILLIS = 100;
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final int workers;
+    private final ProgressTracker progress;
+    private final TimingRecorder timings;
+    private final LongAdder threadAllocatedBytes = new LongAdder();
+
+    /**
+     * @param workers Number of threads transforming classes, at least one
+     */
+    public JarTransformPipeline(final int workers, final ProgressTracker progress, final TimingRecorder timings) {
+        this.workers = Math.max(1, workers);
+        this.progress = progress;
+        this.timings = timings;
+    }
+
+    /**
+     * Transforms one class entry
+     */
+    @FunctionalInterface
+    public interface ClassTransformer {
+
+        /**
+         * @param entryName  Name of the class entry, e.g. com/example/Test.class
+         * @param classBytes Bytes of the class
+         * @return The entry to write in its place
+         */
+        TransformedClass transform(String entryName, byte[] classBytes) throws IOException;
+    }
+
+    /**
+     * Name and bytes of a transformed class entry
+     */
+    public record TransformedClass(String entryName, byte[] data) {
+    }
+
+    /**
+     * An entry ready to be written, data is null for entries streamed from the input JAR
+     */
+    private record Item(JarEntry source, String entryName, byte[] data) {
+    }
+
+    /**
+     * Writes all entries of the input JAR except the manifest to the output stream, in input order
+     *
+     * @throws IOException If reading, transforming or writing fails, or the progress was cancelled
+     */
+    public void run(final JarFile inputJar, final JarOutputStream jos, final ClassTransformer transformer) throws IOException {
+        final BlockingQueue<Future<Item>> queue = new ArrayBlockingQueue<>(this.workers * 2);
+        final AtomicInteger workerIds = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(this.workers, runnable -> {
+            final Thread thread = new Thread(runnable, "transform-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Thread reader = new Thread(() -> this.read(inputJar, queue, pool, transformer), "transform-reader");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            this.write(inputJar, jos, queue, reader);
+        } finally {
+            // Nothing may touch the input JAR or the engine once the caller continues
+            reader.interrupt();
+            pool.shutdownNow();
+            awaitQuietly(reader, pool);
+        }
+    }
+
+    /**
+     * Bytes allocated by the reader thread and by the workers while transforming classes, 0 if the JVM does not
+     * measure allocation per thread
+     */
+    public long getThreadAllocatedBytes() {
+        return this.threadAllocatedBytes.sum();
+    }
+
+    private void read(final JarFile inputJar, final BlockingQueue<Future<Item>> queue, final ExecutorService pool,
+                      final ClassTransformer transformer) {
+        final long allocatedBefore = currentThreadAllocatedBytes();
+        try {
+            final Enumeration<JarEntry> entries = inputJar.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                final String entryName = entry.getName();
+                if (entryName.equals(MANIFEST)) {
+                    continue;
+                }
+                this.progress.checkCancelled();
+                if (!entryName.endsWith(".class")) {
+                    queue.put(CompletableFuture.completedFuture(new Item(entry, entryName, null)));
+                    continue;
+                }
+                final byte[] classBytes;
+                try (final TimingRecorder.PhaseTimer ignored = this.timings.startStep("transform.read", entryName)) {
+                    classBytes = JarReader.readEntry(inputJar, entry);
+                }
+                queue.put(pool.submit(() -> {
+                    final long transformBefore = currentThreadAllocatedBytes();
+                    try {
+                        final TransformedClass transformed = transformer.transform(entryName, classBytes);
+                        return new Item(entry, transformed.entryName(), transformed.data());
+                    } finally {
+                        this.threadAllocatedBytes.add(currentThreadAllocatedBytes() - transformBefore);
+                    }
+                }));
+            }
+            queue.put(END);
+        } catch (final InterruptedException exception) {
+            // The writer stopped and no longer takes entries
+            Thread.currentThread().interrupt();
+        } catch (final Throwable throwable) {
+            // Errors too, e.g. OutOfMemoryError while reading an entry, the writer would otherwise wait for END forever
+            try {
+                queue.put(CompletableFuture.failedFuture(throwable));
+            } catch (final InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            this.threadAllocatedBytes.add(currentThreadAllocatedBytes() - allocatedBefore);
+        }
+    }
+
+    private void write(final JarFile inputJar, final JarOutputStream jos, final BlockingQueue<Future<Item>> queue,
+                       final Thread reader) throws IOException {
+        while (true) {
+            final Future<Item> next;
+            final Item item;
+            try {
+                next = queue.poll(READER_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    // The reader always ends with END or a failure, unless it died before it could enqueue one
+                    if (!reader.isAlive() && queue.isEmpty()) {
+                        throw new IOException("Reading " + inputJar.getName() + " stopped before the last entry");
+                    }
+                    continue;
+                }
+                if (next == END) {
+                    return;
+                }
+                item = next.get();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while transforming " + inputJar.getName());
+            } catch (final ExecutionException exception) {
+                if (exception.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (exception.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IOException("Failed to transform " + inputJar.getName() + ": " + exception.getCause().getMessage(),
+                    exception.getCause());
+            }
+            final long written;
+            try (final TimingRecorder.PhaseTimer ignored = this.timings.startStep("transform.write", item.entryName())) {
+                final JarEntry outputEntry = JarWriter.createEntry(item.entryName(), item.source().getTime());
+                if (item.data() != null) {
+                    JarWriter.writeEntry(jos, outputEntry, item.data());
+                    written = item.data().length;
+                } else {
+                    try (final InputStream data = inputJar.getInputStream(item.source())) {
+                        written = JarWriter.copyEntry(jos, outputEntry, data);
+                    }
+                }
+            }
+            this.progress.bytesWritten(written);
+        }
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        // -1 when allocation measurement is unsupported or disabled
+        return THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean bean ? Math.max(0, bean.getCurrentThreadAllocatedBytes()) : 0;
+    }
+
+    private static void awaitQuietly(final Thread reader, final ExecutorService pool) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                reader.join();
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                break;
+            } catch (final InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -24,6 +24,7 @@
 package ovh.neziw.obfuscator.obfuscator.jar;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 
@@ -42,6 +43,16 @@ public final class JarWriter {
         jos.closeEntry();
     }
 
+    /**
+     * Writes an entry with the content of a stream, without buffering it, and returns the number of bytes written
+     */
+    public static long copyEntry(final JarOutputStream jos, final JarEntry entry, final InputStream data) throws IOException {
+        jos.putNextEntry(entry);
+        final long written = data.transferTo(jos);
+        jos.closeEntry();
+        return written;
+    }
+
     /**
      * Creates a new JAR entry with the given name and timestamp
      */
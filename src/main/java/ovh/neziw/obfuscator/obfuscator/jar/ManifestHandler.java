@@ -37,11 +37,16 @@ public final class ManifestHandler {
 
     /**
      * Copies manifest from input JAR to output JAR if it exists
+     * The entry keeps the time of the input, so the same input always gives the same output bytes
      */
     public static void copyManifest(final JarFile inputJar, final JarOutputStream outputJar) throws IOException {
         final Manifest manifest = inputJar.getManifest();
         if (manifest != null) {
-            final JarEntry manifestEntry = new JarEntry("META-INF/MANIFEST.MF");
+            final JarEntry manifestEntry = new JarEntry(JarFile.MANIFEST_NAME);
+            final JarEntry inputEntry = inputJar.getJarEntry(JarFile.MANIFEST_NAME);
+            if (inputEntry != null && inputEntry.getTime() != -1) {
+                manifestEntry.setTime(inputEntry.getTime());
+            }
             outputJar.putNextEntry(manifestEntry);
             manifest.write(outputJar);
             outputJar.closeEntry();
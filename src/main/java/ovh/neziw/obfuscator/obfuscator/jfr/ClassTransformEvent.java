@@ -0,0 +1,67 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one class run through the obfuscator chain
+ * Sorting these by duration shows the pathological classes of a run
+ */
+@Name("ovh.neziw.obfuscator.ClassTransform")
+@Label("Class Transform")
+@Category("Noobfuscator")
+@Description("A class run through the obfuscator chain")
+@StackTrace(false)
+public class ClassTransformEvent extends Event {
+
+    @Label("Class")
+    @Description("Original internal class name")
+    public String className;
+
+    @Label("Obfuscated Class")
+    public String obfuscatedClassName;
+
+    @Label("Input Size")
+    @DataAmount
+    public int inputSize;
+
+    @Label("Output Size")
+    @DataAmount
+    public int outputSize;
+
+    @Label("Passes")
+    @Description("Passes of the chain, in the order they see the class")
+    public String passes;
+
+    @Label("Frame Fallback")
+    @Description("Whether frames had to be recomputed by the ClassWriter")
+    public boolean frameFallback;
+}
@@ -0,0 +1,293 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only view of a binary mappings file written by {@link BinaryMappingsWriter}
+ * The file is memory-mapped and never loaded onto the heap, each lookup is a few binary searches over the mapping
+ * Instances only use absolute reads, so they can be shared between threads
+ * Single Responsibility: Answer mapping lookups in both directions from the binary format
+ */
+public final class BinaryMappings implements MappingEntrySource {
+
+    static final int MAGIC = 0x4E4F424D; // "NOBM"
+    static final int VERSION = 1;
+    static final int NONE = -1;
+    static final int OWNER = 0;
+    static final int OBFUSCATED_OWNER = 1;
+    static final int SCOPE = 2;
+    static final int ORIGINAL = 3;
+    static final int OBFUSCATED = 4;
+    static final int RECORD_SIZE = 5 * 4;
+    static final int HEADER_SIZE = 5 * 4 + Kind.values().length * 3 * 4;
+
+    private final ByteBuffer buffer;
+    private final int stringCount;
+    private final int stringOffsetsPos;
+    private final int stringDataPos;
+    private final int[] recordCounts;
+    private final int[] recordsPos;
+    private final int[] reversePos;
+
+    private BinaryMappings(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary mappings file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported binary mappings version: " + buffer.getInt(4));
+        }
+        this.stringCount = buffer.getInt(8);
+        this.stringOffsetsPos = buffer.getInt(12);
+        this.stringDataPos = buffer.getInt(16);
+        final int kinds = Kind.values().length;
+        this.recordCounts = new int[kinds];
+        this.recordsPos = new int[kinds];
+        this.reversePos = new int[kinds];
+        for (int kind = 0; kind < kinds; kind++) {
+            this.recordCounts[kind] = buffer.getInt(20 + kind * 12);
+            this.recordsPos[kind] = buffer.getInt(24 + kind * 12);
+            this.reversePos[kind] = buffer.getInt(28 + kind * 12);
+        }
+    }
+
+    /**
+     * Memory-maps a binary mappings file
+     */
+    public static BinaryMappings open(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new BinaryMappings(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public String getObfuscatedClassName(final String className) {
+        return this.getObfuscatedName(Kind.CLASS, null, null, className);
+    }
+
+    public String getOriginalClassName(final String obfuscatedClassName) {
+        final List<String> originals = this.getOriginalNames(Kind.CLASS, null, null, obfuscatedClassName);
+        return originals.isEmpty() ? null : originals.get(0);
+    }
+
+    /**
+     * Looks up the obfuscated name of a symbol
+     *
+     * @param kind     Symbol kind
+     * @param owner    Original owner class, null for classes
+     * @param scope    Original method key ("name(descriptor)") for local variables, null otherwise
+     * @param original Original name, "name(descriptor)" for methods
+     * @return Obfuscated name, or null if the symbol is not mapped
+     */
+    public String getObfuscatedName(final Kind kind, final String owner, final String scope, final String original) {
+        final int ownerId = this.findOptionalString(owner);
+        final int scopeId = this.findOptionalString(scope);
+        final int originalId = this.findString(original);
+        if (ownerId == Integer.MIN_VALUE || scopeId == Integer.MIN_VALUE || originalId < 0) {
+            return null;
+        }
+        int low = 0;
+        int high = this.recordCounts[kind.ordinal()] - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int record = this.recordPosition(kind, mid);
+            int cmp = Integer.compare(this.buffer.getInt(record + OWNER * 4), ownerId);
+            if (cmp == 0) {
+                cmp = Integer.compare(this.buffer.getInt(record + SCOPE * 4), scopeId);
+            }
+            if (cmp == 0) {
+                cmp = Integer.compare(this.buffer.getInt(record + ORIGINAL * 4), originalId);
+            }
+            if (cmp == 0) {
+                return this.readString(this.buffer.getInt(record + OBFUSCATED * 4));
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the original names of an obfuscated symbol, there can be several when obfuscated names are reused
+     *
+     * @param kind              Symbol kind
+     * @param obfuscatedOwner   Obfuscated owner class, null for classes
+     * @param scope             Original method key for local variables, null otherwise
+     * @param obfuscated        Obfuscated name
+     * @return Original names, "name(descriptor)" for methods, empty if the symbol is not mapped
+     */
+    public List<String> getOriginalNames(final Kind kind, final String obfuscatedOwner, final String scope, final String obfuscated) {
+        final List<String> originals = new ArrayList<>();
+        final int ownerId = this.findOptionalString(obfuscatedOwner);
+        final int scopeId = this.findOptionalString(scope);
+        final int obfuscatedId = this.findString(obfuscated);
+        if (ownerId == Integer.MIN_VALUE || scopeId == Integer.MIN_VALUE || obfuscatedId < 0) {
+            return originals;
+        }
+        // Lower bound of the matching range in the reverse index
+        int low = 0;
+        int high = this.recordCounts[kind.ordinal()];
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.compareReverse(kind, mid, ownerId, scopeId, obfuscatedId) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < this.recordCounts[kind.ordinal()] && this.compareReverse(kind, i, ownerId, scopeId, obfuscatedId) == 0; i++) {
+            final int record = this.recordPosition(kind, this.buffer.getInt(this.reversePos[kind.ordinal()] + i * 4));
+            originals.add(this.readString(this.buffer.getInt(record + ORIGINAL * 4)));
+        }
+        return originals;
+    }
+
+    public int size(final Kind kind) {
+        return this.recordCounts[kind.ordinal()];
+    }
+
+    /**
+     * Iterates the records of a kind in file order, which is {@link MappingEntry#KEY_ORDER}, straight from the mapping
+     */
+    @Override
+    public Iterator<MappingEntry> entries(final Kind kind) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < BinaryMappings.this.recordCounts[kind.ordinal()];
+            }
+
+            @Override
+            public MappingEntry next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final int record = BinaryMappings.this.recordPosition(kind, this.next++);
+                return new MappingEntry(
+                    BinaryMappings.this.readOptionalString(BinaryMappings.this.buffer.getInt(record + OWNER * 4)),
+                    BinaryMappings.this.readOptionalString(BinaryMappings.this.buffer.getInt(record + SCOPE * 4)),
+                    BinaryMappings.this.readString(BinaryMappings.this.buffer.getInt(record + ORIGINAL * 4)),
+                    BinaryMappings.this.readString(BinaryMappings.this.buffer.getInt(record + OBFUSCATED * 4)));
+            }
+        };
+    }
+
+    private int compareReverse(final Kind kind, final int index, final int ownerId, final int scopeId, final int obfuscatedId) {
+        final int record = this.recordPosition(kind, this.buffer.getInt(this.reversePos[kind.ordinal()] + index * 4));
+        int cmp = Integer.compare(this.buffer.getInt(record + OBFUSCATED_OWNER * 4), ownerId);
+        if (cmp == 0) {
+            cmp = Integer.compare(this.buffer.getInt(record + SCOPE * 4), scopeId);
+        }
+        if (cmp == 0) {
+            cmp = Integer.compare(this.buffer.getInt(record + OBFUSCATED * 4), obfuscatedId);
+        }
+        return cmp;
+    }
+
+    private int recordPosition(final Kind kind, final int recordNumber) {
+        return this.recordsPos[kind.ordinal()] + recordNumber * RECORD_SIZE;
+    }
+
+    /**
+     * Returns NONE for null, the string id if present, or Integer.MIN_VALUE if the string is not in the table
+     */
+    private int findOptionalString(final String value) {
+        if (value == null) {
+            return NONE;
+        }
+        final int id = this.findString(value);
+        return id >= 0 ? id : Integer.MIN_VALUE;
+    }
+
+    /**
+     * Binary search over the string table, which is sorted by unsigned UTF-8 bytes
+     */
+    private int findString(final String value) {
+        final byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = this.stringCount - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = this.compareString(mid, key);
+            if (cmp == 0) {
+                return mid;
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int compareString(final int id, final byte[] key) {
+        final int start = this.stringDataPos + this.buffer.getInt(this.stringOffsetsPos + id * 4);
+        final int length = this.buffer.getInt(this.stringOffsetsPos + (id + 1) * 4) - this.buffer.getInt(this.stringOffsetsPos + id * 4);
+        final int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            final int cmp = Integer.compare(this.buffer.get(start + i) & 0xFF, key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private String readOptionalString(final int id) {
+        return id == NONE ? null : this.readString(id);
+    }
+
+    private String readString(final int id) {
+        final int offset = this.buffer.getInt(this.stringOffsetsPos + id * 4);
+        final byte[] bytes = new byte[this.buffer.getInt(this.stringOffsetsPos + (id + 1) * 4) - offset];
+        this.buffer.get(this.stringDataPos + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Symbol kinds, in the order their sections appear in the file
+     */
+    public enum Kind {
+        CLASS,
+        METHOD,
+        FIELD,
+        LOCAL_VARIABLE
+    }
+}
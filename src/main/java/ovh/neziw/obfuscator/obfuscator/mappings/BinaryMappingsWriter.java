@@ -0,0 +1,192 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes obfuscation mappings in the binary format read by {@link BinaryMappings}
+ * Layout (big-endian ints): header, string table sorted by UTF-8 bytes, then per kind the records sorted by
+ * (owner, scope, original) followed by a reverse index of record numbers sorted by (obfuscated owner, scope, obfuscated)
+ * Because the string table is sorted, string ids compare like the strings themselves and lookups are binary searches
+ * Single Responsibility: Serialize mappings into the indexed binary format
+ */
+public final class BinaryMappingsWriter {
+
+    public static void write(final ObfuscationMappings mappings, final Path path) throws IOException {
+        final Map<String, String> classNameMap = mappings.getClassNameMap();
+        final List<String[]>[] entries = collectEntries(mappings, classNameMap);
+
+        final Set<String> strings = new HashSet<>();
+        for (final List<String[]> kindEntries : entries) {
+            for (final String[] entry : kindEntries) {
+                for (final String value : entry) {
+                    if (value != null) {
+                        strings.add(value);
+                    }
+                }
+            }
+        }
+        final byte[][] encoded = new byte[strings.size()][];
+        int index = 0;
+        for (final String value : strings) {
+            encoded[index++] = value.getBytes(StandardCharsets.UTF_8);
+        }
+        Arrays.sort(encoded, Arrays::compareUnsigned);
+        final Map<String, Integer> ids = new HashMap<>(encoded.length * 2);
+        int dataLength = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            ids.put(new String(encoded[i], StandardCharsets.UTF_8), i);
+            dataLength += encoded[i].length;
+        }
+
+        final int kinds = BinaryMappings.Kind.values().length;
+        final int[][][] records = new int[kinds][][];
+        final int[][] reverse = new int[kinds][];
+        for (int kind = 0; kind < kinds; kind++) {
+            records[kind] = toRecords(entries[kind], ids);
+            reverse[kind] = reverseIndex(records[kind]);
+        }
+
+        final int stringOffsetsPos = BinaryMappings.HEADER_SIZE;
+        final int stringDataPos = stringOffsetsPos + 4 * (encoded.length + 1);
+        int position = stringDataPos + dataLength;
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(BinaryMappings.MAGIC);
+            out.writeInt(BinaryMappings.VERSION);
+            out.writeInt(encoded.length);
+            out.writeInt(stringOffsetsPos);
+            out.writeInt(stringDataPos);
+            for (int kind = 0; kind < kinds; kind++) {
+                final int recordsPos = position;
+                final int reversePos = recordsPos + records[kind].length * BinaryMappings.RECORD_SIZE;
+                out.writeInt(records[kind].length);
+                out.writeInt(recordsPos);
+                out.writeInt(reversePos);
+                position = reversePos + records[kind].length * 4;
+            }
+            int offset = 0;
+            for (final byte[] value : encoded) {
+                out.writeInt(offset);
+                offset += value.length;
+            }
+            out.writeInt(offset);
+            for (final byte[] value : encoded) {
+                out.write(value);
+            }
+            for (int kind = 0; kind < kinds; kind++) {
+                for (final int[] record : records[kind]) {
+                    for (final int field : record) {
+                        out.writeInt(field);
+                    }
+                }
+                for (final int recordNumber : reverse[kind]) {
+                    out.writeInt(recordNumber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flattens the mappings into (owner, obfuscated owner, scope, original, obfuscated) entries per kind
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String[]>[] collectEntries(final ObfuscationMappings mappings, final Map<String, String> classNameMap) {
+        final List<String[]>[] entries = new List[BinaryMappings.Kind.values().length];
+        for (int kind = 0; kind < entries.length; kind++) {
+            entries[kind] = new ArrayList<>();
+        }
+        for (final Map.Entry<String, String> entry : classNameMap.entrySet()) {
+            entries[BinaryMappings.Kind.CLASS.ordinal()].add(new String[] {null, null, null, entry.getKey(), entry.getValue()});
+        }
+        addMembers(entries[BinaryMappings.Kind.METHOD.ordinal()], mappings.getMethodNameMap(), classNameMap);
+        addMembers(entries[BinaryMappings.Kind.FIELD.ordinal()], mappings.getFieldMappings(), classNameMap);
+        for (final Map.Entry<String, Map<String, Map<String, String>>> classEntry : mappings.getLocalVariableMappings().entrySet()) {
+            final String owner = classEntry.getKey();
+            final String obfuscatedOwner = classNameMap.getOrDefault(owner, owner);
+            for (final Map.Entry<String, Map<String, String>> methodEntry : classEntry.getValue().entrySet()) {
+                for (final Map.Entry<String, String> varEntry : methodEntry.getValue().entrySet()) {
+                    entries[BinaryMappings.Kind.LOCAL_VARIABLE.ordinal()].add(
+                        new String[] {owner, obfuscatedOwner, methodEntry.getKey(), varEntry.getKey(), varEntry.getValue()});
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static void addMembers(final List<String[]> entries, final Map<String, Map<String, String>> members,
+                                   final Map<String, String> classNameMap) {
+        for (final Map.Entry<String, Map<String, String>> ownerEntry : members.entrySet()) {
+            final String owner = ownerEntry.getKey();
+            final String obfuscatedOwner = classNameMap.getOrDefault(owner, owner);
+            for (final Map.Entry<String, String> entry : ownerEntry.getValue().entrySet()) {
+                entries.add(new String[] {owner, obfuscatedOwner, null, entry.getKey(), entry.getValue()});
+            }
+        }
+    }
+
+    private static int[][] toRecords(final List<String[]> entries, final Map<String, Integer> ids) {
+        final int[][] records = new int[entries.size()][];
+        for (int i = 0; i < records.length; i++) {
+            final String[] entry = entries.get(i);
+            final int[] record = new int[entry.length];
+            for (int field = 0; field < entry.length; field++) {
+                record[field] = entry[field] != null ? ids.get(entry[field]) : BinaryMappings.NONE;
+            }
+            records[i] = record;
+        }
+        Arrays.sort(records, Comparator.<int[]>comparingInt(record -> record[BinaryMappings.OWNER])
+            .thenComparingInt(record -> record[BinaryMappings.SCOPE])
+            .thenComparingInt(record -> record[BinaryMappings.ORIGINAL]));
+        return records;
+    }
+
+    private static int[] reverseIndex(final int[][] records) {
+        final Integer[] order = new Integer[records.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> records[i][BinaryMappings.OBFUSCATED_OWNER])
+            .thenComparingInt(i -> records[i][BinaryMappings.SCOPE])
+            .thenComparingInt(i -> records[i][BinaryMappings.OBFUSCATED]));
+        final int[] reverse = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            reverse[i] = order[i];
+        }
+        return reverse;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Entries of a JSON mappings file (.json or .json.gz) streamed in file order, each kind is one pass over the file
+ * that skips the other sections, and only the entry at hand is kept in memory
+ * File order is only key order for files with sorted keys, as written by MappingsGenerator, see {@link #isSorted}
+ * Single Responsibility: Stream the entries of JSON mappings files
+ */
+public final class JsonMappings implements MappingEntrySource {
+
+    private final Path mappingsPath;
+
+    public JsonMappings(final Path mappingsPath) {
+        this.mappingsPath = mappingsPath;
+    }
+
+    /**
+     * Checks in one pass over the file that every section lists its entries in {@link MappingEntry#KEY_ORDER}
+     * Keys written by MappingsGenerator are in that order, unless names have characters outside the BMP
+     *
+     * @throws IOException If the file cannot be read or is not a mappings file
+     */
+    public static boolean isSorted(final Path mappingsPath) throws IOException {
+        try (final JsonReader reader = MappingsReader.open(mappingsPath)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final BinaryMappings.Kind kind = kindOf(reader.nextName());
+                if (kind == null) {
+                    reader.skipValue();
+                    continue;
+                }
+                MappingEntry previous = null;
+                final Iterator<MappingEntry> entries = new SectionIterator(reader, kind, false);
+                while (entries.hasNext()) {
+                    final MappingEntry entry = entries.next();
+                    if (previous != null && MappingEntry.KEY_ORDER.compare(previous, entry) >= 0) {
+                        return false;
+                    }
+                    previous = entry;
+                }
+            }
+            reader.endObject();
+            return true;
+        } catch (final IllegalStateException | UncheckedIOException exception) {
+            throw new IOException("Invalid mappings file " + mappingsPath + ": " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Streams the entries of a kind, the file stays open until the last entry was read
+     *
+     * @throws UncheckedIOException If the file cannot be read
+     */
+    @Override
+    public Iterator<MappingEntry> entries(final BinaryMappings.Kind kind) {
+        JsonReader reader = null;
+        try {
+            reader = MappingsReader.open(this.mappingsPath);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (kindOf(reader.nextName()) == kind) {
+                    return new SectionIterator(reader, kind, true);
+                }
+                reader.skipValue();
+            }
+            reader.close();
+            return Collections.emptyIterator();
+        } catch (final IOException exception) {
+            closeQuietly(reader);
+            throw new UncheckedIOException("Cannot read mappings " + this.mappingsPath, exception);
+        }
+    }
+
+    private static BinaryMappings.Kind kindOf(final String section) {
+        return switch (section) {
+            case "classes" -> BinaryMappings.Kind.CLASS;
+            case "methods" -> BinaryMappings.Kind.METHOD;
+            case "fields" -> BinaryMappings.Kind.FIELD;
+            case "localVariables" -> BinaryMappings.Kind.LOCAL_VARIABLE;
+            default -> null;
+        };
+    }
+
+    private static void closeQuietly(final JsonReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (final IOException ignored) {
+            // Already failing
+        }
+    }
+
+    /**
+     * Reads the entries of one section, nested one object deeper per level of the kind: names, owner -> names
+     * and owner -> scope -> names
+     */
+    private static final class SectionIterator implements Iterator<MappingEntry> {
+
+        private final JsonReader reader;
+        private final int depth;
+        private final boolean closeAtEnd;
+        // Owner and scope of the object being read
+        private final String[] path = new String[2];
+        private int level;
+        private MappingEntry next;
+
+        private SectionIterator(final JsonReader reader, final BinaryMappings.Kind kind, final boolean closeAtEnd) throws IOException {
+            this.reader = reader;
+            this.depth = switch (kind) {
+                case CLASS -> 1;
+                case METHOD, FIELD -> 2;
+                case LOCAL_VARIABLE -> 3;
+            };
+            this.closeAtEnd = closeAtEnd;
+            reader.beginObject();
+            this.level = 1;
+            this.advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public MappingEntry next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+            final MappingEntry entry = this.next;
+            try {
+                this.advance();
+            } catch (final IOException exception) {
+                closeQuietly(this.reader);
+                throw new UncheckedIOException(exception);
+            }
+            return entry;
+        }
+
+        private void advance() throws IOException {
+            while (this.level > 0) {
+                if (!this.reader.hasNext()) {
+                    this.reader.endObject();
+                    this.level--;
+                } else if (this.level == this.depth) {
+                    final String original = this.reader.nextName();
+                    this.next = new MappingEntry(this.depth > 1 ? this.path[0] : null, this.depth > 2 ? this.path[1] : null,
+                        original, this.reader.nextString());
+                    return;
+                } else {
+                    this.path[this.level - 1] = this.reader.nextName();
+                    this.reader.beginObject();
+                    this.level++;
+                }
+            }
+            this.next = null;
+            if (this.closeAtEnd) {
+                this.reader.close();
+            }
+        }
+    }
+}
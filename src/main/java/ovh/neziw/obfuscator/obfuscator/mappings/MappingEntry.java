@@ -0,0 +1,61 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.util.Comparator;
+
+/**
+ * A single mapping: original owner class (null for classes), scope (method key for local variables, otherwise null),
+ * original name and obfuscated name
+ */
+public record MappingEntry(String owner, String scope, String original, String obfuscated) {
+
+    /**
+     * Code point order, which is the unsigned UTF-8 byte order the binary mappings are sorted in
+     */
+    public static final Comparator<String> NAME_ORDER = MappingEntry::compareCodePoints;
+
+    /**
+     * Order of entries in a {@link MappingEntrySource}: owner, scope, original name, nulls first
+     */
+    public static final Comparator<MappingEntry> KEY_ORDER = Comparator
+        .comparing(MappingEntry::owner, Comparator.nullsFirst(NAME_ORDER))
+        .thenComparing(MappingEntry::scope, Comparator.nullsFirst(NAME_ORDER))
+        .thenComparing(MappingEntry::original, NAME_ORDER);
+
+    private static int compareCodePoints(final String first, final String second) {
+        int i = 0;
+        int j = 0;
+        while (i < first.length() && j < second.length()) {
+            final int a = first.codePointAt(i);
+            final int b = second.codePointAt(j);
+            if (a != b) {
+                return Integer.compare(a, b);
+            }
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+        return Integer.compare(first.length() - i, second.length() - j);
+    }
+}
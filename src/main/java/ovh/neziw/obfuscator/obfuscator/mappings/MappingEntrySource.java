@@ -0,0 +1,50 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Mapping entries per kind, sorted by {@link MappingEntry#KEY_ORDER}, so two sources can be merge-joined
+ */
+public interface MappingEntrySource {
+
+    /**
+     * Opens a mappings file, .bin files are memory-mapped and iterated in place, JSON files with sorted keys are
+     * streamed, other JSON files (e.g. written before keys were sorted) are loaded and sorted
+     */
+    static MappingEntrySource open(final Path mappingsPath) throws IOException {
+        if (mappingsPath.getFileName().toString().endsWith(".bin")) {
+            return BinaryMappings.open(mappingsPath);
+        }
+        if (JsonMappings.isSorted(mappingsPath)) {
+            return new JsonMappings(mappingsPath);
+        }
+        return new SortedMappings(MappingsReader.read(mappingsPath, MappingsReader.ALL_SECTIONS));
+    }
+
+    Iterator<MappingEntry> entries(BinaryMappings.Kind kind);
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import lombok.Getter;
+
+/**
+ * Compares two sets of mappings and reports added, removed and renamed symbols
+ * Both sources are sorted, so each kind is compared with a single merge-join pass that holds one entry per source
+ * Binary and sorted JSON files are streamed, other sources are sorted in memory first, see {@link MappingEntrySource#open}
+ * Single Responsibility: Diff two mapping sources
+ */
+public final class MappingsDiff {
+
+    /**
+     * Compares classes, methods and fields, local variables are ignored
+     *
+     * @param before   Mappings of the previous run
+     * @param after    Mappings of the current run
+     * @param listener Receives every change, in key order per kind
+     * @return Number of changes per type
+     */
+    public static Summary compare(final MappingEntrySource before, final MappingEntrySource after, final Consumer<Change> listener) {
+        final Summary summary = new Summary();
+        for (final BinaryMappings.Kind kind : new BinaryMappings.Kind[] {BinaryMappings.Kind.CLASS, BinaryMappings.Kind.METHOD, BinaryMappings.Kind.FIELD}) {
+            mergeJoin(kind, before.entries(kind), after.entries(kind), change -> {
+                summary.count(change.type());
+                listener.accept(change);
+            });
+        }
+        return summary;
+    }
+
+    private static void mergeJoin(final BinaryMappings.Kind kind, final Iterator<MappingEntry> before, final Iterator<MappingEntry> after,
+                                  final Consumer<Change> listener) {
+        MappingEntry left = before.hasNext() ? before.next() : null;
+        MappingEntry right = after.hasNext() ? after.next() : null;
+        while (left != null || right != null) {
+            final int cmp = left == null ? 1 : right == null ? -1 : MappingEntry.KEY_ORDER.compare(left, right);
+            if (cmp < 0) {
+                listener.accept(new Change(kind, ChangeType.REMOVED, left, null));
+                left = before.hasNext() ? before.next() : null;
+            } else if (cmp > 0) {
+                listener.accept(new Change(kind, ChangeType.ADDED, null, right));
+                right = after.hasNext() ? after.next() : null;
+            } else {
+                if (!left.obfuscated().equals(right.obfuscated())) {
+                    listener.accept(new Change(kind, ChangeType.RENAMED, left, right));
+                }
+                left = before.hasNext() ? before.next() : null;
+                right = after.hasNext() ? after.next() : null;
+            }
+        }
+    }
+
+    public enum ChangeType {
+        ADDED,
+        REMOVED,
+        RENAMED
+    }
+
+    /**
+     * A changed symbol, before is null for added and after is null for removed symbols
+     */
+    public record Change(BinaryMappings.Kind kind, ChangeType type, MappingEntry before, MappingEntry after) {
+
+        /**
+         * Original owner class of the symbol, the class itself for classes
+         */
+        public String originalClassName() {
+            final MappingEntry entry = this.before != null ? this.before : this.after;
+            return entry.owner() != null ? entry.owner() : entry.original();
+        }
+
+        @Override
+        public String toString() {
+            final MappingEntry entry = this.before != null ? this.before : this.after;
+            final String symbol = entry.owner() != null ? entry.owner() + "." + entry.original() : entry.original();
+            final String names = switch (this.type) {
+                case ADDED -> "-> " + this.after.obfuscated();
+                case REMOVED -> this.before.obfuscated() + " ->";
+                case RENAMED -> this.before.obfuscated() + " -> " + this.after.obfuscated();
+            };
+            return this.type + " " + this.kind.name().toLowerCase() + " " + symbol + ": " + names;
+        }
+    }
+
+    /**
+     * Number of changes per type
+     */
+    @Getter
+    public static class Summary {
+
+        private int added = 0;
+        private int removed = 0;
+        private int renamed = 0;
+
+        void count(final ChangeType type) {
+            switch (type) {
+                case ADDED -> this.added++;
+                case REMOVED -> this.removed++;
+                case RENAMED -> this.renamed++;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Added: " + this.added + ", Removed: " + this.removed + ", Renamed: " + this.renamed;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import com.google.gson.stream.JsonReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a JSON mappings file written by MappingsGenerator (.json or .json.gz) back into ObfuscationMappings
+ * The file is streamed, sections that are not requested are skipped without being materialized
+ * Single Responsibility: Deserialize JSON mappings files
+ */
+public final class MappingsReader {
+
+    public static final Set<String> ALL_SECTIONS = Set.of("classes", "methods", "fields", "localVariables");
+
+    /**
+     * @param mappingsPath Mappings file, gzip-compressed if its name ends with .gz
+     * @param sections     Sections to read, e.g. {@link #ALL_SECTIONS}
+     * @throws IOException If the file cannot be read or is not a mappings file
+     */
+    public static ObfuscationMappings read(final Path mappingsPath, final Set<String> sections) throws IOException {
+        final ObfuscationMappings mappings = new ObfuscationMappings();
+        try (final JsonReader reader = open(mappingsPath)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String section = reader.nextName();
+                if (!sections.contains(section)) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (section) {
+                    case "classes" -> readNames(reader, mappings.getClassNameMap());
+                    case "methods" -> readMembers(reader, mappings::methodsOf);
+                    case "fields" -> readMembers(reader, mappings::fieldsOf);
+                    case "localVariables" -> {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            final String className = reader.nextName();
+                            readMembers(reader, methodKey -> mappings.localVariablesOf(className, methodKey));
+                        }
+                        reader.endObject();
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (final IllegalStateException exception) {
+            throw new IOException("Invalid mappings file " + mappingsPath + ": " + exception.getMessage(), exception);
+        }
+        return mappings;
+    }
+
+    /**
+     * Opens a JSON reader on a mappings file, gzip-compressed if its name ends with .gz
+     */
+    static JsonReader open(final Path mappingsPath) throws IOException {
+        InputStream in = Files.newInputStream(mappingsPath);
+        if (mappingsPath.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        return new JsonReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16));
+    }
+
+    private static void readMembers(final JsonReader reader, final Function<String, Map<String, String>> namesOf) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            readNames(reader, namesOf.apply(reader.nextName()));
+        }
+        reader.endObject();
+    }
+
+    private static void readNames(final JsonReader reader, final Map<String, String> names) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            names.put(reader.nextName(), reader.nextString());
+        }
+        reader.endObject();
+    }
+}
@@ -23,32 +23,107 @@
  */
 package ovh.neziw.obfuscator.obfuscator.mappings;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
 
 /**
  * Manages all obfuscation mappings (class names, method names, fields, local variables)
+ * Every name is interned once in a shared {@link SymbolTable} and each kind of mapping is one primitive {@link SymbolPairMap},
+ * so huge JARs do not pay for a String, a hash map node and a nested map per key; the getters return live map views
+ * Maps are thread-safe, since batch mode transforms several JARs against the same mappings at once
  * Single Responsibility: Store and provide access to all obfuscation mappings
  */
-@Getter
 public class ObfuscationMappings {
 
+    // Strings of all mappings, also used by the name generator for its keys
+    @Getter
+    private final SymbolTable symbols = new SymbolTable();
+
+    // Compact stores: class names have no owner, members are owned by their class,
+    // and local variables by a scope number assigned to each method of a class;
+    // class names are also indexed by value, obfuscated classes are looked up in reverse when read back
+    private final SymbolPairMap classes = new SymbolPairMap(true);
+    private final SymbolPairMap methods = new SymbolPairMap();
+    private final SymbolPairMap fields = new SymbolPairMap();
+    private final SymbolPairMap scopes = new SymbolPairMap();
+    private final SymbolPairMap locals = new SymbolPairMap();
+    private final AtomicInteger scopeCount = new AtomicInteger();
+
     // Shared map for class name obfuscation across all classes
-    private final Map<String, String> classNameMap = new HashMap<>();
+    @Getter
+    private final Map<String, String> classNameMap;
 
     // Shared map for method name obfuscation across all classes
     // Map: className -> (methodKey -> obfuscatedName)
-    private final Map<String, Map<String, String>> methodNameMap = new HashMap<>();
+    @Getter
+    private final Map<String, Map<String, String>> methodNameMap;
 
     // Shared map for field name obfuscation across all classes
     // Map: className -> (fieldName -> obfuscatedName)
-    private final Map<String, Map<String, String>> fieldMappings = new HashMap<>();
+    @Getter
+    private final Map<String, Map<String, String>> fieldMappings;
 
     // Shared map for local variable name obfuscation across all classes
     // Map: className -> (methodKey -> (varName -> obfuscatedName))
-    private final Map<String, Map<String, Map<String, String>>> localVariableMappings = new HashMap<>();
+    @Getter
+    private final Map<String, Map<String, Map<String, String>>> localVariableMappings;
 
-}
+    public ObfuscationMappings() {
+        this.classNameMap = SymbolMemberMap.ofNames(this.symbols, this.classes, SymbolPairMap.NO_OWNER);
+        this.methodNameMap = new SymbolOwnerMap<>(this.symbols, this.methods,
+            owner -> SymbolMemberMap.ofNames(this.symbols, this.methods, owner));
+        this.fieldMappings = new SymbolOwnerMap<>(this.symbols, this.fields,
+            owner -> SymbolMemberMap.ofNames(this.symbols, this.fields, owner));
+        this.localVariableMappings = new SymbolOwnerMap<>(this.symbols, this.scopes,
+            owner -> new SymbolMemberMap<>(this.symbols, this.scopes, owner,
+                scope -> SymbolMemberMap.ofNames(this.symbols, this.locals, scope), null));
+    }
+
+    /**
+     * Gets the original name of a class from its obfuscated name, or null if no class was renamed to it
+     */
+    public String findOriginalClassName(final String obfuscatedClassName) {
+        final int original = this.findOriginalClass(this.symbols.find(obfuscatedClassName));
+        return original >= 0 ? this.symbols.get(original) : null;
+    }
 
+    /**
+     * Gets the symbol of a class's original name from the symbol of its obfuscated name, or -1 if no class was renamed to it
+     */
+    public int findOriginalClass(final int obfuscatedSymbol) {
+        return obfuscatedSymbol >= 0 ? this.classes.findName(SymbolPairMap.NO_OWNER, obfuscatedSymbol) : -1;
+    }
 
+    /**
+     * Gets the obfuscated name of a method by symbols of its class and of its key (name and descriptor),
+     * or null if the method was not renamed; only the result is decoded
+     */
+    public String methodName(final int classSymbol, final int methodKeySymbol) {
+        final int obfuscated = classSymbol >= 0 && methodKeySymbol >= 0 ? this.methods.get(classSymbol, methodKeySymbol) : -1;
+        return obfuscated >= 0 ? this.symbols.get(obfuscated) : null;
+    }
+
+    /**
+     * Gets the method name mappings of a class, entries put into it are added to the mappings
+     */
+    public Map<String, String> methodsOf(final String className) {
+        return SymbolMemberMap.ofNames(this.symbols, this.methods, this.symbols.intern(className));
+    }
+
+    /**
+     * Gets the field name mappings of a class, entries put into it are added to the mappings
+     */
+    public Map<String, String> fieldsOf(final String className) {
+        return SymbolMemberMap.ofNames(this.symbols, this.fields, this.symbols.intern(className));
+    }
+
+    /**
+     * Gets the local variable name mappings of a method, entries put into it are added to the mappings
+     */
+    public Map<String, String> localVariablesOf(final String className, final String methodKey) {
+        final int scope = this.scopes.computeIfAbsent(this.symbols.intern(className), this.symbols.intern(methodKey),
+            this.scopeCount::getAndIncrement);
+        return SymbolMemberMap.ofNames(this.symbols, this.locals, scope);
+    }
+}
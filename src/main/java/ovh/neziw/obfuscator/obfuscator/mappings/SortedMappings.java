@@ -0,0 +1,75 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorted view of in-memory mappings, e.g. a snapshot taken from a running engine
+ * Each kind is flattened and sorted when it is requested
+ */
+public class SortedMappings implements MappingEntrySource {
+
+    private final ObfuscationMappings mappings;
+
+    public SortedMappings(final ObfuscationMappings mappings) {
+        this.mappings = mappings;
+    }
+
+    @Override
+    public Iterator<MappingEntry> entries(final BinaryMappings.Kind kind) {
+        final List<MappingEntry> entries = new ArrayList<>();
+        switch (kind) {
+            case CLASS -> {
+                for (final Map.Entry<String, String> entry : this.mappings.getClassNameMap().entrySet()) {
+                    entries.add(new MappingEntry(null, null, entry.getKey(), entry.getValue()));
+                }
+            }
+            case METHOD -> addMembers(entries, this.mappings.getMethodNameMap());
+            case FIELD -> addMembers(entries, this.mappings.getFieldMappings());
+            case LOCAL_VARIABLE -> {
+                for (final Map.Entry<String, Map<String, Map<String, String>>> classEntry : this.mappings.getLocalVariableMappings().entrySet()) {
+                    for (final Map.Entry<String, Map<String, String>> methodEntry : classEntry.getValue().entrySet()) {
+                        for (final Map.Entry<String, String> varEntry : methodEntry.getValue().entrySet()) {
+                            entries.add(new MappingEntry(classEntry.getKey(), methodEntry.getKey(), varEntry.getKey(), varEntry.getValue()));
+                        }
+                    }
+                }
+            }
+        }
+        entries.sort(MappingEntry.KEY_ORDER);
+        return entries.iterator();
+    }
+
+    private static void addMembers(final List<MappingEntry> entries, final Map<String, Map<String, String>> members) {
+        for (final Map.Entry<String, Map<String, String>> ownerEntry : members.entrySet()) {
+            for (final Map.Entry<String, String> entry : ownerEntry.getValue().entrySet()) {
+                entries.add(new MappingEntry(ownerEntry.getKey(), null, entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+}
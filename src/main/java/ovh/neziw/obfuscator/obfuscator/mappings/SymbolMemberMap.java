@@ -0,0 +1,185 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Map view of one owner's entries in a {@link SymbolPairMap}, e.g. the method names of a class
+ * Keys are interned in the symbol table, values are converted from and to the stored ints by the given functions
+ * Writes go through to the table unless the view is read-only, entries cannot be removed,
+ * and iteration works on a snapshot
+ * Single Responsibility: Present compact mappings as the Map the rest of the obfuscator works with
+ */
+public class SymbolMemberMap<V> extends AbstractMap<String, V> {
+
+    private final SymbolTable symbols;
+    private final SymbolPairMap table;
+    private final int owner;
+    private final IntFunction<V> decoder;
+    private final ToIntFunction<V> encoder;
+
+    /**
+     * @param encoder Converts values to the stored ints, null for a read-only view
+     */
+    public SymbolMemberMap(final SymbolTable symbols, final SymbolPairMap table, final int owner,
+                           final IntFunction<V> decoder, final ToIntFunction<V> encoder) {
+        this.symbols = symbols;
+        this.table = table;
+        this.owner = owner;
+        this.decoder = decoder;
+        this.encoder = encoder;
+    }
+
+    /**
+     * View of string values stored as symbol ids
+     */
+    public static SymbolMemberMap<String> ofNames(final SymbolTable symbols, final SymbolPairMap table, final int owner) {
+        return new SymbolMemberMap<>(symbols, table, owner, symbols::get, symbols::intern);
+    }
+
+    @Override
+    public V get(final Object key) {
+        return this.getOrDefault(key, null);
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final int value = this.valueOf(key);
+        return value >= 0 ? this.decoder.apply(value) : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.valueOf(key) >= 0;
+    }
+
+    @Override
+    public V put(final String key, final V value) {
+        final int previous = this.table.put(this.owner, this.symbols.intern(key), this.encode(value));
+        return previous >= 0 ? this.decoder.apply(previous) : null;
+    }
+
+    @Override
+    public V putIfAbsent(final String key, final V value) {
+        final int existing = this.table.putIfAbsent(this.owner, this.symbols.intern(key), this.encode(value));
+        return existing >= 0 ? this.decoder.apply(existing) : null;
+    }
+
+    /**
+     * Like {@link java.util.concurrent.ConcurrentMap#computeIfAbsent}, the function may run for a key another thread
+     * maps at the same time, and that thread's value wins
+     */
+    @Override
+    public V computeIfAbsent(final String key, final Function<? super String, ? extends V> mappingFunction) {
+        final V existing = this.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        final V value = mappingFunction.apply(key);
+        if (value == null) {
+            return null;
+        }
+        final V previous = this.putIfAbsent(key, value);
+        return previous != null ? previous : value;
+    }
+
+    @Override
+    public int size() {
+        return this.table.sizeOf(this.owner);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !this.table.containsOwner(this.owner);
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                return SymbolMemberMap.this.iterator(SymbolMemberMap.this.table.entriesOf(SymbolMemberMap.this.owner));
+            }
+
+            @Override
+            public int size() {
+                return SymbolMemberMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Gets a snapshot of the entries sorted by key, keys and values are only decoded while iterating
+     */
+    public Iterable<Map.Entry<String, V>> sortedEntries() {
+        final long[] entries = this.table.entriesOf(this.owner);
+        this.symbols.sort(entries);
+        return () -> this.iterator(entries);
+    }
+
+    private Iterator<Map.Entry<String, V>> iterator(final long[] entries) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < entries.length;
+            }
+
+            @Override
+            public Map.Entry<String, V> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final long entry = entries[this.next++];
+                return new AbstractMap.SimpleImmutableEntry<>(SymbolMemberMap.this.symbols.get((int) (entry >>> Integer.SIZE)),
+                    SymbolMemberMap.this.decoder.apply((int) entry));
+            }
+        };
+    }
+
+    private int valueOf(final Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        final int name = this.symbols.find((String) key);
+        return name >= 0 ? this.table.get(this.owner, name) : -1;
+    }
+
+    private int encode(final V value) {
+        if (this.encoder == null) {
+            throw new UnsupportedOperationException("Read-only mappings view");
+        }
+        return this.encoder.applyAsInt(value);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Read-only map view of the owners in a {@link SymbolPairMap}, e.g. className -> (methodKey -> obfuscatedName)
+ * Owners appear once they have an entry, entries are added through the owner views, e.g. {@link ObfuscationMappings#methodsOf}
+ * Single Responsibility: Present the owners of compact mappings as the nested Map the rest of the obfuscator works with
+ */
+public class SymbolOwnerMap<V> extends AbstractMap<String, V> {
+
+    private final SymbolTable symbols;
+    private final SymbolPairMap table;
+    private final IntFunction<V> ownerView;
+
+    public SymbolOwnerMap(final SymbolTable symbols, final SymbolPairMap table, final IntFunction<V> ownerView) {
+        this.symbols = symbols;
+        this.table = table;
+        this.ownerView = ownerView;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int owner = this.ownerOf(key);
+        return owner >= 0 ? this.ownerView.apply(owner) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.ownerOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.table.ownerCount();
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                return SymbolOwnerMap.this.iterator(SymbolOwnerMap.this.table.owners());
+            }
+
+            @Override
+            public int size() {
+                return SymbolOwnerMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Gets a snapshot of the owners sorted by name, names are only decoded while iterating
+     */
+    public Iterable<Map.Entry<String, V>> sortedEntries() {
+        final int[] owners = this.table.owners();
+        final long[] sorted = new long[owners.length];
+        for (int i = 0; i < owners.length; i++) {
+            sorted[i] = (long) owners[i] << Integer.SIZE;
+        }
+        this.symbols.sort(sorted);
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = (int) (sorted[i] >>> Integer.SIZE);
+        }
+        return () -> this.iterator(owners);
+    }
+
+    private Iterator<Map.Entry<String, V>> iterator(final int[] owners) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < owners.length;
+            }
+
+            @Override
+            public Map.Entry<String, V> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final int owner = owners[this.next++];
+                return new AbstractMap.SimpleImmutableEntry<>(SymbolOwnerMap.this.symbols.get(owner),
+                    SymbolOwnerMap.this.ownerView.apply(owner));
+            }
+        };
+    }
+
+    private int ownerOf(final Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        final int owner = this.symbols.find((String) key);
+        return owner >= 0 && this.table.containsOwner(owner) ? owner : -1;
+    }
+}
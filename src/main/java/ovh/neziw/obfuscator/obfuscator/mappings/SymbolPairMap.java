@@ -0,0 +1,401 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Primitive open addressing map from an owner and a name, usually symbol ids of a {@link SymbolTable}, to a non-negative int
+ * Entries live in append-only int arrays and the entries of an owner are chained, so an owner's entries can be listed
+ * without a map object per owner; an entry costs about six ints, two more with the optional reverse index of values
+ * Thread-safe, lookups are optimistic and only take the lock if they race with a write, entries are never removed
+ * Single Responsibility: Store one kind of mappings in a few int arrays
+ */
+public class SymbolPairMap {
+
+    // Owner of entries that belong to no owner, e.g. class names
+    public static final int NO_OWNER = -1;
+    // Name of the entry that heads an owner's chain, its value is the owner's latest entry and its previous the entry count
+    private static final int HEAD = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private final boolean reverseIndexed;
+    // Per entry: owner, name, value and the previous entry of the same owner, -1 ends the chain
+    private int[] owners = new int[16];
+    private int[] names = new int[16];
+    private int[] values = new int[16];
+    private int[] previous = new int[16];
+    private int count;
+    private int ownerCount;
+    // Open addressing index over owner and name, a slot holds entry + 1, 0 for an empty slot
+    private int[] index = new int[32];
+    // Same over owner and value, for reverse lookups; a replaced value leaves a stale slot that lookups skip
+    private int[] reverse;
+    private int reverseSlots;
+
+    public SymbolPairMap() {
+        this(false);
+    }
+
+    /**
+     * @param reverseIndexed Whether to index values too, so {@link #findName} does not scan all entries
+     */
+    public SymbolPairMap(final boolean reverseIndexed) {
+        this.reverseIndexed = reverseIndexed;
+        this.reverse = reverseIndexed ? new int[32] : null;
+    }
+
+    /**
+     * Gets the value of an owner's name, or -1 if it has none
+     */
+    public int get(final int owner, final int name) {
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final int entry = this.probe(owner, name);
+                final int value = entry >= 0 ? this.values[entry] : -1;
+                if (this.lock.validate(stamp)) {
+                    return value;
+                }
+            } catch (final RuntimeException inconsistent) {
+                // A racing write left the arrays half updated, retried under the read lock
+            }
+        }
+        stamp = this.lock.readLock();
+        try {
+            final int entry = this.probe(owner, name);
+            return entry >= 0 ? this.values[entry] : -1;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sets the value of an owner's name and returns the previous value, or -1 if it had none
+     */
+    public int put(final int owner, final int name, final int value) {
+        return this.store(owner, name, value, true);
+    }
+
+    /**
+     * Sets the value of an owner's name unless it has one, returns the existing value or -1 if the value was set
+     */
+    public int putIfAbsent(final int owner, final int name, final int value) {
+        return this.store(owner, name, value, false);
+    }
+
+    /**
+     * Gets the value of an owner's name, computing it under the lock if it has none, so the supplier runs once per name
+     */
+    public int computeIfAbsent(final int owner, final int name, final IntSupplier supplier) {
+        final int existing = this.get(owner, name);
+        if (existing >= 0) {
+            return existing;
+        }
+        final long stamp = this.lock.writeLock();
+        try {
+            final int entry = this.probe(owner, name);
+            if (entry >= 0) {
+                return this.values[entry];
+            }
+            final int value = supplier.getAsInt();
+            this.add(owner, name, value);
+            return value;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Checks if an owner has at least one entry
+     */
+    public boolean containsOwner(final int owner) {
+        return this.get(owner, HEAD) >= 0;
+    }
+
+    /**
+     * Finds a name of an owner that has a value, for reverse lookups such as the original name of an obfuscated class,
+     * or -1 if no name has it
+     * A hash lookup if the map is reverse indexed, otherwise a scan that compares ints without decoding any entry
+     */
+    public int findName(final int owner, final int value) {
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final int name = this.findNameUnlocked(owner, value);
+                if (this.lock.validate(stamp)) {
+                    return name;
+                }
+            } catch (final RuntimeException inconsistent) {
+                // A racing write left the arrays half updated, retried under the read lock
+            }
+        }
+        stamp = this.lock.readLock();
+        try {
+            return this.findNameUnlocked(owner, value);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets a snapshot of all owners that have entries
+     */
+    public int[] owners() {
+        final long stamp = this.lock.readLock();
+        try {
+            final int[] result = new int[this.ownerCount];
+            int size = 0;
+            for (int entry = 0; entry < this.count; entry++) {
+                if (this.names[entry] == HEAD) {
+                    result[size++] = this.owners[entry];
+                }
+            }
+            return result;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets a snapshot of an owner's entries in insertion order, each packed as name in the high and value in the low int
+     */
+    public long[] entriesOf(final int owner) {
+        final long stamp = this.lock.readLock();
+        try {
+            final int head = this.probe(owner, HEAD);
+            if (head < 0) {
+                return new long[0];
+            }
+            int size = this.previous[head];
+            // The chain runs from the latest entry back to the first
+            final long[] result = new long[size];
+            for (int entry = this.values[head]; entry >= 0; entry = this.previous[entry]) {
+                result[--size] = ((long) this.names[entry] << Integer.SIZE) | (this.values[entry] & 0xFFFFFFFFL);
+            }
+            return result;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of an owner's entries, kept in the owner's head entry
+     */
+    public int sizeOf(final int owner) {
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final int head = this.probe(owner, HEAD);
+                final int size = head >= 0 ? this.previous[head] : 0;
+                if (this.lock.validate(stamp)) {
+                    return size;
+                }
+            } catch (final RuntimeException inconsistent) {
+                // A racing write left the arrays half updated, retried under the read lock
+            }
+        }
+        stamp = this.lock.readLock();
+        try {
+            final int head = this.probe(owner, HEAD);
+            return head >= 0 ? this.previous[head] : 0;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of owners that have entries
+     */
+    public int ownerCount() {
+        final long stamp = this.lock.readLock();
+        try {
+            return this.ownerCount;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        final long stamp = this.lock.writeLock();
+        try {
+            this.owners = new int[16];
+            this.names = new int[16];
+            this.values = new int[16];
+            this.previous = new int[16];
+            this.index = new int[32];
+            this.reverse = this.reverseIndexed ? new int[32] : null;
+            this.reverseSlots = 0;
+            this.count = 0;
+            this.ownerCount = 0;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    private int store(final int owner, final int name, final int value, final boolean replace) {
+        final long stamp = this.lock.writeLock();
+        try {
+            final int entry = this.probe(owner, name);
+            if (entry >= 0) {
+                final int existing = this.values[entry];
+                if (replace && existing != value) {
+                    this.values[entry] = value;
+                    if (this.reverseIndexed) {
+                        this.indexValue(entry);
+                    }
+                }
+                return existing;
+            }
+            this.add(owner, name, value);
+            return -1;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    private int probe(final int owner, final int name) {
+        final int[] index = this.index;
+        final int mask = index.length - 1;
+        int slot = hash(owner, name) & mask;
+        for (int probes = 0; probes < index.length; probes++) {
+            final int entry = index[slot] - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            if (this.names[entry] == name && this.owners[entry] == owner) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int findNameUnlocked(final int owner, final int value) {
+        if (!this.reverseIndexed) {
+            for (int entry = 0; entry < this.count; entry++) {
+                if (this.values[entry] == value && this.owners[entry] == owner && this.names[entry] != HEAD) {
+                    return this.names[entry];
+                }
+            }
+            return -1;
+        }
+        final int[] reverse = this.reverse;
+        final int mask = reverse.length - 1;
+        int slot = hash(owner, value) & mask;
+        for (int probes = 0; probes < reverse.length; probes++) {
+            final int entry = reverse[slot] - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            if (this.values[entry] == value && this.owners[entry] == owner) {
+                return this.names[entry];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void add(final int owner, final int name, final int value) {
+        int head = this.probe(owner, HEAD);
+        if (head < 0) {
+            head = this.append(owner, HEAD, -1);
+            this.previous[head] = 0;
+            this.ownerCount++;
+        }
+        final int entry = this.append(owner, name, value);
+        this.previous[entry] = this.values[head];
+        this.values[head] = entry;
+        this.previous[head]++;
+        if (this.reverseIndexed) {
+            this.indexValue(entry);
+        }
+    }
+
+    private void indexValue(final int entry) {
+        // Keeps the reverse index at most three quarters full, stale slots are dropped whenever it is rebuilt
+        if ((this.reverseSlots + 1) * 4 > this.reverse.length * 3) {
+            final int named = this.count - this.ownerCount;
+            int length = this.reverse.length;
+            while (named * 2 > length) {
+                length *= 2;
+            }
+            final int[] rebuilt = new int[length];
+            for (int i = 0; i < this.count; i++) {
+                if (this.names[i] != HEAD) {
+                    place(rebuilt, hash(this.owners[i], this.values[i]), i);
+                }
+            }
+            this.reverse = rebuilt;
+            this.reverseSlots = named;
+            return;
+        }
+        place(this.reverse, hash(this.owners[entry], this.values[entry]), entry);
+        this.reverseSlots++;
+    }
+
+    private int append(final int owner, final int name, final int value) {
+        final int entry = this.count;
+        if (entry == this.owners.length) {
+            this.owners = Arrays.copyOf(this.owners, entry * 2);
+            this.names = Arrays.copyOf(this.names, entry * 2);
+            this.values = Arrays.copyOf(this.values, entry * 2);
+            this.previous = Arrays.copyOf(this.previous, entry * 2);
+        }
+        this.owners[entry] = owner;
+        this.names[entry] = name;
+        this.values[entry] = value;
+        this.previous[entry] = -1;
+        this.count++;
+        // Keeps the index at most three quarters full
+        if (this.count * 4 > this.index.length * 3) {
+            final int[] grown = new int[this.index.length * 2];
+            for (int i = 0; i < this.count; i++) {
+                place(grown, hash(this.owners[i], this.names[i]), i);
+            }
+            this.index = grown;
+        } else {
+            place(this.index, hash(owner, name), entry);
+        }
+        return entry;
+    }
+
+    private static int hash(final int owner, final int name) {
+        return SymbolTable.mix(SymbolTable.mix(owner) + name);
+    }
+
+    private static void place(final int[] index, final int hash, final int entry) {
+        final int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entry + 1;
+    }
+}
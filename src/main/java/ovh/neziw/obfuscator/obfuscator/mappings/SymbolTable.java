@@ -0,0 +1,410 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Interns strings as UTF-8 bytes in a shared arena and hands out dense integer ids for them,
+ * so mappings can store ids instead of a String per key and per copy of a key
+ * Characters are encoded like in class files (modified UTF-8), which keeps unpaired surrogates lossless
+ * Thread-safe, lookups are optimistic and only take the lock if they race with a new string
+ * Single Responsibility: Store distinct strings compactly and translate between strings and ids
+ */
+public class SymbolTable {
+
+    // Strings are appended to 64 KB chunks, a string that does not fit into one gets a chunk of its own
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 1 << (Integer.SIZE - CHUNK_BITS);
+
+    private final StampedLock lock = new StampedLock();
+    private byte[][] chunks = new byte[16][];
+    private int chunkCount;
+    private int chunkOffset = CHUNK_SIZE;
+    // Per id: chunk index and offset of the length prefix, and the String hash code of the text
+    private int[] addresses = new int[64];
+    private int[] hashes = new int[64];
+    private int size;
+    // Open addressing index over the text, a slot holds id + 1, 0 for an empty slot
+    private int[] index = new int[128];
+
+    /**
+     * Gets the id of a string, adding the string if it is not in the table yet
+     */
+    public int intern(final String text) {
+        final int hash = text.hashCode();
+        final int id = this.find(text, hash);
+        if (id >= 0) {
+            return id;
+        }
+        final long stamp = this.lock.writeLock();
+        try {
+            final int raced = this.probe(text, hash);
+            return raced >= 0 ? raced : this.add(text, hash);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the id of a string, or -1 if the string was never interned
+     */
+    public int find(final String text) {
+        return this.find(text, text.hashCode());
+    }
+
+    /**
+     * Decodes the string of an id
+     */
+    public String get(final int id) {
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final String text = this.decode(id);
+                if (this.lock.validate(stamp)) {
+                    return text;
+                }
+            } catch (final RuntimeException inconsistent) {
+                // A racing write left the arrays half updated, retried under the read lock
+            }
+        }
+        stamp = this.lock.readLock();
+        try {
+            return this.decode(id);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sorts entries that carry a symbol id in their high int, e.g. those of {@link SymbolPairMap#entriesOf}, by the
+     * text of the symbol in {@link String#compareTo} order, the texts are compared in place and never decoded
+     */
+    public void sort(final long[] entries) {
+        final long stamp = this.lock.readLock();
+        try {
+            this.mergeSort(entries, entries.clone(), 0, entries.length);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of distinct strings in the table
+     */
+    public int size() {
+        final long stamp = this.lock.readLock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Spreads the bits of a hash code or id over a power of two table
+     */
+    static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int find(final String text, final int hash) {
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final int id = this.probe(text, hash);
+                if (this.lock.validate(stamp)) {
+                    return id;
+                }
+            } catch (final RuntimeException inconsistent) {
+                // A racing write left the arrays half updated, retried under the read lock
+            }
+        }
+        stamp = this.lock.readLock();
+        try {
+            return this.probe(text, hash);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    private int probe(final String text, final int hash) {
+        final int[] index = this.index;
+        final int mask = index.length - 1;
+        int slot = mix(hash) & mask;
+        for (int probes = 0; probes < index.length; probes++) {
+            final int id = index[slot] - 1;
+            if (id < 0) {
+                return -1;
+            }
+            if (this.hashes[id] == hash && this.textEquals(id, text)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean textEquals(final int id, final String text) {
+        final int address = this.addresses[id];
+        final byte[] chunk = this.chunks[address >>> CHUNK_BITS];
+        int offset = address & (CHUNK_SIZE - 1);
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            final byte b = chunk[offset++];
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        // Compares char by char, so lookups never encode or allocate
+        final int end = offset + length;
+        int i = 0;
+        while (offset < end) {
+            if (i == text.length()) {
+                return false;
+            }
+            final int first = chunk[offset++] & 0xFF;
+            final char c;
+            if (first < 0x80) {
+                c = (char) first;
+            } else if (first < 0xE0) {
+                c = (char) (((first & 0x1F) << 6) | (chunk[offset++] & 0x3F));
+            } else {
+                c = (char) (((first & 0x0F) << 12) | ((chunk[offset++] & 0x3F) << 6) | (chunk[offset++] & 0x3F));
+            }
+            if (c != text.charAt(i++)) {
+                return false;
+            }
+        }
+        return i == text.length();
+    }
+
+    /**
+     * Sorts a range of {@code entries} with the same range of {@code buffer}, which starts as a copy, as scratch space
+     */
+    private void mergeSort(final long[] entries, final long[] buffer, final int from, final int to) {
+        if (to - from < 2) {
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        this.mergeSort(buffer, entries, from, middle);
+        this.mergeSort(buffer, entries, middle, to);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && this.compareText((int) (buffer[left] >>> Integer.SIZE),
+                (int) (buffer[right] >>> Integer.SIZE)) <= 0) {
+                entries[i] = buffer[left++];
+            } else {
+                entries[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Compares the texts of two ids char by char, like {@link String#compareTo}
+     */
+    private int compareText(final int first, final int second) {
+        if (first == second) {
+            return 0;
+        }
+        final byte[] firstChunk = this.chunks[this.addresses[first] >>> CHUNK_BITS];
+        final byte[] secondChunk = this.chunks[this.addresses[second] >>> CHUNK_BITS];
+        int firstOffset = this.addresses[first] & (CHUNK_SIZE - 1);
+        int secondOffset = this.addresses[second] & (CHUNK_SIZE - 1);
+        final int firstLength = readLength(firstChunk, firstOffset);
+        final int secondLength = readLength(secondChunk, secondOffset);
+        firstOffset += lengthSize(firstLength);
+        secondOffset += lengthSize(secondLength);
+        final int firstEnd = firstOffset + firstLength;
+        final int secondEnd = secondOffset + secondLength;
+        while (firstOffset < firstEnd && secondOffset < secondEnd) {
+            final char firstChar = readChar(firstChunk, firstOffset);
+            final char secondChar = readChar(secondChunk, secondOffset);
+            if (firstChar != secondChar) {
+                return firstChar - secondChar;
+            }
+            firstOffset += charSize(firstChunk[firstOffset]);
+            secondOffset += charSize(secondChunk[secondOffset]);
+        }
+        return Boolean.compare(firstOffset < firstEnd, secondOffset < secondEnd);
+    }
+
+    private static int readLength(final byte[] chunk, final int offset) {
+        int length = 0;
+        for (int shift = 0, position = offset; ; shift += 7) {
+            final byte b = chunk[position++];
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return length;
+            }
+        }
+    }
+
+    private static int lengthSize(final int length) {
+        int size = 1;
+        while (length >>> (7 * size) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static char readChar(final byte[] chunk, final int offset) {
+        final int first = chunk[offset] & 0xFF;
+        if (first < 0x80) {
+            return (char) first;
+        }
+        if (first < 0xE0) {
+            return (char) (((first & 0x1F) << 6) | (chunk[offset + 1] & 0x3F));
+        }
+        return (char) (((first & 0x0F) << 12) | ((chunk[offset + 1] & 0x3F) << 6) | (chunk[offset + 2] & 0x3F));
+    }
+
+    private static int charSize(final byte first) {
+        final int value = first & 0xFF;
+        return value < 0x80 ? 1 : value < 0xE0 ? 2 : 3;
+    }
+
+    private String decode(final int id) {
+        if (id < 0 || id >= this.size) {
+            throw new IndexOutOfBoundsException("Unknown symbol " + id);
+        }
+        final int address = this.addresses[id];
+        final byte[] chunk = this.chunks[address >>> CHUNK_BITS];
+        int offset = address & (CHUNK_SIZE - 1);
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            final byte b = chunk[offset++];
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        if (length < 0 || length > chunk.length - offset) {
+            throw new IllegalStateException("Corrupt symbol " + id);
+        }
+        final int end = offset + length;
+        final char[] chars = new char[length];
+        int count = 0;
+        while (offset < end) {
+            final int first = chunk[offset++] & 0xFF;
+            if (first < 0x80) {
+                chars[count++] = (char) first;
+            } else if (first < 0xE0) {
+                chars[count++] = (char) (((first & 0x1F) << 6) | (chunk[offset++] & 0x3F));
+            } else {
+                chars[count++] = (char) (((first & 0x0F) << 12) | ((chunk[offset++] & 0x3F) << 6) | (chunk[offset++] & 0x3F));
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private int add(final String text, final int hash) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            length += c != 0 && c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+        }
+        int prefix = 1;
+        while (length >>> (7 * prefix) != 0) {
+            prefix++;
+        }
+        final int address = this.allocate(prefix + length);
+        final byte[] chunk = this.chunks[address >>> CHUNK_BITS];
+        int offset = address & (CHUNK_SIZE - 1);
+        int remaining = length;
+        while (remaining >= 0x80) {
+            chunk[offset++] = (byte) (remaining | 0x80);
+            remaining >>>= 7;
+        }
+        chunk[offset++] = (byte) remaining;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c != 0 && c < 0x80) {
+                chunk[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                chunk[offset++] = (byte) (0xC0 | (c >> 6));
+                chunk[offset++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                chunk[offset++] = (byte) (0xE0 | (c >> 12));
+                chunk[offset++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                chunk[offset++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        final int id = this.size;
+        if (id == this.addresses.length) {
+            this.addresses = Arrays.copyOf(this.addresses, id * 2);
+            this.hashes = Arrays.copyOf(this.hashes, id * 2);
+        }
+        this.addresses[id] = address;
+        this.hashes[id] = hash;
+        this.size++;
+        // Keeps the index at most three quarters full
+        if (this.size * 4 > this.index.length * 3) {
+            final int[] grown = new int[this.index.length * 2];
+            for (int i = 0; i < this.size; i++) {
+                place(grown, this.hashes[i], i);
+            }
+            this.index = grown;
+        } else {
+            place(this.index, hash, id);
+        }
+        return id;
+    }
+
+    private static void place(final int[] index, final int hash, final int id) {
+        final int mask = index.length - 1;
+        int slot = mix(hash) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = id + 1;
+    }
+
+    private int allocate(final int bytes) {
+        if (bytes > CHUNK_SIZE - this.chunkOffset) {
+            if (this.chunkCount == MAX_CHUNKS) {
+                throw new IllegalStateException("Symbol table is full");
+            }
+            if (this.chunkCount == this.chunks.length) {
+                this.chunks = Arrays.copyOf(this.chunks, this.chunkCount * 2);
+            }
+            // An oversized string gets an exact chunk, and the next string opens a fresh one
+            this.chunks[this.chunkCount++] = new byte[Math.max(bytes, CHUNK_SIZE)];
+            if (bytes > CHUNK_SIZE) {
+                this.chunkOffset = CHUNK_SIZE;
+                return (this.chunkCount - 1) << CHUNK_BITS;
+            }
+            this.chunkOffset = 0;
+        }
+        final int address = ((this.chunkCount - 1) << CHUNK_BITS) | this.chunkOffset;
+        this.chunkOffset += bytes;
+        return address;
+    }
+}
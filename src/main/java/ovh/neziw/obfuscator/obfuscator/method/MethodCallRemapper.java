@@ -23,12 +23,12 @@
  */
 package ovh.neziw.obfuscator.obfuscator.method;
 
-import java.util.Map;
 import org.objectweb.asm.Handle;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.InvokeDynamicInsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
 
 /**
  * Remaps method calls in bytecode to use obfuscated names
@@ -36,13 +36,10 @@ import org.objectweb.asm.tree.MethodNode;
  */
 public class MethodCallRemapper {
 
-    private final Map<String, Map<String, String>> globalMethodNameMap;
-    private final Map<String, String> classNameMap;
+    private final ObfuscationMappings mappings;
 
-    public MethodCallRemapper(final Map<String, Map<String, String>> globalMethodNameMap,
-                              final Map<String, String> classNameMap) {
-        this.globalMethodNameMap = globalMethodNameMap;
-        this.classNameMap = classNameMap;
+    public MethodCallRemapper(final ObfuscationMappings mappings) {
+        this.mappings = mappings;
     }
 
     /**
@@ -65,20 +62,9 @@ public class MethodCallRemapper {
      * Remaps a method instruction
      */
     private void remapMethodInsn(final MethodInsnNode methodInsn) {
-        final String ownerClass = methodInsn.owner;
-        final String methodKey = methodInsn.name + methodInsn.desc;
-
-        Map<String, String> ownerMethodMap = this.globalMethodNameMap.get(ownerClass);
-        if (ownerMethodMap != null && ownerMethodMap.containsKey(methodKey)) {
-            methodInsn.name = ownerMethodMap.get(methodKey);
-        } else if (this.classNameMap != null) {
-            final String originalOwnerClass = this.findOriginalClassName(ownerClass);
-            if (originalOwnerClass != null) {
-                ownerMethodMap = this.globalMethodNameMap.get(originalOwnerClass);
-                if (ownerMethodMap != null && ownerMethodMap.containsKey(methodKey)) {
-                    methodInsn.name = ownerMethodMap.get(methodKey);
-                }
-            }
+        final String obfuscatedName = this.obfuscatedMethodName(methodInsn.owner, methodInsn.name + methodInsn.desc);
+        if (obfuscatedName != null) {
+            methodInsn.name = obfuscatedName;
         }
     }
 
@@ -108,20 +94,12 @@ public class MethodCallRemapper {
      * Remaps a Handle (method reference)
      */
     private Handle remapHandle(final Handle handle) {
-        final String ownerClass = handle.getOwner();
-        final String methodKey = handle.getName() + handle.getDesc();
-        Map<String, String> ownerMethodMap = this.globalMethodNameMap.get(ownerClass);
-        if (ownerMethodMap == null && this.classNameMap != null) {
-            final String originalOwnerClass = this.findOriginalClassName(ownerClass);
-            if (originalOwnerClass != null) {
-                ownerMethodMap = this.globalMethodNameMap.get(originalOwnerClass);
-            }
-        }
-        if (ownerMethodMap != null && ownerMethodMap.containsKey(methodKey)) {
+        final String obfuscatedName = this.obfuscatedMethodName(handle.getOwner(), handle.getName() + handle.getDesc());
+        if (obfuscatedName != null) {
             return new Handle(
                 handle.getTag(),
                 handle.getOwner(), // Keep original owner (will be remapped by ClassNameObfuscator if needed)
-                ownerMethodMap.get(methodKey),
+                obfuscatedName,
                 handle.getDesc(),
                 handle.isInterface()
             );
@@ -130,21 +108,19 @@ public class MethodCallRemapper {
     }
 
     /**
-     * Finds the original class name from an obfuscated class name
-     * Returns null if not found or if classNameMap is null
+     * Gets the obfuscated name of a method of a class, which may already be renamed, or null if the method keeps its name
+     * Looks symbols up without interning or decoding anything but the result
      */
-    private String findOriginalClassName(final String obfuscatedClassName) {
-        if (this.classNameMap == null) {
+    private String obfuscatedMethodName(final String ownerClass, final String methodKey) {
+        final int methodKeySymbol = this.mappings.getSymbols().find(methodKey);
+        if (methodKeySymbol < 0) {
             return null;
         }
-        // Reverse lookup: find original class name that maps to obfuscatedClassName
-        for (final Map.Entry<String, String> entry : this.classNameMap.entrySet()) {
-            if (entry.getValue().equals(obfuscatedClassName)) {
-                return entry.getKey();
-            }
+        final int ownerSymbol = this.mappings.getSymbols().find(ownerClass);
+        final String obfuscatedName = this.mappings.methodName(ownerSymbol, methodKeySymbol);
+        if (obfuscatedName != null) {
+            return obfuscatedName;
         }
-        return null;
+        return this.mappings.methodName(this.mappings.findOriginalClass(ownerSymbol), methodKeySymbol);
     }
 }
-
-
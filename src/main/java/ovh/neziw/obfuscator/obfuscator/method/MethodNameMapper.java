@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.objectweb.asm.tree.MethodNode;
 import ovh.neziw.obfuscator.obfuscator.NameGenerator;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
 
 /**
  * Maps original method names to obfuscated names
@@ -37,13 +38,13 @@ public class MethodNameMapper {
     private final NameGenerator nameGenerator;
     private final String originalClassName;
     private final Map<String, String> localMethodNameMap = new HashMap<>();
-    private final Map<String, Map<String, String>> globalMethodNameMap;
+    private final ObfuscationMappings mappings;
 
     public MethodNameMapper(final NameGenerator nameGenerator, final String originalClassName,
-                            final Map<String, Map<String, String>> globalMethodNameMap) {
+                            final ObfuscationMappings mappings) {
         this.nameGenerator = nameGenerator;
         this.originalClassName = originalClassName;
-        this.globalMethodNameMap = globalMethodNameMap;
+        this.mappings = mappings;
     }
 
     /**
@@ -60,8 +61,7 @@ public class MethodNameMapper {
     public void mapMethod(final MethodNode method, final String obfuscatedName) {
         final String methodKey = method.name + method.desc;
         this.localMethodNameMap.put(methodKey, obfuscatedName);
-        this.globalMethodNameMap.computeIfAbsent(this.originalClassName, k -> new HashMap<>())
-            .put(methodKey, obfuscatedName);
+        this.mappings.methodsOf(this.originalClassName).put(methodKey, obfuscatedName);
     }
 
     /**
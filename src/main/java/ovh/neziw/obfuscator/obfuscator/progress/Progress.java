@@ -0,0 +1,102 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.progress;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the progress of an obfuscation
+ *
+ * @param phase          Current phase, e.g. "scan.hierarchy" or "transform"
+ * @param classesDone    Classes transformed so far
+ * @param classesTotal   Classes found while scanning, 0 until the scan finished
+ * @param bytesWritten   Bytes of entries written to the output JARs so far
+ * @param elapsedNanos   Time since the obfuscation started
+ * @param transformNanos Time since the first class was transformed, the base of the throughput
+ */
+public record Progress(String phase, long classesDone, long classesTotal, long bytesWritten, long elapsedNanos, long transformNanos) {
+
+    /**
+     * Fraction of the classes transformed, between 0 and 1, or -1 while the total is unknown
+     */
+    public double fraction() {
+        if (this.classesTotal <= 0) {
+            return -1;
+        }
+        return Math.min(1.0, (double) this.classesDone / this.classesTotal);
+    }
+
+    public double classesPerSecond() {
+        return perSecond(this.classesDone, this.transformNanos);
+    }
+
+    public double bytesPerSecond() {
+        return perSecond(this.bytesWritten, this.transformNanos);
+    }
+
+    /**
+     * Estimated time until all classes are transformed, or -1 while it cannot be estimated
+     */
+    public long etaMillis() {
+        final double classesPerSecond = this.classesPerSecond();
+        if (this.classesTotal <= 0 || classesPerSecond <= 0) {
+            return -1;
+        }
+        return (long) (Math.max(0, this.classesTotal - this.classesDone) / classesPerSecond * 1000);
+    }
+
+    private static double perSecond(final long count, final long nanos) {
+        return nanos > 0 ? count * (double) TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[").append(this.phase).append("] ").append(this.classesDone);
+        if (this.classesTotal > 0) {
+            builder.append('/').append(this.classesTotal).append(" classes (").append((int) (this.fraction() * 100)).append("%)");
+        } else {
+            builder.append(" classes");
+        }
+        builder.append(String.format(", %.1f MB written", this.bytesWritten / (1024.0 * 1024.0)));
+        if (this.transformNanos > 0) {
+            builder.append(String.format(", %.0f classes/s, %.1f MB/s", this.classesPerSecond(), this.bytesPerSecond() / (1024.0 * 1024.0)));
+        }
+        final long eta = this.etaMillis();
+        if (eta >= 0 && this.classesDone < this.classesTotal) {
+            builder.append(", ETA ").append(formatDuration(eta));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Formats a duration as e.g. "42s" or "3m 05s"
+     */
+    public static String formatDuration(final long millis) {
+        final long seconds = TimeUnit.MILLISECONDS.toSeconds(millis);
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        return String.format("%dm %02ds", seconds / 60, seconds % 60);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.progress;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the progress of an obfuscation, forwards it to a listener and carries its cancellation
+ * Counting is lock-free, and at most one update per interval is built and delivered, by whichever
+ * worker thread crosses the interval first. Phase changes are always delivered. One tracker can be
+ * shared by the processors of a batch
+ * Single Responsibility: Track, throttle and report progress, and check for cancellation
+ */
+public class ProgressTracker {
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final ProgressListener listener;
+    private final CancellationToken cancellation;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder classesTotal = new LongAdder();
+    private final LongAdder classesDone = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final AtomicLong nextReportNanos = new AtomicLong(this.startNanos);
+    private final AtomicLong transformStartNanos = new AtomicLong();
+    private volatile String phase = "start";
+
+    public ProgressTracker(final ProgressListener listener, final CancellationToken cancellation) {
+        this.listener = listener;
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * Creates a tracker without a listener that is never cancelled
+     */
+    public static ProgressTracker none() {
+        return new ProgressTracker(ProgressListener.NONE, new CancellationToken());
+    }
+
+    public void startPhase(final String phase) {
+        this.phase = phase;
+        this.report(System.nanoTime());
+    }
+
+    public void addClassesTotal(final long classes) {
+        this.classesTotal.add(classes);
+    }
+
+    public void classDone() {
+        this.transformStartNanos.compareAndSet(0, System.nanoTime());
+        this.classesDone.increment();
+        this.maybeReport();
+    }
+
+    public void bytesWritten(final long bytes) {
+        this.bytesWritten.add(bytes);
+        this.maybeReport();
+    }
+
+    /**
+     * Delivers the final state, regardless of the interval
+     */
+    public void finish() {
+        this.startPhase("done");
+    }
+
+    public boolean isCancelled() {
+        return this.cancellation.isCancelled();
+    }
+
+    /**
+     * Stops the calling work if the obfuscation was cancelled
+     *
+     * @throws ObfuscationCancelledException If the obfuscation was cancelled
+     */
+    public void checkCancelled() throws ObfuscationCancelledException {
+        if (this.cancellation.isCancelled()) {
+            throw new ObfuscationCancelledException();
+        }
+    }
+
+    public Progress snapshot() {
+        return this.snapshot(System.nanoTime());
+    }
+
+    private Progress snapshot(final long now) {
+        final long transformStart = this.transformStartNanos.get();
+        return new Progress(this.phase, this.classesDone.sum(), this.classesTotal.sum(), this.bytesWritten.sum(),
+            now - this.startNanos, transformStart != 0 ? now - transformStart : 0);
+    }
+
+    private void maybeReport() {
+        final long now = System.nanoTime();
+        final long next = this.nextReportNanos.get();
+        // Only the thread that moves the deadline reports, the others go on without waiting
+        if (now - next >= 0 && this.nextReportNanos.compareAndSet(next, now + REPORT_INTERVAL_NANOS)) {
+            this.listener.onProgress(this.snapshot(now));
+        }
+    }
+
+    private void report(final long now) {
+        this.nextReportNanos.set(now + REPORT_INTERVAL_NANOS);
+        this.listener.onProgress(this.snapshot(now));
+    }
+}
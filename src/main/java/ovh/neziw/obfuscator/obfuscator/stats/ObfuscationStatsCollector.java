@@ -23,6 +23,7 @@
  */
 package ovh.neziw.obfuscator.obfuscator.stats;
 
+import java.util.concurrent.atomic.LongAdder;
 import lombok.Getter;
 import ovh.neziw.obfuscator.obfuscator.ClassNameObfuscator;
 import ovh.neziw.obfuscator.obfuscator.FlowObfuscator;
@@ -33,26 +34,36 @@ import ovh.neziw.obfuscator.obfuscator.VariableObfuscator;
 
 /**
  * Collects and aggregates obfuscation statistics from all obfuscators
+ * All statistics are views over one {@link MetricRegistry}, so they can be incremented from several threads
  * Single Responsibility: Manage and aggregate statistics
  */
 @Getter
 public class ObfuscationStatsCollector {
 
-    private final VariableObfuscator.ObfuscationStats variableStats = new VariableObfuscator.ObfuscationStats();
-    private final ClassNameObfuscator.ObfuscationStats classNameStats = new ClassNameObfuscator.ObfuscationStats();
-    private final StringObfuscator.ObfuscationStats stringStats = new StringObfuscator.ObfuscationStats();
-    private final MethodNameObfuscator.ObfuscationStats methodNameStats = new MethodNameObfuscator.ObfuscationStats();
-    private final MethodOrderObfuscator.ObfuscationStats methodOrderStats = new MethodOrderObfuscator.ObfuscationStats();
-    private final FlowObfuscator.ObfuscationStats flowStats = new FlowObfuscator.ObfuscationStats();
-    private int classesProcessed = 0;
-    private int classesObfuscated = 0;
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final VariableObfuscator.ObfuscationStats variableStats = new VariableObfuscator.ObfuscationStats(this.metrics);
+    private final ClassNameObfuscator.ObfuscationStats classNameStats = new ClassNameObfuscator.ObfuscationStats(this.metrics);
+    private final StringObfuscator.ObfuscationStats stringStats = new StringObfuscator.ObfuscationStats(this.metrics);
+    private final MethodNameObfuscator.ObfuscationStats methodNameStats = new MethodNameObfuscator.ObfuscationStats(this.metrics);
+    private final MethodOrderObfuscator.ObfuscationStats methodOrderStats = new MethodOrderObfuscator.ObfuscationStats(this.metrics);
+    private final FlowObfuscator.ObfuscationStats flowStats = new FlowObfuscator.ObfuscationStats(this.metrics);
+    private final LongAdder classesProcessed = this.metrics.counter("classes.processed");
+    private final LongAdder classesObfuscated = this.metrics.counter("classes.obfuscated");
 
     public void incrementClassesProcessed() {
-        this.classesProcessed++;
+        this.classesProcessed.increment();
     }
 
     public void incrementClassesObfuscated() {
-        this.classesObfuscated++;
+        this.classesObfuscated.increment();
+    }
+
+    public int getClassesProcessed() {
+        return this.classesProcessed.intValue();
+    }
+
+    public int getClassesObfuscated() {
+        return this.classesObfuscated.intValue();
     }
 
     public int getVariablesObfuscated() {
@@ -62,7 +73,7 @@ public class ObfuscationStatsCollector {
     @Override
     public String toString() {
         return String.format("Classes processed: %d, Obfuscated: %d, Variables obfuscated: %d, Class names obfuscated: %d, Strings obfuscated: %d, Method names obfuscated: %d, Methods reordered: %d, Flow obfuscated: %d",
-            this.classesProcessed, this.classesObfuscated, this.getVariablesObfuscated(), this.classNameStats.getClassesObfuscated(),
+            this.getClassesProcessed(), this.getClassesObfuscated(), this.getVariablesObfuscated(), this.classNameStats.getClassesObfuscated(),
             this.stringStats.getStringsObfuscated(), this.methodNameStats.getMethodsObfuscated(),
             this.methodOrderStats.getMethodsReordered(), this.flowStats.getMethodsObfuscated());
     }
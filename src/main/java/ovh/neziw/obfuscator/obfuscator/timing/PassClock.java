@@ -0,0 +1,146 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Charges the wall-clock and thread CPU time of one class conversion to the pass that is running
+ * Passes of the visitor chain call into each other, so every switch charges the time since the previous switch
+ * to the pass that was running, which gives each pass its exclusive time
+ * The clock lives on the worker thread that converts the class, so its CPU time is the CPU time of that worker
+ * With a timeline, the class and the once-per-class work of each pass (visitEnd, frames, writing) are recorded as spans
+ * Not thread-safe, one clock is used for one class on one thread
+ * Single Responsibility: Measure exclusive time per pass of a class
+ */
+public class PassClock {
+
+    /**
+     * Parsing in the ClassReader, charged whenever no pass is running
+     */
+    public static final int READ = 0;
+
+    private final TimingRecorder recorder;
+    private final TraceRecorder trace;
+    private final String className;
+    private final List<String> names = new ArrayList<>();
+    private long[] nanos = new long[8];
+    private long[] cpuNanos = new long[8];
+    private int current = READ;
+    private long last;
+    private long lastCpu;
+    private final long start;
+    private final long startCpu;
+
+    PassClock(final TimingRecorder recorder, final String className) {
+        this.recorder = recorder;
+        this.trace = recorder.getTrace();
+        this.className = className;
+        this.names.add("ClassReader");
+        this.start = System.nanoTime();
+        this.last = this.start;
+        this.startCpu = TimingRecorder.currentThreadCpuTime();
+        this.lastCpu = this.startCpu;
+    }
+
+    /**
+     * Registers a pass and returns its index for {@link #enter(int)}, a name registered twice shares its index
+     */
+    public int register(final String name) {
+        final int existing = this.names.indexOf(name);
+        if (existing >= 0) {
+            return existing;
+        }
+        this.names.add(name);
+        if (this.names.size() > this.nanos.length) {
+            this.nanos = grow(this.nanos);
+            this.cpuNanos = grow(this.cpuNanos);
+        }
+        return this.names.size() - 1;
+    }
+
+    /**
+     * Switches to a pass and returns the pass that was running, to be passed to {@link #exit(int)}
+     */
+    public int enter(final int pass) {
+        final int previous = this.current;
+        this.charge();
+        this.current = pass;
+        return previous;
+    }
+
+    /**
+     * Switches back to the pass that was running before {@link #enter(int)}
+     */
+    public void exit(final int previous) {
+        this.charge();
+        this.current = previous;
+    }
+
+    /**
+     * Time of the last switch, i.e. the start of the pass entered last
+     */
+    public long lastSwitch() {
+        return this.last;
+    }
+
+    /**
+     * Records a timeline span of a pass from the given start to the last switch, does nothing without a timeline
+     */
+    public void span(final int pass, final long startNanos) {
+        if (this.trace != null) {
+            this.trace.span(this.names.get(pass), "pass", startNanos, this.last, null);
+        }
+    }
+
+    /**
+     * Records the time of every registered pass and the total time of the class
+     */
+    public void stop() {
+        this.charge();
+        for (int i = 0; i < this.names.size(); i++) {
+            this.recorder.recordPass(this.names.get(i), this.nanos[i], this.cpuNanos[i]);
+        }
+        this.recorder.recordPass(TimingRecorder.CLASS_TOTAL, this.last - this.start, this.lastCpu - this.startCpu);
+        if (this.trace != null) {
+            this.trace.span(this.className, "class", this.start, this.last, null);
+        }
+    }
+
+    private void charge() {
+        final long now = System.nanoTime();
+        final long nowCpu = TimingRecorder.currentThreadCpuTime();
+        this.nanos[this.current] += now - this.last;
+        this.cpuNanos[this.current] += nowCpu - this.lastCpu;
+        this.last = now;
+        this.lastCpu = nowCpu;
+    }
+
+    private static long[] grow(final long[] array) {
+        final long[] grown = new long[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -0,0 +1,531 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.timing;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.Attribute;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.ModuleVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.RecordComponentVisitor;
+import org.objectweb.asm.TypePath;
+
+/**
+ * Placed in front of a pass of the chain, charges every call into the pass and into its method visitors to that pass
+ * Annotation, field and record component visitors are not wrapped, their few calls are charged to the caller
+ * Single Responsibility: Attribute chain time to a pass
+ */
+public class PassTimingClassVisitor extends ClassVisitor {
+
+    private final PassClock clock;
+    private final int pass;
+
+    public PassTimingClassVisitor(final ClassVisitor cv, final PassClock clock, final String passName) {
+        super(Opcodes.ASM9, cv);
+        this.clock = clock;
+        this.pass = clock.register(passName);
+    }
+
+    @Override
+    public void visit(final int version, final int access, final String name, final String signature, final String superName, final String[] interfaces) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            super.visit(version, access, name, signature, superName, interfaces);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public void visitSource(final String source, final String debug) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            super.visitSource(source, debug);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public ModuleVisitor visitModule(final String name, final int access, final String version) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            return super.visitModule(name, access, version);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public void visitNestHost(final String nestHost) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            super.visitNestHost(nestHost);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public void visitOuterClass(final String owner, final String name, final String descriptor) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            super.visitOuterClass(owner, name, descriptor);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(final String descriptor, final boolean visible) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            return super.visitAnnotation(descriptor, visible);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public AnnotationVisitor visitTypeAnnotation(final int typeRef, final TypePath typePath, final String descriptor, final boolean visible) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            return super.visitTypeAnnotation(typeRef, typePath, descriptor, visible);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public void visitAttribute(final Attribute attribute) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            super.visitAttribute(attribute);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public void visitNestMember(final String nestMember) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            super.visitNestMember(nestMember);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public void visitPermittedSubclass(final String permittedSubclass) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            super.visitPermittedSubclass(permittedSubclass);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public void visitInnerClass(final String name, final String outerName, final String innerName, final int access) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            super.visitInnerClass(name, outerName, innerName, access);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public RecordComponentVisitor visitRecordComponent(final String name, final String descriptor, final String signature) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            return super.visitRecordComponent(name, descriptor, signature);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public FieldVisitor visitField(final int access, final String name, final String descriptor, final String signature, final Object value) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            return super.visitField(access, name, descriptor, signature, value);
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions) {
+        final int previous = this.clock.enter(this.pass);
+        try {
+            final MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
+            return mv != null ? new PassTimingMethodVisitor(mv) : null;
+        } finally {
+            this.clock.exit(previous);
+        }
+    }
+
+    @Override
+    public void visitEnd() {
+        final int previous = this.clock.enter(this.pass);
+        final long start = this.clock.lastSwitch();
+        try {
+            super.visitEnd();
+        } finally {
+            this.clock.exit(previous);
+            // Tree passes do most of their work here, and the spans of the passes below are nested in it
+            this.clock.span(this.pass, start);
+        }
+    }
+
+    /**
+     * Charges the calls into a method visitor of the pass
+     */
+    private class PassTimingMethodVisitor extends MethodVisitor {
+
+        private final PassClock clock = PassTimingClassVisitor.this.clock;
+        private final int pass = PassTimingClassVisitor.this.pass;
+
+        PassTimingMethodVisitor(final MethodVisitor mv) {
+            super(Opcodes.ASM9, mv);
+        }
+
+        @Override
+        public void visitParameter(final String name, final int access) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitParameter(name, access);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotationDefault() {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                return super.visitAnnotationDefault();
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(final String descriptor, final boolean visible) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                return super.visitAnnotation(descriptor, visible);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitTypeAnnotation(final int typeRef, final TypePath typePath, final String descriptor, final boolean visible) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                return super.visitTypeAnnotation(typeRef, typePath, descriptor, visible);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitAnnotableParameterCount(final int parameterCount, final boolean visible) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitAnnotableParameterCount(parameterCount, visible);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitParameterAnnotation(final int parameter, final String descriptor, final boolean visible) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                return super.visitParameterAnnotation(parameter, descriptor, visible);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitAttribute(final Attribute attribute) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitAttribute(attribute);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitCode() {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitCode();
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitFrame(final int type, final int numLocal, final Object[] local, final int numStack, final Object[] stack) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitFrame(type, numLocal, local, numStack, stack);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitInsn(final int opcode) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitInsn(opcode);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitIntInsn(final int opcode, final int operand) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitIntInsn(opcode, operand);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitVarInsn(final int opcode, final int varIndex) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitVarInsn(opcode, varIndex);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitTypeInsn(final int opcode, final String type) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitTypeInsn(opcode, type);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitFieldInsn(final int opcode, final String owner, final String name, final String descriptor) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitFieldInsn(opcode, owner, name, descriptor);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitMethodInsn(final int opcode, final String owner, final String name, final String descriptor, final boolean isInterface) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(final String name, final String descriptor, final Handle bootstrapMethodHandle, final Object... bootstrapMethodArguments) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitJumpInsn(final int opcode, final Label label) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitJumpInsn(opcode, label);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitLabel(final Label label) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitLabel(label);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitLdcInsn(final Object value) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitLdcInsn(value);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitIincInsn(final int varIndex, final int increment) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitIincInsn(varIndex, increment);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitTableSwitchInsn(final int min, final int max, final Label dflt, final Label... labels) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitTableSwitchInsn(min, max, dflt, labels);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(final Label dflt, final int[] keys, final Label[] labels) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitLookupSwitchInsn(dflt, keys, labels);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(final String descriptor, final int numDimensions) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitMultiANewArrayInsn(descriptor, numDimensions);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitInsnAnnotation(final int typeRef, final TypePath typePath, final String descriptor, final boolean visible) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                return super.visitInsnAnnotation(typeRef, typePath, descriptor, visible);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitTryCatchBlock(final Label start, final Label end, final Label handler, final String type) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitTryCatchBlock(start, end, handler, type);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitTryCatchAnnotation(final int typeRef, final TypePath typePath, final String descriptor, final boolean visible) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                return super.visitTryCatchAnnotation(typeRef, typePath, descriptor, visible);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitLocalVariable(final String name, final String descriptor, final String signature, final Label start, final Label end, final int index) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitLocalVariable(name, descriptor, signature, start, end, index);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitLocalVariableAnnotation(final int typeRef, final TypePath typePath, final Label[] start, final Label[] end,
+                                                              final int[] index, final String descriptor, final boolean visible) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                return super.visitLocalVariableAnnotation(typeRef, typePath, start, end, index, descriptor, visible);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitLineNumber(final int line, final Label start) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitLineNumber(line, start);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitMaxs(final int maxStack, final int maxLocals) {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitMaxs(maxStack, maxLocals);
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+
+        @Override
+        public void visitEnd() {
+            final int previous = this.clock.enter(this.pass);
+            try {
+                super.visitEnd();
+            } finally {
+                this.clock.exit(previous);
+            }
+        }
+    }
+}
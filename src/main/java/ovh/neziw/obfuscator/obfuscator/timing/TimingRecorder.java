@@ -0,0 +1,248 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.timing;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import ovh.neziw.obfuscator.obfuscator.jfr.JarPhaseEvent;
+
+/**
+ * Collects wall-clock and CPU time of the phases of a run and per-class time histograms of the chain passes
+ * Phase CPU time is the time of the thread that ran the phase, so for the transform phase it leaves out the workers;
+ * their CPU time is summed per pass instead
+ * Disabled recorders hand out no clocks and ignore phases, so instrumentation costs nothing unless enabled
+ * Phases are also emitted as JFR events while a recording is running, independently of this recorder
+ * With a {@link TraceRecorder}, phases, steps, classes and their passes are also recorded as timeline spans
+ * Thread-safe, the engines of a batch share one recorder
+ * Single Responsibility: Record the timings of a run
+ */
+public class TimingRecorder {
+
+    /**
+     * Pass name of the total time spent on each class
+     */
+    public static final String CLASS_TOTAL = "total";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final PhaseTimer DISABLED = new PhaseTimer(null, null, null, null, null, null);
+
+    @Getter
+    private final boolean enabled;
+    @Getter
+    private final TraceRecorder trace;
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final Map<String, Pass> passes = new LinkedHashMap<>();
+
+    public TimingRecorder(final boolean enabled) {
+        this(enabled, null);
+    }
+
+    /**
+     * @param enabled Whether phase times and pass histograms are aggregated
+     * @param trace   Timeline to record spans to, null to not record a timeline
+     */
+    public TimingRecorder(final boolean enabled, final TraceRecorder trace) {
+        this.enabled = enabled;
+        this.trace = trace;
+    }
+
+    /**
+     * Starts timing a phase that covers all JARs, close the returned timer to record it
+     */
+    public PhaseTimer startPhase(final String name) {
+        return this.startPhase(name, "");
+    }
+
+    /**
+     * Starts timing a phase of a JAR, close the returned timer to record it
+     */
+    public PhaseTimer startPhase(final String name, final String jar) {
+        final JarPhaseEvent event = new JarPhaseEvent();
+        if (!event.isEnabled()) {
+            return this.enabled || this.trace != null
+                ? new PhaseTimer(this.enabled ? this.phase(name) : null, null, this.trace, name, "phase", jar) : DISABLED;
+        }
+        event.phase = name;
+        event.jar = jar;
+        event.begin();
+        return new PhaseTimer(this.enabled ? this.phase(name) : null, event, this.trace, name, "phase", jar);
+    }
+
+    /**
+     * Starts timing a small step that runs many times per phase, e.g. writing one entry, no JFR event is emitted
+     */
+    public PhaseTimer startStep(final String name) {
+        return this.startStep(name, null);
+    }
+
+    /**
+     * Starts timing a small step, the detail, e.g. the entry name, is only shown in the timeline
+     */
+    public PhaseTimer startStep(final String name, final String detail) {
+        return this.enabled || this.trace != null
+            ? new PhaseTimer(this.enabled ? this.phase(name) : null, null, this.trace, name, "step", detail) : DISABLED;
+    }
+
+    /**
+     * Starts a clock for the passes of one class, null when neither timings nor the timeline are recorded
+     */
+    public PassClock startClass(final String className) {
+        return this.enabled || this.trace != null ? new PassClock(this, className) : null;
+    }
+
+    void recordPass(final String name, final long wallNanos, final long cpuNanos) {
+        if (!this.enabled) {
+            return;
+        }
+        final Pass pass;
+        synchronized (this.passes) {
+            pass = this.passes.computeIfAbsent(name, key -> new Pass());
+        }
+        pass.add(wallNanos, cpuNanos);
+    }
+
+    private Phase phase(final String name) {
+        synchronized (this.phases) {
+            return this.phases.computeIfAbsent(name, key -> new Phase());
+        }
+    }
+
+    /**
+     * Phases in the order they first ran
+     */
+    public List<Map.Entry<String, Phase>> getPhases() {
+        synchronized (this.phases) {
+            return new ArrayList<>(this.phases.entrySet());
+        }
+    }
+
+    /**
+     * Per-class times of the passes in the order they were first seen
+     */
+    public List<Map.Entry<String, Pass>> getPasses() {
+        synchronized (this.passes) {
+            return new ArrayList<>(this.passes.entrySet());
+        }
+    }
+
+    static long currentThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * Accumulated wall-clock and CPU time of a phase, CPU time is the time of the thread that ran it
+     */
+    public static class Phase {
+
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder count = new LongAdder();
+
+        void add(final long wallNanos, final long cpuNanos) {
+            this.wallNanos.add(wallNanos);
+            this.cpuNanos.add(cpuNanos);
+            this.count.increment();
+        }
+
+        public long getWallNanos() {
+            return this.wallNanos.sum();
+        }
+
+        public long getCpuNanos() {
+            return this.cpuNanos.sum();
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+    }
+
+    /**
+     * Per-class wall-clock histogram of a pass and its CPU time summed over all classes and worker threads
+     */
+    public static class Pass {
+
+        @Getter
+        private final Histogram wallNanos = new Histogram();
+        private final LongAdder cpuNanos = new LongAdder();
+
+        void add(final long wallNanos, final long cpuNanos) {
+            this.wallNanos.record(wallNanos);
+            this.cpuNanos.add(cpuNanos);
+        }
+
+        public long getCpuNanos() {
+            return this.cpuNanos.sum();
+        }
+    }
+
+    /**
+     * Times one run of a phase, meant for try-with-resources
+     */
+    public static class PhaseTimer implements AutoCloseable {
+
+        private final Phase phase;
+        private final JarPhaseEvent event;
+        private final TraceRecorder trace;
+        private final String name;
+        private final String category;
+        private final String detail;
+        private final long wallStart;
+        private final long cpuStart;
+
+        PhaseTimer(final Phase phase, final JarPhaseEvent event, final TraceRecorder trace, final String name, final String category,
+                   final String detail) {
+            this.phase = phase;
+            this.event = event;
+            this.trace = trace;
+            this.name = name;
+            this.category = category;
+            this.detail = detail;
+            this.wallStart = phase != null || trace != null ? System.nanoTime() : 0;
+            this.cpuStart = phase != null ? currentThreadCpuTime() : 0;
+        }
+
+        @Override
+        public void close() {
+            if (this.phase != null || this.trace != null) {
+                final long wallEnd = System.nanoTime();
+                if (this.phase != null) {
+                    this.phase.add(wallEnd - this.wallStart, currentThreadCpuTime() - this.cpuStart);
+                }
+                if (this.trace != null) {
+                    this.trace.span(this.name, this.category, this.wallStart, wallEnd, this.detail);
+                }
+            }
+            if (this.event != null) {
+                this.event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.timing;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formats the timings of a run as a text table and writes them as a JSON report
+ * Phases report total wall-clock and CPU milliseconds, passes report per-class microsecond percentiles and total CPU milliseconds
+ * Single Responsibility: Present recorded timings
+ */
+public final class TimingReport {
+
+    /**
+     * Returns the timing report path next to the output JAR, e.g. app.jar -> app_timings.json
+     */
+    public static String reportPath(final String outputPath) {
+        return outputPath.endsWith(".jar")
+            ? outputPath.substring(0, outputPath.length() - 4) + "_timings.json"
+            : outputPath + "_timings.json";
+    }
+
+    /**
+     * Human-readable summary, one line per phase and per pass
+     */
+    public static String format(final TimingRecorder recorder) {
+        final StringBuilder builder = new StringBuilder("Timings (phase cpu covers the thread that ran the phase, pass cpu sums the workers):");
+        for (final Map.Entry<String, TimingRecorder.Phase> entry : recorder.getPhases()) {
+            final TimingRecorder.Phase phase = entry.getValue();
+            builder.append(String.format(Locale.ROOT, "%n  phase %-28s wall %10.1f ms  cpu %10.1f ms",
+                entry.getKey(), millis(phase.getWallNanos()), millis(phase.getCpuNanos())));
+        }
+        for (final Map.Entry<String, TimingRecorder.Pass> entry : recorder.getPasses()) {
+            final Histogram histogram = entry.getValue().getWallNanos();
+            builder.append(String.format(Locale.ROOT,
+                "%n  pass  %-28s total %9.1f ms  cpu %9.1f ms  p50 %8.1f us  p99 %8.1f us  max %8.1f us  (%d classes)",
+                entry.getKey(), millis(histogram.getTotal()), millis(entry.getValue().getCpuNanos()),
+                micros(histogram.getPercentile(0.5)), micros(histogram.getPercentile(0.99)), micros(histogram.getMax()),
+                histogram.getCount()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the report as JSON
+     */
+    public static void writeJson(final TimingRecorder recorder, final Path reportPath) throws IOException {
+        try (final Writer out = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8);
+             final JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("phases");
+            writer.beginObject();
+            for (final Map.Entry<String, TimingRecorder.Phase> entry : recorder.getPhases()) {
+                final TimingRecorder.Phase phase = entry.getValue();
+                writer.name(entry.getKey());
+                writer.beginObject();
+                writer.name("count").value(phase.getCount());
+                writer.name("wallMillis").value(millis(phase.getWallNanos()));
+                writer.name("cpuMillis").value(millis(phase.getCpuNanos()));
+                writer.endObject();
+            }
+            writer.endObject();
+            writer.name("passes");
+            writer.beginObject();
+            for (final Map.Entry<String, TimingRecorder.Pass> entry : recorder.getPasses()) {
+                final Histogram histogram = entry.getValue().getWallNanos();
+                writer.name(entry.getKey());
+                writer.beginObject();
+                writer.name("classes").value(histogram.getCount());
+                writer.name("totalMillis").value(millis(histogram.getTotal()));
+                writer.name("cpuMillis").value(millis(entry.getValue().getCpuNanos()));
+                writer.name("meanMicros").value(micros(histogram.getMean()));
+                writer.name("p50Micros").value(micros(histogram.getPercentile(0.5)));
+                writer.name("p90Micros").value(micros(histogram.getPercentile(0.9)));
+                writer.name("p99Micros").value(micros(histogram.getPercentile(0.99)));
+                writer.name("maxMicros").value(micros(histogram.getMax()));
+                writer.endObject();
+            }
+            writer.endObject();
+            writer.endObject();
+        }
+    }
+
+    private static double millis(final long nanos) {
+        return Math.round(nanos / 1e5) / 10.0;
+    }
+
+    private static double micros(final long nanos) {
+        return Math.round(nanos / 1e2) / 10.0;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.timing;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records spans per thread and exports them in the Chrome trace-event format (chrome://tracing, Perfetto)
+ * Every thread appends to its own buffer without locks or shared writes, buffers are only read by the export,
+ * which must run after the recording threads have finished, e.g. after their futures completed
+ * Single Responsibility: Record and export a timeline of a run
+ */
+public class TraceRecorder {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final long originNanos = System.nanoTime();
+    private final Queue<ThreadBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadBuffer> localBuffer = ThreadLocal.withInitial(this::newBuffer);
+
+    /**
+     * Records a span of the current thread
+     *
+     * @param name       Span name, e.g. a phase or pass name
+     * @param category   Span category, e.g. "phase" or "pass"
+     * @param startNanos Start time from {@link System#nanoTime()}
+     * @param endNanos   End time from {@link System#nanoTime()}
+     * @param detail     Optional detail shown in the span arguments, may be null
+     */
+    public void span(final String name, final String category, final long startNanos, final long endNanos, final String detail) {
+        this.localBuffer.get().add(name, category, startNanos - this.originNanos, endNanos - startNanos, detail);
+    }
+
+    /**
+     * Writes all recorded spans as a Chrome trace-event JSON file
+     */
+    public void writeJson(final Path tracePath) throws IOException {
+        try (final JsonWriter writer = new JsonWriter(new BufferedWriter(Files.newBufferedWriter(tracePath, StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            writer.beginObject();
+            writer.name("displayTimeUnit").value("ms");
+            writer.name("traceEvents");
+            writer.beginArray();
+            for (final ThreadBuffer buffer : this.buffers) {
+                writer.beginObject();
+                writer.name("name").value("thread_name");
+                writer.name("ph").value("M");
+                writer.name("pid").value(1);
+                writer.name("tid").value(buffer.threadId);
+                writer.name("args");
+                writer.beginObject();
+                writer.name("name").value(buffer.threadName);
+                writer.endObject();
+                writer.endObject();
+                for (int i = 0; i < buffer.size; i++) {
+                    writer.beginObject();
+                    writer.name("name").value(buffer.names[i]);
+                    writer.name("cat").value(buffer.categories[i]);
+                    writer.name("ph").value("X");
+                    writer.name("ts").value(buffer.starts[i] / 1000.0);
+                    writer.name("dur").value(buffer.durations[i] / 1000.0);
+                    writer.name("pid").value(1);
+                    writer.name("tid").value(buffer.threadId);
+                    if (buffer.details[i] != null) {
+                        writer.name("args");
+                        writer.beginObject();
+                        writer.name("detail").value(buffer.details[i]);
+                        writer.endObject();
+                    }
+                    writer.endObject();
+                }
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+
+    /**
+     * Returns the trace path next to the output JAR, e.g. app.jar -> app_trace.json
+     */
+    public static String tracePath(final String outputPath) {
+        return outputPath.endsWith(".jar")
+            ? outputPath.substring(0, outputPath.length() - 4) + "_trace.json"
+            : outputPath + "_trace.json";
+    }
+
+    private ThreadBuffer newBuffer() {
+        final ThreadBuffer buffer = new ThreadBuffer(Thread.currentThread());
+        this.buffers.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Spans of one thread as parallel arrays, only written by that thread
+     */
+    private static final class ThreadBuffer {
+
+        private final long threadId;
+        private final String threadName;
+        private String[] names = new String[256];
+        private String[] categories = new String[256];
+        private String[] details = new String[256];
+        private long[] starts = new long[256];
+        private long[] durations = new long[256];
+        private int size;
+
+        private ThreadBuffer(final Thread thread) {
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+        }
+
+        private void add(final String name, final String category, final long start, final long duration, final String detail) {
+            if (this.size == this.names.length) {
+                final int capacity = this.size * 2;
+                this.names = Arrays.copyOf(this.names, capacity);
+                this.categories = Arrays.copyOf(this.categories, capacity);
+                this.details = Arrays.copyOf(this.details, capacity);
+                this.starts = Arrays.copyOf(this.starts, capacity);
+                this.durations = Arrays.copyOf(this.durations, capacity);
+            }
+            this.names[this.size] = name;
+            this.categories[this.size] = category;
+            this.details[this.size] = detail;
+            this.starts[this.size] = start;
+            this.durations[this.size] = duration;
+            this.size++;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.retrace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deobfuscates collapsed stacks ("frame;frame;frame count"), the input of flame graph tools
+ * Frames may use dotted or internal class names, async-profiler suffixes such as "_[j]" and signatures are kept,
+ * class names inside signatures are deobfuscated too
+ * Not thread-safe, use one instance per stream
+ * Single Responsibility: Deobfuscate collapsed stack files line by line
+ */
+public class CollapsedStackDeobfuscator {
+
+    private static final int MAX_CACHED_FRAMES = 1 << 16;
+
+    private final FrameDeobfuscator frameDeobfuscator;
+    // The same frames appear in thousands of stacks, each is translated once
+    private final Map<String, String> frameCache = new HashMap<>();
+
+    public CollapsedStackDeobfuscator(final RetraceIndex index) {
+        this.frameDeobfuscator = new FrameDeobfuscator(index);
+    }
+
+    /**
+     * Deobfuscates every line of a stream, the writer is flushed but not closed
+     */
+    public void deobfuscate(final BufferedReader reader, final Writer writer) throws IOException {
+        final StringBuilder builder = new StringBuilder(256);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            builder.setLength(0);
+            this.deobfuscateLine(line, builder);
+            writer.append(builder).write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Appends the deobfuscated line to the builder
+     */
+    public void deobfuscateLine(final String line, final StringBuilder builder) {
+        final int space = line.lastIndexOf(' ');
+        final int stackEnd = space < 0 ? line.length() : space;
+        int frameStart = 0;
+        while (frameStart <= stackEnd) {
+            final int frameEnd = frameEnd(line, frameStart, stackEnd);
+            if (frameStart > 0) {
+                builder.append(';');
+            }
+            builder.append(this.deobfuscateFrame(line.substring(frameStart, frameEnd)));
+            frameStart = frameEnd + 1;
+        }
+        builder.append(line, stackEnd, line.length());
+    }
+
+    /**
+     * Finds the ';' ending a frame, skipping the ones that terminate class names inside a signature
+     */
+    private static int frameEnd(final String line, final int frameStart, final int stackEnd) {
+        boolean inSignature = false;
+        for (int i = frameStart; i < stackEnd; i++) {
+            final char c = line.charAt(i);
+            if (c == '(') {
+                inSignature = true;
+            } else if (c == ')') {
+                inSignature = false;
+            } else if (c == ';' && !inSignature) {
+                return i;
+            }
+        }
+        return stackEnd;
+    }
+
+    /**
+     * Deobfuscates a single frame, e.g. "com/acme/a2.a5_[j]" or "com.acme.a2.a5(I)V"
+     */
+    public String deobfuscateFrame(final String frame) {
+        String translated = this.frameCache.get(frame);
+        if (translated == null) {
+            translated = this.translateFrame(frame);
+            if (this.frameCache.size() >= MAX_CACHED_FRAMES) {
+                this.frameCache.clear();
+            }
+            this.frameCache.put(frame, translated);
+        }
+        return translated;
+    }
+
+    private String translateFrame(final String frame) {
+        int nameEnd = frame.length();
+        final int suffix = frame.lastIndexOf("_[");
+        if (suffix > 0 && frame.endsWith("]")) {
+            nameEnd = suffix;
+        }
+        final int paren = frame.indexOf('(');
+        if (paren > 0 && paren < nameEnd) {
+            nameEnd = paren;
+        }
+        final int dot = frame.lastIndexOf('.', nameEnd - 1);
+        if (dot <= 0 || dot == nameEnd - 1) {
+            return frame;
+        }
+        final String obfuscatedClassName = frame.substring(0, dot);
+        final String obfuscatedMethodName = frame.substring(dot + 1, nameEnd);
+        final String className = this.frameDeobfuscator.deobfuscateClass(obfuscatedClassName, null);
+        final String methodName = this.frameDeobfuscator.deobfuscateMethod(obfuscatedClassName, obfuscatedMethodName);
+        final String rest = paren == nameEnd ? this.deobfuscateSignature(frame.substring(nameEnd)) : frame.substring(nameEnd);
+        if (className == obfuscatedClassName && methodName == obfuscatedMethodName && rest.equals(frame.substring(nameEnd))) {
+            return frame;
+        }
+        return className + '.' + methodName + rest;
+    }
+
+    /**
+     * Deobfuscates the class names of "Lpkg/Cls;" references in a signature
+     */
+    private String deobfuscateSignature(final String signature) {
+        final StringBuilder builder = new StringBuilder(signature.length());
+        int position = 0;
+        while (position < signature.length()) {
+            final char c = signature.charAt(position);
+            final int end = c == 'L' ? signature.indexOf(';', position) : -1;
+            if (end < 0) {
+                builder.append(c);
+                position++;
+                continue;
+            }
+            builder.append('L').append(this.frameDeobfuscator.deobfuscateClass(signature.substring(position + 1, end), null)).append(';');
+            position = end + 1;
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.retrace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates the class and method name of a stack frame back to the original names
+ * Class names may be dotted or internal names and are returned in the same notation
+ * Ambiguous names are narrowed by the source file and by collapsing overloads, remaining candidates are joined with '|'
+ * Single Responsibility: Deobfuscate single frames for the retrace and profile tools
+ */
+public class FrameDeobfuscator {
+
+    private final RetraceIndex index;
+
+    public FrameDeobfuscator(final RetraceIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * @param className  Obfuscated class name, dotted or internal
+     * @param sourceFile Source file of the frame, e.g. "Main.java", or null if unknown
+     * @return Original class name, or the same instance if the class is not mapped
+     */
+    public String deobfuscateClass(final String className, final String sourceFile) {
+        final boolean internal = className.indexOf('/') >= 0;
+        final List<String> classNames = narrowBySourceFile(
+            this.index.getOriginalClassNames(internal ? className : className.replace('.', '/')), sourceFile);
+        if (classNames.isEmpty()) {
+            return className;
+        }
+        final StringBuilder builder = new StringBuilder(className.length() + 16);
+        for (int i = 0; i < classNames.size(); i++) {
+            if (i > 0) {
+                builder.append('|');
+            }
+            builder.append(internal ? classNames.get(i) : classNames.get(i).replace('/', '.'));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param className  Obfuscated owner class name, dotted or internal
+     * @param methodName Obfuscated method name
+     * @return Original method name, or the same instance if the method is not mapped
+     */
+    public String deobfuscateMethod(final String className, final String methodName) {
+        final List<String> methodKeys = this.index.getOriginalMethodKeys(className.replace('.', '/'), methodName);
+        if (methodKeys.isEmpty()) {
+            return methodName;
+        }
+        final List<String> methodNames = new ArrayList<>(1);
+        for (final String methodKey : methodKeys) {
+            final int paren = methodKey.indexOf('(');
+            final String name = paren < 0 ? methodKey : methodKey.substring(0, paren);
+            // Overloads cannot be told apart in a frame, so they collapse into one name
+            if (!methodNames.contains(name)) {
+                methodNames.add(name);
+            }
+        }
+        return String.join("|", methodNames);
+    }
+
+    /**
+     * Keeps the classes whose outermost simple name matches the frame's source file, if any does
+     */
+    private static List<String> narrowBySourceFile(final List<String> classNames, final String sourceFile) {
+        if (classNames.size() < 2 || sourceFile == null) {
+            return classNames;
+        }
+        final int extension = sourceFile.indexOf('.');
+        if (extension <= 0) {
+            return classNames;
+        }
+        final String sourceName = sourceFile.substring(0, extension);
+        final List<String> matching = new ArrayList<>(1);
+        for (final String className : classNames) {
+            final int simpleStart = className.lastIndexOf('/') + 1;
+            final int nested = className.indexOf('$', simpleStart);
+            final String outerName = nested < 0 ? className.substring(simpleStart) : className.substring(simpleStart, nested);
+            if (outerName.equals(sourceName)) {
+                matching.add(className);
+            }
+        }
+        return matching.isEmpty() ? classNames : matching;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.retrace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Exports the stack traces of a JFR recording as deobfuscated collapsed stacks for flame graph tools
+ * Events are streamed one at a time, only the distinct stacks and their counts are kept in memory
+ * Single Responsibility: Turn JFR stack samples into deobfuscated collapsed stacks
+ */
+public class JfrStackExporter {
+
+    public static final Set<String> DEFAULT_EVENT_TYPES = Set.of("jdk.ExecutionSample", "jdk.NativeMethodSample");
+
+    private final FrameDeobfuscator frameDeobfuscator;
+    // Map: obfuscated "class.method" -> deobfuscated frame
+    private final Map<String, String> frameCache = new HashMap<>();
+
+    public JfrStackExporter(final RetraceIndex index) {
+        this.frameDeobfuscator = new FrameDeobfuscator(index);
+    }
+
+    /**
+     * Writes one "frame;frame;frame count" line per distinct stack, root frame first
+     *
+     * @param recording  JFR recording
+     * @param eventTypes Names of the events whose stack traces are exported
+     * @param writer     Output, flushed but not closed
+     * @return Number of exported events
+     */
+    public long export(final Path recording, final Set<String> eventTypes, final Writer writer) throws IOException {
+        final Map<String, Long> stacks = new HashMap<>();
+        final StringBuilder builder = new StringBuilder(512);
+        long events = 0;
+        try (final RecordingFile recordingFile = new RecordingFile(recording)) {
+            while (recordingFile.hasMoreEvents()) {
+                final RecordedEvent event = recordingFile.readEvent();
+                final RecordedStackTrace stackTrace = event.getStackTrace();
+                if (stackTrace == null || !eventTypes.contains(event.getEventType().getName())) {
+                    continue;
+                }
+                builder.setLength(0);
+                final List<RecordedFrame> frames = stackTrace.getFrames();
+                for (int i = frames.size() - 1; i >= 0; i--) {
+                    if (builder.length() > 0) {
+                        builder.append(';');
+                    }
+                    builder.append(this.deobfuscateFrame(frames.get(i).getMethod()));
+                }
+                stacks.merge(builder.toString(), 1L, Long::sum);
+                events++;
+            }
+        }
+        for (final Map.Entry<String, Long> stack : stacks.entrySet()) {
+            writer.append(stack.getKey()).append(' ').append(String.valueOf(stack.getValue())).write('\n');
+        }
+        writer.flush();
+        return events;
+    }
+
+    private String deobfuscateFrame(final RecordedMethod method) {
+        final String className = method.getType().getName();
+        final String methodName = method.getName();
+        return this.frameCache.computeIfAbsent(className + '.' + methodName, k ->
+            this.frameDeobfuscator.deobfuscateClass(className, null) + '.' + this.frameDeobfuscator.deobfuscateMethod(className, methodName));
+    }
+}
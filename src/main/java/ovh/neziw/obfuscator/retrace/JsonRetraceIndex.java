@@ -0,0 +1,74 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.retrace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import ovh.neziw.obfuscator.obfuscator.mappings.MappingsReader;
+import ovh.neziw.obfuscator.obfuscator.mappings.ObfuscationMappings;
+
+/**
+ * Retrace index built from JSON mappings, the file is streamed and only classes and methods are kept
+ */
+public class JsonRetraceIndex implements RetraceIndex {
+
+    private final Map<String, List<String>> originalClassNames = new HashMap<>();
+    // Map: obfuscatedClassName + '.' + obfuscatedMethodName -> original method keys
+    private final Map<String, List<String>> originalMethodKeys = new HashMap<>();
+
+    private JsonRetraceIndex() {
+    }
+
+    public static JsonRetraceIndex load(final Path mappingsPath) throws IOException {
+        final ObfuscationMappings mappings = MappingsReader.read(mappingsPath, Set.of("classes", "methods"));
+        final Map<String, String> classNameMap = mappings.getClassNameMap();
+        final JsonRetraceIndex index = new JsonRetraceIndex();
+        for (final Map.Entry<String, String> entry : classNameMap.entrySet()) {
+            index.originalClassNames.computeIfAbsent(entry.getValue(), k -> new ArrayList<>(1)).add(entry.getKey());
+        }
+        for (final Map.Entry<String, Map<String, String>> classEntry : mappings.getMethodNameMap().entrySet()) {
+            final String obfuscatedOwner = classNameMap.getOrDefault(classEntry.getKey(), classEntry.getKey());
+            for (final Map.Entry<String, String> methodEntry : classEntry.getValue().entrySet()) {
+                index.originalMethodKeys.computeIfAbsent(obfuscatedOwner + '.' + methodEntry.getValue(), k -> new ArrayList<>(1))
+                    .add(methodEntry.getKey());
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public List<String> getOriginalClassNames(final String obfuscatedClassName) {
+        return this.originalClassNames.getOrDefault(obfuscatedClassName, List.of());
+    }
+
+    @Override
+    public List<String> getOriginalMethodKeys(final String obfuscatedClassName, final String obfuscatedMethodName) {
+        return this.originalMethodKeys.getOrDefault(obfuscatedClassName + '.' + obfuscatedMethodName, List.of());
+    }
+}
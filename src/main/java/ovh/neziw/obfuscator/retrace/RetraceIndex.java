@@ -0,0 +1,55 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.retrace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Reverse lookups from obfuscated to original names, built once from a mappings file
+ * Class names are internal names (e.g. "com/example/Test")
+ */
+public interface RetraceIndex {
+
+    /**
+     * Loads an index from a mappings file, .bin files are memory-mapped, .json and .json.gz files are streamed
+     */
+    static RetraceIndex load(final Path mappingsPath) throws IOException {
+        if (mappingsPath.getFileName().toString().endsWith(".bin")) {
+            return new BinaryRetraceIndex(mappingsPath);
+        }
+        return JsonRetraceIndex.load(mappingsPath);
+    }
+
+    /**
+     * @return Original names of an obfuscated class, empty if the class is not mapped
+     */
+    List<String> getOriginalClassNames(String obfuscatedClassName);
+
+    /**
+     * @return Original method keys ("name(descriptor)") of an obfuscated method, empty if the method is not mapped
+     */
+    List<String> getOriginalMethodKeys(String obfuscatedClassName, String obfuscatedMethodName);
+}
@@ -0,0 +1,310 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.retrace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns obfuscated stack traces back into readable ones
+ * Recognises stack frames ("at a.b.C.m(File.java:12)", with optional module or class loader prefix) and exception class
+ * names at the start of a line, after "Caused by: ", "Suppressed: " or "Exception in thread ...", other lines pass unchanged
+ * Ambiguous names are narrowed by the source file of the frame and by collapsing overloads, the remaining
+ * candidates are printed separated by '|'
+ * Not thread-safe, use one instance per stream
+ * Single Responsibility: Retrace log lines with a retrace index
+ */
+public class Retracer {
+
+    private static final int MAX_CACHED_FRAMES = 1 << 16;
+    private static final String[] EXCEPTION_PREFIXES = {"Caused by: ", "Suppressed: "};
+    private static final byte[][] LINE_PREFIXES = {
+        "at ".getBytes(StandardCharsets.US_ASCII),
+        "Caused by: ".getBytes(StandardCharsets.US_ASCII),
+        "Suppressed: ".getBytes(StandardCharsets.US_ASCII),
+        "Exception in thread \"".getBytes(StandardCharsets.US_ASCII)
+    };
+
+    private static final byte[] UNCHANGED = new byte[0];
+
+    private final FrameDeobfuscator frameDeobfuscator;
+    // Log pipelines repeat the same frames over and over, so translated frames are cached by their text
+    private final Map<String, String> frameCache = new HashMap<>();
+    // Same for the byte stream, where a hit also skips decoding and encoding the line
+    private final Map<LineKey, byte[]> lineCache = new HashMap<>();
+    private final LineKey probe = new LineKey();
+
+    public Retracer(final RetraceIndex index) {
+        this.frameDeobfuscator = new FrameDeobfuscator(index);
+    }
+
+    /**
+     * Retraces every line of a stream, the writer is flushed but not closed
+     */
+    public void retrace(final BufferedReader reader, final Writer writer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            writer.write(this.retraceLine(line));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Retraces a UTF-8 byte stream, the output is flushed but not closed
+     * Lines that cannot contain a stack frame or exception class are copied as bytes without being decoded,
+     * which keeps the filter fast on logs that are mostly ordinary lines
+     */
+    public void retrace(final InputStream in, final OutputStream out) throws IOException {
+        byte[] buffer = new byte[1 << 16];
+        int length = 0;
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) >= 0) {
+            length += read;
+            // Unchanged lines are written in one run, up to the next retraced line
+            int copyStart = 0;
+            int lineStart = 0;
+            for (int i = length - read; i < length; i++) {
+                if (buffer[i] == '\n') {
+                    final byte[] retraced = this.retraceLine(buffer, lineStart, i);
+                    if (retraced != null) {
+                        out.write(buffer, copyStart, lineStart - copyStart);
+                        out.write(retraced);
+                        copyStart = i;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            out.write(buffer, copyStart, lineStart - copyStart);
+            length -= lineStart;
+            System.arraycopy(buffer, lineStart, buffer, 0, length);
+            if (length == buffer.length) {
+                // A single line longer than the buffer
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        if (length > 0) {
+            final byte[] retraced = this.retraceLine(buffer, 0, length);
+            out.write(retraced != null ? retraced : Arrays.copyOf(buffer, length));
+        }
+        out.flush();
+    }
+
+    /**
+     * @return The retraced line as UTF-8 bytes, or null if the line is unchanged
+     */
+    private byte[] retraceLine(final byte[] buffer, final int start, final int end) {
+        if (!mayNeedRetrace(buffer, start, end)) {
+            return null;
+        }
+        final byte[] cached = this.lineCache.get(this.probe.set(buffer, start, end));
+        if (cached != null) {
+            return cached == UNCHANGED ? null : cached;
+        }
+        final String line = new String(buffer, start, end - start, StandardCharsets.UTF_8);
+        final String retraced = this.retraceLine(line);
+        final byte[] result = retraced == line ? UNCHANGED : retraced.getBytes(StandardCharsets.UTF_8);
+        if (this.lineCache.size() >= MAX_CACHED_FRAMES) {
+            this.lineCache.clear();
+        }
+        this.lineCache.put(new LineKey().set(Arrays.copyOfRange(buffer, start, end), 0, end - start), result);
+        return result == UNCHANGED ? null : result;
+    }
+
+    /**
+     * Cheap byte-level pre-check mirroring {@link #retraceLine(String)}, false only if that would return the line unchanged
+     */
+    private static boolean mayNeedRetrace(final byte[] buffer, final int start, final int end) {
+        int position = start;
+        while (position < end && buffer[position] >= 0 && buffer[position] <= ' ') {
+            position++;
+        }
+        if (position == end) {
+            return false;
+        }
+        for (final byte[] prefix : LINE_PREFIXES) {
+            if (end - position >= prefix.length && Arrays.equals(buffer, position, position + prefix.length, prefix, 0, prefix.length)) {
+                return true;
+            }
+        }
+        boolean qualified = false;
+        int tokenEnd = position;
+        while (tokenEnd < end) {
+            final byte b = buffer[tokenEnd];
+            if (b == '.') {
+                qualified = true;
+            } else if (!(b < 0 || b == '_' || b == '$' || (b >= '0' && b <= '9') || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z'))) {
+                break;
+            }
+            tokenEnd++;
+        }
+        if (tokenEnd == position) {
+            return false;
+        }
+        // Non-ASCII bytes are left to the exact check on the decoded line
+        if (tokenEnd == end) {
+            return qualified;
+        }
+        final byte next = buffer[tokenEnd];
+        return next == ':' || (qualified && next >= 0 && next <= ' ');
+    }
+
+    /**
+     * Retraces one log line, returns the same instance if nothing was translated
+     */
+    public String retraceLine(final String line) {
+        int start = 0;
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        if (start == line.length()) {
+            return line;
+        }
+        if (line.startsWith("at ", start)) {
+            return this.retraceFrame(line, start + 3);
+        }
+        for (final String prefix : EXCEPTION_PREFIXES) {
+            if (line.startsWith(prefix, start)) {
+                return this.retraceClassToken(line, start + prefix.length(), false);
+            }
+        }
+        if (line.startsWith("Exception in thread \"", start)) {
+            final int end = line.indexOf("\" ", start + 21);
+            return end < 0 ? line : this.retraceClassToken(line, end + 2, false);
+        }
+        return this.retraceClassToken(line, start, true);
+    }
+
+    private String retraceFrame(final String line, final int start) {
+        final int open = line.indexOf('(', start);
+        if (open < 0) {
+            return line;
+        }
+        final int close = line.indexOf(')', open);
+        final int end = close < 0 ? line.length() : close;
+        final String frame = line.substring(start, end);
+        String translated = this.frameCache.get(frame);
+        if (translated == null) {
+            translated = this.translateFrame(frame, open - start);
+            if (this.frameCache.size() >= MAX_CACHED_FRAMES) {
+                this.frameCache.clear();
+            }
+            this.frameCache.put(frame, translated);
+        }
+        if (translated == frame) {
+            return line;
+        }
+        return line.substring(0, start) + translated + line.substring(end);
+    }
+
+    /**
+     * Translates "[prefix/]pkg.Cls.method(Source.java:12" where open is the index of '('
+     */
+    private String translateFrame(final String frame, final int open) {
+        final String qualified = frame.substring(0, open);
+        if (qualified.indexOf(' ') >= 0) {
+            return frame;
+        }
+        final int slash = qualified.lastIndexOf('/');
+        final int dot = qualified.lastIndexOf('.');
+        if (dot <= slash + 1 || dot == qualified.length() - 1) {
+            return frame;
+        }
+        final String obfuscatedClassName = qualified.substring(slash + 1, dot);
+        final String obfuscatedMethodName = qualified.substring(dot + 1);
+        final int colon = frame.indexOf(':', open);
+        final String sourceFile = frame.substring(open + 1, colon < 0 ? frame.length() : colon);
+
+        final String className = this.frameDeobfuscator.deobfuscateClass(obfuscatedClassName, sourceFile);
+        final String methodName = this.frameDeobfuscator.deobfuscateMethod(obfuscatedClassName, obfuscatedMethodName);
+        if (className == obfuscatedClassName && methodName == obfuscatedMethodName) {
+            return frame;
+        }
+        return qualified.substring(0, slash + 1) + className + '.' + methodName + frame.substring(open);
+    }
+
+    /**
+     * Translates the class name starting at start, e.g. the exception class in "a.b.C: message"
+     * Without a known prefix the token must be qualified or followed by ':', so plain words are left alone
+     */
+    private String retraceClassToken(final String line, final int start, final boolean strict) {
+        int end = start;
+        while (end < line.length() && (Character.isJavaIdentifierPart(line.charAt(end)) || line.charAt(end) == '.')) {
+            end++;
+        }
+        if (end == start || (end < line.length() && line.charAt(end) != ':' && !Character.isWhitespace(line.charAt(end)))) {
+            return line;
+        }
+        final String token = line.substring(start, end);
+        if (strict && token.indexOf('.') < 0 && (end == line.length() || line.charAt(end) != ':')) {
+            return line;
+        }
+        final String className = this.frameDeobfuscator.deobfuscateClass(token, null);
+        if (className == token) {
+            return line;
+        }
+        return line.substring(0, start) + className + line.substring(end);
+    }
+
+    /**
+     * A line as a byte range, so the cache can be probed without copying the line
+     */
+    private static final class LineKey {
+
+        private byte[] bytes;
+        private int start;
+        private int end;
+        private int hash;
+
+        LineKey set(final byte[] bytes, final int start, final int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            this.hash = hash;
+            return this;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof final LineKey other && other.hash == this.hash
+                && Arrays.equals(this.bytes, this.start, this.end, other.bytes, other.start, other.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ovh.neziw.obfuscator.config.JsonConfig;
+
+/**
+ * Names must not depend on how the transform workers are scheduled: two parallel runs on the same input give the same bytes
+ * Uses the Gson JAR of the class path as input. The string, flow and method order passes are randomized on purpose
+ * and left out
+ */
+class JarProcessorDeterminismTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void parallelRunsProduceIdenticalJarsAndMappings() throws Exception {
+        final Path input = gsonJar();
+        final Path first = this.obfuscate(input, "first");
+        final Path second = this.obfuscate(input, "second");
+        assertArrayEquals(Files.readAllBytes(first.resolve("out.jar")), Files.readAllBytes(second.resolve("out.jar")),
+            "obfuscated JARs differ");
+        assertArrayEquals(Files.readAllBytes(first.resolve("out_mappings.json")), Files.readAllBytes(second.resolve("out_mappings.json")),
+            "JSON mappings differ");
+        assertArrayEquals(Files.readAllBytes(first.resolve("out_mappings.bin")), Files.readAllBytes(second.resolve("out_mappings.bin")),
+            "binary mappings differ");
+    }
+
+    private Path obfuscate(final Path input, final String name) throws IOException {
+        final Path outputDir = Files.createDirectories(this.workDir.resolve(name));
+        final JsonConfig config = new JsonConfig();
+        config.setInclude(List.of("com.google.gson.*"));
+        config.setObfuscateClassNames(true);
+        config.setObfuscatePackages(true);
+        config.setObfuscateVariables(true);
+        config.setObfuscateMethodNames(true);
+        config.setGenerateMappings(true);
+        config.setBinaryMappings(true);
+        config.setTransformThreads(4);
+        new JarProcessor(config).processJar(input.toString(), outputDir.resolve("out.jar").toString());
+        assertTrue(Files.size(outputDir.resolve("out.jar")) > 0, "no output JAR");
+        return outputDir;
+    }
+
+    private static Path gsonJar() throws URISyntaxException {
+        return Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lookups, per owner counts and the reverse index of the compact pair store
+ */
+class SymbolPairMapTest {
+
+    @Test
+    void keepsEntriesPerOwner() {
+        final SymbolPairMap map = new SymbolPairMap();
+        assertEquals(-1, map.put(1, 10, 100));
+        assertEquals(-1, map.put(1, 11, 101));
+        assertEquals(-1, map.put(2, 10, 200));
+        assertEquals(100, map.put(1, 10, 102));
+        assertEquals(102, map.putIfAbsent(1, 10, 103));
+        assertEquals(102, map.get(1, 10));
+        assertEquals(200, map.get(2, 10));
+        assertEquals(-1, map.get(3, 10));
+        assertTrue(map.containsOwner(2));
+        assertFalse(map.containsOwner(3));
+        assertEquals(2, map.ownerCount());
+        assertArrayEquals(new long[] {pack(10, 102), pack(11, 101)}, map.entriesOf(1));
+    }
+
+    @Test
+    void countsEntriesOfAnOwner() {
+        final SymbolPairMap map = new SymbolPairMap();
+        for (int name = 0; name < 1_000; name++) {
+            map.put(SymbolPairMap.NO_OWNER, name, name);
+            map.put(name % 3, name, name);
+        }
+        // Replacing a value does not add an entry
+        map.put(SymbolPairMap.NO_OWNER, 5, 6);
+        assertEquals(1_000, map.sizeOf(SymbolPairMap.NO_OWNER));
+        assertEquals(334, map.sizeOf(0));
+        assertEquals(333, map.sizeOf(2));
+        assertEquals(0, map.sizeOf(7));
+        assertEquals(333, map.entriesOf(2).length);
+    }
+
+    @Test
+    void findsNamesByValue() {
+        for (final boolean reverseIndexed : new boolean[] {false, true}) {
+            final SymbolPairMap map = new SymbolPairMap(reverseIndexed);
+            for (int name = 0; name < 5_000; name++) {
+                map.put(SymbolPairMap.NO_OWNER, name, name + 100_000);
+                map.put(1, name, name + 100_000);
+            }
+            assertEquals(4_321, map.findName(SymbolPairMap.NO_OWNER, 104_321));
+            assertEquals(4_321, map.findName(1, 104_321));
+            assertEquals(-1, map.findName(2, 104_321));
+            assertEquals(-1, map.findName(SymbolPairMap.NO_OWNER, 42));
+            // A replaced value is no longer found, the new one is
+            map.put(SymbolPairMap.NO_OWNER, 4_321, 42);
+            assertEquals(-1, map.findName(SymbolPairMap.NO_OWNER, 104_321));
+            assertEquals(4_321, map.findName(SymbolPairMap.NO_OWNER, 42));
+        }
+    }
+
+    @Test
+    void survivesManyReplacedValues() {
+        final SymbolPairMap map = new SymbolPairMap(true);
+        for (int round = 0; round < 200; round++) {
+            for (int name = 0; name < 100; name++) {
+                map.put(SymbolPairMap.NO_OWNER, name, round * 1_000 + name);
+            }
+        }
+        assertEquals(100, map.sizeOf(SymbolPairMap.NO_OWNER));
+        for (int name = 0; name < 100; name++) {
+            assertEquals(name, map.findName(SymbolPairMap.NO_OWNER, 199_000 + name));
+            assertEquals(-1, map.findName(SymbolPairMap.NO_OWNER, 198_000 + name));
+        }
+    }
+
+    @Test
+    void clearsEverything() {
+        final SymbolPairMap map = new SymbolPairMap(true);
+        map.put(SymbolPairMap.NO_OWNER, 1, 2);
+        map.put(3, 4, 5);
+        map.clear();
+        assertEquals(0, map.ownerCount());
+        assertEquals(0, map.sizeOf(SymbolPairMap.NO_OWNER));
+        assertEquals(-1, map.get(3, 4));
+        assertEquals(-1, map.findName(SymbolPairMap.NO_OWNER, 2));
+        map.put(SymbolPairMap.NO_OWNER, 1, 7);
+        assertEquals(1, map.findName(SymbolPairMap.NO_OWNER, 7));
+        assertEquals(1, map.sizeOf(SymbolPairMap.NO_OWNER));
+    }
+
+    @Test
+    void concurrentPutsKeepEveryEntry() throws Exception {
+        final SymbolPairMap map = new SymbolPairMap(true);
+        final int threads = 8;
+        final int perThread = 10_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int owner = t % 2 == 0 ? SymbolPairMap.NO_OWNER : t;
+                final int base = t * perThread;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        map.put(owner, base + i, base + i + 1);
+                        // Reads race with the other writers
+                        assertEquals(base + i + 1, map.get(owner, base + i));
+                        assertEquals(base + i, map.findName(owner, base + i + 1));
+                        // All threads compute the same shared entries, only one value may win
+                        map.computeIfAbsent(-2, i, () -> owner == SymbolPairMap.NO_OWNER ? 0 : owner);
+                    }
+                }));
+            }
+            for (final Future<?> result : results) {
+                result.get();
+            }
+            assertEquals(perThread * threads / 2, map.sizeOf(SymbolPairMap.NO_OWNER));
+            assertEquals(perThread, map.sizeOf(-2));
+            for (int t = 0; t < threads; t++) {
+                final int owner = t % 2 == 0 ? SymbolPairMap.NO_OWNER : t;
+                for (int i = 0; i < perThread; i++) {
+                    final int name = t * perThread + i;
+                    assertEquals(name + 1, map.get(owner, name));
+                    assertEquals(name, map.findName(owner, name + 1));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static long pack(final int name, final int value) {
+        return ((long) name << Integer.SIZE) | (value & 0xFFFFFFFFL);
+    }
+}
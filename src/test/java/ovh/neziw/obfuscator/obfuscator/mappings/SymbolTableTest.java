@@ -0,0 +1,174 @@
+/*
+ * This file is part of "Noobfuscator", licensed under MIT License.
+ *
+ *  Copyright (c) 2025 neziw
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package ovh.neziw.obfuscator.obfuscator.mappings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Strings must come back from the modified UTF-8 arena exactly as they were interned, including the characters
+ * that take two or three bytes and strings that do not fit a chunk
+ */
+class SymbolTableTest {
+
+    @Test
+    void roundTripsCharactersOfEveryEncodedLength() {
+        final SymbolTable table = new SymbolTable();
+        final String[] texts = {
+            "",
+            "plain/ascii$Name",
+            "nul\0inside\0",
+            "\0",
+            "two bytes: é߿",
+            "three bytes: ࠀ中￿",
+            "pair: 😀",
+            "unpaired high \ud800 and low \udc00",
+            "\udbff"
+        };
+        final int[] ids = new int[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            ids[i] = table.intern(texts[i]);
+        }
+        for (int i = 0; i < texts.length; i++) {
+            assertEquals(texts[i], table.get(ids[i]));
+            assertEquals(ids[i], table.find(texts[i]));
+            assertEquals(ids[i], table.intern(texts[i]));
+        }
+        assertEquals(texts.length, table.size());
+    }
+
+    @Test
+    void distinguishesStringsThatOnlyDifferInEncoding() {
+        final SymbolTable table = new SymbolTable();
+        // "\0" is encoded as C0 80, the same bytes would otherwise decode as another string
+        assertNotEquals(table.intern("\0"), table.intern("\u0000\u0000"));
+        assertNotEquals(table.intern("À"), table.intern("\0"));
+        assertEquals(-1, table.find("À\u0080"));
+    }
+
+    @Test
+    void storesStringsLargerThanAChunk() {
+        final SymbolTable table = new SymbolTable();
+        final int before = table.intern("before");
+        final String ascii = "a".repeat(70_000);
+        final String wide = "中".repeat(30_000) + "\0" + "😀";
+        final int asciiId = table.intern(ascii);
+        final int wideId = table.intern(wide);
+        final int after = table.intern("after");
+        assertEquals("before", table.get(before));
+        assertEquals(ascii, table.get(asciiId));
+        assertEquals(wide, table.get(wideId));
+        assertEquals("after", table.get(after));
+        assertEquals(wideId, table.find(wide));
+    }
+
+    @Test
+    void fillsManyChunks() {
+        final SymbolTable table = new SymbolTable();
+        final int count = 50_000;
+        final int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = table.intern("com/example/pkg" + (i % 97) + "/Class" + i + "é");
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals("com/example/pkg" + (i % 97) + "/Class" + i + "é", table.get(ids[i]));
+        }
+        assertEquals(count, table.size());
+    }
+
+    @Test
+    void sortsLikeStringCompareTo() {
+        final SymbolTable table = new SymbolTable();
+        final List<String> texts = new ArrayList<>(List.of("b", "a", "", "ab", "a\0", "\0", "é", "z", "ࠀ", "😀", "\uffff",
+            "\ud800", "com/example/B", "com/example/A$1", "com/example/A", "x".repeat(200) + "b", "x".repeat(200) + "a"));
+        final long[] entries = new long[texts.size()];
+        for (int i = 0; i < entries.length; i++) {
+            // The value in the low int must travel with its symbol
+            entries[i] = ((long) table.intern(texts.get(i)) << Integer.SIZE) | i;
+        }
+        table.sort(entries);
+        final List<String> expected = new ArrayList<>(texts);
+        Collections.sort(expected);
+        for (int i = 0; i < entries.length; i++) {
+            assertEquals(expected.get(i), table.get((int) (entries[i] >>> Integer.SIZE)));
+            assertEquals(expected.get(i), texts.get((int) entries[i]));
+        }
+    }
+
+    @Test
+    void rejectsUnknownIds() {
+        final SymbolTable table = new SymbolTable();
+        table.intern("known");
+        assertEquals(-1, table.find("unknown"));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(-1));
+    }
+
+    @Test
+    void concurrentInternsAgreeOnIds() throws Exception {
+        final SymbolTable table = new SymbolTable();
+        final int threads = 8;
+        final int strings = 20_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int start = t * 1_000;
+                results.add(executor.submit(() -> {
+                    final int[] ids = new int[strings];
+                    // Every thread interns the same strings, starting at a different offset
+                    for (int i = 0; i < strings; i++) {
+                        final int n = (start + i) % strings;
+                        ids[n] = table.intern("symbol" + n);
+                    }
+                    return ids;
+                }));
+            }
+            final int[] expected = results.get(0).get();
+            for (final Future<int[]> result : results) {
+                final int[] ids = result.get();
+                for (int n = 0; n < strings; n++) {
+                    assertEquals(expected[n], ids[n]);
+                }
+            }
+            for (int n = 0; n < strings; n++) {
+                assertEquals("symbol" + n, table.get(expected[n]));
+            }
+            assertEquals(strings, table.size());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}